@@ -4,6 +4,7 @@ plugins {
 
     id("org.springframework.boot") version "3.4.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "id.ac.ui.cs.advprog"
@@ -87,6 +88,13 @@ tasks.test {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+jmh {
+    profilers = listOf("gc")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
 }
@@ -0,0 +1,181 @@
+package id.ac.ui.cs.advprog.bekonsultasi.model;
+
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KonsultasiStateBenchmark {
+
+    @State(Scope.Thread)
+    public static class Accepted {
+        @Param({"REQUESTED", "RESCHEDULED"})
+        private String status;
+
+        private Konsultasi konsultasi;
+        private LegacyKonsultasi legacy;
+
+        @Setup
+        public void setUp() {
+            konsultasi = booking(status);
+            legacy = new LegacyKonsultasi();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Rejected {
+        @Param({"CONFIRMED", "CANCELLED", "DONE"})
+        private String status;
+
+        private Konsultasi konsultasi;
+        private LegacyKonsultasi legacy;
+
+        @Setup
+        public void setUp() {
+            konsultasi = booking(status);
+            legacy = new LegacyKonsultasi();
+        }
+    }
+
+    @Benchmark
+    public String legacyConfirm(Accepted state) {
+        LegacyKonsultasi legacy = state.legacy;
+        legacy.status = state.status;
+        legacy.initializeState();
+        legacy.state.confirm(legacy);
+        return legacy.status;
+    }
+
+    @Benchmark
+    public String flyweightConfirm(Accepted state) {
+        Konsultasi konsultasi = state.konsultasi;
+        konsultasi.setStatus(state.status);
+        konsultasi.confirm();
+        return konsultasi.getStatus();
+    }
+
+    @Benchmark
+    public String legacyRejectedConfirm(Rejected state) {
+        LegacyKonsultasi legacy = state.legacy;
+        legacy.status = state.status;
+        legacy.initializeState();
+        try {
+            legacy.state.confirm(legacy);
+        } catch (IllegalStateException ignored) {
+            // the baseline had no way to ask before trying
+        }
+        return legacy.status;
+    }
+
+    @Benchmark
+    public String flyweightRejectedConfirm(Rejected state) {
+        Konsultasi konsultasi = state.konsultasi;
+        konsultasi.setStatus(state.status);
+        try {
+            konsultasi.confirm();
+        } catch (IllegalStateException ignored) {
+            // same throwing path as the baseline
+        }
+        return konsultasi.getStatus();
+    }
+
+    @Benchmark
+    public boolean flyweightRejectedGuard(Rejected state) {
+        Konsultasi konsultasi = state.konsultasi;
+        konsultasi.setStatus(state.status);
+        return konsultasi.currentStatus().canTransitionTo(KonsultasiStatus.CONFIRMED);
+    }
+
+    private static Konsultasi booking(String status) {
+        return Konsultasi.builder()
+                .status(status)
+                .scheduleDateTime(LocalDateTime.now().plusDays(7))
+                .build();
+    }
+
+    private static final class LegacyKonsultasi {
+        private String status;
+        private LegacyState state;
+
+        private void initializeState() {
+            switch (status) {
+                case "REQUESTED" -> setState(new LegacyRequested());
+                case "CONFIRMED" -> setState(new LegacyConfirmed());
+                case "CANCELLED" -> setState(new LegacyCancelled());
+                case "DONE" -> setState(new LegacyDone());
+                case "RESCHEDULED" -> setState(new LegacyRescheduled());
+                default -> throw new IllegalStateException("Unknown consultation status: " + status);
+            }
+        }
+
+        private void setState(LegacyState state) {
+            this.state = state;
+            this.status = state.getStateName();
+        }
+    }
+
+    private interface LegacyState {
+        String getStateName();
+        void confirm(LegacyKonsultasi konsultasi);
+    }
+
+    private static final class LegacyRequested implements LegacyState {
+        public String getStateName() {
+            return "REQUESTED";
+        }
+
+        public void confirm(LegacyKonsultasi konsultasi) {
+            konsultasi.setState(new LegacyConfirmed());
+        }
+    }
+
+    private static final class LegacyConfirmed implements LegacyState {
+        public String getStateName() {
+            return "CONFIRMED";
+        }
+
+        public void confirm(LegacyKonsultasi konsultasi) {
+            throw new IllegalStateException("Consultation is already confirmed");
+        }
+    }
+
+    private static final class LegacyCancelled implements LegacyState {
+        public String getStateName() {
+            return "CANCELLED";
+        }
+
+        public void confirm(LegacyKonsultasi konsultasi) {
+            throw new IllegalStateException("Cannot confirm a cancelled consultation");
+        }
+    }
+
+    private static final class LegacyDone implements LegacyState {
+        public String getStateName() {
+            return "DONE";
+        }
+
+        public void confirm(LegacyKonsultasi konsultasi) {
+            throw new IllegalStateException("Cannot confirm a completed consultation");
+        }
+    }
+
+    private static final class LegacyRescheduled implements LegacyState {
+        public String getStateName() {
+            return "RESCHEDULED";
+        }
+
+        public void confirm(LegacyKonsultasi konsultasi) {
+            konsultasi.setState(new LegacyConfirmed());
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package id.ac.ui.cs.advprog.bekonsultasi.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -21,4 +26,42 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "scheduleDeletionTaskExecutor")
+    public Executor scheduleDeletionTaskExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${schedule.deletion.pool-size:2}") int poolSize,
+            @Value("${schedule.deletion.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ScheduleDelete-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "schedule.deletion", Tags.empty())
+                .bindTo(meterRegistry);
+        return executor;
+    }
+
+    @Bean(name = "streamDeliveryTaskExecutor")
+    public Executor streamDeliveryTaskExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${konsultasi.stream.delivery-pool-size:4}") int poolSize,
+            @Value("${konsultasi.stream.delivery-queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("StreamDelivery-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "konsultasi.stream.delivery", Tags.empty())
+                .bindTo(meterRegistry);
+        return executor;
+    }
 }
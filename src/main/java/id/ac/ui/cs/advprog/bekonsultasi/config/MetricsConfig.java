@@ -85,6 +85,27 @@ public class MetricsConfig {
                 .register(meterRegistry);
     }
     
+    @Bean
+    public Counter konsultasiCalendarFeedPollCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("konsultasi.calendar.feed.poll.total")
+                .description("Total number of calendar feed requests, including not-modified polls")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter konsultasiCalendarFeedRenderCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("konsultasi.calendar.feed.render.total")
+                .description("Total number of calendar feeds streamed in full")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter konsultasiBatchRequestCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("konsultasi.batch.request.total")
+                .description("Total number of batch consultation transition requests")
+                .register(meterRegistry);
+    }
+
     @Bean
     public Counter userDataRequestCounter(MeterRegistry meterRegistry) {
         return Counter.builder("data.user.request.total")
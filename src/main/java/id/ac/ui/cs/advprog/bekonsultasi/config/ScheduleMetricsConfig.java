@@ -189,4 +189,74 @@ public class ScheduleMetricsConfig {
                 .description("Total number of failed schedule operations")
                 .register(meterRegistry);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public Counter scheduleBulkCreatedCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_bulk_template_requests_total")
+                .description("Total number of weekly template bulk schedule creation requests")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter scheduleEarliestSlotSearchCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_earliest_slot_search_total")
+                .description("Total number of earliest open slot searches across caregivers")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter slotIndexRebuildCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_slot_index_rebuild_total")
+                .description("Total number of slot occupancy index rebuilds")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter slotIndexMismatchCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_slot_index_mismatch_total")
+                .description("Total number of caregivers whose slot occupancy index diverged from the database")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter openSlotRebuildCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_open_slots_rebuild_total")
+                .description("Total number of full open slot projection rebuilds")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter scheduleCacheHitCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_cache_hits_total")
+                .description("Total number of caregiver schedule lookups served from cache")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter scheduleCacheMissCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_cache_misses_total")
+                .description("Total number of caregiver schedule lookups loaded from the database")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter scheduleCacheEvictionCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_cache_evictions_total")
+                .description("Total number of caregiver schedule cache entries evicted by size or age")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter scheduleHeatmapQueryCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_heatmap_queries_total")
+                .description("Total number of caregiver availability heatmap requests")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public Counter scheduleHeatmapCacheHitCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("schedule_heatmap_cache_hits_total")
+                .description("Total number of availability heatmaps served from cache")
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,7 @@
 package id.ac.ui.cs.advprog.bekonsultasi.controller;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ApiResponseDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailableSlotDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
 import id.ac.ui.cs.advprog.bekonsultasi.service.ScheduleService;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,9 @@ import io.micrometer.core.instrument.Counter;
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class DataController {
+    private static final int MAX_SLOT_LIMIT = 100;
+    private static final int MAX_WEEKS_AHEAD = 52;
+
     private final ScheduleService scheduleService;
     private final Counter availableSchedulesRequestCounter;
 
@@ -74,6 +78,47 @@ public class DataController {
         }
     }
 
+    @GetMapping(path = "/available-slots", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<AvailableSlotDto>>> getEarliestAvailableSlots(
+            @RequestParam(required = false) List<String> caregiverIds,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "4") int weeksAhead) {
+
+        availableSchedulesRequestCounter.increment();
+
+        if (limit < 1 || limit > MAX_SLOT_LIMIT || weeksAhead < 1 || weeksAhead > MAX_WEEKS_AHEAD) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponseDto.error(400, "limit must be between 1 and " + MAX_SLOT_LIMIT +
+                    " and weeksAhead between 1 and " + MAX_WEEKS_AHEAD));
+        }
+
+        try {
+            List<AvailableSlotDto> slots;
+
+            if (caregiverIds != null && !caregiverIds.isEmpty()) {
+                List<UUID> uuidList = caregiverIds.stream()
+                    .map(UUID::fromString)
+                    .distinct()
+                    .toList();
+                slots = scheduleService.findEarliestAvailableSlots(uuidList, limit, weeksAhead);
+            } else {
+                slots = List.of();
+            }
+
+            return ResponseEntity.ok(
+                ApiResponseDto.success(200,
+                    "Available slots retrieved successfully",
+                    slots)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponseDto.error(400, "Invalid caregiver ID format"));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                .body(ApiResponseDto.error(500, "Error retrieving available slots"));
+        }
+    }
+
     @GetMapping(path = "/health", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponseDto<String>> healthCheck() {
         return ResponseEntity.ok(
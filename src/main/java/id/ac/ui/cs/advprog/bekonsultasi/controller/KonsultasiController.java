@@ -1,20 +1,37 @@
 package id.ac.ui.cs.advprog.bekonsultasi.controller;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.*;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.enums.Role;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.AuthenticationException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.service.KonsultasiService;
 import id.ac.ui.cs.advprog.bekonsultasi.service.TokenVerificationService;
+import id.ac.ui.cs.advprog.bekonsultasi.service.stream.RequestedQueueHub;
+import id.ac.ui.cs.advprog.bekonsultasi.util.ConditionalGet;
+import id.ac.ui.cs.advprog.bekonsultasi.util.OptimisticRetry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -22,8 +39,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class KonsultasiController {
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final KonsultasiService konsultasiService;
     private final TokenVerificationService tokenVerificationService;
+    private final RequestedQueueHub requestedQueueHub;
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponseDto<KonsultasiResponseDto>> createKonsultasi(
@@ -43,7 +65,8 @@ public class KonsultasiController {
             HttpServletRequest request) {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.CAREGIVER, "Only caregivers can confirm consultations");
         UUID caregiverId = UUID.fromString(verification.getUserId());
-        KonsultasiResponseDto response = konsultasiService.confirmKonsultasi(konsultasiId, caregiverId);
+        KonsultasiResponseDto response = OptimisticRetry.call(() ->
+                konsultasiService.confirmKonsultasi(konsultasiId, caregiverId));
 
         return ResponseEntity.ok(ApiResponseDto.success(200, "Consultation confirmed successfully", response));
     }
@@ -56,7 +79,8 @@ public class KonsultasiController {
         UUID userId = UUID.fromString(verification.getUserId());
         String role = verification.getRole().name();
 
-        KonsultasiResponseDto response = konsultasiService.cancelKonsultasi(konsultasiId, userId, role);
+        KonsultasiResponseDto response = OptimisticRetry.call(() ->
+                konsultasiService.cancelKonsultasi(konsultasiId, userId, role));
 
         return ResponseEntity.ok(ApiResponseDto.success(200, "Consultation cancelled successfully", response));
     }
@@ -67,10 +91,25 @@ public class KonsultasiController {
             HttpServletRequest request) {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.CAREGIVER, "Only caregivers can complete consultations");
         UUID caregiverId = UUID.fromString(verification.getUserId());
-        KonsultasiResponseDto response = konsultasiService.completeKonsultasi(konsultasiId, caregiverId);
+        KonsultasiResponseDto response = OptimisticRetry.call(() ->
+                konsultasiService.completeKonsultasi(konsultasiId, caregiverId));
 
         return ResponseEntity.ok(ApiResponseDto.success(200, "Consultation completed successfully", response));
     }
+    @PatchMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<KonsultasiBatchResultDto>>> applyBatchAction(
+            @Valid @RequestBody KonsultasiBatchActionDto dto,
+            HttpServletRequest request) {
+        TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.CAREGIVER, "Only caregivers can update consultations in batch");
+        UUID caregiverId = UUID.fromString(verification.getUserId());
+        List<KonsultasiBatchResultDto> results = OptimisticRetry.call(() ->
+                konsultasiService.applyBatchAction(dto.getKonsultasiIds(), dto.getAction(), caregiverId));
+
+        long succeeded = results.stream().filter(KonsultasiBatchResultDto::isSuccess).count();
+        return ResponseEntity.ok(ApiResponseDto.success(200,
+                "Applied " + dto.getAction() + " to " + succeeded + " of " + results.size() + " consultations", results));
+    }
+
     @PutMapping(path = "/{konsultasiId}/update-request", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponseDto<KonsultasiResponseDto>> updateKonsultasiRequest(
             @PathVariable UUID konsultasiId,
@@ -79,7 +118,8 @@ public class KonsultasiController {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.PACILIAN, "Only pacilians can update their consultation requests");
         UUID pacilianId = UUID.fromString(verification.getUserId());
         
-        KonsultasiResponseDto response = konsultasiService.updateKonsultasiRequest(konsultasiId, dto, pacilianId);
+        KonsultasiResponseDto response = OptimisticRetry.call(() ->
+                konsultasiService.updateKonsultasiRequest(konsultasiId, dto, pacilianId));
 
         return ResponseEntity.ok(ApiResponseDto.success(200, "Consultation request updated successfully", response));
     }
@@ -92,7 +132,8 @@ public class KonsultasiController {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.CAREGIVER, "Only caregivers can reschedule consultations");
         UUID caregiverId = UUID.fromString(verification.getUserId());
 
-        KonsultasiResponseDto response = konsultasiService.rescheduleKonsultasi(konsultasiId, dto, caregiverId);
+        KonsultasiResponseDto response = OptimisticRetry.call(() ->
+                konsultasiService.rescheduleKonsultasi(konsultasiId, dto, caregiverId));
 
         return ResponseEntity.ok(ApiResponseDto.success(200, "Consultation rescheduled successfully", response));
     }
@@ -103,7 +144,8 @@ public class KonsultasiController {
             HttpServletRequest request) {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.PACILIAN, "Only pacilians can accept reschedule proposals");
         UUID pacilianId = UUID.fromString(verification.getUserId());
-        KonsultasiResponseDto response = konsultasiService.acceptReschedule(konsultasiId, pacilianId);
+        KonsultasiResponseDto response = OptimisticRetry.call(() ->
+                konsultasiService.acceptReschedule(konsultasiId, pacilianId));
 
         return ResponseEntity.ok(ApiResponseDto.success(200, "Rescheduled consultation accepted", response));
     }
@@ -114,7 +156,8 @@ public class KonsultasiController {
             HttpServletRequest request) {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.PACILIAN, "Only pacilians can reject reschedule proposals");
         UUID pacilianId = UUID.fromString(verification.getUserId());
-        KonsultasiResponseDto response = konsultasiService.rejectReschedule(konsultasiId, pacilianId);
+        KonsultasiResponseDto response = OptimisticRetry.call(() ->
+                konsultasiService.rejectReschedule(konsultasiId, pacilianId));
 
         return ResponseEntity.ok(ApiResponseDto.success(200, "Rescheduled consultation rejected", response));
     }
@@ -127,29 +170,60 @@ public class KonsultasiController {
         UUID userId = UUID.fromString(verification.getUserId());
         String role = verification.getRole().name();
         
+        ResourceTagDto tag = konsultasiService.getKonsultasiTag(konsultasiId, userId, role);
+        if (ConditionalGet.isNotModified(request, tag)) {
+            return ConditionalGet.notModified(tag);
+        }
         KonsultasiResponseDto response = konsultasiService.getKonsultasiById(konsultasiId, userId, role);
 
-        return ResponseEntity.ok(ApiResponseDto.success(200, "Success", response));
+        return ConditionalGet.withValidators(ResponseEntity.ok(), tag)
+                .body(ApiResponseDto.success(200, "Success", response));
     }
 
     @GetMapping(path = "/pacilian", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<List<KonsultasiResponseDto>>> getKonsultasiByPacilianId(
+    public ResponseEntity<ApiResponseDto<?>> getKonsultasiByPacilianId(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
             HttpServletRequest request) {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.PACILIAN, "Only pacilians can view their consultations");
         UUID pacilianId = UUID.fromString(verification.getUserId());
-        List<KonsultasiResponseDto> response = konsultasiService.getKonsultasiByPacilianId(pacilianId);
+        KonsultasiFilterDto filter = buildFilter(status, from, to, after, limit);
+        ResourceTagDto tag = konsultasiService.getKonsultasiPageTag(pacilianId, Role.PACILIAN.name(), filter);
+        if (ConditionalGet.isNotModified(request, tag)) {
+            return ConditionalGet.notModified(tag);
+        }
+        Object response = isPaged(after, limit)
+                ? konsultasiService.getKonsultasiPage(pacilianId, Role.PACILIAN.name(), filter)
+                : konsultasiService.getKonsultasiList(pacilianId, Role.PACILIAN.name(), filter);
 
-        return ResponseEntity.ok(ApiResponseDto.success(200, "Retrieved pacilian consultations", response));
+        return ConditionalGet.withValidators(ResponseEntity.ok(), tag)
+                .body(ApiResponseDto.success(200, "Retrieved pacilian consultations", response));
     }
 
     @GetMapping(path = "/caregiver", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<List<KonsultasiResponseDto>>> getKonsultasiByCaregiverId(
+    public ResponseEntity<ApiResponseDto<?>> getKonsultasiByCaregiverId(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
             HttpServletRequest request) {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.CAREGIVER, "Only caregivers can view their consultations");
         UUID caregiverId = UUID.fromString(verification.getUserId());
-        List<KonsultasiResponseDto> response = konsultasiService.getKonsultasiByCaregiverId(caregiverId);
+        KonsultasiFilterDto filter = buildFilter(status, from, to, after, limit);
+        ResourceTagDto tag = konsultasiService.getKonsultasiPageTag(caregiverId, Role.CAREGIVER.name(), filter);
+        if (ConditionalGet.isNotModified(request, tag)) {
+            return ConditionalGet.notModified(tag);
+        }
+        Object response = isPaged(after, limit)
+                ? konsultasiService.getKonsultasiPage(caregiverId, Role.CAREGIVER.name(), filter)
+                : konsultasiService.getKonsultasiList(caregiverId, Role.CAREGIVER.name(), filter);
 
-        return ResponseEntity.ok(ApiResponseDto.success(200, "Retrieved caregiver consultations", response));
+        return ConditionalGet.withValidators(ResponseEntity.ok(), tag)
+                .body(ApiResponseDto.success(200, "Retrieved caregiver consultations", response));
     }
 
     @GetMapping(path = "/caregiver/requested", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -157,9 +231,48 @@ public class KonsultasiController {
             HttpServletRequest request) {
         TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.CAREGIVER, "Only caregivers can view their requested consultations");
         UUID caregiverId = UUID.fromString(verification.getUserId());
+        ResourceTagDto tag = konsultasiService.getRequestedKonsultasiTag(caregiverId);
+        if (ConditionalGet.isNotModified(request, tag)) {
+            return ConditionalGet.notModified(tag);
+        }
         List<KonsultasiResponseDto> response = konsultasiService.getRequestedKonsultasiByCaregiverId(caregiverId);
 
-        return ResponseEntity.ok(ApiResponseDto.success(200, "Retrieved requested consultations", response));
+        return ConditionalGet.withValidators(ResponseEntity.ok(), tag)
+                .body(ApiResponseDto.success(200, "Retrieved requested consultations", response));
+    }
+
+    @GetMapping(path = "/caregiver/requested/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRequestedKonsultasi(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            HttpServletRequest request) {
+        TokenVerificationResponseDto verification = verifyTokenAndRole(request, Role.CAREGIVER, "Only caregivers can view their requested consultations");
+        return requestedQueueHub.subscribe(UUID.fromString(verification.getUserId()), lastEventId);
+    }
+
+    @GetMapping(path = "/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> getCalendarFeed(HttpServletRequest request) {
+        TokenVerificationResponseDto verification = verifyToken(request);
+        UUID userId = UUID.fromString(verification.getUserId());
+        String role = verification.getRole().name();
+
+        String etag = konsultasiService.getCalendarFeedTag(userId, role);
+        if (ConditionalGet.matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            konsultasiService.writeCalendarFeed(userId, role, writer);
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(TEXT_CALENDAR)
+                .body(body);
     }
 
     @ExceptionHandler(ScheduleException.class)
@@ -168,6 +281,12 @@ public class KonsultasiController {
                 .body(ApiResponseDto.error(HttpStatus.BAD_REQUEST.value(), ex.getMessage()));
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponseDto<Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDto.error(HttpStatus.BAD_REQUEST.value(), ex.getMessage()));
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ApiResponseDto<Object>> handleAuthenticationException(AuthenticationException ex) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -187,6 +306,39 @@ public class KonsultasiController {
         return tokenVerificationService.verifyToken(token);
     }
 
+    private static boolean isPaged(String after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    private KonsultasiFilterDto buildFilter(List<String> status, LocalDateTime from, LocalDateTime to,
+                                            String after, Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        Set<KonsultasiStatus> statuses = EnumSet.noneOf(KonsultasiStatus.class);
+        if (status != null) {
+            for (String value : status) {
+                try {
+                    statuses.add(KonsultasiStatus.of(value.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalStateException e) {
+                    throw new IllegalArgumentException(e.getMessage());
+                }
+            }
+        }
+
+        return KonsultasiFilterDto.builder()
+                .statuses(statuses)
+                .from(from)
+                .to(to)
+                .after(after)
+                .limit(limit != null ? limit : after != null ? DEFAULT_PAGE_SIZE : 0)
+                .build();
+    }
+
     private TokenVerificationResponseDto verifyTokenAndRole(HttpServletRequest request, Role requiredRole, String errorMessage) {
         TokenVerificationResponseDto verification = verifyToken(request);
         if (verification.getRole() != requiredRole) {
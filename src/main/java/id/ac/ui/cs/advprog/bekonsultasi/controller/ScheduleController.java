@@ -1,7 +1,12 @@
 package id.ac.ui.cs.advprog.bekonsultasi.controller;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ApiResponseDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailabilityHeatmapDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleTemplateDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ResourceTagDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleBulkResultDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.SchedulePageDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.TokenVerificationResponseDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateOneTimeScheduleDto;
@@ -11,6 +16,9 @@ import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.service.ScheduleService;
 import id.ac.ui.cs.advprog.bekonsultasi.service.TokenVerificationService;
+import id.ac.ui.cs.advprog.bekonsultasi.util.ConditionalGet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +26,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -30,6 +41,10 @@ import java.util.UUID;
 public class ScheduleController {
     private final ScheduleService scheduleService;
     private final TokenVerificationService tokenVerificationService;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_HEATMAP_WEEKS = 12;
 
     @PostMapping(path = "/caregiver", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponseDto<ScheduleResponseDto>> createCaregiverSchedule(
@@ -50,6 +65,28 @@ public class ScheduleController {
                 .body(ApiResponseDto.success(201, "Created successfully", response));
     }
 
+    @PostMapping(path = "/caregiver/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<ScheduleBulkResultDto>>> createCaregiverScheduleTemplate(
+            @Valid @RequestBody CreateScheduleTemplateDto templateDto,
+            HttpServletRequest request) {
+
+        String token = extractToken(request);
+        TokenVerificationResponseDto verification = tokenVerificationService.verifyToken(token);
+
+        if (verification.getRole() != Role.CAREGIVER) {
+            throw new AuthenticationException("Only caregivers can create schedules");
+        }
+
+        UUID caregiverId = UUID.fromString(verification.getUserId());
+        List<ScheduleBulkResultDto> results = scheduleService.createSchedules(templateDto.getSchedules(), caregiverId);
+
+        long created = results.stream().filter(ScheduleBulkResultDto::isCreated).count();
+        HttpStatus status = created > 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status)
+                .body(ApiResponseDto.success(status.value(),
+                        "Created " + created + " of " + results.size() + " schedules", results));
+    }
+
     @PutMapping(path = "/caregiver/{scheduleId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponseDto<ScheduleResponseDto>> updateCaregiverSchedule(
             @PathVariable UUID scheduleId,
@@ -97,9 +134,14 @@ public class ScheduleController {
         }
 
         UUID caregiverId = UUID.fromString(verification.getUserId());
+        ResourceTagDto tag = scheduleService.getCaregiverSchedulesTag(caregiverId);
+        if (ConditionalGet.isNotModified(request, tag)) {
+            return ConditionalGet.notModified(tag);
+        }
         List<ScheduleResponseDto> schedules = scheduleService.getCaregiverSchedules(caregiverId);
 
-        return ResponseEntity.ok(ApiResponseDto.success(200, "Retrieved caregiver schedules", schedules));
+        return ConditionalGet.withValidators(ResponseEntity.ok(), tag)
+                .body(ApiResponseDto.success(200, "Retrieved caregiver schedules", schedules));
     }
 
     @GetMapping(path = "/caregiver/{caregiverId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -108,9 +150,63 @@ public class ScheduleController {
             HttpServletRequest request) {
 
         verifyToken(request);
+        ResourceTagDto tag = scheduleService.getCaregiverSchedulesTag(caregiverId);
+        if (ConditionalGet.isNotModified(request, tag)) {
+            return ConditionalGet.notModified(tag);
+        }
         List<ScheduleResponseDto> schedules = scheduleService.getCaregiverSchedules(caregiverId);
 
-        return ResponseEntity.ok(ApiResponseDto.success(200, "Retrieved caregiver schedules", schedules));
+        return ConditionalGet.withValidators(ResponseEntity.ok(), tag)
+                .body(ApiResponseDto.success(200, "Retrieved caregiver schedules", schedules));
+    }
+
+    @GetMapping(path = "/caregiver/{caregiverId}/heatmap", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<AvailabilityHeatmapDto>> getCaregiverAvailabilityHeatmap(
+            @PathVariable UUID caregiverId,
+            @RequestParam(defaultValue = "4") int weeksAhead,
+            HttpServletRequest request) {
+
+        verifyToken(request);
+        if (weeksAhead < 1 || weeksAhead > MAX_HEATMAP_WEEKS) {
+            throw new IllegalArgumentException("weeksAhead must be between 1 and " + MAX_HEATMAP_WEEKS);
+        }
+
+        AvailabilityHeatmapDto heatmap = scheduleService.getAvailabilityHeatmap(caregiverId, weeksAhead);
+        return ResponseEntity.ok(ApiResponseDto.success(200, "Retrieved availability heatmap", heatmap));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<SchedulePageDto>> getSchedulesPage(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "100") int limit,
+            HttpServletRequest request) {
+
+        verifyToken(request);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        SchedulePageDto page = scheduleService.getSchedulesPage(after, limit);
+        return ResponseEntity.ok(ApiResponseDto.success(200, "Retrieved schedules", page));
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSchedules(HttpServletRequest request) {
+        verifyToken(request);
+
+        ObjectWriter writer = objectMapper.writerFor(ScheduleResponseDto.class);
+        StreamingResponseBody body = outputStream -> scheduleService.exportAllSchedules(schedule -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(schedule));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping(path = "/{scheduleId}/available", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -0,0 +1,24 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityHeatmapDto {
+    private UUID caregiverId;
+    private LocalDateTime from;
+    private LocalDateTime until;
+    private List<DayOfWeek> days;
+    private int[][] booked;
+    private int[][] open;
+}
@@ -0,0 +1,19 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDto {
+    private UUID scheduleId;
+    private UUID caregiverId;
+    private LocalDateTime dateTime;
+}
@@ -22,4 +22,8 @@ public class CreateScheduleDto {
 
     @NotNull(message = "End time is required")
     private LocalTime endTime;
+
+    private Integer durationMinutes;
+
+    private Integer slotGranularityMinutes;
 }
\ No newline at end of file
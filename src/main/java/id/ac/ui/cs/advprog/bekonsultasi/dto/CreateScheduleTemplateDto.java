@@ -0,0 +1,20 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateScheduleTemplateDto {
+    @NotEmpty(message = "At least one schedule is required")
+    @Size(max = 100, message = "A template can contain at most 100 schedules")
+    private List<CreateScheduleDto> schedules;
+}
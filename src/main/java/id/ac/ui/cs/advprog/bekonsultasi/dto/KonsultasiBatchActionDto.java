@@ -0,0 +1,26 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiAction;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KonsultasiBatchActionDto {
+    @NotEmpty(message = "At least one consultation id is required")
+    @Size(max = 100, message = "A batch can contain at most 100 consultations")
+    private List<@NotNull UUID> konsultasiIds;
+
+    @NotNull(message = "Action is required")
+    private KonsultasiAction action;
+}
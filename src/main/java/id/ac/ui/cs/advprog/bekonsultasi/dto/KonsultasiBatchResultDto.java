@@ -0,0 +1,19 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KonsultasiBatchResultDto {
+    private UUID konsultasiId;
+    private boolean success;
+    private KonsultasiResponseDto konsultasi;
+    private String message;
+}
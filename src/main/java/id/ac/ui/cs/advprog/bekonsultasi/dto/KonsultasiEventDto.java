@@ -0,0 +1,25 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KonsultasiEventDto {
+    private String eventType;
+    private UUID konsultasiId;
+    private UUID scheduleId;
+    private UUID caregiverId;
+    private UUID pacilianId;
+    private LocalDateTime scheduleDateTime;
+    private int durationMinutes;
+    private String status;
+    private LocalDateTime occurredAt;
+}
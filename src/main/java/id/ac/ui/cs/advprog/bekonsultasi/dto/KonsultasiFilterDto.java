@@ -0,0 +1,22 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KonsultasiFilterDto {
+    private Set<KonsultasiStatus> statuses;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String after;
+    private int limit;
+}
@@ -0,0 +1,18 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KonsultasiPageDto {
+    private List<KonsultasiResponseDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
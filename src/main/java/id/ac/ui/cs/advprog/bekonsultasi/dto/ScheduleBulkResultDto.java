@@ -0,0 +1,17 @@
+package id.ac.ui.cs.advprog.bekonsultasi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleBulkResultDto {
+    private int index;
+    private boolean created;
+    private ScheduleResponseDto schedule;
+    private String message;
+}
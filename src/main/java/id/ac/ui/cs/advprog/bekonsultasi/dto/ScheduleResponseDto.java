@@ -22,4 +22,6 @@ public class ScheduleResponseDto {
     private LocalTime endTime;
     private LocalDate specificDate;
     private boolean oneTime;
+    private int durationMinutes;
+    private int slotGranularityMinutes;
 }
\ No newline at end of file
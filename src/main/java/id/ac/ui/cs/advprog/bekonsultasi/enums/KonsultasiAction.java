@@ -0,0 +1,7 @@
+package id.ac.ui.cs.advprog.bekonsultasi.enums;
+
+public enum KonsultasiAction {
+    CONFIRM,
+    COMPLETE,
+    CANCEL
+}
@@ -0,0 +1,14 @@
+package id.ac.ui.cs.advprog.bekonsultasi.enums;
+
+public enum KonsultasiEventType {
+    CREATED,
+    UPDATED,
+    CONFIRMED,
+    CANCELLED,
+    COMPLETED,
+    RESCHEDULED,
+    RESCHEDULE_ACCEPTED,
+    RESCHEDULE_REJECTED,
+    EXPIRED,
+    AUTO_COMPLETED
+}
@@ -0,0 +1,48 @@
+package id.ac.ui.cs.advprog.bekonsultasi.enums;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.CancelledState;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.ConfirmedState;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.DoneState;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.KonsultasiState;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.RequestedState;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.RescheduledState;
+
+public enum KonsultasiStatus {
+    REQUESTED,
+    CONFIRMED,
+    CANCELLED,
+    DONE,
+    RESCHEDULED;
+
+    public static KonsultasiStatus of(String value) {
+        if (value == null) {
+            throw new IllegalStateException("Consultation status is missing");
+        }
+        return switch (value) {
+            case "REQUESTED" -> REQUESTED;
+            case "CONFIRMED" -> CONFIRMED;
+            case "CANCELLED" -> CANCELLED;
+            case "DONE" -> DONE;
+            case "RESCHEDULED" -> RESCHEDULED;
+            default -> throw new IllegalStateException("Unknown consultation status: " + value);
+        };
+    }
+
+    public KonsultasiState state() {
+        return switch (this) {
+            case REQUESTED -> RequestedState.INSTANCE;
+            case CONFIRMED -> ConfirmedState.INSTANCE;
+            case CANCELLED -> CancelledState.INSTANCE;
+            case DONE -> DoneState.INSTANCE;
+            case RESCHEDULED -> RescheduledState.INSTANCE;
+        };
+    }
+
+    public boolean canTransitionTo(KonsultasiStatus target) {
+        return state().canTransitionTo(target);
+    }
+
+    public boolean isActive() {
+        return this != CANCELLED && this != DONE;
+    }
+}
@@ -1,7 +1,7 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.KonsultasiState;
-import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.RequestedState;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +16,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "konsultasi")
+@Table(name = "konsultasi", uniqueConstraints = @UniqueConstraint(
+        name = "uk_konsultasi_active_slot", columnNames = {"active_caregiver_id", "schedule_date_time"}),
+        indexes = {
+                @Index(name = "idx_konsultasi_caregiver_time", columnList = "caregiverId, schedule_date_time, id"),
+                @Index(name = "idx_konsultasi_pacilian_time", columnList = "pacilianId, schedule_date_time, id"),
+                @Index(name = "idx_konsultasi_status_time", columnList = "status, schedule_date_time")
+        })
 public class Konsultasi {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -31,12 +37,19 @@ public class Konsultasi {
     @Column(nullable = false)
     private UUID pacilianId;
 
-    @Column(nullable = false)
+    @Column(name = "schedule_date_time", nullable = false)
     private LocalDateTime scheduleDateTime;
 
+    @Column(name = "active_caregiver_id")
+    private UUID activeCaregiverId;
+
     @Column
     private LocalDateTime originalScheduleDateTime;
 
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 60")
+    private int durationMinutes = 60;
+
     @Column(columnDefinition = "TEXT")
     private String notes;
 
@@ -52,6 +65,10 @@ public class Konsultasi {
     @Column(name = "last_updated", nullable = false)
     private LocalDateTime lastUpdated;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @PrePersist
     public void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -62,14 +79,30 @@ public class Konsultasi {
             lastUpdated = now;
         }
         if (status == null) {
-            status = "REQUESTED";
-            state = new RequestedState();
+            setState(KonsultasiStatus.REQUESTED.state());
         }
+        syncActiveSlot();
     }
 
     @PreUpdate
     public void onUpdate() {
         lastUpdated = LocalDateTime.now();
+        syncActiveSlot();
+    }
+
+    private void syncActiveSlot() {
+        activeCaregiverId = currentStatus().isActive() ? caregiverId : null;
+    }
+
+    public KonsultasiStatus currentStatus() {
+        return getState().getStatus();
+    }
+
+    public KonsultasiState getState() {
+        if (state == null && status != null) {
+            state = KonsultasiStatus.of(status).state();
+        }
+        return state;
     }
 
     public void setState(KonsultasiState state) {
@@ -77,20 +110,25 @@ public class Konsultasi {
         this.status = state.getStateName();
     }
 
+    public void setStatus(String status) {
+        this.status = status;
+        this.state = null;
+    }
+
     public void confirm() {
-        state.confirm(this);
+        getState().confirm(this);
     }
 
     public void cancel() {
-        state.cancel(this);
+        getState().cancel(this);
     }
 
     public void complete() {
-        state.complete(this);
+        getState().complete(this);
     }
 
     public void reschedule(LocalDateTime newDateTime) {
-        state.reschedule(this, newDateTime);
+        getState().reschedule(this, newDateTime);
     }
 
     public LocalDateTime getOriginalScheduleDateTime() {
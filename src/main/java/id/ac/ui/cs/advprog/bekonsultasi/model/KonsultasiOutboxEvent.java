@@ -0,0 +1,57 @@
+package id.ac.ui.cs.advprog.bekonsultasi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "konsultasi_outbox", indexes = {
+        @Index(name = "idx_konsultasi_outbox_pending", columnList = "published_at, id"),
+        @Index(name = "idx_konsultasi_outbox_konsultasi", columnList = "konsultasiId, konsultasiVersion")
+})
+public class KonsultasiOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "konsultasi_outbox_seq")
+    @SequenceGenerator(name = "konsultasi_outbox_seq", sequenceName = "konsultasi_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID konsultasiId;
+
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long konsultasiVersion;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int attempts = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -1,14 +1,29 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-public class CancelledState implements KonsultasiState {
+public final class CancelledState implements KonsultasiState {
+    public static final CancelledState INSTANCE = new CancelledState();
+    private static final Set<KonsultasiStatus> NEXT_STATUSES = Collections.unmodifiableSet(
+            EnumSet.noneOf(KonsultasiStatus.class));
+
+    private CancelledState() {
+    }
+
+    @Override
+    public KonsultasiStatus getStatus() {
+        return KonsultasiStatus.CANCELLED;
+    }
 
     @Override
-    public String getStateName() {
-        return "CANCELLED";
+    public Set<KonsultasiStatus> nextStatuses() {
+        return NEXT_STATUSES;
     }
 
     @Override
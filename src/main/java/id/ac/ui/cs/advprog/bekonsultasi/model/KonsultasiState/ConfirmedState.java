@@ -1,14 +1,29 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-public class ConfirmedState implements KonsultasiState {
+public final class ConfirmedState implements KonsultasiState {
+    public static final ConfirmedState INSTANCE = new ConfirmedState();
+    private static final Set<KonsultasiStatus> NEXT_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(KonsultasiStatus.CANCELLED, KonsultasiStatus.DONE, KonsultasiStatus.RESCHEDULED));
+
+    private ConfirmedState() {
+    }
+
+    @Override
+    public KonsultasiStatus getStatus() {
+        return KonsultasiStatus.CONFIRMED;
+    }
 
     @Override
-    public String getStateName() {
-        return "CONFIRMED";
+    public Set<KonsultasiStatus> nextStatuses() {
+        return NEXT_STATUSES;
     }
 
     @Override
@@ -19,7 +34,7 @@ public class ConfirmedState implements KonsultasiState {
     @Override
     public void cancel(Konsultasi konsultasi) {
         if (LocalDateTime.now().plusHours(24).isBefore(konsultasi.getScheduleDateTime())) {
-            konsultasi.setState(new CancelledState());
+            transition(konsultasi, CancelledState.INSTANCE);
         } else {
             throw new IllegalStateException("Cannot cancel a consultation less than 24 hours before the scheduled time");
         }
@@ -27,12 +42,12 @@ public class ConfirmedState implements KonsultasiState {
 
     @Override
     public void complete(Konsultasi konsultasi) {
-        konsultasi.setState(new DoneState());
+        transition(konsultasi, DoneState.INSTANCE);
     }
 
     @Override
     public void reschedule(Konsultasi konsultasi, LocalDateTime newDateTime) {
         konsultasi.setScheduleDateTime(newDateTime);
-        konsultasi.setState(new RescheduledState());
+        transition(konsultasi, RescheduledState.INSTANCE);
     }
 }
\ No newline at end of file
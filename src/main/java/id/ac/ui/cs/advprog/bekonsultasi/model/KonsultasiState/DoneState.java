@@ -1,14 +1,29 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-public class DoneState implements KonsultasiState {
+public final class DoneState implements KonsultasiState {
+    public static final DoneState INSTANCE = new DoneState();
+    private static final Set<KonsultasiStatus> NEXT_STATUSES = Collections.unmodifiableSet(
+            EnumSet.noneOf(KonsultasiStatus.class));
+
+    private DoneState() {
+    }
+
+    @Override
+    public KonsultasiStatus getStatus() {
+        return KonsultasiStatus.DONE;
+    }
 
     @Override
-    public String getStateName() {
-        return "DONE";
+    public Set<KonsultasiStatus> nextStatuses() {
+        return NEXT_STATUSES;
     }
 
     @Override
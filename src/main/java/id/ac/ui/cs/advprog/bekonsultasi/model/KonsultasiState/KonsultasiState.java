@@ -1,13 +1,32 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 public interface KonsultasiState {
-    String getStateName();
+    KonsultasiStatus getStatus();
+    Set<KonsultasiStatus> nextStatuses();
     void confirm(Konsultasi konsultasi);
     void cancel(Konsultasi konsultasi);
     void complete(Konsultasi konsultasi);
     void reschedule(Konsultasi konsultasi, LocalDateTime newDateTime);
-}
\ No newline at end of file
+
+    default String getStateName() {
+        return getStatus().name();
+    }
+
+    default boolean canTransitionTo(KonsultasiStatus target) {
+        return nextStatuses().contains(target);
+    }
+
+    default void transition(Konsultasi konsultasi, KonsultasiState next) {
+        if (!canTransitionTo(next.getStatus())) {
+            throw new IllegalStateException(
+                    "Cannot move a consultation from " + getStatus() + " to " + next.getStatus());
+        }
+        konsultasi.setState(next);
+    }
+}
@@ -1,24 +1,39 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-public class RequestedState implements KonsultasiState {
+public final class RequestedState implements KonsultasiState {
+    public static final RequestedState INSTANCE = new RequestedState();
+    private static final Set<KonsultasiStatus> NEXT_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(KonsultasiStatus.CONFIRMED, KonsultasiStatus.CANCELLED, KonsultasiStatus.RESCHEDULED));
+
+    private RequestedState() {
+    }
+
+    @Override
+    public KonsultasiStatus getStatus() {
+        return KonsultasiStatus.REQUESTED;
+    }
 
     @Override
-    public String getStateName() {
-        return "REQUESTED";
+    public Set<KonsultasiStatus> nextStatuses() {
+        return NEXT_STATUSES;
     }
 
     @Override
     public void confirm(Konsultasi konsultasi) {
-        konsultasi.setState(new ConfirmedState());
+        transition(konsultasi, ConfirmedState.INSTANCE);
     }
 
     @Override
     public void cancel(Konsultasi konsultasi) {
-        konsultasi.setState(new CancelledState());
+        transition(konsultasi, CancelledState.INSTANCE);
     }
 
     @Override
@@ -32,6 +47,6 @@ public class RequestedState implements KonsultasiState {
         konsultasi.setOriginalScheduleDateTime(originalDateTime);
 
         konsultasi.setScheduleDateTime(newDateTime);
-        konsultasi.setState(new RescheduledState());
+        transition(konsultasi, RescheduledState.INSTANCE);
     }
 }
\ No newline at end of file
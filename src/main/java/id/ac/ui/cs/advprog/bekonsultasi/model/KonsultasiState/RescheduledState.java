@@ -1,19 +1,34 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-public class RescheduledState implements KonsultasiState {
+public final class RescheduledState implements KonsultasiState {
+    public static final RescheduledState INSTANCE = new RescheduledState();
+    private static final Set<KonsultasiStatus> NEXT_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(KonsultasiStatus.CONFIRMED, KonsultasiStatus.RESCHEDULED));
+
+    private RescheduledState() {
+    }
+
+    @Override
+    public KonsultasiStatus getStatus() {
+        return KonsultasiStatus.RESCHEDULED;
+    }
 
     @Override
-    public String getStateName() {
-        return "RESCHEDULED";
+    public Set<KonsultasiStatus> nextStatuses() {
+        return NEXT_STATUSES;
     }
 
     @Override
     public void confirm(Konsultasi konsultasi) {
-        konsultasi.setState(new ConfirmedState());
+        transition(konsultasi, ConfirmedState.INSTANCE);
     }
 
     @Override
@@ -38,6 +53,6 @@ public class RescheduledState implements KonsultasiState {
             konsultasi.setScheduleDateTime(konsultasi.getOriginalScheduleDateTime());
             konsultasi.setOriginalScheduleDateTime(null);
         }
-        konsultasi.setState(new ConfirmedState());
+        transition(konsultasi, ConfirmedState.INSTANCE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package id.ac.ui.cs.advprog.bekonsultasi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "open_slots", indexes = {
+        @Index(name = "idx_open_slots_caregiver_start", columnList = "caregiverId, slotStart"),
+        @Index(name = "uk_open_slots_schedule_start", columnList = "scheduleId, slotStart", unique = true)
+})
+public class OpenSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID scheduleId;
+
+    @Column(nullable = false)
+    private UUID caregiverId;
+
+    @Column(nullable = false)
+    private LocalDateTime slotStart;
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.UUID;
 
@@ -16,7 +17,9 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+        @Index(name = "idx_schedules_caregiver_day", columnList = "caregiverId, day")
+})
 public class Schedule {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -40,4 +43,21 @@ public class Schedule {
 
     @Column(nullable = false)
     private boolean oneTime;
-}
\ No newline at end of file
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 60")
+    private int durationMinutes = 60;
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 60")
+    private int slotGranularityMinutes = 60;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    @PrePersist
+    @PreUpdate
+    public void onWrite() {
+        lastUpdated = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,8 @@
+package id.ac.ui.cs.advprog.bekonsultasi.repository;
+
+import java.time.LocalDateTime;
+
+public interface FeedVersion {
+    LocalDateTime getLastUpdated();
+    Long getTotal();
+}
@@ -0,0 +1,12 @@
+package id.ac.ui.cs.advprog.bekonsultasi.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface KonsultasiCalendarEntry {
+    UUID getId();
+    LocalDateTime getScheduleDateTime();
+    Integer getDurationMinutes();
+    String getStatus();
+    LocalDateTime getLastUpdated();
+}
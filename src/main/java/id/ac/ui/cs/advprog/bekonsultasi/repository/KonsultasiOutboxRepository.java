@@ -0,0 +1,44 @@
+package id.ac.ui.cs.advprog.bekonsultasi.repository;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface KonsultasiOutboxRepository extends JpaRepository<KonsultasiOutboxEvent, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT e FROM KonsultasiOutboxEvent e WHERE e.publishedAt IS NULL AND e.id > :afterId " +
+            "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) " +
+            "AND NOT EXISTS (SELECT p.id FROM KonsultasiOutboxEvent p WHERE p.konsultasiId = e.konsultasiId " +
+            "AND p.publishedAt IS NULL AND p.konsultasiVersion < e.konsultasiVersion) ORDER BY e.id ASC")
+    List<KonsultasiOutboxEvent> findClaimable(@Param("afterId") Long afterId,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE KonsultasiOutboxEvent e SET e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE KonsultasiOutboxEvent e SET e.publishedAt = :publishedAt, e.claimedUntil = null " +
+            "WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM KonsultasiOutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
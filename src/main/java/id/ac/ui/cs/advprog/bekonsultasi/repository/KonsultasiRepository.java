@@ -1,17 +1,202 @@
 package id.ac.ui.cs.advprog.bekonsultasi.repository;
 
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface KonsultasiRepository extends JpaRepository<Konsultasi, UUID> {
+    String SUMMARY_SELECT = "SELECT k.id AS id, k.scheduleId AS scheduleId, k.caregiverId AS caregiverId, " +
+            "k.pacilianId AS pacilianId, k.scheduleDateTime AS scheduleDateTime, k.status AS status, " +
+            "k.lastUpdated AS lastUpdated FROM Konsultasi k ";
+    String ACTIVE_OVERLAP = "EXISTS (SELECT 1 FROM Konsultasi o WHERE o.id <> k.id " +
+            "AND o.caregiverId = k.caregiverId AND o.status NOT IN :inactiveStatuses " +
+            "AND o.scheduleDateTime < k.scheduleDateTime + k.durationMinutes minute " +
+            "AND k.scheduleDateTime < o.scheduleDateTime + o.durationMinutes minute)";
+
     List<Konsultasi> findByPacilianId(UUID pacilianId);
     List<Konsultasi> findByCaregiverId(UUID caregiverId);
     List<Konsultasi> findByScheduleId(UUID scheduleId);
     List<Konsultasi> findByStatusAndCaregiverId(String status, UUID caregiverId);
-    List<Konsultasi> findByPacilianIdAndStatusNotIn(UUID pacilianId, List<String> excludeStatuses);
+    List<Konsultasi> findByScheduleIdAndStatusNotInAndScheduleDateTimeBetween(
+            UUID scheduleId, List<String> excludeStatuses, LocalDateTime from, LocalDateTime to);
+    List<Konsultasi> findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+            Collection<UUID> caregiverIds, List<String> excludeStatuses, LocalDateTime from, LocalDateTime to);
+    List<Konsultasi> findByStatusNotInAndScheduleDateTimeBetween(
+            List<String> excludeStatuses, LocalDateTime from, LocalDateTime to);
+    boolean existsByScheduleIdAndStatusInAndScheduleDateTimeAfter(
+            UUID scheduleId, List<String> statuses, LocalDateTime after);
+
+    @Query("SELECT k.caregiverId AS caregiverId, k.scheduleDateTime AS scheduleDateTime, " +
+            "k.durationMinutes AS durationMinutes FROM Konsultasi k " +
+            "WHERE k.status NOT IN :excludeStatuses AND k.scheduleDateTime >= :from AND k.scheduleDateTime < :until")
+    List<ActiveSlot> findActiveSlotsStartingBetween(@Param("excludeStatuses") Collection<String> excludeStatuses,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("until") LocalDateTime until);
+
+    @Query("SELECT k.id FROM Konsultasi k WHERE k.caregiverId = :caregiverId AND k.status NOT IN :excludeStatuses " +
+            "AND k.scheduleDateTime >= :windowStart AND k.scheduleDateTime < :end " +
+            "AND k.scheduleDateTime + k.durationMinutes minute > :start")
+    List<UUID> findConflictingCaregiverBookings(@Param("caregiverId") UUID caregiverId,
+                                                @Param("excludeStatuses") Collection<String> excludeStatuses,
+                                                @Param("windowStart") LocalDateTime windowStart,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end,
+                                                Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE k.caregiverId = :caregiverId AND k.status IN :statuses " +
+            "AND k.scheduleDateTime >= :from AND k.scheduleDateTime < :until " +
+            "ORDER BY k.scheduleDateTime ASC, k.id ASC")
+    List<KonsultasiSummary> findCaregiverPage(@Param("caregiverId") UUID caregiverId,
+                                              @Param("statuses") Collection<String> statuses,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("until") LocalDateTime until,
+                                              Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE k.caregiverId = :caregiverId AND k.status IN :statuses " +
+            "AND k.scheduleDateTime >= :from AND k.scheduleDateTime < :until " +
+            "AND (k.scheduleDateTime, k.id) > (:afterDateTime, :afterId) " +
+            "ORDER BY k.scheduleDateTime ASC, k.id ASC")
+    List<KonsultasiSummary> findCaregiverPageAfter(@Param("caregiverId") UUID caregiverId,
+                                                   @Param("statuses") Collection<String> statuses,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("until") LocalDateTime until,
+                                                   @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                   @Param("afterId") UUID afterId,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE k.pacilianId = :pacilianId AND k.status IN :statuses " +
+            "AND k.scheduleDateTime >= :from AND k.scheduleDateTime < :until " +
+            "ORDER BY k.scheduleDateTime ASC, k.id ASC")
+    List<KonsultasiSummary> findPacilianPage(@Param("pacilianId") UUID pacilianId,
+                                             @Param("statuses") Collection<String> statuses,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("until") LocalDateTime until,
+                                             Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE k.pacilianId = :pacilianId AND k.status IN :statuses " +
+            "AND k.scheduleDateTime >= :from AND k.scheduleDateTime < :until " +
+            "AND (k.scheduleDateTime, k.id) > (:afterDateTime, :afterId) " +
+            "ORDER BY k.scheduleDateTime ASC, k.id ASC")
+    List<KonsultasiSummary> findPacilianPageAfter(@Param("pacilianId") UUID pacilianId,
+                                                  @Param("statuses") Collection<String> statuses,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("until") LocalDateTime until,
+                                                  @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                  @Param("afterId") UUID afterId,
+                                                  Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE k.caregiverId = :caregiverId AND k.status = :status " +
+            "ORDER BY k.scheduleDateTime ASC, k.id ASC")
+    List<KonsultasiSummary> findSummariesByStatusAndCaregiverId(@Param("status") String status,
+                                                                @Param("caregiverId") UUID caregiverId);
+
+    @Query("SELECT k.id FROM Konsultasi k WHERE k.pacilianId = :pacilianId AND k.status NOT IN :excludeStatuses " +
+            "AND k.id <> :excludeId " +
+            "AND k.scheduleDateTime >= :windowStart AND k.scheduleDateTime <= :windowEnd " +
+            "AND k.scheduleDateTime + k.durationMinutes minute >= :start")
+    List<UUID> findConflictingPacilianBookings(@Param("pacilianId") UUID pacilianId,
+                                               @Param("excludeStatuses") Collection<String> excludeStatuses,
+                                               @Param("excludeId") UUID excludeId,
+                                               @Param("windowStart") LocalDateTime windowStart,
+                                               @Param("windowEnd") LocalDateTime windowEnd,
+                                               @Param("start") LocalDateTime start,
+                                               Pageable pageable);
+
+    @Query("SELECT k.caregiverId FROM Konsultasi k WHERE k.id = :id")
+    Optional<UUID> findCaregiverIdById(@Param("id") UUID id);
+
+    @Query("SELECT k.id FROM Konsultasi k WHERE k.scheduleId = :scheduleId " +
+            "AND k.status = 'REQUESTED' AND k.scheduleDateTime > :now")
+    List<UUID> findFutureRequestIds(@Param("scheduleId") UUID scheduleId, @Param("now") LocalDateTime now);
+
+    @Query(SUMMARY_SELECT + "WHERE k.status = 'REQUESTED' AND k.scheduleDateTime <= :now " +
+            "ORDER BY k.scheduleDateTime ASC, k.id ASC")
+    List<KonsultasiSummary> findExpiredRequests(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE k.status = 'CONFIRMED' AND k.scheduleDateTime <= :now " +
+            "AND k.scheduleDateTime + k.durationMinutes minute <= :now " +
+            "ORDER BY k.scheduleDateTime ASC, k.id ASC")
+    List<KonsultasiSummary> findFinishedConfirmed(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Konsultasi k SET k.status = :toStatus, k.activeCaregiverId = null, " +
+            "k.lastUpdated = :now, k.version = k.version + 1 " +
+            "WHERE k.id IN :ids AND k.status = :fromStatus")
+    int closeBookings(@Param("ids") Collection<UUID> ids,
+                      @Param("fromStatus") String fromStatus,
+                      @Param("toStatus") String toStatus,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Konsultasi k SET k.activeCaregiverId = k.caregiverId " +
+            "WHERE k.activeCaregiverId IS NULL AND k.status NOT IN :inactiveStatuses AND NOT " + ACTIVE_OVERLAP)
+    int backfillActiveCaregiverIds(@Param("inactiveStatuses") List<String> inactiveStatuses);
+
+    @Query("SELECT k.id FROM Konsultasi k " +
+            "WHERE k.activeCaregiverId IS NULL AND k.status NOT IN :inactiveStatuses AND " + ACTIVE_OVERLAP)
+    List<UUID> findOverlappingUnkeyedBookingIds(@Param("inactiveStatuses") List<String> inactiveStatuses);
+
+    @Query("SELECT cast(k.scheduleDateTime as LocalDate) AS bookingDate, " +
+            "extract(hour from k.scheduleDateTime) AS bookingHour, count(k) AS booked " +
+            "FROM Konsultasi k JOIN Schedule s ON s.id = k.scheduleId " +
+            "WHERE s.caregiverId = :caregiverId AND k.status NOT IN :excludeStatuses " +
+            "AND k.scheduleDateTime >= :from AND k.scheduleDateTime < :until " +
+            "GROUP BY cast(k.scheduleDateTime as LocalDate), extract(hour from k.scheduleDateTime)")
+    List<HourlyBookingCount> countBookingsByDateAndHour(@Param("caregiverId") UUID caregiverId,
+                                                        @Param("excludeStatuses") List<String> excludeStatuses,
+                                                        @Param("from") LocalDateTime from,
+                                                        @Param("until") LocalDateTime until);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT k.id AS id, k.scheduleDateTime AS scheduleDateTime, k.durationMinutes AS durationMinutes, " +
+            "k.status AS status, k.lastUpdated AS lastUpdated FROM Konsultasi k " +
+            "WHERE k.caregiverId = :caregiverId ORDER BY k.scheduleDateTime")
+    Stream<KonsultasiCalendarEntry> streamCalendarByCaregiverId(@Param("caregiverId") UUID caregiverId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT k.id AS id, k.scheduleDateTime AS scheduleDateTime, k.durationMinutes AS durationMinutes, " +
+            "k.status AS status, k.lastUpdated AS lastUpdated FROM Konsultasi k " +
+            "WHERE k.pacilianId = :pacilianId ORDER BY k.scheduleDateTime")
+    Stream<KonsultasiCalendarEntry> streamCalendarByPacilianId(@Param("pacilianId") UUID pacilianId);
+
+    @Query("SELECT max(k.lastUpdated) AS lastUpdated, count(k) AS total FROM Konsultasi k " +
+            "WHERE k.caregiverId = :caregiverId")
+    FeedVersion findFeedVersionByCaregiverId(@Param("caregiverId") UUID caregiverId);
+
+    @Query("SELECT max(k.lastUpdated) AS lastUpdated, count(k) AS total FROM Konsultasi k " +
+            "WHERE k.pacilianId = :pacilianId")
+    FeedVersion findFeedVersionByPacilianId(@Param("pacilianId") UUID pacilianId);
+
+    @Query("SELECT max(k.lastUpdated) AS lastUpdated, count(k) AS total FROM Konsultasi k " +
+            "WHERE k.status = :status AND k.caregiverId = :caregiverId")
+    FeedVersion findFeedVersionByStatusAndCaregiverId(@Param("status") String status,
+                                                      @Param("caregiverId") UUID caregiverId);
+
+    interface ActiveSlot {
+        UUID getCaregiverId();
+        LocalDateTime getScheduleDateTime();
+        Integer getDurationMinutes();
+    }
+
+    interface HourlyBookingCount {
+        LocalDate getBookingDate();
+        Integer getBookingHour();
+        Long getBooked();
+    }
 }
\ No newline at end of file
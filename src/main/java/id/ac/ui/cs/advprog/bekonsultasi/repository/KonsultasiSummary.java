@@ -0,0 +1,14 @@
+package id.ac.ui.cs.advprog.bekonsultasi.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface KonsultasiSummary {
+    UUID getId();
+    UUID getScheduleId();
+    UUID getCaregiverId();
+    UUID getPacilianId();
+    LocalDateTime getScheduleDateTime();
+    String getStatus();
+    LocalDateTime getLastUpdated();
+}
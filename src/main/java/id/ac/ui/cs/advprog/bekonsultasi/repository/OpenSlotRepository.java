@@ -0,0 +1,42 @@
+package id.ac.ui.cs.advprog.bekonsultasi.repository;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.OpenSlot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OpenSlotRepository extends JpaRepository<OpenSlot, UUID> {
+    List<OpenSlot> findByScheduleIdAndSlotStartBetweenOrderBySlotStartAsc(
+            UUID scheduleId, LocalDateTime from, LocalDateTime to);
+
+    List<OpenSlot> findByCaregiverIdInAndSlotStartBetweenOrderBySlotStartAsc(
+            List<UUID> caregiverIds, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OpenSlot o WHERE o.scheduleId IN :scheduleIds")
+    int deleteByScheduleIdIn(@Param("scheduleIds") Collection<UUID> scheduleIds);
+
+    @Modifying
+    @Query("DELETE FROM OpenSlot o WHERE o.caregiverId = :caregiverId " +
+            "AND o.slotStart > :from AND o.slotStart < :to")
+    int deleteByCaregiverIdWithin(@Param("caregiverId") UUID caregiverId,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM OpenSlot o WHERE o.caregiverId = :caregiverId")
+    int deleteByCaregiverId(@Param("caregiverId") UUID caregiverId);
+
+    @Modifying
+    @Query("DELETE FROM OpenSlot o WHERE NOT EXISTS (SELECT s.id FROM Schedule s WHERE s.id = o.scheduleId)")
+    int deleteOrphaned();
+}
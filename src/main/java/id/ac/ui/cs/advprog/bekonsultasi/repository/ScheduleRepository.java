@@ -1,14 +1,51 @@
 package id.ac.ui.cs.advprog.bekonsultasi.repository;
 
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, UUID> {
     List<Schedule> findByCaregiverId(UUID caregiverId);
     List<Schedule> findByCaregiverIdIn(List<UUID> caregiverIds);
-}
\ No newline at end of file
+
+    @Query("SELECT s FROM Schedule s WHERE s.caregiverId = :caregiverId AND s.day IN :days " +
+            "AND (s.oneTime = false OR s.specificDate >= :today)")
+    List<Schedule> findOverlapCandidates(@Param("caregiverId") UUID caregiverId,
+                                         @Param("days") Collection<DayOfWeek> days,
+                                         @Param("today") LocalDate today);
+
+    @Query("SELECT DISTINCT s.caregiverId FROM Schedule s")
+    List<UUID> findDistinctCaregiverIds();
+
+    List<Schedule> findAllByOrderByIdAsc(Pageable pageable);
+    List<Schedule> findByIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto(" +
+            "s.id, s.caregiverId, s.day, s.startTime, s.endTime, s.specificDate, s.oneTime, " +
+            "s.durationMinutes, s.slotGranularityMinutes) " +
+            "FROM Schedule s ORDER BY s.id")
+    Stream<ScheduleResponseDto> streamAllAsDto();
+
+    @Query("SELECT max(s.lastUpdated) AS lastUpdated, count(s) AS total FROM Schedule s " +
+            "WHERE s.caregiverId = :caregiverId")
+    FeedVersion findFeedVersionByCaregiverId(@Param("caregiverId") UUID caregiverId);
+}
@@ -1,7 +1,9 @@
 package id.ac.ui.cs.advprog.bekonsultasi.service;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.*;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiAction;
 
+import java.io.Writer;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,12 +12,18 @@ public interface KonsultasiService {
     KonsultasiResponseDto confirmKonsultasi(UUID konsultasiId, UUID caregiverId);
     KonsultasiResponseDto cancelKonsultasi(UUID konsultasiId, UUID userId, String role);
     KonsultasiResponseDto completeKonsultasi(UUID konsultasiId, UUID caregiverId);
+    List<KonsultasiBatchResultDto> applyBatchAction(List<UUID> konsultasiIds, KonsultasiAction action, UUID caregiverId);
     KonsultasiResponseDto updateKonsultasiRequest(UUID konsultasiId, UpdateKonsultasiRequestDto dto, UUID pacilianId);
     KonsultasiResponseDto rescheduleKonsultasi(UUID konsultasiId, RescheduleKonsultasiDto dto, UUID caregiverId);
     KonsultasiResponseDto acceptReschedule(UUID konsultasiId, UUID pacilianId);
     KonsultasiResponseDto rejectReschedule(UUID konsultasiId, UUID pacilianId);
     KonsultasiResponseDto getKonsultasiById(UUID konsultasiId, UUID userId, String role);
-    List<KonsultasiResponseDto> getKonsultasiByPacilianId(UUID pacilianId);
-    List<KonsultasiResponseDto> getKonsultasiByCaregiverId(UUID caregiverId);
+    KonsultasiPageDto getKonsultasiPage(UUID userId, String role, KonsultasiFilterDto filter);
+    List<KonsultasiResponseDto> getKonsultasiList(UUID userId, String role, KonsultasiFilterDto filter);
     List<KonsultasiResponseDto> getRequestedKonsultasiByCaregiverId(UUID caregiverId);
+    ResourceTagDto getKonsultasiTag(UUID konsultasiId, UUID userId, String role);
+    ResourceTagDto getKonsultasiPageTag(UUID userId, String role, KonsultasiFilterDto filter);
+    ResourceTagDto getRequestedKonsultasiTag(UUID caregiverId);
+    String getCalendarFeedTag(UUID userId, String role);
+    long writeCalendarFeed(UUID userId, String role, Writer writer);
 }
\ No newline at end of file
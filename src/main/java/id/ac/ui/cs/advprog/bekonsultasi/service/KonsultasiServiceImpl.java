@@ -1,25 +1,54 @@
 package id.ac.ui.cs.advprog.bekonsultasi.service;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.*;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiAction;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
+import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.*;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.FeedVersion;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiCalendarEntry;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiSummary;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.ScheduleRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.OpenSlotProjection;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotGrid;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotOccupancyIndex;
+import id.ac.ui.cs.advprog.bekonsultasi.service.calendar.IcsCalendarWriter;
+import id.ac.ui.cs.advprog.bekonsultasi.service.lock.StripedLockManager;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiOutbox;
+import id.ac.ui.cs.advprog.bekonsultasi.util.AfterCommit;
+import id.ac.ui.cs.advprog.bekonsultasi.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import java.util.function.Supplier;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import io.micrometer.core.instrument.Counter;
 
@@ -31,6 +60,11 @@ public class KonsultasiServiceImpl implements KonsultasiService {
     private final ScheduleRepository scheduleRepository;
     private final ScheduleService scheduleService;
     private final UserDataService userDataService;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final OpenSlotProjection openSlotProjection;
+    private final StripedLockManager stripedLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final KonsultasiOutbox konsultasiOutbox;
 
     private final Counter konsultasiCreatedCounter;
     private final Counter konsultasiConfirmedCounter;
@@ -43,36 +77,42 @@ public class KonsultasiServiceImpl implements KonsultasiService {
     private final Counter konsultasiErrorCounter;
     private final Counter konsultasiScheduleConflictCounter;
     private final Counter konsultasiStateTransitionErrorCounter;
+    private final Counter konsultasiCalendarFeedPollCounter;
+    private final Counter konsultasiCalendarFeedRenderCounter;
+    private final Counter konsultasiBatchRequestCounter;
 
     private static final List<String> COMPLETED_STATUSES = List.of("CANCELLED", "DONE");
-    private static final String REQUESTED_STATUS = "REQUESTED";
-    private static final String CONFIRMED_STATUS = "CONFIRMED";
-    private static final String CANCELLED_STATUS = "CANCELLED";
-    private static final String DONE_STATUS = "DONE";
-    private static final String RESCHEDULED_STATUS = "RESCHEDULED";
+    private static final UUID NO_KONSULTASI = new UUID(0L, 0L);
+    private static final PageRequest FIRST_CONFLICT = PageRequest.of(0, 1);
+    private static final LocalDateTime EARLIEST_LISTED = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_LISTED = LocalDateTime.of(9999, 12, 31, 0, 0);
     private static final String CAREGIVER_ROLE = "CAREGIVER";
     private static final String PACILIAN_ROLE = "PACILIAN";
-    private static final int CONSULTATION_DURATION_HOURS = 1;
 
     @Override
-    @Transactional
     public KonsultasiResponseDto createKonsultasi(CreateKonsultasiDto dto, UUID pacilianId) {
         log.info("Creating konsultasi for pacilian: {}, schedule: {}", pacilianId, dto.getScheduleId());
         
         return executeWithErrorHandling(() -> {
             Schedule schedule = findScheduleById(dto.getScheduleId());
-            LocalDateTime scheduleDateTime = dto.getScheduleDateTime();
+            return inBookingLock(schedule.getCaregiverId(), () -> doCreateKonsultasi(dto, pacilianId, schedule));
+        });
+    }
 
-            validateScheduleAvailability(dto.getScheduleId(), scheduleDateTime);
-            validateNoTimeConflictForUser(pacilianId, scheduleDateTime, null);
+    private KonsultasiResponseDto doCreateKonsultasi(CreateKonsultasiDto dto, UUID pacilianId, Schedule schedule) {
+        LocalDateTime scheduleDateTime = dto.getScheduleDateTime();
 
-            Konsultasi konsultasi = buildNewKonsultasi(dto, pacilianId, schedule, scheduleDateTime);
-            Konsultasi savedKonsultasi = konsultasiRepository.save(konsultasi);
-            
-            konsultasiCreatedCounter.increment();
-            log.info("Successfully created konsultasi: {}", savedKonsultasi.getId());
-            return convertToResponseDto(savedKonsultasi);
-        });
+        validateScheduleAvailability(dto.getScheduleId(), scheduleDateTime);
+        validateNoTimeConflictForUser(pacilianId, scheduleDateTime, schedule.getDurationMinutes(), null);
+
+        Konsultasi konsultasi = buildNewKonsultasi(dto, pacilianId, schedule, scheduleDateTime);
+        Konsultasi savedKonsultasi = persistBooking(konsultasi);
+        konsultasiOutbox.record(savedKonsultasi, KonsultasiEventType.CREATED);
+        occupySlot(konsultasi);
+        
+        konsultasiCreatedCounter.increment();
+        log.info("Successfully created konsultasi: {}", savedKonsultasi.getId());
+        return convertToResponseDto(savedKonsultasi);
     }
 
     @Override
@@ -85,7 +125,7 @@ public class KonsultasiServiceImpl implements KonsultasiService {
             validateUserRoleAndOwnership(konsultasi, caregiverId, CAREGIVER_ROLE);
             validateNotRescheduled(konsultasi);
 
-            return executeStateTransition(konsultasi, () -> {
+            return executeStateTransition(KonsultasiEventType.CONFIRMED, () -> {
                 konsultasi.confirm();
                 konsultasiConfirmedCounter.increment();
                 log.info("Successfully confirmed konsultasi: {}", konsultasiId);
@@ -102,11 +142,12 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         return executeWithErrorHandling(() -> {
             Konsultasi konsultasi = findKonsultasiById(konsultasiId);
             validateUserRoleAndOwnership(konsultasi, userId, role);
-            validateStatusEquals(konsultasi, REQUESTED_STATUS, 
+            validateStatusEquals(konsultasi, KonsultasiStatus.REQUESTED, 
                 "Consultation can only be cancelled when in REQUESTED state");
 
-            return executeStateTransition(konsultasi, () -> {
+            return executeStateTransition(KonsultasiEventType.CANCELLED, () -> {
                 konsultasi.cancel();
+                releaseSlot(konsultasi);
                 konsultasiCancelledCounter.increment();
                 log.info("Successfully cancelled konsultasi: {}", konsultasiId);
                 return konsultasiRepository.save(konsultasi);
@@ -121,8 +162,9 @@ public class KonsultasiServiceImpl implements KonsultasiService {
             Konsultasi konsultasi = findKonsultasiById(konsultasiId);
             validateUserRoleAndOwnership(konsultasi, caregiverId, CAREGIVER_ROLE);
 
-            return executeStateTransition(konsultasi, () -> {
+            return executeStateTransition(KonsultasiEventType.COMPLETED, () -> {
                 konsultasi.complete();
+                releaseSlot(konsultasi);
                 konsultasiCompletedCounter.increment();
                 log.info("Successfully completed konsultasi: {}", konsultasiId);
                 return konsultasiRepository.save(konsultasi);
@@ -132,26 +174,100 @@ public class KonsultasiServiceImpl implements KonsultasiService {
 
     @Override
     @Transactional
-    public KonsultasiResponseDto updateKonsultasiRequest(UUID konsultasiId, UpdateKonsultasiRequestDto dto, UUID pacilianId) {
-        return executeWithErrorHandling(() -> {
-            Konsultasi konsultasi = findKonsultasiById(konsultasiId);
-            validateUserRoleAndOwnership(konsultasi, pacilianId, PACILIAN_ROLE);
-            validateStatusEquals(konsultasi, REQUESTED_STATUS, 
-                "Consultation request can only be updated when in REQUESTED state");
+    public List<KonsultasiBatchResultDto> applyBatchAction(List<UUID> konsultasiIds, KonsultasiAction action,
+                                                           UUID caregiverId) {
+        log.info("Applying {} to {} consultations for caregiver: {}", action, konsultasiIds.size(), caregiverId);
+        konsultasiBatchRequestCounter.increment();
 
-            UUID targetScheduleId = determineTargetScheduleId(konsultasi, dto);
-            validateScheduleAvailability(targetScheduleId, dto.getNewScheduleDateTime());
-            validateNoTimeConflictForUser(pacilianId, dto.getNewScheduleDateTime(), konsultasiId);
+        try {
+            List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(konsultasiIds));
+            Map<UUID, Konsultasi> loaded = konsultasiRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Konsultasi::getId, Function.identity()));
+
+            List<KonsultasiBatchResultDto> results = new ArrayList<>(ids.size());
+            List<Konsultasi> transitioned = new ArrayList<>();
+            for (UUID id : ids) {
+                Konsultasi konsultasi = loaded.get(id);
+                try {
+                    if (konsultasi == null) {
+                        throw new ScheduleException("Consultation not found");
+                    }
+                    validateCaregiverOwnership(konsultasi, caregiverId);
+                    applyAction(konsultasi, action);
+                    transitioned.add(konsultasi);
+                    results.add(KonsultasiBatchResultDto.builder()
+                            .konsultasiId(id)
+                            .success(true)
+                            .build());
+                } catch (ScheduleException | IllegalStateException e) {
+                    if (e instanceof IllegalStateException) {
+                        konsultasiStateTransitionErrorCounter.increment();
+                    }
+                    results.add(KonsultasiBatchResultDto.builder()
+                            .konsultasiId(id)
+                            .success(false)
+                            .message(e.getMessage())
+                            .build());
+                }
+            }
 
-            updateKonsultasiFields(konsultasi, dto, targetScheduleId);
-            Konsultasi savedKonsultasi = konsultasiRepository.save(konsultasi);
+            konsultasiRepository.saveAllAndFlush(transitioned);
+            konsultasiOutbox.recordAll(transitioned, eventTypeOf(action));
+            if (action != KonsultasiAction.CONFIRM) {
+                releaseSlots(caregiverId, transitioned);
+            }
+            recordBatchTransitions(action, transitioned.size());
 
-            konsultasiUpdateRequestCounter.increment();
-            log.info("Successfully updated konsultasi request: {}", konsultasiId);
-            return convertToResponseDto(savedKonsultasi);
+            for (KonsultasiBatchResultDto result : results) {
+                if (result.isSuccess()) {
+                    result.setKonsultasi(convertToResponseDto(loaded.get(result.getKonsultasiId())));
+                }
+            }
+            log.info("Applied {} to {} of {} consultations", action, transitioned.size(), ids.size());
+            return results;
+        } catch (Exception e) {
+            konsultasiErrorCounter.increment();
+            log.error("Batch {} failed for caregiver: {}: {}", action, caregiverId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    public KonsultasiResponseDto updateKonsultasiRequest(UUID konsultasiId, UpdateKonsultasiRequestDto dto, UUID pacilianId) {
+        return executeWithErrorHandling(() -> {
+            UUID caregiverId = konsultasiRepository.findCaregiverIdById(konsultasiId)
+                    .orElseThrow(() -> new ScheduleException("Consultation not found"));
+            return inBookingLock(caregiverId, () -> doUpdateKonsultasiRequest(konsultasiId, dto, pacilianId));
         });
     }
 
+    private KonsultasiResponseDto doUpdateKonsultasiRequest(UUID konsultasiId, UpdateKonsultasiRequestDto dto,
+                                                            UUID pacilianId) {
+        Konsultasi konsultasi = findKonsultasiById(konsultasiId);
+        validateUserRoleAndOwnership(konsultasi, pacilianId, PACILIAN_ROLE);
+        validateStatusEquals(konsultasi, KonsultasiStatus.REQUESTED, 
+            "Consultation request can only be updated when in REQUESTED state");
+
+        Schedule newSchedule = findNewSchedule(konsultasi, dto.getNewScheduleId(),
+                "Cannot change to a different caregiver's schedule");
+        UUID targetScheduleId = newSchedule != null ? dto.getNewScheduleId() : konsultasi.getScheduleId();
+        int targetDuration = newSchedule != null ? newSchedule.getDurationMinutes() : konsultasi.getDurationMinutes();
+        validateScheduleAvailability(targetScheduleId, dto.getNewScheduleDateTime());
+        validateNoTimeConflictForUser(pacilianId, dto.getNewScheduleDateTime(), targetDuration, konsultasiId);
+
+        LocalDateTime previousDateTime = konsultasi.getScheduleDateTime();
+        int previousDuration = konsultasi.getDurationMinutes();
+        updateKonsultasiFields(konsultasi, dto, targetScheduleId);
+        konsultasi.setDurationMinutes(targetDuration);
+        Konsultasi savedKonsultasi = persistBooking(konsultasi);
+        konsultasiOutbox.record(savedKonsultasi, KonsultasiEventType.UPDATED);
+        moveSlot(konsultasi, previousDateTime, previousDuration);
+
+        konsultasiUpdateRequestCounter.increment();
+        log.info("Successfully updated konsultasi request: {}", konsultasiId);
+        return convertToResponseDto(savedKonsultasi);
+    }
+
     @Override
     @Transactional
     public KonsultasiResponseDto rescheduleKonsultasi(UUID konsultasiId, RescheduleKonsultasiDto dto, UUID caregiverId) {
@@ -160,19 +276,27 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         return executeWithErrorHandling(() -> {
             Konsultasi konsultasi = findKonsultasiById(konsultasiId);
             validateUserRoleAndOwnership(konsultasi, caregiverId, CAREGIVER_ROLE);
-            validateStatusEquals(konsultasi, CONFIRMED_STATUS, 
+            validateStatusEquals(konsultasi, KonsultasiStatus.CONFIRMED, 
                 "Consultation can only be rescheduled when in CONFIRMED state");
 
-            UUID targetScheduleId = determineTargetScheduleIdForReschedule(konsultasi, dto);
+            Schedule newSchedule = findNewSchedule(konsultasi, dto.getNewScheduleId(),
+                    "Cannot reschedule to a different caregiver's schedule");
+            UUID targetScheduleId = newSchedule != null ? dto.getNewScheduleId() : konsultasi.getScheduleId();
             validateScheduleAvailability(targetScheduleId, dto.getNewScheduleDateTime());
 
             LocalDateTime currentDateTime = konsultasi.getScheduleDateTime();
+            int currentDuration = konsultasi.getDurationMinutes();
 
-            return executeStateTransition(konsultasi, () -> {
+            return executeStateTransition(KonsultasiEventType.RESCHEDULED, () -> {
                 updateKonsultasiForReschedule(konsultasi, dto, targetScheduleId, currentDateTime);
+                if (newSchedule != null) {
+                    konsultasi.setDurationMinutes(newSchedule.getDurationMinutes());
+                }
+                Konsultasi savedKonsultasi = persistBooking(konsultasi);
+                moveSlot(konsultasi, currentDateTime, currentDuration);
                 konsultasiRescheduledCounter.increment();
                 log.info("Successfully rescheduled konsultasi: {}", konsultasiId);
-                return konsultasiRepository.save(konsultasi);
+                return savedKonsultasi;
             });
         });
     }
@@ -183,10 +307,10 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         return executeWithErrorHandling(() -> {
             Konsultasi konsultasi = findKonsultasiById(konsultasiId);
             validateUserRoleAndOwnership(konsultasi, pacilianId, PACILIAN_ROLE);
-            validateStatusEquals(konsultasi, RESCHEDULED_STATUS, 
+            validateStatusEquals(konsultasi, KonsultasiStatus.RESCHEDULED, 
                 "Only rescheduled consultations can be accepted");
 
-            return executeStateTransition(konsultasi, () -> {
+            return executeStateTransition(KonsultasiEventType.RESCHEDULE_ACCEPTED, () -> {
                 konsultasi.confirm();
                 konsultasiRescheduleAcceptedCounter.increment();
                 return konsultasiRepository.save(konsultasi);
@@ -200,14 +324,16 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         return executeWithErrorHandling(() -> {
             Konsultasi konsultasi = findKonsultasiById(konsultasiId);
             validateUserRoleAndOwnership(konsultasi, caregiverId, PACILIAN_ROLE);
-            validateStatusEquals(konsultasi, RESCHEDULED_STATUS, 
+            validateStatusEquals(konsultasi, KonsultasiStatus.RESCHEDULED, 
                 "Only rescheduled consultations can be rejected");
 
-            return executeStateTransition(konsultasi, () -> {
-                RescheduledState rescheduledState = (RescheduledState) konsultasi.getState();
-                rescheduledState.reject(konsultasi);
+            return executeStateTransition(KonsultasiEventType.RESCHEDULE_REJECTED, () -> {
+                LocalDateTime proposedDateTime = konsultasi.getScheduleDateTime();
+                RescheduledState.INSTANCE.reject(konsultasi);
+                Konsultasi savedKonsultasi = persistBooking(konsultasi);
+                moveSlot(konsultasi, proposedDateTime, konsultasi.getDurationMinutes());
                 konsultasiRescheduleRejectedCounter.increment();
-                return konsultasiRepository.save(konsultasi);
+                return savedKonsultasi;
             });
         });
     }
@@ -220,24 +346,165 @@ public class KonsultasiServiceImpl implements KonsultasiService {
     }
 
     @Override
-    public List<KonsultasiResponseDto> getKonsultasiByPacilianId(UUID pacilianId) {
-        List<Konsultasi> konsultasiList = konsultasiRepository.findByPacilianId(pacilianId);
-        return konsultasiList.stream()
-                .map(k -> convertToResponseDtoByRole(k, PACILIAN_ROLE))
-                .toList();
+    @Transactional(readOnly = true)
+    public KonsultasiPageDto getKonsultasiPage(UUID userId, String role, KonsultasiFilterDto filter) {
+        log.info("Fetching konsultasi page for {}: {}, after: {}, limit: {}",
+                role, userId, filter.getAfter(), filter.getLimit());
+
+        int limit = filter.getLimit();
+        KeysetCursor cursor = filter.getAfter() != null ? KeysetCursor.decode(filter.getAfter()) : null;
+        List<KonsultasiSummary> rows = findListedSummaries(userId, role, filter, cursor, PageRequest.of(0, limit + 1));
+
+        boolean hasMore = rows.size() > limit;
+        List<KonsultasiSummary> items = hasMore ? rows.subList(0, limit) : rows;
+        KonsultasiSummary last = hasMore ? items.get(items.size() - 1) : null;
+
+        return KonsultasiPageDto.builder()
+                .items(convertToResponseDtosByRole(items, role))
+                .nextCursor(last != null ? new KeysetCursor(last.getScheduleDateTime(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
-    public List<KonsultasiResponseDto> getKonsultasiByCaregiverId(UUID caregiverId) {
-        List<Konsultasi> konsultasiList = konsultasiRepository.findByCaregiverId(caregiverId);
-        return konsultasiList.stream()
-                .map(k -> convertToResponseDtoByRole(k, CAREGIVER_ROLE))
+    @Transactional(readOnly = true)
+    public List<KonsultasiResponseDto> getKonsultasiList(UUID userId, String role, KonsultasiFilterDto filter) {
+        log.info("Fetching konsultasi list for {}: {}", role, userId);
+        return convertToResponseDtosByRole(findListedSummaries(userId, role, filter, null, Pageable.unpaged()), role);
+    }
+
+    private List<KonsultasiSummary> findListedSummaries(UUID userId, String role, KonsultasiFilterDto filter,
+                                                        KeysetCursor cursor, Pageable page) {
+        List<String> statuses = (filter.getStatuses() == null || filter.getStatuses().isEmpty()
+                ? EnumSet.allOf(KonsultasiStatus.class) : filter.getStatuses())
+                .stream()
+                .map(Enum::name)
                 .toList();
+        LocalDateTime from = filter.getFrom() != null ? filter.getFrom() : EARLIEST_LISTED;
+        LocalDateTime until = filter.getTo() != null ? filter.getTo() : LATEST_LISTED;
+
+        if (CAREGIVER_ROLE.equals(role)) {
+            return cursor == null
+                    ? konsultasiRepository.findCaregiverPage(userId, statuses, from, until, page)
+                    : konsultasiRepository.findCaregiverPageAfter(userId, statuses, from, until,
+                            cursor.scheduleDateTime(), cursor.id(), page);
+        }
+        return cursor == null
+                ? konsultasiRepository.findPacilianPage(userId, statuses, from, until, page)
+                : konsultasiRepository.findPacilianPageAfter(userId, statuses, from, until,
+                        cursor.scheduleDateTime(), cursor.id(), page);
     }
 
     @Override
     public List<KonsultasiResponseDto> getRequestedKonsultasiByCaregiverId(UUID caregiverId) {
-        return convertToDtoList(konsultasiRepository.findByStatusAndCaregiverId(REQUESTED_STATUS, caregiverId));
+        return konsultasiRepository.findSummariesByStatusAndCaregiverId(KonsultasiStatus.REQUESTED.name(), caregiverId)
+                .stream()
+                .map(summary -> buildSummaryResponseDto(summary, null, null))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getCalendarFeedTag(UUID userId, String role) {
+        konsultasiCalendarFeedPollCounter.increment();
+
+        StringBuilder signature = new StringBuilder(role);
+        if (CAREGIVER_ROLE.equals(role)) {
+            appendVersion(signature, konsultasiRepository.findFeedVersionByCaregiverId(userId));
+            appendVersion(signature, scheduleRepository.findFeedVersionByCaregiverId(userId));
+        } else {
+            appendVersion(signature, konsultasiRepository.findFeedVersionByPacilianId(userId));
+        }
+        return toETag(signature);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceTagDto getKonsultasiTag(UUID konsultasiId, UUID userId, String role) {
+        Konsultasi konsultasi = findKonsultasiById(konsultasiId);
+        validateUserRoleAndOwnership(konsultasi, userId, role);
+
+        StringBuilder signature = new StringBuilder(role)
+                .append('|').append(konsultasi.getId())
+                .append('|').append(konsultasi.getVersion());
+        return ResourceTagDto.builder()
+                .etag(toETag(signature))
+                .lastModified(konsultasi.getLastUpdated())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceTagDto getKonsultasiPageTag(UUID userId, String role, KonsultasiFilterDto filter) {
+        StringBuilder signature = new StringBuilder(role)
+                .append('|').append(userId)
+                .append("|page|").append(filter.getStatuses() == null ? List.of() : filter.getStatuses().stream()
+                        .map(Enum::name)
+                        .sorted()
+                        .toList())
+                .append('|').append(filter.getFrom())
+                .append('|').append(filter.getTo())
+                .append('|').append(filter.getAfter())
+                .append('|').append(filter.getLimit());
+        appendVersion(signature, CAREGIVER_ROLE.equals(role)
+                ? konsultasiRepository.findFeedVersionByCaregiverId(userId)
+                : konsultasiRepository.findFeedVersionByPacilianId(userId));
+        return ResourceTagDto.builder()
+                .etag(toETag(signature))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceTagDto getRequestedKonsultasiTag(UUID caregiverId) {
+        StringBuilder signature = new StringBuilder(CAREGIVER_ROLE)
+                .append('|').append(caregiverId)
+                .append("|requested");
+        appendVersion(signature, konsultasiRepository.findFeedVersionByStatusAndCaregiverId(
+                KonsultasiStatus.REQUESTED.name(), caregiverId));
+        return ResourceTagDto.builder()
+                .etag(toETag(signature))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long writeCalendarFeed(UUID userId, String role, Writer writer) {
+        log.info("Streaming calendar feed for user: {} ({})", userId, role);
+        konsultasiCalendarFeedRenderCounter.increment();
+
+        boolean caregiver = CAREGIVER_ROLE.equals(role);
+        IcsCalendarWriter calendar = new IcsCalendarWriter(writer);
+        calendar.begin(caregiver ? "Caregiver consultations" : "My consultations");
+        if (caregiver) {
+            scheduleRepository.findByCaregiverId(userId).forEach(calendar::availability);
+        }
+
+        long written = 0;
+        try (Stream<KonsultasiCalendarEntry> rows = caregiver
+                ? konsultasiRepository.streamCalendarByCaregiverId(userId)
+                : konsultasiRepository.streamCalendarByPacilianId(userId)) {
+            Iterator<KonsultasiCalendarEntry> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                calendar.consultation(iterator.next());
+                written++;
+            }
+        } catch (Exception e) {
+            konsultasiErrorCounter.increment();
+            log.error("Calendar feed failed after {} consultations: {}", written, e.getMessage(), e);
+            throw e;
+        }
+
+        calendar.end();
+        return written;
+    }
+
+    private void appendVersion(StringBuilder signature, FeedVersion version) {
+        signature.append('|').append(version.getTotal()).append('@').append(version.getLastUpdated());
+    }
+
+    private static String toETag(CharSequence signature) {
+        return "\"" + UUID.nameUUIDFromBytes(signature.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 
 
@@ -251,10 +518,16 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         }
     }
 
-    private KonsultasiResponseDto executeStateTransition(Konsultasi konsultasi, Supplier<Konsultasi> operation) {
-        initializeState(konsultasi);
+    private KonsultasiResponseDto inBookingLock(UUID caregiverId, Supplier<KonsultasiResponseDto> operation) {
+        return stripedLockManager.withLock(caregiverId,
+                () -> transactionTemplate.execute(status -> operation.get()));
+    }
+
+    private KonsultasiResponseDto executeStateTransition(KonsultasiEventType eventType,
+                                                         Supplier<Konsultasi> operation) {
         try {
             Konsultasi savedKonsultasi = operation.get();
+            konsultasiOutbox.record(savedKonsultasi, eventType);
             return convertToResponseDto(savedKonsultasi);
         } catch (IllegalStateException e) {
             konsultasiStateTransitionErrorCounter.increment();
@@ -262,6 +535,38 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         }
     }
 
+    private static KonsultasiEventType eventTypeOf(KonsultasiAction action) {
+        return switch (action) {
+            case CONFIRM -> KonsultasiEventType.CONFIRMED;
+            case COMPLETE -> KonsultasiEventType.COMPLETED;
+            case CANCEL -> KonsultasiEventType.CANCELLED;
+        };
+    }
+
+    private void applyAction(Konsultasi konsultasi, KonsultasiAction action) {
+        if (action == KonsultasiAction.CONFIRM) {
+            validateNotRescheduled(konsultasi);
+        } else if (action == KonsultasiAction.CANCEL) {
+            validateStatusEquals(konsultasi, KonsultasiStatus.REQUESTED,
+                    "Consultation can only be cancelled when in REQUESTED state");
+        }
+
+        switch (action) {
+            case CONFIRM -> konsultasi.confirm();
+            case CANCEL -> konsultasi.cancel();
+            case COMPLETE -> konsultasi.complete();
+        }
+    }
+
+    private void recordBatchTransitions(KonsultasiAction action, int count) {
+        Counter counter = switch (action) {
+            case CONFIRM -> konsultasiConfirmedCounter;
+            case CANCEL -> konsultasiCancelledCounter;
+            case COMPLETE -> konsultasiCompletedCounter;
+        };
+        counter.increment(count);
+    }
+
     private void validateScheduleAvailability(UUID scheduleId, LocalDateTime dateTime) {
         if (!scheduleService.isScheduleAvailableForDateTime(scheduleId, dateTime)) {
             konsultasiScheduleConflictCounter.increment();
@@ -269,60 +574,88 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         }
     }
 
-    private void validateNoTimeConflictForUser(UUID pacilianId, LocalDateTime scheduleDateTime, UUID excludeKonsultasiId) {
-        List<Konsultasi> activeKonsultations = konsultasiRepository.findByPacilianIdAndStatusNotIn(
-                pacilianId, COMPLETED_STATUSES);
+    private void validateNoTimeConflictForUser(UUID pacilianId, LocalDateTime scheduleDateTime,
+                                               int durationMinutes, UUID excludeKonsultasiId) {
+        List<UUID> conflicts = konsultasiRepository.findConflictingPacilianBookings(
+                pacilianId,
+                COMPLETED_STATUSES,
+                excludeKonsultasiId != null ? excludeKonsultasiId : NO_KONSULTASI,
+                scheduleDateTime.minusMinutes(SlotGrid.MAX_DURATION_MINUTES),
+                scheduleDateTime.plusMinutes(durationMinutes),
+                scheduleDateTime,
+                FIRST_CONFLICT);
 
-        for (Konsultasi existingKonsultasi : activeKonsultations) {
-            if (excludeKonsultasiId != null && existingKonsultasi.getId().equals(excludeKonsultasiId)) {
-                continue;
-            }
+        if (!conflicts.isEmpty()) {
+            konsultasiScheduleConflictCounter.increment();
+            throw new ScheduleException("You already have another consultation scheduled at this time");
+        }
+    }
 
-            if (hasTimeConflict(existingKonsultasi.getScheduleDateTime(), scheduleDateTime)) {
-                konsultasiScheduleConflictCounter.increment();
-                throw new ScheduleException("You already have another consultation scheduled at this time");
-            }
+    private Konsultasi persistBooking(Konsultasi konsultasi) {
+        try {
+            return konsultasiRepository.saveAndFlush(konsultasi);
+        } catch (DataIntegrityViolationException e) {
+            konsultasiScheduleConflictCounter.increment();
+            log.warn("Slot {} for caregiver {} was taken concurrently", konsultasi.getScheduleDateTime(),
+                    konsultasi.getCaregiverId());
+            throw new ScheduleConflictException("This time slot has just been booked, please choose another one");
         }
     }
 
-    private boolean hasTimeConflict(LocalDateTime existingDateTime, LocalDateTime newDateTime) {
-        LocalDateTime existingStart = existingDateTime;
-        LocalDateTime existingEnd = existingStart.plusHours(CONSULTATION_DURATION_HOURS);
-        LocalDateTime newEnd = newDateTime.plusHours(CONSULTATION_DURATION_HOURS);
+    private void occupySlot(Konsultasi konsultasi) {
+        UUID caregiverId = konsultasi.getCaregiverId();
+        LocalDateTime dateTime = konsultasi.getScheduleDateTime();
+        Duration duration = Duration.ofMinutes(konsultasi.getDurationMinutes());
+        openSlotProjection.refreshCaregiverWindow(caregiverId, dateTime);
+        AfterCommit.run(() -> slotOccupancyIndex.occupy(caregiverId, dateTime, duration));
+    }
 
-        return (newDateTime.isBefore(existingEnd) || newDateTime.isEqual(existingEnd)) &&
-               (newEnd.isAfter(existingStart) || newEnd.isEqual(existingStart));
+    private void releaseSlot(Konsultasi konsultasi) {
+        releaseSlots(konsultasi.getCaregiverId(), List.of(konsultasi));
+    }
+
+    private void releaseSlots(UUID caregiverId, List<Konsultasi> released) {
+        if (released.isEmpty()) {
+            return;
+        }
+        openSlotProjection.refreshCaregiverWindows(caregiverId,
+                released.stream().map(Konsultasi::getScheduleDateTime).toList());
+        AfterCommit.run(() -> released.forEach(konsultasi -> slotOccupancyIndex.release(caregiverId,
+                konsultasi.getScheduleDateTime(), Duration.ofMinutes(konsultasi.getDurationMinutes()))));
+    }
+
+    private void moveSlot(Konsultasi konsultasi, LocalDateTime from, int fromDurationMinutes) {
+        UUID caregiverId = konsultasi.getCaregiverId();
+        LocalDateTime to = konsultasi.getScheduleDateTime();
+        Duration fromDuration = Duration.ofMinutes(fromDurationMinutes);
+        Duration toDuration = Duration.ofMinutes(konsultasi.getDurationMinutes());
+        openSlotProjection.refreshCaregiverWindows(caregiverId, List.of(from, to));
+        AfterCommit.run(() -> {
+            slotOccupancyIndex.release(caregiverId, from, fromDuration);
+            slotOccupancyIndex.occupy(caregiverId, to, toDuration);
+        });
     }
 
     private void validateNotRescheduled(Konsultasi konsultasi) {
-        if (RESCHEDULED_STATUS.equals(konsultasi.getStatus())) {
+        if (konsultasi.currentStatus() == KonsultasiStatus.RESCHEDULED) {
             throw new ScheduleException(
                 "Rescheduled consultations must be accepted or rejected through the appropriate endpoints");
         }
     }
 
-    private void validateStatusEquals(Konsultasi konsultasi, String expectedStatus, String errorMessage) {
-        if (!expectedStatus.equals(konsultasi.getStatus())) {
+    private void validateStatusEquals(Konsultasi konsultasi, KonsultasiStatus expectedStatus, String errorMessage) {
+        if (konsultasi.currentStatus() != expectedStatus) {
             throw new ScheduleException(errorMessage);
         }
     }
 
-    private UUID determineTargetScheduleId(Konsultasi konsultasi, UpdateKonsultasiRequestDto dto) {
-        if (dto.getNewScheduleId() != null) {
-            Schedule newSchedule = findScheduleById(dto.getNewScheduleId());
-            validateSameCaregiver(newSchedule, konsultasi, "Cannot change to a different caregiver's schedule");
-            return dto.getNewScheduleId();
+    private Schedule findNewSchedule(Konsultasi konsultasi, UUID newScheduleId, String errorMessage) {
+        if (newScheduleId == null) {
+            return null;
         }
-        return konsultasi.getScheduleId();
-    }
-
-    private UUID determineTargetScheduleIdForReschedule(Konsultasi konsultasi, RescheduleKonsultasiDto dto) {
-        if (dto.getNewScheduleId() != null) {
-            Schedule newSchedule = findScheduleById(dto.getNewScheduleId());
-            validateSameCaregiver(newSchedule, konsultasi, "Cannot reschedule to a different caregiver's schedule");
-            return dto.getNewScheduleId();
-        }
-        return konsultasi.getScheduleId();
+        Schedule newSchedule = findScheduleById(newScheduleId);
+        validateSameCaregiver(newSchedule, konsultasi, errorMessage);
+        return newSchedule;
     }
 
     private void validateSameCaregiver(Schedule newSchedule, Konsultasi konsultasi, String errorMessage) {
@@ -391,17 +724,6 @@ public class KonsultasiServiceImpl implements KonsultasiService {
         }
     }
 
-    private void initializeState(Konsultasi konsultasi) {
-        switch (konsultasi.getStatus()) {
-            case REQUESTED_STATUS -> konsultasi.setState(new RequestedState());
-            case CONFIRMED_STATUS -> konsultasi.setState(new ConfirmedState());
-            case CANCELLED_STATUS -> konsultasi.setState(new CancelledState());
-            case DONE_STATUS -> konsultasi.setState(new DoneState());
-            case RESCHEDULED_STATUS -> konsultasi.setState(new RescheduledState());
-            default -> throw new IllegalStateException("Unknown consultation status: " + konsultasi.getStatus());
-        }
-    }
-
     private Konsultasi buildNewKonsultasi(CreateKonsultasiDto dto, UUID pacilianId,
                                         Schedule schedule, LocalDateTime scheduleDateTime) {
         Konsultasi konsultasi = Konsultasi.builder()
@@ -409,20 +731,15 @@ public class KonsultasiServiceImpl implements KonsultasiService {
                 .caregiverId(schedule.getCaregiverId())
                 .pacilianId(pacilianId)
                 .scheduleDateTime(scheduleDateTime)
+                .durationMinutes(schedule.getDurationMinutes())
                 .notes(dto.getNotes())
-                .status(REQUESTED_STATUS)
+                .status(KonsultasiStatus.REQUESTED.name())
                 .build();
 
-        konsultasi.setState(new RequestedState());
+        konsultasi.setState(RequestedState.INSTANCE);
         return konsultasi;
     }
 
-    private List<KonsultasiResponseDto> convertToDtoList(List<Konsultasi> konsultasiList) {
-        return konsultasiList.stream()
-                .map(this::convertToResponseDto)
-                .toList();
-    }
-
     private KonsultasiResponseDto convertToResponseDto(Konsultasi konsultasi) {
         return KonsultasiResponseDto.builder()
                 .id(konsultasi.getId())
@@ -436,6 +753,24 @@ public class KonsultasiServiceImpl implements KonsultasiService {
                 .build();
     }
 
+    private List<KonsultasiResponseDto> convertToResponseDtosByRole(List<KonsultasiSummary> summaries, String role) {
+        if (summaries.isEmpty()) {
+            return List.of();
+        }
+        if (CAREGIVER_ROLE.equalsIgnoreCase(role)) {
+            Map<UUID, PacilianPublicDto> pacilians = userDataService.getPaciliansByIds(
+                    summaries.stream().map(KonsultasiSummary::getPacilianId).toList());
+            return summaries.stream()
+                    .map(k -> buildSummaryResponseDto(k, null, pacilians.get(k.getPacilianId())))
+                    .toList();
+        }
+        Map<UUID, CaregiverPublicDto> caregivers = userDataService.getCaregiversByIds(
+                summaries.stream().map(KonsultasiSummary::getCaregiverId).toList());
+        return summaries.stream()
+                .map(k -> buildSummaryResponseDto(k, caregivers.get(k.getCaregiverId()), null))
+                .toList();
+    }
+
     private KonsultasiResponseDto convertToResponseDtoByRole(Konsultasi konsultasi, String role) {
         try {
             if (CAREGIVER_ROLE.equalsIgnoreCase(role)) {
@@ -459,18 +794,7 @@ public class KonsultasiServiceImpl implements KonsultasiService {
             pacilianData = pacilianFuture.get();
         }
         
-        return KonsultasiResponseDto.builder()
-                .id(konsultasi.getId())
-                .scheduleId(konsultasi.getScheduleId())
-                .caregiverId(konsultasi.getCaregiverId())
-                .pacilianId(konsultasi.getPacilianId())
-                .scheduleDateTime(konsultasi.getScheduleDateTime())
-                .notes(konsultasi.getNotes())
-                .status(konsultasi.getStatus())
-                .lastUpdated(konsultasi.getLastUpdated())
-                .caregiverData(null)
-                .pacilianData(pacilianData)
-                .build();
+        return buildEnrichedResponseDto(konsultasi, null, pacilianData);
     }
 
     private KonsultasiResponseDto buildResponseDtoForPacilian(Konsultasi konsultasi) 
@@ -483,6 +807,15 @@ public class KonsultasiServiceImpl implements KonsultasiService {
             caregiverData = caregiverFuture.get();
         }
         
+        return buildEnrichedResponseDto(konsultasi, caregiverData, null);
+    }
+
+    private KonsultasiResponseDto buildBasicResponseDto(Konsultasi konsultasi) {
+        return buildEnrichedResponseDto(konsultasi, null, null);
+    }
+
+    private KonsultasiResponseDto buildEnrichedResponseDto(Konsultasi konsultasi, CaregiverPublicDto caregiverData,
+                                                           PacilianPublicDto pacilianData) {
         return KonsultasiResponseDto.builder()
                 .id(konsultasi.getId())
                 .scheduleId(konsultasi.getScheduleId())
@@ -493,22 +826,22 @@ public class KonsultasiServiceImpl implements KonsultasiService {
                 .status(konsultasi.getStatus())
                 .lastUpdated(konsultasi.getLastUpdated())
                 .caregiverData(caregiverData)
-                .pacilianData(null)
+                .pacilianData(pacilianData)
                 .build();
     }
 
-    private KonsultasiResponseDto buildBasicResponseDto(Konsultasi konsultasi) {
+    private KonsultasiResponseDto buildSummaryResponseDto(KonsultasiSummary summary, CaregiverPublicDto caregiverData,
+                                                          PacilianPublicDto pacilianData) {
         return KonsultasiResponseDto.builder()
-                .id(konsultasi.getId())
-                .scheduleId(konsultasi.getScheduleId())
-                .caregiverId(konsultasi.getCaregiverId())
-                .pacilianId(konsultasi.getPacilianId())
-                .scheduleDateTime(konsultasi.getScheduleDateTime())
-                .notes(konsultasi.getNotes())
-                .status(konsultasi.getStatus())
-                .lastUpdated(konsultasi.getLastUpdated())
-                .caregiverData(null)
-                .pacilianData(null)
+                .id(summary.getId())
+                .scheduleId(summary.getScheduleId())
+                .caregiverId(summary.getCaregiverId())
+                .pacilianId(summary.getPacilianId())
+                .scheduleDateTime(summary.getScheduleDateTime())
+                .status(summary.getStatus())
+                .lastUpdated(summary.getLastUpdated())
+                .caregiverData(caregiverData)
+                .pacilianData(pacilianData)
                 .build();
     }
-}
\ No newline at end of file
+}
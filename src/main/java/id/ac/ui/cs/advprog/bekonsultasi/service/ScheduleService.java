@@ -1,23 +1,35 @@
 package id.ac.ui.cs.advprog.bekonsultasi.service;
 
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailabilityHeatmapDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailableSlotDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateOneTimeScheduleDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ResourceTagDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleBulkResultDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.SchedulePageDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
 
 import java.util.concurrent.CompletableFuture;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ScheduleService {
     ScheduleResponseDto createSchedule(CreateScheduleDto dto, UUID caregiverId);
+    List<ScheduleBulkResultDto> createSchedules(List<CreateScheduleDto> dtos, UUID caregiverId);
     ScheduleResponseDto createOneTimeSchedule(CreateOneTimeScheduleDto dto, UUID caregiverId);
     ScheduleResponseDto updateSchedule(UUID scheduleId, CreateScheduleDto dto, UUID caregiverId);
     List<ScheduleResponseDto> getCaregiverSchedules(UUID caregiverId);
+    ResourceTagDto getCaregiverSchedulesTag(UUID caregiverId);
     List<ScheduleResponseDto> getAllSchedules();
+    SchedulePageDto getSchedulesPage(UUID after, int limit);
+    long exportAllSchedules(Consumer<ScheduleResponseDto> consumer);
     boolean isScheduleAvailableForDateTime(UUID scheduleId, LocalDateTime dateTime);
     List<LocalDateTime> getAvailableDateTimesForSchedule(UUID scheduleId, int weeksAhead);
     List<ScheduleResponseDto> getAvailableSchedulesByCaregiver(UUID caregiverId);
     List<ScheduleResponseDto> getAvailableSchedulesForCaregivers(List<UUID> caregiverIds);
+    List<AvailableSlotDto> findEarliestAvailableSlots(List<UUID> caregiverIds, int limit, int weeksAhead);
+    AvailabilityHeatmapDto getAvailabilityHeatmap(UUID caregiverId, int weeksAhead);
     CompletableFuture<Void> deleteScheduleAsync(UUID scheduleId, UUID caregiverId);
 }
\ No newline at end of file
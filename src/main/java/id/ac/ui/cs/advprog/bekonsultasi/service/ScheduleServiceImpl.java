@@ -1,30 +1,55 @@
 package id.ac.ui.cs.advprog.bekonsultasi.service;
 
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailabilityHeatmapDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailableSlotDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateOneTimeScheduleDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ResourceTagDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleBulkResultDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.SchedulePageDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.AuthenticationException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.FeedVersion;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.ScheduleRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.AvailabilityCalendar;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.EarliestSlotFinder;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.OpenSlotProjection;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.ScheduleOccurrences;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.ScheduleOverlapIndex;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotGrid;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotOccupancyIndex;
+import id.ac.ui.cs.advprog.bekonsultasi.service.cache.AvailabilityHeatmapCache;
+import id.ac.ui.cs.advprog.bekonsultasi.service.cache.CaregiverScheduleCache;
 import id.ac.ui.cs.advprog.bekonsultasi.service.factory.ScheduleFactory;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiOutbox;
+import id.ac.ui.cs.advprog.bekonsultasi.util.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.scheduling.annotation.Async;
 
-import java.time.temporal.TemporalAdjusters;
 import java.util.concurrent.CompletableFuture;
+import java.nio.charset.StandardCharsets;
 
 import java.time.*;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import io.micrometer.core.instrument.Counter;
 
@@ -35,6 +60,11 @@ public class ScheduleServiceImpl implements ScheduleService {
     private final ScheduleRepository scheduleRepository;
     private final KonsultasiRepository konsultasiRepository;
     private final ScheduleFactory scheduleFactory;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final OpenSlotProjection openSlotProjection;
+    private final CaregiverScheduleCache caregiverScheduleCache;
+    private final AvailabilityHeatmapCache availabilityHeatmapCache;
+    private final KonsultasiOutbox konsultasiOutbox;
 
     private final Counter scheduleCreatedCounter;
     private final Counter scheduleOneTimeCreatedCounter;
@@ -62,8 +92,17 @@ public class ScheduleServiceImpl implements ScheduleService {
     private final Counter scheduleFactoryOneTimeCounter;
     private final Counter scheduleSuccessfulOperationsCounter;
     private final Counter scheduleFailedOperationsCounter;
+    private final Counter scheduleBulkCreatedCounter;
+    private final Counter scheduleEarliestSlotSearchCounter;
+    private final Counter scheduleHeatmapQueryCounter;
+
+    private static final List<String> INACTIVE_STATUSES = List.of("CANCELLED", "DONE");
+    private static final List<String> COMMITTED_STATUSES = List.of("CONFIRMED", "RESCHEDULED");
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int HOURS_PER_DAY = 24;
 
     @Override
+    @Transactional
     public ScheduleResponseDto createSchedule(CreateScheduleDto dto, UUID caregiverId) {
         log.info("Creating schedule for caregiver: {}, day: {}, time: {}-{}",
                 caregiverId, dto.getDay(), dto.getStartTime(), dto.getEndTime());
@@ -71,11 +110,13 @@ public class ScheduleServiceImpl implements ScheduleService {
         try {
             validateScheduleTimes(dto);
 
-            List<Schedule> caregiverSchedules = scheduleRepository.findByCaregiverId(caregiverId);
-            validateNoOverlappingSchedules(caregiverSchedules, dto, caregiverId);
+            ScheduleOverlapIndex overlapIndex = loadOverlapIndex(caregiverId, EnumSet.of(dto.getDay()), null);
+            validateNoOverlappingSchedules(overlapIndex, dto, caregiverId);
 
             Schedule schedule = scheduleFactory.createSchedule(dto, caregiverId);
             Schedule savedSchedule = scheduleRepository.save(schedule);
+            openSlotProjection.refreshSchedule(savedSchedule);
+            evictCaregiverSchedules(caregiverId);
 
             scheduleCreatedCounter.increment();
             scheduleFactoryRegularCounter.increment();
@@ -108,6 +149,79 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     @Override
+    @Transactional
+    public List<ScheduleBulkResultDto> createSchedules(List<CreateScheduleDto> dtos, UUID caregiverId) {
+        log.info("Creating {} schedules from weekly template for caregiver: {}", dtos.size(), caregiverId);
+        scheduleBulkCreatedCounter.increment();
+
+        try {
+            EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            dtos.stream()
+                    .filter(dto -> dto != null && dto.getDay() != null)
+                    .forEach(dto -> days.add(dto.getDay()));
+            ScheduleOverlapIndex overlapIndex = loadOverlapIndex(caregiverId, days, null);
+
+            List<ScheduleBulkResultDto> results = new ArrayList<>(dtos.size());
+            List<ScheduleBulkResultDto> acceptedResults = new ArrayList<>();
+            List<Schedule> accepted = new ArrayList<>();
+
+            for (int i = 0; i < dtos.size(); i++) {
+                CreateScheduleDto dto = dtos.get(i);
+                try {
+                    validateTemplateItem(dto);
+                    validateNoOverlappingSchedules(overlapIndex, dto, caregiverId);
+                } catch (IllegalArgumentException e) {
+                    scheduleValidationErrorCounter.increment();
+                    scheduleTimeValidationErrorCounter.increment();
+                    results.add(rejectedItem(i, e.getMessage()));
+                    continue;
+                } catch (ScheduleConflictException e) {
+                    scheduleConflictCounter.increment();
+                    scheduleOverlapPreventedCounter.increment();
+                    results.add(rejectedItem(i, e.getMessage()));
+                    continue;
+                }
+
+                Schedule schedule = scheduleFactory.createSchedule(dto, caregiverId);
+                overlapIndex.add(schedule);
+                accepted.add(schedule);
+
+                ScheduleBulkResultDto result = ScheduleBulkResultDto.builder()
+                        .index(i)
+                        .created(true)
+                        .message("Created successfully")
+                        .build();
+                results.add(result);
+                acceptedResults.add(result);
+            }
+
+            if (!accepted.isEmpty()) {
+                List<Schedule> savedSchedules = scheduleRepository.saveAll(accepted);
+                openSlotProjection.refreshSchedules(savedSchedules);
+                evictCaregiverSchedules(caregiverId);
+                for (int i = 0; i < savedSchedules.size(); i++) {
+                    acceptedResults.get(i).setSchedule(convertToDto(savedSchedules.get(i)));
+                }
+
+                scheduleCreatedCounter.increment(savedSchedules.size());
+                scheduleFactoryRegularCounter.increment(savedSchedules.size());
+                scheduleWeeklyScheduleCounter.increment(savedSchedules.size());
+            }
+
+            scheduleSuccessfulOperationsCounter.increment();
+            log.info("Created {} of {} template schedules for caregiver: {}", accepted.size(), dtos.size(), caregiverId);
+            return results;
+        } catch (Exception e) {
+            scheduleDatabaseErrorCounter.increment();
+            scheduleGeneralErrorCounter.increment();
+            scheduleFailedOperationsCounter.increment();
+            log.error("Template schedule creation failed for caregiver: {}: {}", caregiverId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
     public ScheduleResponseDto createOneTimeSchedule(CreateOneTimeScheduleDto dto, UUID caregiverId) {
         log.info("Creating one-time schedule for caregiver: {}, date: {}, time: {}-{}",
                 caregiverId, dto.getSpecificDate(), dto.getStartTime(), dto.getEndTime());
@@ -119,9 +233,17 @@ public class ScheduleServiceImpl implements ScheduleService {
             }
 
             validateScheduleTimes(dto.getStartTime(), dto.getEndTime());
+            validateSlotSettings(dto.getDurationMinutes(), dto.getSlotGranularityMinutes());
+
+            ScheduleOverlapIndex overlapIndex = loadOverlapIndex(caregiverId,
+                    EnumSet.of(dto.getSpecificDate().getDayOfWeek()), null);
+            validateNoOverlappingOneTimeSchedule(overlapIndex, dto.getSpecificDate(),
+                    dto.getStartTime(), dto.getEndTime(), caregiverId);
 
             Schedule schedule = scheduleFactory.createOneTimeSchedule(dto, caregiverId);
             Schedule savedSchedule = scheduleRepository.save(schedule);
+            openSlotProjection.refreshSchedule(savedSchedule);
+            evictCaregiverSchedules(caregiverId);
 
             scheduleOneTimeCreatedCounter.increment();
             scheduleFactoryOneTimeCounter.increment();
@@ -139,6 +261,7 @@ public class ScheduleServiceImpl implements ScheduleService {
             scheduleConflictCounter.increment();
             scheduleGeneralErrorCounter.increment();
             scheduleFailedOperationsCounter.increment();
+            scheduleOverlapPreventedCounter.increment();
             log.error("One-time schedule creation failed - conflict for caregiver: {}: {}", caregiverId, e.getMessage());
             throw e;
         } catch (Exception e) {
@@ -165,7 +288,7 @@ public class ScheduleServiceImpl implements ScheduleService {
             }
 
             List<Konsultasi> activeKonsultations = konsultasiRepository.findByScheduleId(scheduleId).stream()
-                    .filter(k -> !k.getStatus().equals("CANCELLED") && !k.getStatus().equals("DONE"))
+                    .filter(k -> k.currentStatus().isActive())
                     .filter(k -> k.getScheduleDateTime().isAfter(LocalDateTime.now()))
                     .toList();
 
@@ -178,11 +301,28 @@ public class ScheduleServiceImpl implements ScheduleService {
 
             validateScheduleTimes(dto);
 
+            ScheduleOverlapIndex overlapIndex = loadOverlapIndex(caregiverId, EnumSet.of(schedule.isOneTime()
+                    ? schedule.getSpecificDate().getDayOfWeek() : dto.getDay()), scheduleId);
+            if (schedule.isOneTime()) {
+                validateNoOverlappingOneTimeSchedule(overlapIndex, schedule.getSpecificDate(),
+                        dto.getStartTime(), dto.getEndTime(), caregiverId);
+            } else {
+                validateNoOverlappingSchedules(overlapIndex, dto, caregiverId);
+            }
+
             schedule.setDay(dto.getDay());
             schedule.setStartTime(dto.getStartTime());
             schedule.setEndTime(dto.getEndTime());
+            if (dto.getDurationMinutes() != null) {
+                schedule.setDurationMinutes(dto.getDurationMinutes());
+            }
+            if (dto.getSlotGranularityMinutes() != null) {
+                schedule.setSlotGranularityMinutes(dto.getSlotGranularityMinutes());
+            }
 
             Schedule updatedSchedule = scheduleRepository.save(schedule);
+            openSlotProjection.refreshSchedule(updatedSchedule);
+            evictCaregiverSchedules(caregiverId);
 
             scheduleUpdatedCounter.increment();
             scheduleSuccessfulOperationsCounter.increment();
@@ -203,6 +343,13 @@ public class ScheduleServiceImpl implements ScheduleService {
             scheduleGeneralErrorCounter.increment();
             scheduleFailedOperationsCounter.increment();
             throw e;
+        } catch (ScheduleConflictException e) {
+            scheduleConflictCounter.increment();
+            scheduleOverlapPreventedCounter.increment();
+            scheduleGeneralErrorCounter.increment();
+            scheduleFailedOperationsCounter.increment();
+            log.error("Schedule update failed - conflict for schedule: {}: {}", scheduleId, e.getMessage());
+            throw e;
         } catch (Exception e) {
             scheduleDatabaseErrorCounter.increment();
             scheduleGeneralErrorCounter.increment();
@@ -213,7 +360,7 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     @Override
-    @Async
+    @Async("scheduleDeletionTaskExecutor")
     @Transactional
     public CompletableFuture<Void> deleteScheduleAsync(UUID scheduleId, UUID caregiverId) {
         scheduleDeleteAsyncCounter.increment();
@@ -228,20 +375,26 @@ public class ScheduleServiceImpl implements ScheduleService {
                         new AuthenticationException("You can only delete your own schedules"));
             }
 
-            List<Konsultasi> futureKonsultations = konsultasiRepository.findByScheduleId(scheduleId).stream()
-                    .filter(k -> !k.getStatus().equals("CANCELLED") && !k.getStatus().equals("DONE"))
-                    .filter(k -> k.getScheduleDateTime().isAfter(LocalDateTime.now()))
-                    .toList();
+            LocalDateTime now = LocalDateTime.now();
+            boolean hasCommittedKonsultations = konsultasiRepository
+                    .existsByScheduleIdAndStatusInAndScheduleDateTimeAfter(scheduleId, COMMITTED_STATUSES, now);
 
-            if (!futureKonsultations.isEmpty()) {
+            if (hasCommittedKonsultations) {
                 scheduleActiveKonsultasiBlockCounter.increment();
-                log.warn("Schedule deletion blocked due to future consultations - schedule: {}, future count: {}",
-                        scheduleId, futureKonsultations.size());
+                log.warn("Schedule deletion blocked due to future consultations - schedule: {}", scheduleId);
                 return CompletableFuture.failedFuture(
                         new ScheduleException("Cannot delete schedule with future consultations"));
             }
 
+            List<Konsultasi> cancelledRequests = cancelFutureRequests(scheduleId, now);
+
+            openSlotProjection.removeSchedule(schedule);
             scheduleRepository.deleteById(scheduleId);
+            openSlotProjection.refreshCaregiverWindows(caregiverId,
+                    cancelledRequests.stream().map(Konsultasi::getScheduleDateTime).toList());
+            AfterCommit.run(() -> cancelledRequests.forEach(cancelled -> slotOccupancyIndex.release(caregiverId,
+                    cancelled.getScheduleDateTime(), Duration.ofMinutes(cancelled.getDurationMinutes()))));
+            evictCaregiverSchedules(caregiverId);
 
             scheduleDeletedCounter.increment();
             scheduleSuccessfulOperationsCounter.increment();
@@ -263,16 +416,26 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceTagDto getCaregiverSchedulesTag(UUID caregiverId) {
+        FeedVersion version = scheduleRepository.findFeedVersionByCaregiverId(caregiverId);
+        String signature = "schedules|" + caregiverId + '|' + version.getTotal() + '@' + version.getLastUpdated();
+        return ResourceTagDto.builder()
+                .etag("\"" + UUID.nameUUIDFromBytes(signature.getBytes(StandardCharsets.UTF_8)) + "\"")
+                .build();
+    }
+
     @Override
     public List<ScheduleResponseDto> getCaregiverSchedules(UUID caregiverId) {
         log.info("Fetching schedules for caregiver: {}", caregiverId);
         scheduleCaregiverQueryCounter.increment();
 
         try {
-            List<Schedule> schedules = scheduleRepository.findByCaregiverId(caregiverId);
+            List<ScheduleResponseDto> schedules = loadCaregiverSchedules(caregiverId);
             scheduleSuccessfulOperationsCounter.increment();
             log.info("Successfully fetched {} schedules for caregiver: {}", schedules.size(), caregiverId);
-            return convertToResponseDtoList(schedules);
+            return schedules;
         } catch (Exception e) {
             scheduleDatabaseErrorCounter.increment();
             scheduleGeneralErrorCounter.increment();
@@ -302,46 +465,72 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     @Override
-    public boolean isScheduleAvailableForDateTime(UUID scheduleId, LocalDateTime dateTime) {
-        scheduleAvailabilityCheckCounter.increment();
+    public SchedulePageDto getSchedulesPage(UUID after, int limit) {
+        log.info("Fetching schedules page after: {}, limit: {}", after, limit);
+        scheduleAllQueryCounter.increment();
 
         try {
-            Schedule schedule = findScheduleById(scheduleId);
+            PageRequest page = PageRequest.of(0, limit + 1);
+            List<Schedule> schedules = after == null
+                    ? scheduleRepository.findAllByOrderByIdAsc(page)
+                    : scheduleRepository.findByIdGreaterThanOrderByIdAsc(after, page);
 
-            LocalTime requestedTime = dateTime.toLocalTime();
-            if (requestedTime.isBefore(schedule.getStartTime()) ||
-                    requestedTime.isAfter(schedule.getEndTime().minusHours(1))) { // Assuming 1-hour consultation duration
-                return false;
-            }
+            boolean hasMore = schedules.size() > limit;
+            List<Schedule> items = hasMore ? schedules.subList(0, limit) : schedules;
 
-            if (schedule.isOneTime()) {
-                if (schedule.getSpecificDate() == null ||
-                        !schedule.getSpecificDate().equals(dateTime.toLocalDate())) {
-                    return false;
-                }
-            } else {
+            scheduleSuccessfulOperationsCounter.increment();
+            return SchedulePageDto.builder()
+                    .items(convertToResponseDtoList(items))
+                    .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                    .hasMore(hasMore)
+                    .build();
+        } catch (Exception e) {
+            scheduleDatabaseErrorCounter.increment();
+            scheduleGeneralErrorCounter.increment();
+            scheduleFailedOperationsCounter.increment();
+            log.error("Failed to fetch schedules page after: {}: {}", after, e.getMessage(), e);
+            throw e;
+        }
+    }
 
-                if (!schedule.getDay().equals(dateTime.getDayOfWeek())) {
-                    return false;
-                }
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAllSchedules(Consumer<ScheduleResponseDto> consumer) {
+        log.info("Streaming export of all schedules");
+        scheduleAllQueryCounter.increment();
 
-            List<Konsultasi> existingKonsultations = konsultasiRepository.findByScheduleId(scheduleId);
+        long exported = 0;
+        try (Stream<ScheduleResponseDto> schedules = scheduleRepository.streamAllAsDto()) {
+            Iterator<ScheduleResponseDto> iterator = schedules.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                exported++;
+            }
+            scheduleSuccessfulOperationsCounter.increment();
+            log.info("Exported {} schedules", exported);
+            return exported;
+        } catch (Exception e) {
+            scheduleDatabaseErrorCounter.increment();
+            scheduleGeneralErrorCounter.increment();
+            scheduleFailedOperationsCounter.increment();
+            log.error("Schedule export failed after {} rows: {}", exported, e.getMessage(), e);
+            throw e;
+        }
+    }
 
-            for (Konsultasi konsultasi : existingKonsultations) {
+    @Override
+    public boolean isScheduleAvailableForDateTime(UUID scheduleId, LocalDateTime dateTime) {
+        scheduleAvailabilityCheckCounter.increment();
 
-                if ("CANCELLED".equals(konsultasi.getStatus()) || "DONE".equals(konsultasi.getStatus())) {
-                    continue;
-                }
+        try {
+            Schedule schedule = findScheduleById(scheduleId);
 
-                LocalDateTime existingStart = konsultasi.getScheduleDateTime();
-                LocalDateTime existingEnd = existingStart.plusHours(1);
-                LocalDateTime requestedEnd = dateTime.plusHours(1);
+            if (!fitsScheduleWindow(schedule, dateTime)) {
+                return false;
+            }
 
-                if ((dateTime.isBefore(existingEnd) && requestedEnd.isAfter(existingStart)) ||
-                        dateTime.equals(existingStart)) {
-                    return false;
-                }
+            if (!slotOccupancyIndex.isFree(schedule.getCaregiverId(), dateTime, SlotGrid.of(schedule).duration())) {
+                return false;
             }
 
             scheduleSuccessfulOperationsCounter.increment();
@@ -363,38 +552,27 @@ public class ScheduleServiceImpl implements ScheduleService {
 
         try {
             Schedule schedule = findScheduleById(scheduleId);
-            List<LocalDateTime> availableTimes = new ArrayList<>();
+            List<LocalDateTime> candidates = collectCandidateDateTimes(schedule, weeksAhead);
 
-            if (schedule.isOneTime()) {
-                if (schedule.getSpecificDate() != null) {
-                    LocalDateTime dateTime = LocalDateTime.of(
-                            schedule.getSpecificDate(),
-                            schedule.getStartTime()
-                    );
-                    if (dateTime.isAfter(LocalDateTime.now()) &&
-                            isScheduleAvailableForDateTime(scheduleId, dateTime)) {
-                        availableTimes.add(dateTime);
-                    }
-                }
-            } else {
-                LocalDateTime now = LocalDateTime.now();
-                LocalDate today = now.toLocalDate();
-                LocalDate nextDay = today.with(TemporalAdjusters.nextOrSame(schedule.getDay()));
+            if (candidates.isEmpty()) {
+                scheduleSuccessfulOperationsCounter.increment();
+                return new ArrayList<>();
+            }
 
-                if (nextDay.equals(today) && now.toLocalTime().isAfter(schedule.getStartTime())) {
-                    nextDay = today.with(TemporalAdjusters.next(schedule.getDay()));
-                }
+            LocalDateTime firstCandidate = candidates.get(0);
+            LocalDateTime lastCandidate = candidates.get(candidates.size() - 1);
+            if (openSlotProjection.covers(lastCandidate)) {
+                scheduleSuccessfulOperationsCounter.increment();
+                return openSlotProjection.findOpenStarts(scheduleId, firstCandidate, lastCandidate);
+            }
 
-                for (int i = 0; i < weeksAhead; i++) {
-                    LocalDate dateToCheck = nextDay.plusWeeks(i);
-                    LocalDateTime dateTimeToCheck = LocalDateTime.of(
-                            dateToCheck,
-                            schedule.getStartTime()
-                    );
+            AvailabilityCalendar calendar = loadAvailabilityCalendar(scheduleId, firstCandidate, lastCandidate);
+            Duration duration = SlotGrid.of(schedule).duration();
 
-                    if (isScheduleAvailableForDateTime(scheduleId, dateTimeToCheck)) {
-                        availableTimes.add(dateTimeToCheck);
-                    }
+            List<LocalDateTime> availableTimes = new ArrayList<>();
+            for (LocalDateTime candidate : candidates) {
+                if (calendar.isFree(scheduleId, candidate, duration)) {
+                    availableTimes.add(candidate);
                 }
             }
 
@@ -408,21 +586,49 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
     }
 
+    private List<LocalDateTime> collectCandidateDateTimes(Schedule schedule, int weeksAhead) {
+        LocalDateTime now = LocalDateTime.now();
+        if (schedule.isOneTime()) {
+            return ScheduleOccurrences.from(schedule, now).toList();
+        }
+        return ScheduleOccurrences.between(schedule, now, now.plusWeeks(Math.max(weeksAhead, 0))).toList();
+    }
+
+    private AvailabilityCalendar loadAvailabilityCalendar(UUID scheduleId, LocalDateTime firstSlot, LocalDateTime lastSlot) {
+        List<Konsultasi> activeKonsultations = konsultasiRepository
+                .findByScheduleIdAndStatusNotInAndScheduleDateTimeBetween(
+                        scheduleId,
+                        INACTIVE_STATUSES,
+                        firstSlot.minus(SlotGrid.MAX_DURATION),
+                        lastSlot.plus(SlotGrid.MAX_DURATION));
+        return AvailabilityCalendar.of(activeKonsultations);
+    }
+
+    private boolean fitsScheduleWindow(Schedule schedule, LocalDateTime dateTime) {
+        if (!SlotGrid.of(schedule).contains(dateTime.toLocalTime())) {
+            return false;
+        }
+
+        if (schedule.isOneTime()) {
+            return schedule.getSpecificDate() != null &&
+                    schedule.getSpecificDate().equals(dateTime.toLocalDate());
+        }
+        return schedule.getDay().equals(dateTime.getDayOfWeek());
+    }
+
     @Override
     public List<ScheduleResponseDto> getAvailableSchedulesByCaregiver(UUID caregiverId) {
         log.info("Fetching available schedules for caregiver: {}", caregiverId);
         scheduleAvailableByIdCounter.increment();
 
         try {
-            List<Schedule> allSchedules = scheduleRepository.findByCaregiverId(caregiverId);
-
-            List<Schedule> availableSchedules = allSchedules.stream()
-                    .filter(this::isScheduleCurrentlyAvailable)
+            List<ScheduleResponseDto> availableSchedules = loadCaregiverSchedules(caregiverId).stream()
+                    .filter(schedule -> isCurrentlyAvailable(schedule.isOneTime(), schedule.getSpecificDate()))
                     .toList();
 
             scheduleSuccessfulOperationsCounter.increment();
             log.info("Found {} available schedules for caregiver: {}", availableSchedules.size(), caregiverId);
-            return convertToResponseDtoList(availableSchedules);
+            return availableSchedules;
         } catch (Exception e) {
             scheduleDatabaseErrorCounter.increment();
             scheduleGeneralErrorCounter.increment();
@@ -456,6 +662,115 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
     }
 
+    @Override
+    public List<AvailableSlotDto> findEarliestAvailableSlots(List<UUID> caregiverIds, int limit, int weeksAhead) {
+        log.info("Searching {} earliest open slots across {} caregivers, weeks ahead: {}",
+                limit, caregiverIds.size(), weeksAhead);
+        scheduleEarliestSlotSearchCounter.increment();
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime until = now.plusWeeks(weeksAhead);
+
+            if (openSlotProjection.covers(until)) {
+                scheduleSuccessfulOperationsCounter.increment();
+                return openSlotProjection.findEarliest(caregiverIds, now, until, limit).stream()
+                        .map(slot -> AvailableSlotDto.builder()
+                                .scheduleId(slot.getScheduleId())
+                                .caregiverId(slot.getCaregiverId())
+                                .dateTime(slot.getSlotStart())
+                                .build())
+                        .toList();
+            }
+
+            List<Schedule> schedules = scheduleRepository.findByCaregiverIdIn(caregiverIds);
+            AvailabilityCalendar calendar = AvailabilityCalendar.byCaregiver(konsultasiRepository
+                    .findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                            caregiverIds,
+                            INACTIVE_STATUSES,
+                            now.minus(SlotGrid.MAX_DURATION),
+                            until.plus(SlotGrid.MAX_DURATION)));
+            List<EarliestSlotFinder.Slot> slots = EarliestSlotFinder.find(
+                    schedules,
+                    now,
+                    until,
+                    limit,
+                    (schedule, dateTime) -> calendar.isFree(
+                            schedule.getCaregiverId(), dateTime, SlotGrid.of(schedule).duration()));
+
+            scheduleSuccessfulOperationsCounter.increment();
+            return slots.stream()
+                    .map(slot -> AvailableSlotDto.builder()
+                            .scheduleId(slot.schedule().getId())
+                            .caregiverId(slot.schedule().getCaregiverId())
+                            .dateTime(slot.dateTime())
+                            .build())
+                    .toList();
+        } catch (Exception e) {
+            scheduleDatabaseErrorCounter.increment();
+            scheduleGeneralErrorCounter.increment();
+            scheduleFailedOperationsCounter.increment();
+            log.error("Failed to search earliest open slots for caregivers: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    public AvailabilityHeatmapDto getAvailabilityHeatmap(UUID caregiverId, int weeksAhead) {
+        log.info("Building availability heatmap for caregiver: {}, weeks ahead: {}", caregiverId, weeksAhead);
+        scheduleHeatmapQueryCounter.increment();
+
+        try {
+            AvailabilityHeatmapDto heatmap = availabilityHeatmapCache.get(caregiverId, weeksAhead,
+                    () -> buildAvailabilityHeatmap(caregiverId, weeksAhead));
+            scheduleSuccessfulOperationsCounter.increment();
+            return heatmap;
+        } catch (Exception e) {
+            scheduleDatabaseErrorCounter.increment();
+            scheduleGeneralErrorCounter.increment();
+            scheduleFailedOperationsCounter.increment();
+            log.error("Failed to build availability heatmap for caregiver: {}: {}", caregiverId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private AvailabilityHeatmapDto buildAvailabilityHeatmap(UUID caregiverId, int weeksAhead) {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime until = from.plusWeeks(weeksAhead);
+        int[][] booked = new int[DAYS_PER_WEEK][HOURS_PER_DAY];
+        int[][] open = new int[DAYS_PER_WEEK][HOURS_PER_DAY];
+
+        List<Schedule> schedules = scheduleRepository.findByCaregiverId(caregiverId);
+        if (!schedules.isEmpty()) {
+            AvailabilityCalendar calendar = AvailabilityCalendar.byCaregiver(konsultasiRepository
+                    .findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                            List.of(caregiverId),
+                            INACTIVE_STATUSES,
+                            from.minus(SlotGrid.MAX_DURATION),
+                            until.plus(SlotGrid.MAX_DURATION)));
+            for (Schedule schedule : schedules) {
+                Duration duration = SlotGrid.of(schedule).duration();
+                ScheduleOccurrences.between(schedule, from, until)
+                        .filter(slot -> calendar.isFree(caregiverId, slot, duration))
+                        .forEach(slot -> open[slot.getDayOfWeek().ordinal()][slot.getHour()]++);
+            }
+        }
+        for (KonsultasiRepository.HourlyBookingCount bucket : konsultasiRepository.countBookingsByDateAndHour(
+                caregiverId, INACTIVE_STATUSES, from, until)) {
+            booked[bucket.getBookingDate().getDayOfWeek().ordinal()][bucket.getBookingHour()] +=
+                    bucket.getBooked().intValue();
+        }
+
+        return AvailabilityHeatmapDto.builder()
+                .caregiverId(caregiverId)
+                .from(from)
+                .until(until)
+                .days(List.of(DayOfWeek.values()))
+                .booked(booked)
+                .open(open)
+                .build();
+    }
+
     public Schedule findScheduleById(UUID scheduleId) {
         try {
             return scheduleRepository.findById(scheduleId)
@@ -474,19 +789,70 @@ public class ScheduleServiceImpl implements ScheduleService {
         if (dto.getEndTime().isBefore(dto.getStartTime())) {
             throw new IllegalArgumentException("End time cannot be before start time");
         }
+        validateSlotSettings(dto.getDurationMinutes(), dto.getSlotGranularityMinutes());
+    }
+
+    private void validateSlotSettings(Integer durationMinutes, Integer slotGranularityMinutes) {
+        SlotGrid.validate(
+                durationMinutes != null ? durationMinutes : SlotGrid.DEFAULT_MINUTES,
+                slotGranularityMinutes != null ? slotGranularityMinutes : SlotGrid.DEFAULT_MINUTES);
+    }
+
+    private void validateTemplateItem(CreateScheduleDto dto) {
+        if (dto == null || dto.getDay() == null || dto.getStartTime() == null || dto.getEndTime() == null) {
+            throw new IllegalArgumentException("Day, start time and end time are required");
+        }
+        validateScheduleTimes(dto);
+    }
+
+    private List<Konsultasi> cancelFutureRequests(UUID scheduleId, LocalDateTime now) {
+        List<UUID> requestIds = konsultasiRepository.findFutureRequestIds(scheduleId, now);
+        if (requestIds.isEmpty()) {
+            return List.of();
+        }
+
+        int cancelled = konsultasiRepository.closeBookings(requestIds, KonsultasiStatus.REQUESTED.name(),
+                KonsultasiStatus.CANCELLED.name(), now);
+        if (cancelled == 0) {
+            return List.of();
+        }
+        List<Konsultasi> cancelledRequests = konsultasiRepository.findAllById(requestIds).stream()
+                .filter(konsultasi -> konsultasi.currentStatus() == KonsultasiStatus.CANCELLED)
+                .toList();
+        konsultasiOutbox.recordAll(cancelledRequests, KonsultasiEventType.CANCELLED);
+        log.info("Cancelled {} pending consultation requests on deleted schedule: {}", cancelled, scheduleId);
+        return cancelledRequests;
+    }
+
+    private ScheduleBulkResultDto rejectedItem(int index, String message) {
+        return ScheduleBulkResultDto.builder()
+                .index(index)
+                .created(false)
+                .message(message)
+                .build();
+    }
+
+    private ScheduleOverlapIndex loadOverlapIndex(UUID caregiverId, Set<DayOfWeek> days, UUID excludedScheduleId) {
+        LocalDate today = LocalDate.now();
+        if (days.isEmpty()) {
+            return ScheduleOverlapIndex.of(List.of(), today);
+        }
+        List<Schedule> candidates = scheduleRepository.findOverlapCandidates(caregiverId, days, today).stream()
+                .filter(schedule -> excludedScheduleId == null || !excludedScheduleId.equals(schedule.getId()))
+                .toList();
+        return ScheduleOverlapIndex.of(candidates, today);
     }
 
-    private void validateNoOverlappingSchedules(List<Schedule> caregiverSchedules,
+    private void validateNoOverlappingSchedules(ScheduleOverlapIndex overlapIndex,
                                                 CreateScheduleDto newSchedule,
                                                 UUID caregiverId) {
-        List<Schedule> conflictingSchedules = findOverlappingSchedules(
-                caregiverSchedules,
+        boolean conflicting = overlapIndex.findRecurringConflict(
                 newSchedule.getDay(),
                 newSchedule.getStartTime(),
                 newSchedule.getEndTime()
-        );
+        ).isPresent();
 
-        if (!conflictingSchedules.isEmpty()) {
+        if (conflicting) {
             log.warn("Schedule overlap detected for caregiver: {} on {} from {} to {}",
                     caregiverId, newSchedule.getDay(), newSchedule.getStartTime(), newSchedule.getEndTime());
             throw new ScheduleConflictException(
@@ -498,27 +864,21 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
     }
 
-    private List<Schedule> findOverlappingSchedules(List<Schedule> schedules,
-                                                    DayOfWeek day,
-                                                    LocalTime startTime,
-                                                    LocalTime endTime) {
-        return schedules.stream()
-                .filter(schedule -> schedule.getDay() == day)
-                .filter(schedule -> isTimeOverlapping(
-                        schedule.getStartTime(),
-                        schedule.getEndTime(),
-                        startTime,
-                        endTime))
-                .toList();
-    }
-
-    private boolean isTimeOverlapping(LocalTime existingStart,
-                                      LocalTime existingEnd,
-                                      LocalTime newStart,
-                                      LocalTime newEnd) {
-        return (newStart.isBefore(existingEnd) && newEnd.isAfter(existingStart)) ||
-                newStart.equals(existingStart) ||
-                newEnd.equals(existingEnd);
+    private void validateNoOverlappingOneTimeSchedule(ScheduleOverlapIndex overlapIndex,
+                                                      LocalDate specificDate,
+                                                      LocalTime startTime,
+                                                      LocalTime endTime,
+                                                      UUID caregiverId) {
+        if (overlapIndex.findOneTimeConflict(specificDate, startTime, endTime).isPresent()) {
+            log.warn("One-time schedule overlap detected for caregiver: {} on {} from {} to {}",
+                    caregiverId, specificDate, startTime, endTime);
+            throw new ScheduleConflictException(
+                    "Schedule conflicts with existing schedule(s). " +
+                            "You already have a schedule on " + specificDate +
+                            " that overlaps with the time period " +
+                            startTime + " to " + endTime
+            );
+        }
     }
 
     private List<ScheduleResponseDto> convertToResponseDtoList(List<Schedule> schedules) {
@@ -536,6 +896,8 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .endTime(schedule.getEndTime())
                 .specificDate(schedule.getSpecificDate())
                 .oneTime(schedule.isOneTime())
+                .durationMinutes(schedule.getDurationMinutes())
+                .slotGranularityMinutes(schedule.getSlotGranularityMinutes())
                 .build();
     }
 
@@ -546,11 +908,26 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     private boolean isScheduleCurrentlyAvailable(Schedule schedule) {
-        if (schedule.isOneTime()) {
-            return schedule.getSpecificDate() != null &&
-                schedule.getSpecificDate().isAfter(LocalDate.now());
+        return isCurrentlyAvailable(schedule.isOneTime(), schedule.getSpecificDate());
+    }
+
+    private boolean isCurrentlyAvailable(boolean oneTime, LocalDate specificDate) {
+        if (oneTime) {
+            return specificDate != null && specificDate.isAfter(LocalDate.now());
         } else {
             return true;
         }
     }
+
+    private List<ScheduleResponseDto> loadCaregiverSchedules(UUID caregiverId) {
+        return caregiverScheduleCache.get(caregiverId,
+                () -> convertToResponseDtoList(scheduleRepository.findByCaregiverId(caregiverId)));
+    }
+
+    private void evictCaregiverSchedules(UUID caregiverId) {
+        AfterCommit.run(() -> {
+            caregiverScheduleCache.invalidate(caregiverId);
+            availabilityHeatmapCache.invalidate(caregiverId);
+        });
+    }
 }
\ No newline at end of file
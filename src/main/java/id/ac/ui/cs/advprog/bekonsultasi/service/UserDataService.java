@@ -3,6 +3,8 @@ package id.ac.ui.cs.advprog.bekonsultasi.service;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CaregiverPublicDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.PacilianPublicDto;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -11,4 +13,6 @@ public interface UserDataService {
     CompletableFuture<PacilianPublicDto> getPacilianByIdAsync(UUID pacilianId);
     CaregiverPublicDto getCaregiverById(UUID caregiverId);
     PacilianPublicDto getPacilianById(UUID pacilianId);
+    Map<UUID, CaregiverPublicDto> getCaregiversByIds(Collection<UUID> caregiverIds);
+    Map<UUID, PacilianPublicDto> getPaciliansByIds(Collection<UUID> pacilianIds);
 }
\ No newline at end of file
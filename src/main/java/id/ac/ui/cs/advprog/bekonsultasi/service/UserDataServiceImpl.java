@@ -16,9 +16,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import io.micrometer.core.instrument.Counter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import java.time.LocalDateTime;
 import java.time.Duration;
 
@@ -41,13 +50,16 @@ public class UserDataServiceImpl implements UserDataService {
     private static final Duration FALLBACK_CACHE_TTL = Duration.ofMinutes(1);
     
     private final HttpEntity<?> httpEntity;
+    private final Executor userDataTaskExecutor;
     
     public UserDataServiceImpl(RestTemplate restTemplate, 
                               Counter caregiverDataRequestCounter,
                               Counter pacilianDataRequestCounter, 
                               Counter userDataFetchErrorCounter,
-                              Counter userDataFallbackCounter) {
+                              Counter userDataFallbackCounter,
+                              Executor userDataTaskExecutor) {
         this.restTemplate = restTemplate;
+        this.userDataTaskExecutor = userDataTaskExecutor;
         this.caregiverDataRequestCounter = caregiverDataRequestCounter;
         this.pacilianDataRequestCounter = pacilianDataRequestCounter;
         this.userDataFetchErrorCounter = userDataFetchErrorCounter;
@@ -112,6 +124,58 @@ public class UserDataServiceImpl implements UserDataService {
         }
     }
 
+    @Override
+    public Map<UUID, CaregiverPublicDto> getCaregiversByIds(Collection<UUID> caregiverIds) {
+        return resolveAll(caregiverIds, caregiverDataRequestCounter,
+                this::getCachedCaregiver, this::fetchCaregiverFromService);
+    }
+
+    @Override
+    public Map<UUID, PacilianPublicDto> getPaciliansByIds(Collection<UUID> pacilianIds) {
+        return resolveAll(pacilianIds, pacilianDataRequestCounter,
+                this::getCachedPacilian, this::fetchPacilianFromService);
+    }
+
+    private <T> Map<UUID, T> resolveAll(Collection<UUID> ids, Counter requestCounter,
+                                        Function<UUID, T> cache, Function<UUID, CompletableFuture<T>> fetch) {
+        Map<UUID, T> resolved = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            T cached = cache.apply(id);
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        requestCounter.increment(resolved.size() + misses.size());
+        log.info("Resolving {} users: {} from cache, {} to fetch", resolved.size() + misses.size(),
+                resolved.size(), misses.size());
+
+        if (misses.size() == 1) {
+            UUID id = misses.get(0);
+            resolved.put(id, fetch.apply(id).join());
+        } else if (!misses.isEmpty()) {
+            Map<UUID, CompletableFuture<T>> pending = new HashMap<>();
+            for (UUID id : misses) {
+                pending.put(id, fetchConcurrently(id, fetch));
+            }
+            CompletableFuture.allOf(pending.values().toArray(CompletableFuture[]::new)).join();
+            pending.forEach((id, future) -> resolved.put(id, future.join()));
+        }
+        return resolved;
+    }
+
+    private <T> CompletableFuture<T> fetchConcurrently(UUID id, Function<UUID, CompletableFuture<T>> fetch) {
+        try {
+            return CompletableFuture.supplyAsync(() -> fetch.apply(id), userDataTaskExecutor)
+                    .thenCompose(Function.identity());
+        } catch (RejectedExecutionException e) {
+            log.warn("User data executor saturated, fetching {} on the calling thread", id);
+            return fetch.apply(id);
+        }
+    }
+
     private CaregiverPublicDto getCachedCaregiver(UUID caregiverId) {
         CacheEntry<CaregiverPublicDto> cached = caregiverCache.get(caregiverId);
         return (cached != null && !cached.isExpired()) ? cached.getValue() : null;
@@ -0,0 +1,50 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveSlotBackfill {
+    private static final List<String> INACTIVE_STATUSES = List.of("CANCELLED", "DONE");
+    private static final int MAX_LOGGED_IDS = 20;
+
+    private final KonsultasiRepository konsultasiRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public int backfill() {
+        List<UUID> overlapping = konsultasiRepository.findOverlappingUnkeyedBookingIds(INACTIVE_STATUSES);
+        if (!overlapping.isEmpty()) {
+            log.warn("{} active consultations overlap another booking of the same caregiver and were left without " +
+                            "an active slot key: {}", overlapping.size(),
+                    overlapping.subList(0, Math.min(MAX_LOGGED_IDS, overlapping.size())));
+        }
+
+        try {
+            Integer updated = transactionTemplate.execute(status ->
+                    konsultasiRepository.backfillActiveCaregiverIds(INACTIVE_STATUSES));
+            int count = updated != null ? updated : 0;
+            if (count > 0) {
+                log.info("Backfilled active slot keys for {} consultations", count);
+            }
+            return count;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Active slot keys were not backfilled because a booking collided during startup: {}",
+                    e.getMostSpecificCause().getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveSlotExclusionConstraint {
+    static final String SCRIPT = "db/konsultasi-active-slot-exclusion.sql";
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public boolean install() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+                log.info("Skipping the active slot exclusion constraint on {}",
+                        connection.getMetaData().getDatabaseProductName());
+                return false;
+            }
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCRIPT));
+            populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+            populator.populate(connection);
+            return true;
+        } catch (SQLException | ScriptException e) {
+            log.warn("Active slot exclusion constraint is not installed; overlapping bookings rely on the " +
+                    "application checks and the identical-start unique key: {}", e.getMessage());
+            return false;
+        }
+    }
+}
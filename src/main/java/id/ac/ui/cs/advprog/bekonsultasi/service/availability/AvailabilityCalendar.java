@@ -0,0 +1,90 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+
+public final class AvailabilityCalendar {
+    private static final Bookings NO_BOOKINGS = new Bookings(new long[0], new long[0], 0);
+
+    private final Map<UUID, Bookings> bookingsByKey;
+
+    private AvailabilityCalendar(Map<UUID, Bookings> bookingsByKey) {
+        this.bookingsByKey = bookingsByKey;
+    }
+
+    public static AvailabilityCalendar of(Collection<Konsultasi> activeKonsultations) {
+        return of(activeKonsultations, Konsultasi::getScheduleId);
+    }
+
+    public static AvailabilityCalendar byCaregiver(Collection<Konsultasi> activeKonsultations) {
+        return of(activeKonsultations, Konsultasi::getCaregiverId);
+    }
+
+    private static AvailabilityCalendar of(Collection<Konsultasi> activeKonsultations,
+                                           Function<Konsultasi, UUID> key) {
+        Map<UUID, List<Konsultasi>> konsultationsByKey = new HashMap<>();
+        for (Konsultasi konsultasi : activeKonsultations) {
+            konsultationsByKey.computeIfAbsent(key.apply(konsultasi), id -> new ArrayList<>()).add(konsultasi);
+        }
+
+        Map<UUID, Bookings> bookings = new HashMap<>(konsultationsByKey.size() * 2);
+        konsultationsByKey.forEach((id, konsultations) -> {
+            konsultations.sort(Comparator.comparing(Konsultasi::getScheduleDateTime));
+            long[] starts = new long[konsultations.size()];
+            long[] ends = new long[konsultations.size()];
+            long longest = 0;
+            for (int i = 0; i < starts.length; i++) {
+                long durationSeconds = konsultations.get(i).getDurationMinutes() * 60L;
+                starts[i] = toSeconds(konsultations.get(i).getScheduleDateTime());
+                ends[i] = starts[i] + durationSeconds;
+                longest = Math.max(longest, durationSeconds);
+            }
+            bookings.put(id, new Bookings(starts, ends, longest));
+        });
+
+        return new AvailabilityCalendar(bookings);
+    }
+
+    public boolean isFree(UUID key, LocalDateTime slotStart, Duration slotDuration) {
+        Bookings bookings = bookingsByKey.getOrDefault(key, NO_BOOKINGS);
+        if (bookings.starts.length == 0) {
+            return true;
+        }
+
+        long requested = toSeconds(slotStart);
+        long requestedEnd = requested + slotDuration.getSeconds();
+        for (int i = firstGreaterThan(bookings.starts, requested - bookings.longestSeconds);
+             i < bookings.starts.length && bookings.starts[i] < requestedEnd; i++) {
+            if (bookings.ends[i] > requested) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int firstGreaterThan(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Bookings(long[] starts, long[] ends, long longestSeconds) {
+    }
+}
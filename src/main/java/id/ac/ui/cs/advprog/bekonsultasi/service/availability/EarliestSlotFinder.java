@@ -0,0 +1,74 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiPredicate;
+
+public final class EarliestSlotFinder {
+    private static final Comparator<ScheduleCursor> BY_NEXT_OCCURRENCE =
+            Comparator.comparing((ScheduleCursor cursor) -> cursor.next)
+                    .thenComparing(cursor -> cursor.schedule.getCaregiverId())
+                    .thenComparing(cursor -> cursor.schedule.getId());
+
+    private EarliestSlotFinder() {
+    }
+
+    public static List<Slot> find(Collection<Schedule> schedules,
+                                  LocalDateTime from,
+                                  LocalDateTime until,
+                                  int limit,
+                                  BiPredicate<Schedule, LocalDateTime> isOpen) {
+        List<Slot> slots = new ArrayList<>(Math.min(limit, 64));
+        if (limit <= 0) {
+            return slots;
+        }
+
+        PriorityQueue<ScheduleCursor> heap = new PriorityQueue<>(Math.max(1, schedules.size()), BY_NEXT_OCCURRENCE);
+        for (Schedule schedule : schedules) {
+            ScheduleCursor cursor = ScheduleCursor.startingAt(schedule, from, until);
+            if (cursor != null) {
+                heap.add(cursor);
+            }
+        }
+
+        while (!heap.isEmpty() && slots.size() < limit) {
+            ScheduleCursor cursor = heap.poll();
+            if (isOpen.test(cursor.schedule, cursor.next)) {
+                slots.add(new Slot(cursor.schedule, cursor.next));
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return slots;
+    }
+
+    public record Slot(Schedule schedule, LocalDateTime dateTime) {
+    }
+
+    private static final class ScheduleCursor {
+        private final Schedule schedule;
+        private final Iterator<LocalDateTime> occurrences;
+        private LocalDateTime next;
+
+        private ScheduleCursor(Schedule schedule, Iterator<LocalDateTime> occurrences) {
+            this.schedule = schedule;
+            this.occurrences = occurrences;
+        }
+
+        static ScheduleCursor startingAt(Schedule schedule, LocalDateTime from, LocalDateTime until) {
+            ScheduleCursor cursor = new ScheduleCursor(schedule, ScheduleOccurrences.iterator(schedule, from, until));
+            return cursor.advance() ? cursor : null;
+        }
+
+        boolean advance() {
+            if (!occurrences.hasNext()) {
+                return false;
+            }
+            next = occurrences.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.OpenSlot;
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.OpenSlotRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.ScheduleRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.service.lock.StripedLockManager;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class OpenSlotProjection {
+    private static final List<String> INACTIVE_STATUSES = List.of("CANCELLED", "DONE");
+
+    private final OpenSlotRepository openSlotRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final KonsultasiRepository konsultasiRepository;
+    private final StripedLockManager stripedLockManager;
+    private final TransactionTemplate refreshTransaction;
+    private final Counter openSlotRebuildCounter;
+    private final int horizonWeeks;
+
+    public OpenSlotProjection(OpenSlotRepository openSlotRepository,
+                              ScheduleRepository scheduleRepository,
+                              KonsultasiRepository konsultasiRepository,
+                              StripedLockManager stripedLockManager,
+                              PlatformTransactionManager transactionManager,
+                              Counter openSlotRebuildCounter,
+                              @Value("${schedule.open-slots.horizon-weeks:8}") int horizonWeeks) {
+        this.openSlotRepository = openSlotRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.konsultasiRepository = konsultasiRepository;
+        this.stripedLockManager = stripedLockManager;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.openSlotRebuildCounter = openSlotRebuildCounter;
+        this.horizonWeeks = horizonWeeks;
+    }
+
+    public boolean covers(LocalDateTime until) {
+        return !until.isAfter(horizonEnd(LocalDateTime.now()).minusDays(1));
+    }
+
+    public List<LocalDateTime> findOpenStarts(UUID scheduleId, LocalDateTime from, LocalDateTime to) {
+        return openSlotRepository.findByScheduleIdAndSlotStartBetweenOrderBySlotStartAsc(scheduleId, from, to)
+                .stream()
+                .map(OpenSlot::getSlotStart)
+                .toList();
+    }
+
+    public List<OpenSlot> findEarliest(List<UUID> caregiverIds, LocalDateTime from, LocalDateTime to, int limit) {
+        return openSlotRepository.findByCaregiverIdInAndSlotStartBetweenOrderBySlotStartAsc(
+                caregiverIds, from, to, PageRequest.of(0, limit));
+    }
+
+    public void refreshSchedule(Schedule schedule) {
+        refreshSchedules(List.of(schedule));
+    }
+
+    public void refreshSchedules(Collection<Schedule> schedules) {
+        enqueue(pending -> schedules.forEach(schedule ->
+                pending.computeIfAbsent(schedule.getCaregiverId(), id -> new CaregiverRefresh())
+                        .scheduleIds.add(schedule.getId())));
+    }
+
+    public void removeSchedule(Schedule schedule) {
+        refreshSchedule(schedule);
+    }
+
+    public void refreshCaregiverWindow(UUID caregiverId, LocalDateTime bookingStart) {
+        refreshCaregiverWindows(caregiverId, List.of(bookingStart));
+    }
+
+    public void refreshCaregiverWindows(UUID caregiverId, Collection<LocalDateTime> bookingStarts) {
+        if (bookingStarts.isEmpty()) {
+            return;
+        }
+        enqueue(pending -> {
+            CaregiverRefresh refresh = pending.computeIfAbsent(caregiverId, id -> new CaregiverRefresh());
+            bookingStarts.forEach(refresh::include);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${schedule.open-slots.rebuild-cron:0 30 2 * * *}")
+    public void rebuild() {
+        refreshTransaction.executeWithoutResult(status -> openSlotRepository.deleteOrphaned());
+
+        int slots = 0;
+        for (UUID caregiverId : scheduleRepository.findDistinctCaregiverIds()) {
+            Integer written = underCaregiverLock(caregiverId, () -> replaceCaregiver(caregiverId));
+            slots += written != null ? written : 0;
+        }
+
+        openSlotRebuildCounter.increment();
+        log.info("Open slot projection rebuilt with {} slots", slots);
+    }
+
+    private void enqueue(Consumer<Map<UUID, CaregiverRefresh>> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<UUID, CaregiverRefresh> pending = new LinkedHashMap<>();
+            change.accept(pending);
+            apply(pending);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, CaregiverRefresh> pending =
+                (Map<UUID, CaregiverRefresh>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<UUID, CaregiverRefresh> registered = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, registered);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OpenSlotProjection.this);
+                    apply(registered);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OpenSlotProjection.this);
+                }
+            });
+            pending = registered;
+        }
+        change.accept(pending);
+    }
+
+    private void apply(Map<UUID, CaregiverRefresh> pending) {
+        pending.forEach((caregiverId, refresh) -> underCaregiverLock(caregiverId, () -> {
+            refreshCaregiver(caregiverId, refresh);
+            return null;
+        }));
+    }
+
+    private <T> T underCaregiverLock(UUID caregiverId, Supplier<T> work) {
+        try {
+            return stripedLockManager.withLock(caregiverId, () -> refreshTransaction.execute(status -> work.get()));
+        } catch (RuntimeException e) {
+            log.warn("Open slots of caregiver {} stay stale until the next rebuild: {}", caregiverId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void refreshCaregiver(UUID caregiverId, CaregiverRefresh refresh) {
+        if (!refresh.scheduleIds.isEmpty()) {
+            openSlotRepository.deleteByScheduleIdIn(refresh.scheduleIds);
+        }
+        if (refresh.windowStart != null) {
+            openSlotRepository.deleteByCaregiverIdWithin(caregiverId, refresh.windowStart, refresh.windowEnd);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = horizonEnd(now);
+        LocalDateTime windowFrom = refresh.windowStart != null && refresh.windowStart.isAfter(now)
+                ? refresh.windowStart : now;
+        LocalDateTime windowUntil = refresh.windowEnd != null && refresh.windowEnd.isBefore(horizon)
+                ? refresh.windowEnd : horizon;
+        boolean windowOpen = refresh.windowStart != null && !windowFrom.isAfter(windowUntil);
+        if (refresh.scheduleIds.isEmpty() && !windowOpen) {
+            return;
+        }
+
+        List<Schedule> replaced = refresh.scheduleIds.isEmpty()
+                ? List.of() : scheduleRepository.findAllById(refresh.scheduleIds);
+        List<Schedule> others = windowOpen
+                ? scheduleRepository.findByCaregiverId(caregiverId).stream()
+                        .filter(schedule -> !refresh.scheduleIds.contains(schedule.getId()))
+                        .toList()
+                : List.of();
+        AvailabilityCalendar calendar = loadCalendar(List.of(caregiverId),
+                replaced.isEmpty() ? windowFrom : now, replaced.isEmpty() ? windowUntil : horizon);
+
+        List<OpenSlot> slots = new ArrayList<>();
+        for (Schedule schedule : replaced) {
+            collectOpenSlots(schedule, now, horizon, calendar, slots);
+        }
+        List<OpenSlot> windowSlots = new ArrayList<>();
+        for (Schedule schedule : others) {
+            collectOpenSlots(schedule, windowFrom, windowUntil, calendar, windowSlots);
+        }
+        windowSlots.removeIf(slot -> !slot.getSlotStart().isAfter(refresh.windowStart)
+                || !slot.getSlotStart().isBefore(refresh.windowEnd));
+        slots.addAll(windowSlots);
+        openSlotRepository.saveAll(slots);
+    }
+
+    private int replaceCaregiver(UUID caregiverId) {
+        openSlotRepository.deleteByCaregiverId(caregiverId);
+        List<Schedule> schedules = scheduleRepository.findByCaregiverId(caregiverId);
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = horizonEnd(now);
+        AvailabilityCalendar calendar = loadCalendar(List.of(caregiverId), now, until);
+        List<OpenSlot> slots = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            collectOpenSlots(schedule, now, until, calendar, slots);
+        }
+        openSlotRepository.saveAll(slots);
+        return slots.size();
+    }
+
+    private AvailabilityCalendar loadCalendar(List<UUID> caregiverIds, LocalDateTime from, LocalDateTime until) {
+        return AvailabilityCalendar.byCaregiver(
+                konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                        caregiverIds,
+                        INACTIVE_STATUSES,
+                        from.minus(SlotGrid.MAX_DURATION),
+                        until.plus(SlotGrid.MAX_DURATION)));
+    }
+
+    private void collectOpenSlots(Schedule schedule, LocalDateTime from, LocalDateTime until,
+                                  AvailabilityCalendar calendar, List<OpenSlot> target) {
+        Duration duration = SlotGrid.of(schedule).duration();
+        ScheduleOccurrences.between(schedule, from, until)
+                .filter(start -> calendar.isFree(schedule.getCaregiverId(), start, duration))
+                .forEach(start -> target.add(OpenSlot.builder()
+                        .scheduleId(schedule.getId())
+                        .caregiverId(schedule.getCaregiverId())
+                        .slotStart(start)
+                        .build()));
+    }
+
+    private LocalDateTime horizonEnd(LocalDateTime now) {
+        return now.plusWeeks(horizonWeeks);
+    }
+
+    private static final class CaregiverRefresh {
+        private final Set<UUID> scheduleIds = new LinkedHashSet<>();
+        private LocalDateTime windowStart;
+        private LocalDateTime windowEnd;
+
+        private void include(LocalDateTime bookingStart) {
+            LocalDateTime start = bookingStart.minus(SlotGrid.MAX_DURATION);
+            LocalDateTime end = bookingStart.plus(SlotGrid.MAX_DURATION);
+            windowStart = windowStart == null || start.isBefore(windowStart) ? start : windowStart;
+            windowEnd = windowEnd == null || end.isAfter(windowEnd) ? end : windowEnd;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class ScheduleOccurrences {
+    private static final int DAYS_PER_WEEK = 7;
+
+    private ScheduleOccurrences() {
+    }
+
+    public static Stream<LocalDateTime> from(Schedule schedule, LocalDateTime from) {
+        return StreamSupport.stream(spliterator(schedule, from, LocalDateTime.MAX), false);
+    }
+
+    public static Stream<LocalDateTime> between(Schedule schedule, LocalDateTime from, LocalDateTime until) {
+        return StreamSupport.stream(spliterator(schedule, from, until), false);
+    }
+
+    public static Iterator<LocalDateTime> iterator(Schedule schedule, LocalDateTime from, LocalDateTime until) {
+        return Spliterators.iterator(spliterator(schedule, from, until));
+    }
+
+    public static Spliterator<LocalDateTime> spliterator(Schedule schedule, LocalDateTime from, LocalDateTime until) {
+        SlotGrid grid = SlotGrid.of(schedule);
+        if (grid.isEmpty()) {
+            return new OccurrenceSpliterator(grid, 0, 0, 0, 0);
+        }
+
+        long fromDay = from.toLocalDate().toEpochDay();
+        long firstDay;
+        int stepDays;
+        if (schedule.isOneTime()) {
+            LocalDate date = schedule.getSpecificDate();
+            if (date == null || date.toEpochDay() < fromDay) {
+                return new OccurrenceSpliterator(grid, 0, 0, 0, 0);
+            }
+            firstDay = date.toEpochDay();
+            stepDays = 0;
+        } else {
+            firstDay = fromDay + Math.floorMod(
+                    schedule.getDay().getValue() - from.getDayOfWeek().getValue(), DAYS_PER_WEEK);
+            stepDays = DAYS_PER_WEEK;
+        }
+
+        int firstIndex = firstDay == fromDay ? grid.firstIndexAtOrAfter(secondOfDayCeiling(from)) : 0;
+        if (firstIndex == grid.size()) {
+            if (stepDays == 0) {
+                return new OccurrenceSpliterator(grid, 0, 0, 0, 0);
+            }
+            firstDay += stepDays;
+            firstIndex = 0;
+        }
+
+        if (until.equals(LocalDateTime.MAX)) {
+            return new OccurrenceSpliterator(grid, firstDay, firstIndex, stepDays, Long.MAX_VALUE);
+        }
+
+        long untilDay = until.toLocalDate().toEpochDay();
+        long lastDay = stepDays == 0 ? firstDay : untilDay - Math.floorMod(untilDay - firstDay, DAYS_PER_WEEK);
+        if (lastDay > untilDay) {
+            return new OccurrenceSpliterator(grid, firstDay, firstIndex, stepDays, 0);
+        }
+        int lastCount = lastDay == untilDay ? grid.countAtOrBefore(until.toLocalTime().toSecondOfDay()) : grid.size();
+        if (lastCount == 0) {
+            lastDay -= Math.max(stepDays, 1);
+            lastCount = grid.size();
+        }
+        if (lastDay < firstDay) {
+            return new OccurrenceSpliterator(grid, firstDay, firstIndex, stepDays, 0);
+        }
+
+        long days = stepDays == 0 ? 1 : (lastDay - firstDay) / stepDays + 1;
+        long remaining = days * grid.size() - firstIndex - (grid.size() - lastCount);
+        return new OccurrenceSpliterator(grid, firstDay, firstIndex, stepDays, Math.max(remaining, 0));
+    }
+
+    private static long secondOfDayCeiling(LocalDateTime dateTime) {
+        LocalTime time = dateTime.toLocalTime();
+        return time.toSecondOfDay() + (time.getNano() > 0 ? 1 : 0);
+    }
+
+    private static final class OccurrenceSpliterator implements Spliterator<LocalDateTime> {
+        private static final int CHARACTERISTICS = ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE;
+
+        private final SlotGrid grid;
+        private final int stepDays;
+        private long nextEpochDay;
+        private int nextIndex;
+        private long remaining;
+
+        OccurrenceSpliterator(SlotGrid grid, long firstEpochDay, int firstIndex, int stepDays, long remaining) {
+            this.grid = grid;
+            this.nextEpochDay = firstEpochDay;
+            this.nextIndex = firstIndex;
+            this.stepDays = stepDays;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super LocalDateTime> action) {
+            if (remaining <= 0 || nextEpochDay > LocalDate.MAX.toEpochDay()) {
+                return false;
+            }
+            action.accept(LocalDateTime.of(LocalDate.ofEpochDay(nextEpochDay), grid.startTimeAt(nextIndex)));
+            if (++nextIndex == grid.size()) {
+                nextIndex = 0;
+                nextEpochDay += stepDays;
+            }
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public Spliterator<LocalDateTime> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return remaining == Long.MAX_VALUE ? CHARACTERISTICS : CHARACTERISTICS | SIZED;
+        }
+
+        @Override
+        public Comparator<? super LocalDateTime> getComparator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+public final class ScheduleOverlapIndex {
+    private final Map<DayOfWeek, IntervalSet> recurringByDay = new EnumMap<>(DayOfWeek.class);
+    private final Map<DayOfWeek, IntervalSet> oneTimeByDay = new EnumMap<>(DayOfWeek.class);
+    private final Map<LocalDate, IntervalSet> oneTimeByDate = new HashMap<>();
+    private final LocalDate today;
+
+    private ScheduleOverlapIndex(LocalDate today) {
+        this.today = today;
+    }
+
+    public static ScheduleOverlapIndex of(Collection<Schedule> schedules, LocalDate today) {
+        ScheduleOverlapIndex index = new ScheduleOverlapIndex(today);
+        for (Schedule schedule : schedules) {
+            index.place(schedule, true);
+        }
+        index.recurringByDay.values().forEach(IntervalSet::seal);
+        index.oneTimeByDay.values().forEach(IntervalSet::seal);
+        index.oneTimeByDate.values().forEach(IntervalSet::seal);
+        return index;
+    }
+
+    public void add(Schedule schedule) {
+        place(schedule, false);
+    }
+
+    private void place(Schedule schedule, boolean append) {
+        int start = schedule.getStartTime().toSecondOfDay();
+        int end = schedule.getEndTime().toSecondOfDay();
+
+        if (!schedule.isOneTime()) {
+            recurringByDay.computeIfAbsent(schedule.getDay(), day -> new IntervalSet())
+                    .add(start, end, schedule, append);
+            return;
+        }
+
+        LocalDate date = schedule.getSpecificDate();
+        if (date == null || date.isBefore(today)) {
+            return;
+        }
+        oneTimeByDate.computeIfAbsent(date, d -> new IntervalSet()).add(start, end, schedule, append);
+        oneTimeByDay.computeIfAbsent(date.getDayOfWeek(), day -> new IntervalSet()).add(start, end, schedule, append);
+    }
+
+    public Optional<Schedule> findRecurringConflict(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+
+        Schedule conflict = findIn(recurringByDay.get(day), start, end);
+        if (conflict == null) {
+            conflict = findIn(oneTimeByDay.get(day), start, end);
+        }
+        return Optional.ofNullable(conflict);
+    }
+
+    public Optional<Schedule> findOneTimeConflict(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+
+        Schedule conflict = findIn(recurringByDay.get(date.getDayOfWeek()), start, end);
+        if (conflict == null) {
+            conflict = findIn(oneTimeByDate.get(date), start, end);
+        }
+        return Optional.ofNullable(conflict);
+    }
+
+    private static Schedule findIn(IntervalSet intervals, int start, int end) {
+        return intervals == null ? null : intervals.findOverlap(start, end);
+    }
+
+    private static final class IntervalSet {
+        private int[] starts = new int[4];
+        private int[] ends = new int[4];
+        private int[] maxEnds = new int[4];
+        private Schedule[] schedules = new Schedule[4];
+        private int size;
+
+        private final Map<Integer, Schedule> byStart = new HashMap<>();
+        private final Map<Integer, Schedule> byEnd = new HashMap<>();
+
+        void add(int start, int end, Schedule schedule, boolean append) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                maxEnds = Arrays.copyOf(maxEnds, capacity);
+                schedules = Arrays.copyOf(schedules, capacity);
+            }
+            byStart.putIfAbsent(start, schedule);
+            byEnd.putIfAbsent(end, schedule);
+
+            if (append) {
+                starts[size] = start;
+                ends[size] = end;
+                schedules[size] = schedule;
+                size++;
+                return;
+            }
+
+            int position = countStartsBelow(start + 1);
+            System.arraycopy(starts, position, starts, position + 1, size - position);
+            System.arraycopy(ends, position, ends, position + 1, size - position);
+            System.arraycopy(schedules, position, schedules, position + 1, size - position);
+            starts[position] = start;
+            ends[position] = end;
+            schedules[position] = schedule;
+            size++;
+
+            updateMaxEnds(position);
+        }
+
+        void seal() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            int[] unsortedStarts = starts;
+            Arrays.sort(order, Comparator.comparingInt(i -> unsortedStarts[i]));
+
+            int[] sortedStarts = new int[starts.length];
+            int[] sortedEnds = new int[ends.length];
+            Schedule[] sortedSchedules = new Schedule[schedules.length];
+            for (int i = 0; i < size; i++) {
+                sortedStarts[i] = starts[order[i]];
+                sortedEnds[i] = ends[order[i]];
+                sortedSchedules[i] = schedules[order[i]];
+            }
+            starts = sortedStarts;
+            ends = sortedEnds;
+            schedules = sortedSchedules;
+            updateMaxEnds(0);
+        }
+
+        private void updateMaxEnds(int from) {
+            for (int i = from; i < size; i++) {
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+        }
+
+        Schedule findOverlap(int start, int end) {
+            int candidates = countStartsBelow(end);
+            if (candidates > 0 && maxEnds[candidates - 1] > start) {
+                return schedules[firstMaxEndAbove(start, candidates)];
+            }
+
+            Schedule sameStart = byStart.get(start);
+            return sameStart != null ? sameStart : byEnd.get(end);
+        }
+
+        private int countStartsBelow(int value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstMaxEndAbove(int value, int limit) {
+            int low = 0;
+            int high = limit - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnds[mid] > value) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class SlotGrid {
+    public static final int DEFAULT_MINUTES = 60;
+    public static final int MIN_DURATION_MINUTES = 15;
+    public static final int MAX_DURATION_MINUTES = 240;
+    public static final Duration MAX_DURATION = Duration.ofMinutes(MAX_DURATION_MINUTES);
+    public static final Set<Integer> GRANULARITIES = Set.of(15, 20, 30, 60);
+
+    private static final int MAX_CACHED_GRIDS = 4096;
+    private static final Map<Long, SlotGrid> GRIDS = new ConcurrentHashMap<>();
+
+    private final int[] startMinutes;
+    private final LocalTime[] startTimes;
+    private final int durationMinutes;
+    private final int granularityMinutes;
+    private final Duration duration;
+
+    private SlotGrid(int firstMinute, int lastMinute, int durationMinutes, int granularityMinutes) {
+        int size = lastMinute < firstMinute ? 0 : (lastMinute - firstMinute) / granularityMinutes + 1;
+        this.startMinutes = new int[size];
+        this.startTimes = new LocalTime[size];
+        for (int i = 0; i < size; i++) {
+            startMinutes[i] = firstMinute + i * granularityMinutes;
+            startTimes[i] = LocalTime.ofSecondOfDay(startMinutes[i] * 60L);
+        }
+        this.durationMinutes = durationMinutes;
+        this.granularityMinutes = granularityMinutes;
+        this.duration = Duration.ofMinutes(durationMinutes);
+    }
+
+    public static SlotGrid of(Schedule schedule) {
+        return of(schedule.getStartTime(), schedule.getEndTime(),
+                schedule.getDurationMinutes(), schedule.getSlotGranularityMinutes());
+    }
+
+    public static SlotGrid of(LocalTime startTime, LocalTime endTime, int durationMinutes, int granularityMinutes) {
+        validate(durationMinutes, granularityMinutes);
+
+        int firstMinute = (startTime.toSecondOfDay() + 59) / 60;
+        int lastMinute = endTime.toSecondOfDay() / 60 - durationMinutes;
+        long key = firstMinute
+                | (long) Math.max(lastMinute + MAX_DURATION_MINUTES, 0) << 11
+                | (long) durationMinutes << 22
+                | (long) granularityMinutes << 31;
+
+        SlotGrid grid = GRIDS.get(key);
+        if (grid == null) {
+            grid = new SlotGrid(firstMinute, lastMinute, durationMinutes, granularityMinutes);
+            if (GRIDS.size() < MAX_CACHED_GRIDS) {
+                GRIDS.putIfAbsent(key, grid);
+            }
+        }
+        return grid;
+    }
+
+    public static void validate(int durationMinutes, int granularityMinutes) {
+        if (!GRANULARITIES.contains(granularityMinutes)) {
+            throw new IllegalArgumentException("Slot granularity must be one of 15, 20, 30 or 60 minutes");
+        }
+        if (durationMinutes < MIN_DURATION_MINUTES || durationMinutes > MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Consultation duration must be between "
+                    + MIN_DURATION_MINUTES + " and " + MAX_DURATION_MINUTES + " minutes");
+        }
+    }
+
+    public int size() {
+        return startMinutes.length;
+    }
+
+    public boolean isEmpty() {
+        return startMinutes.length == 0;
+    }
+
+    public int startMinuteAt(int index) {
+        return startMinutes[index];
+    }
+
+    public LocalTime startTimeAt(int index) {
+        return startTimes[index];
+    }
+
+    public int durationMinutes() {
+        return durationMinutes;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    public boolean contains(LocalTime time) {
+        int second = time.toSecondOfDay();
+        return time.getNano() == 0 && second % 60 == 0 && containsMinute(second / 60);
+    }
+
+    public boolean containsMinute(int minuteOfDay) {
+        if (startMinutes.length == 0) {
+            return false;
+        }
+        int offset = minuteOfDay - startMinutes[0];
+        return offset >= 0
+                && minuteOfDay <= startMinutes[startMinutes.length - 1]
+                && offset % granularityMinutes == 0;
+    }
+
+    public int firstIndexAtOrAfter(long secondOfDay) {
+        if (startMinutes.length == 0) {
+            return 0;
+        }
+        long offset = secondOfDay - startMinutes[0] * 60L;
+        if (offset <= 0) {
+            return 0;
+        }
+        long stepSeconds = granularityMinutes * 60L;
+        return (int) Math.min(startMinutes.length, (offset + stepSeconds - 1) / stepSeconds);
+    }
+
+    public int countAtOrBefore(long secondOfDay) {
+        if (startMinutes.length == 0) {
+            return 0;
+        }
+        long offset = secondOfDay - startMinutes[0] * 60L;
+        if (offset < 0) {
+            return 0;
+        }
+        return (int) Math.min(startMinutes.length, offset / (granularityMinutes * 60L) + 1);
+    }
+}
@@ -0,0 +1,340 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class SlotOccupancyIndex {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+    private static final List<String> INACTIVE_STATUSES = List.of("CANCELLED", "DONE");
+    private static final Pageable FIRST_CONFLICT = PageRequest.of(0, 1);
+
+    private final KonsultasiRepository konsultasiRepository;
+    private final Counter slotIndexRebuildCounter;
+    private final Counter slotIndexMismatchCounter;
+    private final int horizonDays;
+    private final Map<UUID, CaregiverSlots> caregivers = new ConcurrentHashMap<>();
+    private volatile Window window = Window.EMPTY;
+    private Set<UUID> suspects = Set.of();
+
+    public SlotOccupancyIndex(KonsultasiRepository konsultasiRepository,
+                              Counter slotIndexRebuildCounter,
+                              Counter slotIndexMismatchCounter,
+                              @Value("${konsultasi.slot-index.horizon-days:90}") int horizonDays) {
+        this.konsultasiRepository = konsultasiRepository;
+        this.slotIndexRebuildCounter = slotIndexRebuildCounter;
+        this.slotIndexMismatchCounter = slotIndexMismatchCounter;
+        this.horizonDays = Math.max(1, horizonDays);
+    }
+
+    public void occupy(UUID caregiverId, LocalDateTime start, Duration duration) {
+        long from = toMinute(start);
+        caregivers.compute(caregiverId, (id, slots) -> {
+            CaregiverSlots target = slots != null ? slots : new CaregiverSlots(window.until());
+            target.update(from, from + duration.toMinutes(), true);
+            return target;
+        });
+    }
+
+    public void release(UUID caregiverId, LocalDateTime start, Duration duration) {
+        long from = toMinute(start);
+        caregivers.computeIfPresent(caregiverId, (id, slots) -> {
+            slots.update(from, from + duration.toMinutes(), false);
+            return slots;
+        });
+    }
+
+    public boolean isFree(UUID caregiverId, LocalDateTime start, Duration duration) {
+        long from = toMinute(start);
+        long to = from + duration.toMinutes();
+        Window current = window;
+        CaregiverSlots slots = caregivers.get(caregiverId);
+        LocalDate coveredUntil = slots != null ? slots.coveredUntil() : current.until();
+        LocalDate lastDay = LocalDate.ofEpochDay(Math.floorDiv(to - 1, MINUTES_PER_DAY));
+
+        if (start.toLocalDate().isBefore(current.from()) || !lastDay.isBefore(coveredUntil)) {
+            return konsultasiRepository.findConflictingCaregiverBookings(caregiverId, INACTIVE_STATUSES,
+                    start.minus(SlotGrid.MAX_DURATION), start, start.plus(duration), FIRST_CONFLICT).isEmpty();
+        }
+        return slots == null || !slots.anyOccupied(from, to);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Window target = Window.startingAt(LocalDate.now(), horizonDays);
+        evictBefore(target.from());
+        Map<UUID, Long> epochs = epochs();
+        Map<UUID, CaregiverSlots> loaded = loadFromRepository(target);
+
+        Set<UUID> caregiverIds = new HashSet<>(loaded.keySet());
+        caregiverIds.addAll(epochs.keySet());
+        int skipped = 0;
+        for (UUID caregiverId : caregiverIds) {
+            if (!install(caregiverId, loaded.getOrDefault(caregiverId, new CaregiverSlots(target.until())),
+                    epochs.get(caregiverId), target)) {
+                skipped++;
+            }
+        }
+
+        window = target;
+        suspects = Set.of();
+        slotIndexRebuildCounter.increment();
+        log.info("Slot occupancy index rebuilt for {} caregivers through {} ({} changed while loading)",
+                caregivers.size(), target.until(), skipped);
+    }
+
+    @Scheduled(initialDelayString = "${konsultasi.slot-index.verify-interval-ms:600000}",
+            fixedDelayString = "${konsultasi.slot-index.verify-interval-ms:600000}")
+    public synchronized int verifyConsistency() {
+        Window target = Window.startingAt(LocalDate.now(), horizonDays);
+        evictBefore(target.from());
+        Map<UUID, Long> epochs = epochs();
+        Map<UUID, CaregiverSlots> loaded = loadFromRepository(target);
+
+        Set<UUID> caregiverIds = new HashSet<>(loaded.keySet());
+        caregiverIds.addAll(epochs.keySet());
+        Set<UUID> nextSuspects = new HashSet<>();
+        int repaired = 0;
+        for (UUID caregiverId : caregiverIds) {
+            CaregiverSlots expected = loaded.getOrDefault(caregiverId, new CaregiverSlots(target.until()));
+            Long epoch = epochs.get(caregiverId);
+            CaregiverSlots current = caregivers.get(caregiverId);
+            if (current != null && !Objects.equals(epoch, current.epoch())) {
+                continue;
+            }
+
+            if (current == null ? expected.isEmpty() : current.sameAs(expected, target)) {
+                if (current != null) {
+                    current.coverUntil(target.until());
+                }
+            } else if (suspects.contains(caregiverId)) {
+                if (install(caregiverId, expected, epoch, target)) {
+                    repaired++;
+                }
+            } else {
+                nextSuspects.add(caregiverId);
+                withholdCoverage(caregiverId, target);
+            }
+        }
+
+        window = target;
+        suspects = nextSuspects;
+        if (repaired > 0) {
+            slotIndexMismatchCounter.increment(repaired);
+            log.warn("Slot occupancy index diverged from repository for {} caregivers, repaired", repaired);
+        }
+        return repaired;
+    }
+
+    private boolean install(UUID caregiverId, CaregiverSlots fresh, Long epoch, Window target) {
+        boolean[] installed = {false};
+        caregivers.compute(caregiverId, (id, current) -> {
+            if (current != null && !Objects.equals(epoch, current.epoch())) {
+                return current;
+            }
+            installed[0] = true;
+            if (current == null) {
+                return fresh.isEmpty() ? null : fresh;
+            }
+            current.replaceWith(fresh, target);
+            return current;
+        });
+        return installed[0];
+    }
+
+    private void withholdCoverage(UUID caregiverId, Window target) {
+        caregivers.compute(caregiverId, (id, current) -> {
+            CaregiverSlots slots = current != null ? current : new CaregiverSlots(target.from());
+            slots.coverUntil(target.from());
+            return slots;
+        });
+    }
+
+    private void evictBefore(LocalDate day) {
+        LocalDate coveredUntil = window.until();
+        for (UUID caregiverId : caregivers.keySet()) {
+            caregivers.computeIfPresent(caregiverId, (id, slots) -> {
+                slots.dropDaysBefore(day.toEpochDay());
+                boolean fullyCovered = !slots.coveredUntil().isBefore(coveredUntil);
+                return slots.isEmpty() && fullyCovered && !suspects.contains(id) ? null : slots;
+            });
+        }
+    }
+
+    private Map<UUID, Long> epochs() {
+        Map<UUID, Long> epochs = new HashMap<>();
+        caregivers.forEach((caregiverId, slots) -> epochs.put(caregiverId, slots.epoch()));
+        return epochs;
+    }
+
+    private Map<UUID, CaregiverSlots> loadFromRepository(Window target) {
+        LocalDateTime from = target.from().atStartOfDay();
+        long fromMinute = toMinute(from);
+        Map<UUID, CaregiverSlots> snapshot = new HashMap<>();
+        for (KonsultasiRepository.ActiveSlot slot : konsultasiRepository.findActiveSlotsStartingBetween(
+                INACTIVE_STATUSES, from.minus(SlotGrid.MAX_DURATION), target.until().atStartOfDay())) {
+            long start = toMinute(slot.getScheduleDateTime());
+            snapshot.computeIfAbsent(slot.getCaregiverId(), id -> new CaregiverSlots(target.until()))
+                    .update(Math.max(start, fromMinute), start + slot.getDurationMinutes(), true);
+        }
+        return snapshot;
+    }
+
+    private static long toMinute(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+                + dateTime.getHour() * 60L + dateTime.getMinute();
+    }
+
+    private record Window(LocalDate from, LocalDate until) {
+        private static final Window EMPTY = new Window(LocalDate.EPOCH, LocalDate.EPOCH);
+
+        static Window startingAt(LocalDate today, int days) {
+            return new Window(today, today.plusDays(days));
+        }
+    }
+
+    private static final class CaregiverSlots {
+        private final Map<Long, long[]> days = new HashMap<>();
+        private long epoch;
+        private LocalDate coveredUntil;
+
+        CaregiverSlots(LocalDate coveredUntil) {
+            this.coveredUntil = coveredUntil;
+        }
+
+        synchronized long epoch() {
+            return epoch;
+        }
+
+        synchronized LocalDate coveredUntil() {
+            return coveredUntil;
+        }
+
+        synchronized void coverUntil(LocalDate until) {
+            coveredUntil = until;
+        }
+
+        synchronized boolean isEmpty() {
+            return days.isEmpty();
+        }
+
+        synchronized void update(long fromMinute, long toMinute, boolean occupied) {
+            epoch++;
+            long minute = fromMinute;
+            while (minute < toMinute) {
+                long day = Math.floorDiv(minute, MINUTES_PER_DAY);
+                int from = (int) (minute - day * MINUTES_PER_DAY);
+                int to = (int) Math.min(MINUTES_PER_DAY, toMinute - day * MINUTES_PER_DAY);
+
+                long[] words = days.get(day);
+                if (words == null && occupied) {
+                    words = new long[WORDS_PER_DAY];
+                    days.put(day, words);
+                }
+                if (words != null) {
+                    applyRange(words, from, to, occupied);
+                    if (!occupied && isBlank(words)) {
+                        days.remove(day);
+                    }
+                }
+                minute = (day + 1) * MINUTES_PER_DAY;
+            }
+        }
+
+        synchronized boolean anyOccupied(long fromMinute, long toMinute) {
+            long minute = fromMinute;
+            while (minute < toMinute) {
+                long day = Math.floorDiv(minute, MINUTES_PER_DAY);
+                int from = (int) (minute - day * MINUTES_PER_DAY);
+                int to = (int) Math.min(MINUTES_PER_DAY, toMinute - day * MINUTES_PER_DAY);
+
+                long[] words = days.get(day);
+                if (words != null && anyInRange(words, from, to)) {
+                    return true;
+                }
+                minute = (day + 1) * MINUTES_PER_DAY;
+            }
+            return false;
+        }
+
+        synchronized boolean sameAs(CaregiverSlots other, Window target) {
+            Map<Long, long[]> otherDays = other.snapshot();
+            long first = target.from().toEpochDay();
+            long last = target.until().toEpochDay();
+            Set<Long> dayKeys = new HashSet<>(days.keySet());
+            dayKeys.addAll(otherDays.keySet());
+            for (Long day : dayKeys) {
+                if (day >= first && day < last && !Arrays.equals(days.get(day), otherDays.get(day))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void replaceWith(CaregiverSlots fresh, Window target) {
+            long last = target.until().toEpochDay();
+            days.keySet().removeIf(day -> day < last);
+            days.putAll(fresh.snapshot());
+            coveredUntil = target.until();
+        }
+
+        synchronized void dropDaysBefore(long day) {
+            days.keySet().removeIf(key -> key < day);
+        }
+
+        private synchronized Map<Long, long[]> snapshot() {
+            Map<Long, long[]> copy = new HashMap<>(days.size() * 2);
+            days.forEach((day, words) -> copy.put(day, words.clone()));
+            return copy;
+        }
+
+        private static void applyRange(long[] words, int from, int to, boolean occupied) {
+            for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+                long mask = rangeMask(word, from, to);
+                words[word] = occupied ? words[word] | mask : words[word] & ~mask;
+            }
+        }
+
+        private static boolean anyInRange(long[] words, int from, int to) {
+            for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+                if ((words[word] & rangeMask(word, from, to)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static long rangeMask(int word, int from, int to) {
+            int base = word << 6;
+            int low = Math.max(from, base) - base;
+            int high = Math.min(to, base + 64) - base;
+            long upper = high == 64 ? -1L : (1L << high) - 1;
+            return upper & (-1L << low);
+        }
+
+        private static boolean isBlank(long[] words) {
+            for (long word : words) {
+                if (word != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.cache;
+
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailabilityHeatmapDto;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class AvailabilityHeatmapCache {
+    private final Counter scheduleHeatmapCacheHitCounter;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public AvailabilityHeatmapCache(Counter scheduleHeatmapCacheHitCounter,
+                                    @Value("${schedule.heatmap.cache.max-entries:500}") int maxEntries,
+                                    @Value("${schedule.heatmap.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.scheduleHeatmapCacheHitCounter = scheduleHeatmapCacheHitCounter;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public AvailabilityHeatmapDto get(UUID caregiverId, int weeksAhead, Supplier<AvailabilityHeatmapDto> loader) {
+        Key key = new Key(caregiverId, weeksAhead);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                scheduleHeatmapCacheHitCounter.increment();
+                return entry.heatmap();
+            }
+        }
+
+        long observedGeneration = generation.get();
+        AvailabilityHeatmapDto heatmap = loader.get();
+        synchronized (entries) {
+            if (generation.get() == observedGeneration) {
+                entries.put(key, new Entry(heatmap, System.nanoTime()));
+            }
+        }
+        return heatmap;
+    }
+
+    public void invalidate(UUID caregiverId) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.caregiverId().equals(caregiverId));
+        }
+        log.debug("Invalidated cached heatmaps for caregiver: {}", caregiverId);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Key(UUID caregiverId, int weeksAhead) {
+    }
+
+    private record Entry(AvailabilityHeatmapDto heatmap, long loadedAt) {
+    }
+}
@@ -0,0 +1,89 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.cache;
+
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class CaregiverScheduleCache {
+    private final Counter scheduleCacheHitCounter;
+    private final Counter scheduleCacheMissCounter;
+    private final Counter scheduleCacheEvictionCounter;
+    private final long ttlNanos;
+    private final Map<UUID, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CaregiverScheduleCache(Counter scheduleCacheHitCounter,
+                                  Counter scheduleCacheMissCounter,
+                                  Counter scheduleCacheEvictionCounter,
+                                  @Value("${schedule.cache.max-caregivers:1000}") int maxEntries,
+                                  @Value("${schedule.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.scheduleCacheHitCounter = scheduleCacheHitCounter;
+        this.scheduleCacheMissCounter = scheduleCacheMissCounter;
+        this.scheduleCacheEvictionCounter = scheduleCacheEvictionCounter;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() > maxEntries) {
+                    scheduleCacheEvictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public List<ScheduleResponseDto> get(UUID caregiverId, Supplier<List<ScheduleResponseDto>> loader) {
+        synchronized (entries) {
+            Entry entry = entries.get(caregiverId);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                    scheduleCacheHitCounter.increment();
+                    return entry.schedules();
+                }
+                entries.remove(caregiverId);
+                scheduleCacheEvictionCounter.increment();
+            }
+        }
+
+        scheduleCacheMissCounter.increment();
+        long observedGeneration = generation.get();
+        List<ScheduleResponseDto> schedules = List.copyOf(loader.get());
+
+        synchronized (entries) {
+            if (generation.get() == observedGeneration) {
+                entries.put(caregiverId, new Entry(schedules, System.nanoTime()));
+            }
+        }
+        return schedules;
+    }
+
+    public void invalidate(UUID caregiverId) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(caregiverId);
+        }
+        log.debug("Invalidated cached schedules for caregiver: {}", caregiverId);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(List<ScheduleResponseDto> schedules, long loadedAt) {
+    }
+}
@@ -0,0 +1,114 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.calendar;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiCalendarEntry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+
+public class IcsCalendarWriter {
+    private static final String CRLF = "\r\n";
+    private static final LocalDate RECURRENCE_ANCHOR = LocalDate.of(2024, 1, 1);
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer out;
+    private final ZoneId zone;
+
+    public IcsCalendarWriter(Writer out) {
+        this(out, ZoneId.systemDefault());
+    }
+
+    public IcsCalendarWriter(Writer out, ZoneId zone) {
+        this.out = out;
+        this.zone = zone;
+    }
+
+    public void begin(String calendarName) {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//be-konsultasi//Consultation Calendar//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + calendarName);
+    }
+
+    public void availability(Schedule schedule) {
+        LocalDate firstDate = schedule.isOneTime()
+                ? schedule.getSpecificDate()
+                : RECURRENCE_ANCHOR.with(TemporalAdjusters.nextOrSame(schedule.getDay()));
+
+        line("BEGIN:VEVENT");
+        line("UID:schedule-" + schedule.getId() + "@be-konsultasi");
+        line("DTSTAMP:" + utc(schedule.getLastUpdated()));
+        line("DTSTART" + local(firstDate.atTime(schedule.getStartTime())));
+        line("DTEND" + local(firstDate.atTime(schedule.getEndTime())));
+        if (!schedule.isOneTime()) {
+            line("RRULE:FREQ=WEEKLY;BYDAY=" + byDay(schedule.getDay()));
+        }
+        line("SUMMARY:Available for consultations");
+        line("TRANSP:TRANSPARENT");
+        line("END:VEVENT");
+    }
+
+    public void consultation(KonsultasiCalendarEntry konsultasi) {
+        LocalDateTime start = konsultasi.getScheduleDateTime();
+
+        line("BEGIN:VEVENT");
+        line("UID:konsultasi-" + konsultasi.getId() + "@be-konsultasi");
+        line("DTSTAMP:" + utc(konsultasi.getLastUpdated()));
+        line("DTSTART" + local(start));
+        line("DTEND" + local(start.plusMinutes(konsultasi.getDurationMinutes())));
+        line("SUMMARY:Consultation (" + konsultasi.getStatus() + ")");
+        line("STATUS:" + eventStatus(konsultasi.getStatus()));
+        line("TRANSP:OPAQUE");
+        line("END:VEVENT");
+    }
+
+    public void end() {
+        line("END:VCALENDAR");
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String local(LocalDateTime dateTime) {
+        return ";TZID=" + zone.getId() + ":" + LOCAL_FORMAT.format(dateTime);
+    }
+
+    private String utc(LocalDateTime dateTime) {
+        LocalDateTime stamp = dateTime != null ? dateTime : RECURRENCE_ANCHOR.atStartOfDay();
+        return UTC_FORMAT.format(stamp.atZone(zone).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    private static String byDay(DayOfWeek day) {
+        return day.name().substring(0, 2);
+    }
+
+    private static String eventStatus(String status) {
+        return switch (status) {
+            case "CANCELLED" -> "CANCELLED";
+            case "CONFIRMED", "DONE" -> "CONFIRMED";
+            default -> "TENTATIVE";
+        };
+    }
+
+    private void line(String content) {
+        try {
+            out.write(content);
+            out.write(CRLF);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
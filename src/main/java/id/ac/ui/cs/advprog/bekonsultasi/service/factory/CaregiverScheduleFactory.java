@@ -3,6 +3,7 @@ package id.ac.ui.cs.advprog.bekonsultasi.service.factory;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateOneTimeScheduleDto;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotGrid;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
@@ -17,6 +18,8 @@ public class CaregiverScheduleFactory implements ScheduleFactory {
                 .startTime(dto.getStartTime())
                 .endTime(dto.getEndTime())
                 .oneTime(false)
+                .durationMinutes(orDefault(dto.getDurationMinutes()))
+                .slotGranularityMinutes(orDefault(dto.getSlotGranularityMinutes()))
                 .build();
     }
 
@@ -29,6 +32,12 @@ public class CaregiverScheduleFactory implements ScheduleFactory {
                 .endTime(dto.getEndTime())
                 .specificDate(dto.getSpecificDate())
                 .oneTime(true)
+                .durationMinutes(orDefault(dto.getDurationMinutes()))
+                .slotGranularityMinutes(orDefault(dto.getSlotGranularityMinutes()))
                 .build();
     }
+
+    private int orDefault(Integer minutes) {
+        return minutes != null ? minutes : SlotGrid.DEFAULT_MINUTES;
+    }
 }
\ No newline at end of file
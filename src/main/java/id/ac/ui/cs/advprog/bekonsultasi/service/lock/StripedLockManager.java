@@ -0,0 +1,88 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.lock;
+
+import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class StripedLockManager {
+    private static final int MAX_STRIPES = 1 << 12;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+    private final Timer waitTimer;
+    private final Counter timeoutCounter;
+
+    public StripedLockManager(MeterRegistry meterRegistry,
+                              @Value("${konsultasi.booking-lock.stripes:64}") int stripeCount,
+                              @Value("${konsultasi.booking-lock.timeout-ms:3000}") long timeoutMillis) {
+        int size = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, MAX_STRIPES) * 2 - 1));
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+            Gauge.builder("konsultasi.booking.lock.queue.length", stripes[i], ReentrantLock::getQueueLength)
+                    .description("Threads waiting for a booking lock stripe")
+                    .tag("stripe", Integer.toString(i))
+                    .register(meterRegistry);
+        }
+        this.waitTimer = Timer.builder("konsultasi.booking.lock.wait")
+                .description("Time spent waiting for a booking lock stripe")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("konsultasi.booking.lock.timeout.total")
+                .description("Total number of booking attempts that gave up waiting for a lock stripe")
+                .register(meterRegistry);
+    }
+
+    public <T> T withLock(UUID key, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeIndex(key)];
+        acquire(lock, key);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    int stripeIndex(UUID key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void acquire(ReentrantLock lock, UUID key) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            timeoutCounter.increment();
+            log.warn("Timed out waiting for booking lock on {}", key);
+            throw new ScheduleConflictException("Too many booking attempts for this caregiver right now, please try again");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Component
+@ConditionalOnProperty(name = "konsultasi.outbox.file-sink.enabled", havingValue = "true")
+public class FileEventSink implements KonsultasiEventSink {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileEventSink(ObjectMapper objectMapper,
+                         @Value("${konsultasi.outbox.file-sink.path:logs/konsultasi-events.jsonl}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(KonsultasiOutboxEvent event) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(path, toLine(event), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append consultation event " + event.getId() + " to " + path, e);
+        }
+    }
+
+    private String toLine(KonsultasiOutboxEvent event) throws JsonProcessingException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("eventId", event.getId());
+        line.set("event", objectMapper.readTree(event.getPayload()));
+        return objectMapper.writeValueAsString(line) + System.lineSeparator();
+    }
+}
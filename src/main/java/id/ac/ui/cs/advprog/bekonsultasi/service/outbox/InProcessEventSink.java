@@ -0,0 +1,23 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class InProcessEventSink implements KonsultasiEventSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(KonsultasiOutboxEvent event) {
+        eventPublisher.publishEvent(new KonsultasiChangedEvent(event.getId(), event.getKonsultasiId(),
+                event.getEventType(), event.getStatus(), event.getPayload()));
+    }
+}
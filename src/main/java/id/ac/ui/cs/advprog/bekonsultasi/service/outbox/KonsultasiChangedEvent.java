@@ -0,0 +1,7 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import java.util.UUID;
+
+public record KonsultasiChangedEvent(long eventId, UUID konsultasiId, String eventType, String status,
+                                     String payload) {
+}
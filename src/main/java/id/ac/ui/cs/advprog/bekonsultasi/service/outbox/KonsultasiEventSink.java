@@ -0,0 +1,9 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+
+public interface KonsultasiEventSink {
+    String name();
+
+    void publish(KonsultasiOutboxEvent event);
+}
@@ -0,0 +1,73 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.KonsultasiEventDto;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+public class KonsultasiOutbox {
+    private final KonsultasiOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Konsultasi konsultasi, KonsultasiEventType eventType) {
+        outboxRepository.flush();
+        outboxRepository.save(toOutboxEvent(konsultasi, eventType, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Konsultasi> konsultations, KonsultasiEventType eventType) {
+        if (konsultations.isEmpty()) {
+            return;
+        }
+        outboxRepository.flush();
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.saveAll(konsultations.stream()
+                .map(konsultasi -> toOutboxEvent(konsultasi, eventType, now))
+                .toList());
+    }
+
+    private KonsultasiOutboxEvent toOutboxEvent(Konsultasi konsultasi, KonsultasiEventType eventType,
+                                                LocalDateTime now) {
+        KonsultasiEventDto event = KonsultasiEventDto.builder()
+                .eventType(eventType.name())
+                .konsultasiId(konsultasi.getId())
+                .scheduleId(konsultasi.getScheduleId())
+                .caregiverId(konsultasi.getCaregiverId())
+                .pacilianId(konsultasi.getPacilianId())
+                .scheduleDateTime(konsultasi.getScheduleDateTime())
+                .durationMinutes(konsultasi.getDurationMinutes())
+                .status(konsultasi.getStatus())
+                .occurredAt(now)
+                .build();
+
+        return KonsultasiOutboxEvent.builder()
+                .konsultasiId(konsultasi.getId())
+                .konsultasiVersion(konsultasi.getVersion())
+                .eventType(eventType.name())
+                .status(konsultasi.getStatus())
+                .payload(serialize(event))
+                .createdAt(now)
+                .build();
+    }
+
+    private String serialize(KonsultasiEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize consultation event for " + event.getKonsultasiId(), e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class OutboxRelay {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final KonsultasiOutboxRepository outboxRepository;
+    private final List<KonsultasiEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+    private final Duration claimTtl;
+    private final Counter publishedCounter;
+    private final Map<String, Counter> failureCounters;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public OutboxRelay(KonsultasiOutboxRepository outboxRepository,
+                       List<KonsultasiEventSink> sinks,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${konsultasi.outbox.batch-size:100}") int batchSize,
+                       @Value("${konsultasi.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+                       @Value("${konsultasi.outbox.retention-hours:72}") long retentionHours,
+                       @Value("${konsultasi.outbox.claim-ttl-ms:60000}") long claimTtlMillis) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = List.copyOf(sinks);
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.retention = Duration.ofHours(retentionHours);
+        this.claimTtl = Duration.ofMillis(Math.max(0, claimTtlMillis));
+
+        this.publishedCounter = Counter.builder("konsultasi.outbox.published.total")
+                .description("Total number of outbox events delivered to every sink")
+                .register(meterRegistry);
+        this.failureCounters = this.sinks.stream().collect(Collectors.toMap(KonsultasiEventSink::name,
+                sink -> Counter.builder("konsultasi.outbox.delivery.failure.total")
+                        .description("Total number of failed outbox deliveries")
+                        .tag("sink", sink.name())
+                        .register(meterRegistry),
+                (first, second) -> first));
+        Gauge.builder("konsultasi.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event seen by the last relay run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${konsultasi.outbox.relay-interval-ms:1000}",
+            fixedDelayString = "${konsultasi.outbox.relay-interval-ms:1000}")
+    public int relay() {
+        LocalDateTime now = LocalDateTime.now();
+        RelayRun run = new RelayRun();
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int fetched = relayBatch(run, now);
+            if (fetched < batchSize) {
+                break;
+            }
+        }
+
+        lagSeconds.set(run.oldestPending != null ? Duration.between(run.oldestPending, now).toSeconds() : 0L);
+        if (run.published > 0) {
+            log.info("Relayed {} consultation events", run.published);
+        }
+        return run.published;
+    }
+
+    @Scheduled(cron = "${konsultasi.outbox.purge-cron:0 15 3 * * *}")
+    public int purgePublished() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        int count = purged != null ? purged : 0;
+        if (count > 0) {
+            log.info("Purged {} delivered outbox events", count);
+        }
+        return count;
+    }
+
+    private int relayBatch(RelayRun run, LocalDateTime now) {
+        List<KonsultasiOutboxEvent> events = transactionTemplate.execute(status -> claimBatch(run, now));
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        if (run.oldestPending == null) {
+            run.oldestPending = events.get(0).getCreatedAt();
+        }
+
+        List<Long> published = new ArrayList<>();
+        List<KonsultasiOutboxEvent> unpublished = new ArrayList<>();
+        for (KonsultasiOutboxEvent event : events) {
+            if (deliver(event)) {
+                published.add(event.getId());
+                publishedCounter.increment();
+                run.published++;
+            } else {
+                event.setClaimedUntil(null);
+                unpublished.add(event);
+            }
+        }
+
+        transactionTemplate.execute(status -> settleBatch(published, unpublished, now));
+        return events.size();
+    }
+
+    private List<KonsultasiOutboxEvent> claimBatch(RelayRun run, LocalDateTime now) {
+        List<KonsultasiOutboxEvent> events = outboxRepository
+                .findClaimable(run.lastId, now, PageRequest.of(0, batchSize));
+        if (!events.isEmpty()) {
+            run.lastId = events.get(events.size() - 1).getId();
+            outboxRepository.claim(events.stream().map(KonsultasiOutboxEvent::getId).toList(), now.plus(claimTtl));
+        }
+        return events;
+    }
+
+    private int settleBatch(List<Long> published, List<KonsultasiOutboxEvent> unpublished, LocalDateTime now) {
+        if (!unpublished.isEmpty()) {
+            outboxRepository.saveAll(unpublished);
+        }
+        return published.isEmpty() ? 0 : outboxRepository.markPublished(published, now);
+    }
+
+    private boolean deliver(KonsultasiOutboxEvent event) {
+        for (KonsultasiEventSink sink : sinks) {
+            try {
+                sink.publish(event);
+            } catch (RuntimeException e) {
+                failureCounters.get(sink.name()).increment();
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(sink.name() + ": " + e.getMessage()));
+                log.warn("Delivery of outbox event {} for konsultasi {} to {} failed (attempt {}): {}",
+                        event.getId(), event.getKonsultasiId(), sink.name(), event.getAttempts(), e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static final class RelayRun {
+        private long lastId;
+        private int published;
+        private LocalDateTime oldestPending;
+    }
+}
@@ -0,0 +1,308 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.KonsultasiEventDto;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
+import id.ac.ui.cs.advprog.bekonsultasi.service.KonsultasiService;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class RequestedQueueHub {
+    static final String ADDED = "added";
+    static final String CHANGED = "changed";
+    static final String REMOVED = "removed";
+    static final String SNAPSHOT = "snapshot";
+
+    private final KonsultasiService konsultasiService;
+    private final ObjectMapper objectMapper;
+    private final Executor streamDeliveryTaskExecutor;
+    private final long timeoutMillis;
+    private final int replayCapacity;
+    private final int subscriberQueueCapacity;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Deque<QueueEvent> replay = new ArrayDeque<>();
+    private final Counter snapshotCounter;
+    private final Counter deliveryFailureCounter;
+    private final Counter overflowCounter;
+    private long sequence;
+    private long evictedUpTo;
+
+    public RequestedQueueHub(KonsultasiService konsultasiService,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             Executor streamDeliveryTaskExecutor,
+                             @Value("${konsultasi.stream.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${konsultasi.stream.replay-size:1000}") int replayCapacity,
+                             @Value("${konsultasi.stream.subscriber-queue-size:64}") int subscriberQueueCapacity) {
+        this.konsultasiService = konsultasiService;
+        this.objectMapper = objectMapper;
+        this.streamDeliveryTaskExecutor = streamDeliveryTaskExecutor;
+        this.timeoutMillis = Math.max(0, timeoutMillis);
+        this.replayCapacity = Math.max(1, replayCapacity);
+        this.subscriberQueueCapacity = Math.max(1, subscriberQueueCapacity);
+
+        Gauge.builder("konsultasi.stream.connections", connections, AtomicInteger::get)
+                .description("Number of open caregiver request-queue streams")
+                .register(meterRegistry);
+        this.snapshotCounter = Counter.builder("konsultasi.stream.snapshots.total")
+                .description("Total number of streams that started from a full snapshot instead of a replay")
+                .register(meterRegistry);
+        this.deliveryFailureCounter = Counter.builder("konsultasi.stream.delivery.failure.total")
+                .description("Total number of stream writes that failed and dropped the connection")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("konsultasi.stream.overflow.total")
+                .description("Total number of streams dropped because the client fell too far behind")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID caregiverId, String lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(caregiverId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        synchronized (subscriber) {
+            List<QueueEvent> missed;
+            long current;
+            synchronized (replay) {
+                subscribers.computeIfAbsent(caregiverId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+                connections.incrementAndGet();
+                missed = eventsAfter(caregiverId, resumePoint(lastEventId));
+                current = sequence;
+            }
+
+            try {
+                if (missed != null) {
+                    missed.forEach(subscriber::send);
+                } else {
+                    snapshotCounter.increment();
+                    subscriber.sendSnapshot(current);
+                }
+            } catch (RuntimeException e) {
+                unsubscribe(subscriber);
+                throw e;
+            }
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onKonsultasiChanged(KonsultasiChangedEvent event) {
+        KonsultasiEventDto change = parse(event);
+        if (change == null || change.getCaregiverId() == null) {
+            return;
+        }
+
+        QueueEvent queueEvent;
+        List<Subscriber> targets;
+        synchronized (replay) {
+            queueEvent = new QueueEvent(++sequence, change.getCaregiverId(), eventName(event), event.payload());
+            replay.addLast(queueEvent);
+            if (replay.size() > replayCapacity) {
+                evictedUpTo = replay.removeFirst().sequence();
+            }
+            Set<Subscriber> caregiverSubscribers = subscribers.get(change.getCaregiverId());
+            targets = caregiverSubscribers != null ? List.copyOf(caregiverSubscribers) : List.of();
+        }
+        targets.forEach(subscriber -> subscriber.enqueue(subscriber.frame(queueEvent)));
+    }
+
+    @Scheduled(initialDelayString = "${konsultasi.stream.heartbeat-ms:15000}",
+            fixedDelayString = "${konsultasi.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(caregiverSubscribers ->
+                List.copyOf(caregiverSubscribers).forEach(subscriber ->
+                        subscriber.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private List<QueueEvent> eventsAfter(UUID caregiverId, long resumePoint) {
+        if (resumePoint < 0 || resumePoint < evictedUpTo || resumePoint > sequence) {
+            return null;
+        }
+        List<QueueEvent> missed = new ArrayList<>();
+        for (QueueEvent queued : replay) {
+            if (queued.sequence() > resumePoint && queued.caregiverId().equals(caregiverId)) {
+                missed.add(queued);
+            }
+        }
+        return missed;
+    }
+
+    private long resumePoint(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long eventSequence) {
+        return epoch + "-" + eventSequence;
+    }
+
+    private KonsultasiEventDto parse(KonsultasiChangedEvent event) {
+        try {
+            return objectMapper.readValue(event.payload(), KonsultasiEventDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Skipping unreadable event {} for konsultasi {}: {}",
+                    event.eventId(), event.konsultasiId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String eventName(KonsultasiChangedEvent event) {
+        if (!KonsultasiStatus.REQUESTED.name().equals(event.status())) {
+            return REMOVED;
+        }
+        return KonsultasiEventType.CREATED.name().equals(event.eventType()) ? ADDED : CHANGED;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        Set<Subscriber> caregiverSubscribers = subscribers.get(subscriber.caregiverId);
+        if (caregiverSubscribers != null && caregiverSubscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.caregiverId, (id, remaining) -> remaining.isEmpty() ? null : remaining);
+        }
+    }
+
+    private record QueueEvent(long sequence, UUID caregiverId, String name, String payload) {
+    }
+
+    private final class Subscriber {
+        private final UUID caregiverId;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(UUID caregiverId, SseEmitter emitter) {
+            this.caregiverId = caregiverId;
+            this.emitter = emitter;
+        }
+
+        private SseEmitter.SseEventBuilder frame(QueueEvent event) {
+            return SseEmitter.event()
+                    .id(eventId(event.sequence()))
+                    .name(event.name())
+                    .data(event.payload(), MediaType.APPLICATION_JSON);
+        }
+
+        private synchronized void send(QueueEvent event) {
+            write(frame(event));
+        }
+
+        private synchronized void sendSnapshot(long current) {
+            write(SseEmitter.event()
+                    .id(eventId(current))
+                    .name(SNAPSHOT)
+                    .data(konsultasiService.getRequestedKonsultasiByCaregiverId(caregiverId),
+                            MediaType.APPLICATION_JSON));
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder frame) {
+            boolean overflow;
+            synchronized (pending) {
+                if (closed) {
+                    return;
+                }
+                overflow = pending.size() >= subscriberQueueCapacity;
+                if (overflow) {
+                    closed = true;
+                    pending.clear();
+                } else {
+                    pending.addLast(frame);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+            if (overflow) {
+                overflowCounter.increment();
+                log.warn("Dropping request-queue stream of caregiver {} after {} undelivered events",
+                        caregiverId, subscriberQueueCapacity);
+                unsubscribe(this);
+                emitter.complete();
+                return;
+            }
+
+            try {
+                streamDeliveryTaskExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (pending) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder frame;
+                synchronized (pending) {
+                    frame = closed ? null : pending.pollFirst();
+                    if (frame == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                synchronized (this) {
+                    write(frame);
+                }
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                synchronized (pending) {
+                    closed = true;
+                    pending.clear();
+                }
+                deliveryFailureCounter.increment();
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.sweeper;
+
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiSummary;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotOccupancyIndex;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiOutbox;
+import id.ac.ui.cs.advprog.bekonsultasi.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+@Component
+@Slf4j
+public class KonsultasiSweeper {
+    private static final Pageable OLDEST = PageRequest.of(0, 1);
+
+    private final KonsultasiRepository konsultasiRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final KonsultasiOutbox konsultasiOutbox;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+    private final List<Sweep> sweeps;
+
+    public KonsultasiSweeper(KonsultasiRepository konsultasiRepository,
+                             TransactionTemplate transactionTemplate,
+                             KonsultasiOutbox konsultasiOutbox,
+                             SlotOccupancyIndex slotOccupancyIndex,
+                             MeterRegistry meterRegistry,
+                             @Value("${konsultasi.sweeper.batch-size:500}") int batchSize,
+                             @Value("${konsultasi.sweeper.max-batches-per-run:20}") int maxBatchesPerRun,
+                             @Value("${konsultasi.sweeper.pause-ms:200}") long pauseMillis) {
+        this.konsultasiRepository = konsultasiRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.konsultasiOutbox = konsultasiOutbox;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.pauseMillis = Math.max(0, pauseMillis);
+        this.sweeps = List.of(
+                new Sweep(KonsultasiStatus.REQUESTED, KonsultasiStatus.CANCELLED, KonsultasiEventType.EXPIRED,
+                        konsultasiRepository::findExpiredRequests, meterRegistry),
+                new Sweep(KonsultasiStatus.CONFIRMED, KonsultasiStatus.DONE, KonsultasiEventType.AUTO_COMPLETED,
+                        konsultasiRepository::findFinishedConfirmed, meterRegistry));
+    }
+
+    @Scheduled(initialDelayString = "${konsultasi.sweeper.interval-ms:60000}",
+            fixedDelayString = "${konsultasi.sweeper.interval-ms:60000}")
+    public int sweep() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int processed = 0;
+        for (Sweep sweep : sweeps) {
+            processed += run(sweep, now);
+        }
+        return processed;
+    }
+
+    private int run(Sweep sweep, LocalDateTime now) {
+        int processed = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer updated = transactionTemplate.execute(status -> closeBatch(sweep, now));
+            int count = updated != null ? updated : 0;
+            processed += count;
+            if (count < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        sweep.rows.increment(processed);
+        sweep.lagSeconds.set(sweep.finder.apply(now, OLDEST).stream()
+                .findFirst()
+                .map(oldest -> Duration.between(oldest.getScheduleDateTime(), now).toSeconds())
+                .orElse(0L));
+
+        if (processed > 0) {
+            log.info("Swept {} consultations from {} to {}", processed, sweep.from, sweep.to);
+        }
+        return processed;
+    }
+
+    private int closeBatch(Sweep sweep, LocalDateTime now) {
+        List<UUID> ids = sweep.finder.apply(now, PageRequest.of(0, batchSize)).stream()
+                .map(KonsultasiSummary::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int closed = konsultasiRepository.closeBookings(ids, sweep.from.name(), sweep.to.name(), now);
+        if (closed > 0) {
+            List<Konsultasi> closedBookings = konsultasiRepository.findAllById(ids).stream()
+                    .filter(konsultasi -> konsultasi.currentStatus() == sweep.to
+                            && now.equals(konsultasi.getLastUpdated()))
+                    .toList();
+            konsultasiOutbox.recordAll(closedBookings, sweep.eventType);
+            AfterCommit.run(() -> closedBookings.forEach(konsultasi -> slotOccupancyIndex.release(
+                    konsultasi.getCaregiverId(), konsultasi.getScheduleDateTime(),
+                    Duration.ofMinutes(konsultasi.getDurationMinutes()))));
+        }
+        return closed;
+    }
+
+    private boolean pause() {
+        if (pauseMillis == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class Sweep {
+        private final KonsultasiStatus from;
+        private final KonsultasiStatus to;
+        private final KonsultasiEventType eventType;
+        private final BiFunction<LocalDateTime, Pageable, List<KonsultasiSummary>> finder;
+        private final Counter rows;
+        private final AtomicLong lagSeconds = new AtomicLong();
+
+        Sweep(KonsultasiStatus from, KonsultasiStatus to, KonsultasiEventType eventType,
+              BiFunction<LocalDateTime, Pageable, List<KonsultasiSummary>> finder, MeterRegistry meterRegistry) {
+            if (!from.canTransitionTo(to) || to.isActive()) {
+                throw new IllegalStateException("Sweeper cannot move consultations from " + from + " to " + to);
+            }
+            this.from = from;
+            this.to = to;
+            this.eventType = eventType;
+            this.finder = finder;
+
+            String transition = from.name().toLowerCase() + "_to_" + to.name().toLowerCase();
+            this.rows = Counter.builder("konsultasi.sweeper.rows.total")
+                    .description("Total number of overdue consultations closed by the sweeper")
+                    .tag("transition", transition)
+                    .register(meterRegistry);
+            Gauge.builder("konsultasi.sweeper.lag.seconds", lagSeconds, AtomicLong::get)
+                    .description("Age of the oldest overdue consultation left after the last sweep")
+                    .tag("transition", transition)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package id.ac.ui.cs.advprog.bekonsultasi.util;
+
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ResourceTagDto;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+public final class ConditionalGet {
+    private ConditionalGet() {
+    }
+
+    public static boolean isNotModified(HttpServletRequest request, ResourceTagDto tag) {
+        if (tag == null || tag.getEtag() == null) {
+            return false;
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matchesETag(ifNoneMatch, tag.getEtag());
+        }
+
+        Instant lastModified = lastModifiedOf(tag);
+        if (lastModified == null) {
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return ifModifiedSince > 0 && lastModified.toEpochMilli() <= ifModifiedSince;
+    }
+
+    public static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+    }
+
+    public static <T> ResponseEntity<T> notModified(ResourceTagDto tag) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), tag).build();
+    }
+
+    public static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, ResourceTagDto tag) {
+        if (tag == null || tag.getEtag() == null) {
+            return builder;
+        }
+        builder.eTag(tag.getEtag()).cacheControl(CacheControl.noCache());
+        Instant lastModified = lastModifiedOf(tag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    private static Instant lastModifiedOf(ResourceTagDto tag) {
+        if (tag.getLastModified() == null) {
+            return null;
+        }
+        return tag.getLastModified().atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,27 @@
+package id.ac.ui.cs.advprog.bekonsultasi.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.function.Supplier;
+
+@Slf4j
+public final class OptimisticRetry {
+    public static final int MAX_ATTEMPTS = 3;
+
+    private OptimisticRetry() {
+    }
+
+    public static <T> T call(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Concurrent update detected, retrying (attempt {} of {})", attempt + 1, MAX_ATTEMPTS);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS btree_gist;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_konsultasi_active_overlap') THEN
+        ALTER TABLE konsultasi
+            ADD CONSTRAINT ex_konsultasi_active_overlap
+            EXCLUDE USING gist (
+                active_caregiver_id WITH =,
+                tsrange(schedule_date_time, schedule_date_time + make_interval(mins => duration_minutes)) WITH &&
+            );
+    END IF;
+END
+$$
@@ -1,6 +1,7 @@
 package id.ac.ui.cs.advprog.bekonsultasi.controller;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ApiResponseDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailableSlotDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
 import id.ac.ui.cs.advprog.bekonsultasi.service.ScheduleService;
 import io.micrometer.core.instrument.Counter;
@@ -15,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -23,6 +25,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -261,4 +264,49 @@ class DataControllerTest {
         verify(scheduleService, never()).getAvailableSchedulesByCaregiver(any());
         verify(scheduleService, never()).getAvailableSchedulesForCaregivers(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getEarliestAvailableSlots_Success() {
+        List<AvailableSlotDto> slots = List.of(AvailableSlotDto.builder()
+                .scheduleId(scheduleDto1.getId())
+                .caregiverId(caregiverId)
+                .dateTime(LocalDateTime.of(2030, 1, 7, 9, 0))
+                .build());
+        when(scheduleService.findEarliestAvailableSlots(List.of(caregiverId, caregiverId2), 5, 4)).thenReturn(slots);
+
+        ResponseEntity<ApiResponseDto<List<AvailableSlotDto>>> response = dataController.getEarliestAvailableSlots(
+                Arrays.asList(caregiverId.toString(), caregiverId2.toString(), caregiverId.toString()), 5, 4);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(slots, response.getBody().getData());
+        verify(availableSchedulesRequestCounter).increment();
+    }
+
+    @Test
+    void getEarliestAvailableSlots_NoCaregivers_ReturnsEmpty() {
+        ResponseEntity<ApiResponseDto<List<AvailableSlotDto>>> response =
+                dataController.getEarliestAvailableSlots(null, 10, 4);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getData().isEmpty());
+        verify(scheduleService, never()).findEarliestAvailableSlots(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getEarliestAvailableSlots_InvalidLimit_ReturnsBadRequest() {
+        ResponseEntity<ApiResponseDto<List<AvailableSlotDto>>> response =
+                dataController.getEarliestAvailableSlots(List.of(caregiverId.toString()), 0, 4);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(scheduleService, never()).findEarliestAvailableSlots(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getEarliestAvailableSlots_InvalidUuid_ReturnsBadRequest() {
+        ResponseEntity<ApiResponseDto<List<AvailableSlotDto>>> response =
+                dataController.getEarliestAvailableSlots(List.of("not-a-uuid"), 10, 4);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid caregiver ID format", response.getBody().getMessage());
+    }
+}
@@ -1,24 +1,36 @@
 package id.ac.ui.cs.advprog.bekonsultasi.controller;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.*;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiAction;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.enums.Role;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.AuthenticationException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.service.KonsultasiService;
 import id.ac.ui.cs.advprog.bekonsultasi.service.ScheduleService;
 import id.ac.ui.cs.advprog.bekonsultasi.service.TokenVerificationService;
+import id.ac.ui.cs.advprog.bekonsultasi.service.stream.RequestedQueueHub;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,6 +51,9 @@ class KonsultasiControllerTest {
     @Mock
     private TokenVerificationService tokenVerificationService;
 
+    @Mock
+    private RequestedQueueHub requestedQueueHub;
+
     @Mock
     private HttpServletRequest request;
 
@@ -243,44 +258,143 @@ class KonsultasiControllerTest {
 
     @Test
     void testGetKonsultasiByPacilianId() {
-        List<KonsultasiResponseDto> konsultasiList = Arrays.asList(responseDto);
+        KonsultasiPageDto page = KonsultasiPageDto.builder()
+                .items(Arrays.asList(responseDto))
+                .hasMore(false)
+                .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
         when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
-        when(konsultasiService.getKonsultasiByPacilianId(pacilianId)).thenReturn(konsultasiList);
+        when(konsultasiService.getKonsultasiPage(eq(pacilianId), eq("PACILIAN"), any(KonsultasiFilterDto.class)))
+                .thenReturn(page);
 
-        ResponseEntity<ApiResponseDto<List<KonsultasiResponseDto>>> response =
-                konsultasiController.getKonsultasiByPacilianId(request);
+        ResponseEntity<ApiResponseDto<?>> response =
+                konsultasiController.getKonsultasiByPacilianId(null, null, null, null, 50, request);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(200, response.getBody().getStatus());
         assertEquals("Retrieved pacilian consultations", response.getBody().getMessage());
-        assertEquals(konsultasiList, response.getBody().getData());
+        assertEquals(page, response.getBody().getData());
 
-        verify(konsultasiService).getKonsultasiByPacilianId(pacilianId);
+        ArgumentCaptor<KonsultasiFilterDto> filter = ArgumentCaptor.forClass(KonsultasiFilterDto.class);
+        verify(konsultasiService).getKonsultasiPage(eq(pacilianId), eq("PACILIAN"), filter.capture());
+        assertTrue(filter.getValue().getStatuses().isEmpty());
+        assertEquals(50, filter.getValue().getLimit());
     }
 
     @Test
     void testGetKonsultasiByCaregiverId() {
-        List<KonsultasiResponseDto> konsultasiList = Arrays.asList(responseDto);
+        KonsultasiPageDto page = KonsultasiPageDto.builder()
+                .items(Arrays.asList(responseDto))
+                .nextCursor("cursor")
+                .hasMore(true)
+                .build();
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
         when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
-        when(konsultasiService.getKonsultasiByCaregiverId(caregiverId)).thenReturn(konsultasiList);
+        when(konsultasiService.getKonsultasiPage(eq(caregiverId), eq("CAREGIVER"), any(KonsultasiFilterDto.class)))
+                .thenReturn(page);
 
-        ResponseEntity<ApiResponseDto<List<KonsultasiResponseDto>>> response =
-                konsultasiController.getKonsultasiByCaregiverId(request);
+        ResponseEntity<ApiResponseDto<?>> response = konsultasiController.getKonsultasiByCaregiverId(
+                List.of("confirmed", "DONE"), from, to, "cursor", 20, request);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(200, response.getBody().getStatus());
         assertEquals("Retrieved caregiver consultations", response.getBody().getMessage());
-        assertEquals(konsultasiList, response.getBody().getData());
+        assertEquals(page, response.getBody().getData());
+
+        ArgumentCaptor<KonsultasiFilterDto> filter = ArgumentCaptor.forClass(KonsultasiFilterDto.class);
+        verify(konsultasiService).getKonsultasiPage(eq(caregiverId), eq("CAREGIVER"), filter.capture());
+        assertEquals(EnumSet.of(KonsultasiStatus.CONFIRMED, KonsultasiStatus.DONE), filter.getValue().getStatuses());
+        assertEquals(from, filter.getValue().getFrom());
+        assertEquals(to, filter.getValue().getTo());
+        assertEquals("cursor", filter.getValue().getAfter());
+        assertEquals(20, filter.getValue().getLimit());
+    }
+
+    @Test
+    void testGetKonsultasiByPacilianId_WithoutPaging_ReturnsList() {
+        List<KonsultasiResponseDto> list = Arrays.asList(responseDto);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+        when(konsultasiService.getKonsultasiList(eq(pacilianId), eq("PACILIAN"), any(KonsultasiFilterDto.class)))
+                .thenReturn(list);
+
+        ResponseEntity<ApiResponseDto<?>> response =
+                konsultasiController.getKonsultasiByPacilianId(null, null, null, null, null, request);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Retrieved pacilian consultations", response.getBody().getMessage());
+        assertEquals(list, response.getBody().getData());
+        verify(konsultasiService, never()).getKonsultasiPage(any(), any(), any());
+    }
+
+    @Test
+    void testGetKonsultasiByCaregiverId_CursorWithoutLimit_UsesDefaultPageSize() {
+        KonsultasiPageDto page = KonsultasiPageDto.builder()
+                .items(Arrays.asList(responseDto))
+                .hasMore(false)
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
+        when(konsultasiService.getKonsultasiPage(eq(caregiverId), eq("CAREGIVER"), any(KonsultasiFilterDto.class)))
+                .thenReturn(page);
+
+        ResponseEntity<ApiResponseDto<?>> response =
+                konsultasiController.getKonsultasiByCaregiverId(null, null, null, "cursor", null, request);
+
+        assertEquals(page, response.getBody().getData());
+        ArgumentCaptor<KonsultasiFilterDto> filter = ArgumentCaptor.forClass(KonsultasiFilterDto.class);
+        verify(konsultasiService).getKonsultasiPage(eq(caregiverId), eq("CAREGIVER"), filter.capture());
+        assertEquals(50, filter.getValue().getLimit());
+        verify(konsultasiService, never()).getKonsultasiList(any(), any(), any());
+    }
+
+    @Test
+    void testGetKonsultasiByCaregiverId_InvalidLimit() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                konsultasiController.getKonsultasiByCaregiverId(null, null, null, null, 0, request));
+        assertThrows(IllegalArgumentException.class, () ->
+                konsultasiController.getKonsultasiByCaregiverId(null, null, null, null, 201, request));
 
-        verify(konsultasiService).getKonsultasiByCaregiverId(caregiverId);
+        verify(konsultasiService, never()).getKonsultasiPage(any(), any(), any());
+    }
+
+    @Test
+    void testGetKonsultasiByPacilianId_InvalidFilters() {
+        LocalDateTime from = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                konsultasiController.getKonsultasiByPacilianId(List.of("PENDING"), null, null, null, 50, request));
+        assertThrows(IllegalArgumentException.class, () ->
+                konsultasiController.getKonsultasiByPacilianId(null, from, from, null, 50, request));
+
+        verify(konsultasiService, never()).getKonsultasiPage(any(), any(), any());
+    }
+
+    @Test
+    void testHandleIllegalArgumentException() {
+        ResponseEntity<ApiResponseDto<Object>> response = konsultasiController
+                .handleIllegalArgumentException(new IllegalArgumentException("Invalid page cursor"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid page cursor", response.getBody().getMessage());
     }
 
     @Test
@@ -304,6 +418,29 @@ class KonsultasiControllerTest {
         verify(konsultasiService).getRequestedKonsultasiByCaregiverId(caregiverId);
     }
 
+    @Test
+    void testStreamRequestedKonsultasi() {
+        SseEmitter emitter = new SseEmitter();
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
+        when(requestedQueueHub.subscribe(caregiverId, "abc-42")).thenReturn(emitter);
+
+        assertSame(emitter, konsultasiController.streamRequestedKonsultasi("abc-42", request));
+
+        verify(konsultasiService, never()).getRequestedKonsultasiByCaregiverId(any());
+    }
+
+    @Test
+    void testStreamRequestedKonsultasi_RejectsPacilian() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+
+        assertThrows(AuthenticationException.class,
+                () -> konsultasiController.streamRequestedKonsultasi(null, request));
+
+        verifyNoInteractions(requestedQueueHub);
+    }
+
     @Test
     void testGetKonsultasiById() {
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
@@ -323,6 +460,79 @@ class KonsultasiControllerTest {
         verify(konsultasiService).getKonsultasiById(konsultasiId, pacilianId, "PACILIAN");
     }
 
+    @Test
+    void testGetKonsultasiById_MatchingETag_ReturnsNotModified() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(request.getHeader("If-None-Match")).thenReturn("\"v1\"");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+        when(konsultasiService.getKonsultasiTag(konsultasiId, pacilianId, "PACILIAN"))
+                .thenReturn(ResourceTagDto.builder().etag("\"v1\"").build());
+
+        ResponseEntity<ApiResponseDto<KonsultasiResponseDto>> response =
+                konsultasiController.getKonsultasiById(konsultasiId, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(konsultasiService, never()).getKonsultasiById(any(), any(), any());
+    }
+
+    @Test
+    void testGetKonsultasiById_NotModifiedSinceLastUpdate_ReturnsNotModified() {
+        LocalDateTime lastUpdated = LocalDateTime.of(2025, 6, 1, 8, 0);
+        long lastModified = lastUpdated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(request.getHeader("If-None-Match")).thenReturn(null);
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(lastModified);
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+        when(konsultasiService.getKonsultasiTag(konsultasiId, pacilianId, "PACILIAN"))
+                .thenReturn(ResourceTagDto.builder().etag("\"v1\"").lastModified(lastUpdated).build());
+
+        ResponseEntity<ApiResponseDto<KonsultasiResponseDto>> response =
+                konsultasiController.getKonsultasiById(konsultasiId, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(lastModified, response.getHeaders().getLastModified());
+        verify(konsultasiService, never()).getKonsultasiById(any(), any(), any());
+    }
+
+    @Test
+    void testGetKonsultasiById_StaleETag_ReturnsBodyWithValidators() {
+        LocalDateTime lastUpdated = LocalDateTime.of(2025, 6, 1, 8, 0);
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(request.getHeader("If-None-Match")).thenReturn("\"v0\"");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+        when(konsultasiService.getKonsultasiTag(konsultasiId, pacilianId, "PACILIAN"))
+                .thenReturn(ResourceTagDto.builder().etag("\"v1\"").lastModified(lastUpdated).build());
+        when(konsultasiService.getKonsultasiById(konsultasiId, pacilianId, "PACILIAN")).thenReturn(responseDto);
+
+        ResponseEntity<ApiResponseDto<KonsultasiResponseDto>> response =
+                konsultasiController.getKonsultasiById(konsultasiId, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertEquals(lastUpdated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                response.getHeaders().getLastModified());
+        assertEquals(responseDto, response.getBody().getData());
+        verify(request, never()).getDateHeader(any());
+    }
+
+    @Test
+    void testGetRequestedKonsultasi_MatchingETag_SkipsEnrichedLookup() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(request.getHeader("If-None-Match")).thenReturn("W/\"q1\"");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
+        when(konsultasiService.getRequestedKonsultasiTag(caregiverId))
+                .thenReturn(ResourceTagDto.builder().etag("\"q1\"").build());
+
+        ResponseEntity<ApiResponseDto<List<KonsultasiResponseDto>>> response =
+                konsultasiController.getRequestedKonsultasiByCaregiverId(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(konsultasiService, never()).getRequestedKonsultasiByCaregiverId(any());
+    }
+
     @Test
     void testUpdateKonsultasiRequest() {
         UpdateKonsultasiRequestDto updateDto = new UpdateKonsultasiRequestDto();
@@ -372,6 +582,22 @@ class KonsultasiControllerTest {
         verify(konsultasiService, never()).rescheduleKonsultasi(any(), any(), any());
     }
 
+    @Test
+    void testConfirmKonsultasi_RetriesOnConcurrentUpdate() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
+        when(konsultasiService.confirmKonsultasi(konsultasiId, caregiverId))
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenReturn(responseDto);
+
+        ResponseEntity<ApiResponseDto<KonsultasiResponseDto>> response =
+                konsultasiController.confirmKonsultasi(konsultasiId, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(konsultasiService, times(2)).confirmKonsultasi(konsultasiId, caregiverId);
+        verify(tokenVerificationService).verifyToken("token");
+    }
+
     @Test
     void testConfirmKonsultasi_NotCaregiverRole() {
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
@@ -422,9 +648,9 @@ class KonsultasiControllerTest {
         when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
 
         assertThrows(AuthenticationException.class, () ->
-                konsultasiController.getKonsultasiByPacilianId(request));
+                konsultasiController.getKonsultasiByPacilianId(null, null, null, null, 50, request));
 
-        verify(konsultasiService, never()).getKonsultasiByPacilianId(any());
+        verify(konsultasiService, never()).getKonsultasiPage(any(), any(), any());
     }
 
     @Test
@@ -433,9 +659,9 @@ class KonsultasiControllerTest {
         when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
 
         assertThrows(AuthenticationException.class, () ->
-                konsultasiController.getKonsultasiByCaregiverId(request));
+                konsultasiController.getKonsultasiByCaregiverId(null, null, null, null, 50, request));
 
-        verify(konsultasiService, never()).getKonsultasiByCaregiverId(any());
+        verify(konsultasiService, never()).getKonsultasiPage(any(), any(), any());
     }
 
     @Test
@@ -471,6 +697,77 @@ class KonsultasiControllerTest {
         verify(konsultasiService, never()).createKonsultasi(any(), any());
     }
 
+    @Test
+    void testApplyBatchAction() {
+        UUID otherId = UUID.randomUUID();
+        KonsultasiBatchActionDto dto = KonsultasiBatchActionDto.builder()
+                .konsultasiIds(List.of(konsultasiId, otherId))
+                .action(KonsultasiAction.CONFIRM)
+                .build();
+        List<KonsultasiBatchResultDto> results = List.of(
+                KonsultasiBatchResultDto.builder().konsultasiId(konsultasiId).success(true).konsultasi(responseDto).build(),
+                KonsultasiBatchResultDto.builder().konsultasiId(otherId).success(false).message("Consultation not found").build());
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
+        when(konsultasiService.applyBatchAction(dto.getKonsultasiIds(), KonsultasiAction.CONFIRM, caregiverId))
+                .thenReturn(results);
+
+        ResponseEntity<ApiResponseDto<List<KonsultasiBatchResultDto>>> response =
+                konsultasiController.applyBatchAction(dto, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Applied CONFIRM to 1 of 2 consultations", response.getBody().getMessage());
+        assertEquals(results, response.getBody().getData());
+    }
+
+    @Test
+    void testApplyBatchAction_PacilianRejected() {
+        KonsultasiBatchActionDto dto = KonsultasiBatchActionDto.builder()
+                .konsultasiIds(List.of(konsultasiId))
+                .action(KonsultasiAction.CANCEL)
+                .build();
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+
+        assertThrows(AuthenticationException.class, () -> konsultasiController.applyBatchAction(dto, request));
+        verify(konsultasiService, never()).applyBatchAction(any(), any(), any());
+    }
+
+    @Test
+    void testGetCalendarFeed_StreamsCalendarWithETag() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(request.getHeader("If-None-Match")).thenReturn(null);
+        when(tokenVerificationService.verifyToken("token")).thenReturn(caregiverVerification);
+        when(konsultasiService.getCalendarFeedTag(caregiverId, "CAREGIVER")).thenReturn("\"v1\"");
+        doAnswer(invocation -> {
+            invocation.<Writer>getArgument(2).write("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n");
+            return 0L;
+        }).when(konsultasiService).writeCalendarFeed(eq(caregiverId), eq("CAREGIVER"), any(Writer.class));
+
+        ResponseEntity<StreamingResponseBody> response = konsultasiController.getCalendarFeed(request);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals("text/calendar;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGetCalendarFeed_MatchingETag_ReturnsNotModified() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(request.getHeader("If-None-Match")).thenReturn("\"v0\", W/\"v1\"");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+        when(konsultasiService.getCalendarFeedTag(pacilianId, "PACILIAN")).thenReturn("\"v1\"");
+
+        ResponseEntity<StreamingResponseBody> response = konsultasiController.getCalendarFeed(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(konsultasiService, never()).writeCalendarFeed(any(), any(), any());
+    }
+
     @Test
     void testHandleScheduleException() {
         ScheduleException exception = new ScheduleException("Schedule error");
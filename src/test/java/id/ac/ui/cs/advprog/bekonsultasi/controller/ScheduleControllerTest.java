@@ -1,8 +1,13 @@
 package id.ac.ui.cs.advprog.bekonsultasi.controller;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ApiResponseDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailabilityHeatmapDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateOneTimeScheduleDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleTemplateDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ResourceTagDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleBulkResultDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.SchedulePageDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.TokenVerificationResponseDto;
 import id.ac.ui.cs.advprog.bekonsultasi.enums.Role;
@@ -11,16 +16,22 @@ import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.service.ScheduleService;
 import id.ac.ui.cs.advprog.bekonsultasi.service.TokenVerificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -28,6 +39,7 @@ import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +58,9 @@ class ScheduleControllerTest {
     @Mock
     private HttpServletRequest request;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private ScheduleController scheduleController;
 
@@ -86,6 +101,142 @@ class ScheduleControllerTest {
                 .build();
     }
 
+    @Test
+    void testCreateCaregiverScheduleTemplate() {
+        CreateScheduleDto first = new CreateScheduleDto(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        CreateScheduleDto second = new CreateScheduleDto(DayOfWeek.MONDAY, LocalTime.of(10, 30), LocalTime.of(11, 30));
+        CreateScheduleTemplateDto templateDto = new CreateScheduleTemplateDto(Arrays.asList(first, second));
+        List<ScheduleBulkResultDto> results = Arrays.asList(
+                ScheduleBulkResultDto.builder().index(0).created(true).schedule(scheduleResponseDto).build(),
+                ScheduleBulkResultDto.builder().index(1).created(false).message("conflict").build());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+        when(scheduleService.createSchedules(templateDto.getSchedules(), caregiverId)).thenReturn(results);
+
+        ResponseEntity<ApiResponseDto<List<ScheduleBulkResultDto>>> response =
+                scheduleController.createCaregiverScheduleTemplate(templateDto, request);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Created 1 of 2 schedules", response.getBody().getMessage());
+        assertEquals(results, response.getBody().getData());
+    }
+
+    @Test
+    void testCreateCaregiverScheduleTemplate_NothingCreated_ReturnsOk() {
+        CreateScheduleTemplateDto templateDto = new CreateScheduleTemplateDto(List.of(
+                new CreateScheduleDto(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+        List<ScheduleBulkResultDto> results = List.of(
+                ScheduleBulkResultDto.builder().index(0).created(false).message("conflict").build());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+        when(scheduleService.createSchedules(templateDto.getSchedules(), caregiverId)).thenReturn(results);
+
+        ResponseEntity<ApiResponseDto<List<ScheduleBulkResultDto>>> response =
+                scheduleController.createCaregiverScheduleTemplate(templateDto, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(200, response.getBody().getStatus());
+    }
+
+    @Test
+    void testCreateCaregiverScheduleTemplate_NotCaregiverRole() {
+        CreateScheduleTemplateDto templateDto = new CreateScheduleTemplateDto(List.of(
+                new CreateScheduleDto(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+        TokenVerificationResponseDto pacilianVerification = TokenVerificationResponseDto.builder()
+                .valid(true)
+                .userId(UUID.randomUUID().toString())
+                .role(Role.PACILIAN)
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(pacilianVerification);
+
+        assertThrows(AuthenticationException.class, () ->
+                scheduleController.createCaregiverScheduleTemplate(templateDto, request));
+        verify(scheduleService, never()).createSchedules(any(), any());
+    }
+
+    @Test
+    void testGetSchedulesPage() {
+        SchedulePageDto page = SchedulePageDto.builder()
+                .items(List.of(scheduleResponseDto))
+                .nextCursor(scheduleId)
+                .hasMore(true)
+                .build();
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+        when(scheduleService.getSchedulesPage(null, 50)).thenReturn(page);
+
+        ResponseEntity<ApiResponseDto<SchedulePageDto>> response = scheduleController.getSchedulesPage(null, 50, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody().getData());
+    }
+
+    @Test
+    void testGetSchedulesPage_LimitTooLarge() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+
+        assertThrows(IllegalArgumentException.class, () -> scheduleController.getSchedulesPage(null, 501, request));
+        verify(scheduleService, never()).getSchedulesPage(any(), anyInt());
+    }
+
+    @Test
+    void testGetCaregiverAvailabilityHeatmap() {
+        AvailabilityHeatmapDto heatmap = AvailabilityHeatmapDto.builder()
+                .caregiverId(caregiverId)
+                .days(List.of(DayOfWeek.values()))
+                .booked(new int[7][24])
+                .open(new int[7][24])
+                .build();
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+        when(scheduleService.getAvailabilityHeatmap(caregiverId, 4)).thenReturn(heatmap);
+
+        ResponseEntity<ApiResponseDto<AvailabilityHeatmapDto>> response =
+                scheduleController.getCaregiverAvailabilityHeatmap(caregiverId, 4, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Retrieved availability heatmap", response.getBody().getMessage());
+        assertEquals(heatmap, response.getBody().getData());
+    }
+
+    @Test
+    void testGetCaregiverAvailabilityHeatmap_HorizonTooLong() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduleController.getCaregiverAvailabilityHeatmap(caregiverId, 13, request));
+        verify(scheduleService, never()).getAvailabilityHeatmap(any(), anyInt());
+    }
+
+    @Test
+    void testExportSchedules_WritesOneJsonObjectPerLine() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+        doAnswer(invocation -> {
+            Consumer<ScheduleResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(scheduleResponseDto);
+            consumer.accept(oneTimeScheduleResponseDto);
+            return 2L;
+        }).when(scheduleService).exportAllSchedules(any());
+
+        ResponseEntity<StreamingResponseBody> response = scheduleController.exportSchedules(request);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(scheduleId.toString(), objectMapper.readTree(lines[0]).get("id").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("oneTime").asBoolean());
+    }
+
     @Test
     void testCreateOneTimeCaregiverSchedule() {
         CreateOneTimeScheduleDto dto = new CreateOneTimeScheduleDto();
@@ -283,6 +434,22 @@ class ScheduleControllerTest {
         assertEquals(schedules, response.getBody().getData());
     }
 
+    @Test
+    void testGetCaregiverSchedulesByIdParam_MatchingETag_ReturnsNotModified() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(request.getHeader("If-None-Match")).thenReturn("\"s1\"");
+        when(tokenVerificationService.verifyToken("token")).thenReturn(verificationResponseDto);
+        when(scheduleService.getCaregiverSchedulesTag(caregiverId))
+                .thenReturn(ResourceTagDto.builder().etag("\"s1\"").build());
+
+        ResponseEntity<ApiResponseDto<List<ScheduleResponseDto>>> response =
+                scheduleController.getCaregiverSchedulesByIdParam(caregiverId, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"s1\"", response.getHeaders().getETag());
+        verify(scheduleService, never()).getCaregiverSchedules(any());
+    }
+
     @Test
     void testGetCaregiverSchedulesByIdParam() {
         List<ScheduleResponseDto> schedules = List.of(scheduleResponseDto);
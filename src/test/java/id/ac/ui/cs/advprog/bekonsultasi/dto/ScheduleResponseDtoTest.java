@@ -64,7 +64,7 @@ class ScheduleResponseDtoTest {
         boolean oneTime = true;
 
         ScheduleResponseDto dto = new ScheduleResponseDto(
-                id, caregiverId, day, startTime, endTime, specificDate, oneTime);
+                id, caregiverId, day, startTime, endTime, specificDate, oneTime, 30, 15);
 
         assertEquals(id, dto.getId());
         assertEquals(caregiverId, dto.getCaregiverId());
@@ -73,6 +73,8 @@ class ScheduleResponseDtoTest {
         assertEquals(endTime, dto.getEndTime());
         assertEquals(specificDate, dto.getSpecificDate());
         assertTrue(dto.isOneTime());
+        assertEquals(30, dto.getDurationMinutes());
+        assertEquals(15, dto.getSlotGranularityMinutes());
     }
 
     @Test
@@ -0,0 +1,85 @@
+package id.ac.ui.cs.advprog.bekonsultasi.enums;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.ConfirmedState;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.RequestedState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KonsultasiStatusTest {
+
+    @Test
+    void testOf_ParsesEveryStatusName() {
+        for (KonsultasiStatus status : KonsultasiStatus.values()) {
+            assertSame(status, KonsultasiStatus.of(status.name()));
+        }
+    }
+
+    @Test
+    void testOf_UnknownOrMissingStatus() {
+        Exception exception = assertThrows(IllegalStateException.class, () -> KonsultasiStatus.of("PENDING"));
+        assertEquals("Unknown consultation status: PENDING", exception.getMessage());
+        assertThrows(IllegalStateException.class, () -> KonsultasiStatus.of(null));
+    }
+
+    @Test
+    void testState_ReturnsSharedInstances() {
+        assertSame(RequestedState.INSTANCE, KonsultasiStatus.REQUESTED.state());
+        assertSame(ConfirmedState.INSTANCE, KonsultasiStatus.CONFIRMED.state());
+        for (KonsultasiStatus status : KonsultasiStatus.values()) {
+            assertSame(status.state(), status.state());
+            assertEquals(status, status.state().getStatus());
+        }
+    }
+
+    @Test
+    void testIsActive() {
+        assertTrue(KonsultasiStatus.REQUESTED.isActive());
+        assertTrue(KonsultasiStatus.CONFIRMED.isActive());
+        assertTrue(KonsultasiStatus.RESCHEDULED.isActive());
+        assertFalse(KonsultasiStatus.CANCELLED.isActive());
+        assertFalse(KonsultasiStatus.DONE.isActive());
+    }
+
+    @Test
+    void testCanTransitionTo_TerminalStatuses() {
+        for (KonsultasiStatus target : KonsultasiStatus.values()) {
+            assertFalse(KonsultasiStatus.CANCELLED.canTransitionTo(target));
+            assertFalse(KonsultasiStatus.DONE.canTransitionTo(target));
+        }
+    }
+
+    @Test
+    void testTransitionTable_MatchesStateBehaviour() {
+        for (KonsultasiStatus from : KonsultasiStatus.values()) {
+            Set<KonsultasiStatus> reached = EnumSet.noneOf(KonsultasiStatus.class);
+            reach(from, Konsultasi::confirm, reached);
+            reach(from, Konsultasi::cancel, reached);
+            reach(from, Konsultasi::complete, reached);
+            reach(from, k -> k.reschedule(LocalDateTime.now().plusDays(10)), reached);
+
+            for (KonsultasiStatus target : KonsultasiStatus.values()) {
+                assertEquals(reached.contains(target), from.canTransitionTo(target), from + " -> " + target);
+            }
+        }
+    }
+
+    private void reach(KonsultasiStatus from, Consumer<Konsultasi> action, Set<KonsultasiStatus> reached) {
+        Konsultasi konsultasi = Konsultasi.builder()
+                .status(from.name())
+                .scheduleDateTime(LocalDateTime.now().plusDays(7))
+                .build();
+        try {
+            action.accept(konsultasi);
+            reached.add(konsultasi.currentStatus());
+        } catch (IllegalStateException ignored) {
+            // not a legal transition from this status
+        }
+    }
+}
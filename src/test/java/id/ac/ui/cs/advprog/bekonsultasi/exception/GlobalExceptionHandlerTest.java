@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -168,4 +170,29 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody().getTimestamp());
         assertNull(response.getBody().getDetails());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleOptimisticLockingFailure_shouldReturnConflictError() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("stale version");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleOptimisticLockingFailure(ex, webRequest);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("Concurrent Modification", response.getBody().getError());
+        assertEquals("/api/test", response.getBody().getPath());
+    }
+
+    @Test
+    void handleDataIntegrityViolation_shouldReturnConflictWithoutLeakingSql() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("duplicate key uk_konsultasi_active_slot");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleDataIntegrityViolation(ex, webRequest);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Data Conflict", response.getBody().getError());
+        assertFalse(response.getBody().getMessage().contains("uk_konsultasi_active_slot"));
+    }
+}
@@ -24,7 +24,7 @@ class CancelledStateTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        cancelledState = new CancelledState();
+        cancelledState = CancelledState.INSTANCE;
     }
 
     @Test
@@ -26,7 +26,7 @@ class ConfirmedStateTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        confirmedState = new ConfirmedState();
+        confirmedState = ConfirmedState.INSTANCE;
         
         futureDateTime = LocalDateTime.now().plusHours(48);
         nearFutureDateTime = LocalDateTime.now().plusHours(12);
@@ -24,7 +24,7 @@ class DoneStateTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        doneState = new DoneState();
+        doneState = DoneState.INSTANCE;
     }
 
     @Test
@@ -1,5 +1,6 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,10 +28,10 @@ class KonsultasiStateTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        requestedState = new RequestedState();
-        confirmedState = new ConfirmedState();
-        cancelledState = new CancelledState();
-        doneState = new DoneState();
+        requestedState = RequestedState.INSTANCE;
+        confirmedState = ConfirmedState.INSTANCE;
+        cancelledState = CancelledState.INSTANCE;
+        doneState = DoneState.INSTANCE;
         
         scheduleDateTime = LocalDateTime.now().plusHours(48);
         pastDateTime = LocalDateTime.now().minusHours(24);
@@ -187,4 +188,22 @@ class KonsultasiStateTest {
         });
         assertEquals("Cannot reschedule a completed consultation", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTransitionOutsideDeclaredNextStatusesIsRejected() {
+        Exception exception = assertThrows(IllegalStateException.class, () ->
+                doneState.transition(konsultasi, confirmedState));
+
+        assertEquals("Cannot move a consultation from DONE to CONFIRMED", exception.getMessage());
+        verify(konsultasi, never()).setState(any());
+    }
+
+    @Test
+    void testCanTransitionToFollowsDeclaredNextStatuses() {
+        assertTrue(requestedState.canTransitionTo(KonsultasiStatus.CONFIRMED));
+        assertFalse(requestedState.canTransitionTo(KonsultasiStatus.DONE));
+        assertTrue(cancelledState.nextStatuses().isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+                () -> confirmedState.nextStatuses().add(KonsultasiStatus.REQUESTED));
+    }
+}
@@ -25,7 +25,7 @@ class RequestedStateTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        requestedState = new RequestedState();
+        requestedState = RequestedState.INSTANCE;
     }
 
     @Test
@@ -26,7 +26,7 @@ class RescheduledStateTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        rescheduledState = new RescheduledState();
+        rescheduledState = RescheduledState.INSTANCE;
         originalDateTime = LocalDateTime.now().minusDays(2);
         when(konsultasi.getOriginalScheduleDateTime()).thenReturn(originalDateTime);
     }
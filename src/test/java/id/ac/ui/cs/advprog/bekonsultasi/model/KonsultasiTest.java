@@ -1,5 +1,6 @@
 package id.ac.ui.cs.advprog.bekonsultasi.model;
 
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,12 +36,28 @@ class KonsultasiTest {
 
         @Test
         void testSetState() {
-            KonsultasiState newState = new ConfirmedState();
+            KonsultasiState newState = ConfirmedState.INSTANCE;
             konsultasi.setState(newState);
 
             assertEquals("CONFIRMED", konsultasi.getStatus());
             assertEquals(newState, konsultasi.getState());
         }
+
+        @Test
+        void testGetState_ResolvedFromPersistedStatus() {
+            Konsultasi loaded = Konsultasi.builder().status("RESCHEDULED").build();
+
+            assertSame(RescheduledState.INSTANCE, loaded.getState());
+            assertEquals(KonsultasiStatus.RESCHEDULED, loaded.currentStatus());
+        }
+
+        @Test
+        void testSetStatus_DropsStaleState() {
+            konsultasi.setState(ConfirmedState.INSTANCE);
+            konsultasi.setStatus("DONE");
+
+            assertSame(DoneState.INSTANCE, konsultasi.getState());
+        }
     }
 
     @Nested
@@ -73,7 +90,7 @@ class KonsultasiTest {
 
         @Test
         void testIllegalStateTransition() {
-            konsultasi.setState(new DoneState());
+            konsultasi.setState(DoneState.INSTANCE);
 
             Exception exception = assertThrows(IllegalStateException.class, () -> {
                 konsultasi.confirm();
@@ -127,7 +144,7 @@ class KonsultasiTest {
         LocalDateTime newDateTime = LocalDateTime.now().plusDays(7);
 
         konsultasi.setScheduleDateTime(originalDateTime);
-        konsultasi.setState(new RequestedState());
+        konsultasi.setState(RequestedState.INSTANCE);
 
         konsultasi.reschedule(newDateTime);
 
@@ -142,7 +159,7 @@ class KonsultasiTest {
         LocalDateTime newDateTime = LocalDateTime.now().plusDays(7);
 
         konsultasi.setScheduleDateTime(originalDateTime);
-        konsultasi.setState(new RequestedState());
+        konsultasi.setState(RequestedState.INSTANCE);
 
         konsultasi.reschedule(newDateTime);
         assertEquals("RESCHEDULED", konsultasi.getStatus());
@@ -182,7 +199,7 @@ class KonsultasiTest {
                     .status("REQUESTED")
                     .build();
 
-            konsultasi.setState(new RequestedState());
+            konsultasi.setState(RequestedState.INSTANCE);
             return konsultasi;
         }
 
@@ -201,4 +218,21 @@ class KonsultasiTest {
         assertTrue(konsultasi.getLastUpdated().isBefore(LocalDateTime.now().plusSeconds(1)));
         assertTrue(konsultasi.getLastUpdated().isAfter(LocalDateTime.now().minusSeconds(1)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOnCreate_ActiveBookingHoldsCaregiverSlot() {
+        konsultasi.onCreate();
+
+        assertEquals(konsultasi.getCaregiverId(), konsultasi.getActiveCaregiverId());
+    }
+
+    @Test
+    void testOnUpdate_CancelledBookingReleasesCaregiverSlot() {
+        konsultasi.onCreate();
+        konsultasi.cancel();
+
+        konsultasi.onUpdate();
+
+        assertNull(konsultasi.getActiveCaregiverId());
+    }
+}
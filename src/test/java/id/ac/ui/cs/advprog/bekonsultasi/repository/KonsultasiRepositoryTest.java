@@ -7,13 +7,20 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
@@ -220,4 +227,282 @@ class KonsultasiRepositoryTest {
         assertEquals(scheduleId, savedKonsultasi.getScheduleId());
         assertEquals("REQUESTED", savedKonsultasi.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testActiveBookingsForSameCaregiverSlot_AreRejected() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime slot = LocalDateTime.now().plusDays(3).withNano(0);
+
+        konsultasiRepository.saveAndFlush(booking(caregiverId, slot, "CONFIRMED"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> konsultasiRepository.saveAndFlush(booking(caregiverId, slot, "REQUESTED")));
+    }
+
+    @Test
+    void testInactiveBookings_DoNotHoldTheSlot() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime slot = LocalDateTime.now().plusDays(3).withNano(0);
+
+        Konsultasi cancelled = konsultasiRepository.saveAndFlush(booking(caregiverId, slot, "CANCELLED"));
+        konsultasiRepository.saveAndFlush(booking(caregiverId, slot, "DONE"));
+        Konsultasi active = konsultasiRepository.saveAndFlush(booking(caregiverId, slot, "REQUESTED"));
+
+        assertNull(cancelled.getActiveCaregiverId());
+        assertEquals(caregiverId, active.getActiveCaregiverId());
+    }
+
+    @Test
+    void testUpdate_IncrementsVersion() {
+        Konsultasi saved = konsultasiRepository.saveAndFlush(
+                booking(UUID.randomUUID(), LocalDateTime.now().plusDays(3), "REQUESTED"));
+        long initialVersion = saved.getVersion();
+
+        saved.setNotes("Updated");
+        Konsultasi updated = konsultasiRepository.saveAndFlush(saved);
+
+        assertEquals(initialVersion + 1, updated.getVersion());
+    }
+
+    @Test
+    void testFindCaregiverPage_WalksKeysetInOrder() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withNano(0);
+        List<String> allStatuses = List.of("REQUESTED", "CONFIRMED", "CANCELLED", "DONE", "RESCHEDULED");
+
+        konsultasiRepository.saveAndFlush(booking(caregiverId, base.plusHours(2), "CONFIRMED"));
+        konsultasiRepository.saveAndFlush(booking(caregiverId, base, "CANCELLED"));
+        konsultasiRepository.saveAndFlush(booking(caregiverId, base, "DONE"));
+        konsultasiRepository.saveAndFlush(booking(caregiverId, base, "REQUESTED"));
+        konsultasiRepository.saveAndFlush(booking(caregiverId, base.plusHours(1), "REQUESTED"));
+        konsultasiRepository.saveAndFlush(booking(UUID.randomUUID(), base, "REQUESTED"));
+
+        LocalDateTime from = base.minusDays(1);
+        LocalDateTime until = base.plusDays(1);
+        List<KonsultasiSummary> walked = new ArrayList<>();
+        List<KonsultasiSummary> page = konsultasiRepository.findCaregiverPage(
+                caregiverId, allStatuses, from, until, PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            KonsultasiSummary last = page.get(page.size() - 1);
+            page = konsultasiRepository.findCaregiverPageAfter(caregiverId, allStatuses, from, until,
+                    last.getScheduleDateTime(), last.getId(), PageRequest.of(0, 2));
+        }
+
+        assertEquals(5, walked.size());
+        assertEquals(5, walked.stream().map(KonsultasiSummary::getId).distinct().count());
+        for (int i = 1; i < walked.size(); i++) {
+            assertTrue(!walked.get(i).getScheduleDateTime().isBefore(walked.get(i - 1).getScheduleDateTime()));
+        }
+    }
+
+    @Test
+    void testFindPacilianPage_FiltersByStatusAndRange() {
+        UUID pacilianId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withNano(0);
+
+        Konsultasi inRange = booking(UUID.randomUUID(), base, "CONFIRMED");
+        inRange.setPacilianId(pacilianId);
+        Konsultasi wrongStatus = booking(UUID.randomUUID(), base.plusHours(1), "REQUESTED");
+        wrongStatus.setPacilianId(pacilianId);
+        Konsultasi outOfRange = booking(UUID.randomUUID(), base.plusDays(5), "CONFIRMED");
+        outOfRange.setPacilianId(pacilianId);
+        konsultasiRepository.saveAllAndFlush(List.of(inRange, wrongStatus, outOfRange));
+
+        List<KonsultasiSummary> result = konsultasiRepository.findPacilianPage(pacilianId, List.of("CONFIRMED"),
+                base.minusDays(1), base.plusDays(1), PageRequest.of(0, 10));
+
+        assertEquals(1, result.size());
+        assertEquals(inRange.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void testFindSummariesByStatusAndCaregiverId_ProjectsListColumns() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withNano(0);
+
+        Konsultasi later = booking(caregiverId, base.plusHours(1), "REQUESTED");
+        later.setNotes("Later notes");
+        Konsultasi earlier = booking(caregiverId, base, "REQUESTED");
+        konsultasiRepository.saveAllAndFlush(List.of(later, earlier,
+                booking(caregiverId, base.plusHours(2), "CONFIRMED")));
+
+        List<KonsultasiSummary> result = konsultasiRepository.findSummariesByStatusAndCaregiverId(
+                "REQUESTED", caregiverId);
+
+        assertEquals(2, result.size());
+        assertEquals(earlier.getId(), result.get(0).getId());
+        assertEquals(later.getId(), result.get(1).getId());
+        assertEquals(later.getScheduleId(), result.get(1).getScheduleId());
+        assertEquals(later.getPacilianId(), result.get(1).getPacilianId());
+        assertEquals(base.plusHours(1), result.get(1).getScheduleDateTime());
+        assertEquals("REQUESTED", result.get(1).getStatus());
+        assertNotNull(result.get(1).getLastUpdated());
+    }
+
+    @Test
+    void testStreamCalendarByCaregiverId_ProjectsFeedColumnsInTimeOrder() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withNano(0);
+
+        Konsultasi later = booking(caregiverId, base.plusHours(2), "CONFIRMED");
+        later.setDurationMinutes(30);
+        Konsultasi earlier = booking(caregiverId, base, "REQUESTED");
+        konsultasiRepository.saveAllAndFlush(List.of(later, earlier,
+                booking(UUID.randomUUID(), base.plusHours(1), "REQUESTED")));
+
+        List<KonsultasiCalendarEntry> result;
+        try (Stream<KonsultasiCalendarEntry> rows = konsultasiRepository.streamCalendarByCaregiverId(caregiverId)) {
+            result = rows.toList();
+        }
+
+        assertEquals(2, result.size());
+        assertEquals(earlier.getId(), result.get(0).getId());
+        assertEquals(later.getId(), result.get(1).getId());
+        assertEquals(base.plusHours(2), result.get(1).getScheduleDateTime());
+        assertEquals(30, result.get(1).getDurationMinutes());
+        assertEquals("CONFIRMED", result.get(1).getStatus());
+        assertNotNull(result.get(1).getLastUpdated());
+    }
+
+    @Test
+    void testFindConflictingPacilianBookings_MatchesOverlapInsideWindow() {
+        UUID pacilianId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withNano(0);
+
+        Konsultasi overlapping = booking(UUID.randomUUID(), base.minusMinutes(30), "CONFIRMED");
+        overlapping.setPacilianId(pacilianId);
+        Konsultasi cancelled = booking(UUID.randomUUID(), base, "CANCELLED");
+        cancelled.setPacilianId(pacilianId);
+        konsultasiRepository.saveAllAndFlush(List.of(overlapping, cancelled));
+
+        List<UUID> conflicts = findConflicts(pacilianId, base, 60, new UUID(0L, 0L));
+
+        assertEquals(List.of(overlapping.getId()), conflicts);
+    }
+
+    @Test
+    void testFindConflictingPacilianBookings_IgnoresEndedAndExcludedBookings() {
+        UUID pacilianId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withNano(0);
+
+        Konsultasi endedEarlier = booking(UUID.randomUUID(), base.minusMinutes(90), "CONFIRMED");
+        endedEarlier.setPacilianId(pacilianId);
+        Konsultasi self = booking(UUID.randomUUID(), base, "REQUESTED");
+        self.setPacilianId(pacilianId);
+        Konsultasi later = booking(UUID.randomUUID(), base.plusHours(3), "REQUESTED");
+        later.setPacilianId(pacilianId);
+        konsultasiRepository.saveAllAndFlush(List.of(endedEarlier, self, later));
+
+        assertTrue(findConflicts(pacilianId, base, 60, self.getId()).isEmpty());
+        assertEquals(List.of(self.getId()), findConflicts(pacilianId, base, 60, new UUID(0L, 0L)));
+    }
+
+    @Test
+    void testSlotIndexQueries_BoundByWindowAndHalfOpenOverlap() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withNano(0);
+        Konsultasi active = booking(caregiverId, base, "CONFIRMED");
+        Konsultasi cancelled = booking(caregiverId, base.plusHours(2), "CANCELLED");
+        Konsultasi beyond = booking(caregiverId, base.plusDays(10), "REQUESTED");
+        konsultasiRepository.saveAllAndFlush(List.of(active, cancelled, beyond));
+        List<String> inactive = List.of("CANCELLED", "DONE");
+
+        List<KonsultasiRepository.ActiveSlot> slots = konsultasiRepository.findActiveSlotsStartingBetween(
+                inactive, base.minusDays(1), base.plusDays(1));
+
+        assertEquals(1, slots.size());
+        assertEquals(caregiverId, slots.get(0).getCaregiverId());
+        assertEquals(60, slots.get(0).getDurationMinutes());
+        assertEquals(List.of(active.getId()), konsultasiRepository.findConflictingCaregiverBookings(caregiverId,
+                inactive, base.minusMinutes(210), base.plusMinutes(30), base.plusMinutes(90), PageRequest.of(0, 1)));
+        assertTrue(konsultasiRepository.findConflictingCaregiverBookings(caregiverId, inactive,
+                base.minusMinutes(180), base.plusHours(1), base.plusHours(3), PageRequest.of(0, 1)).isEmpty());
+    }
+
+    @Test
+    void testSweeperQueries_FindOnlyOverdueRowsAndCloseThem() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Konsultasi staleRequest = booking(UUID.randomUUID(), now.minusHours(1), "REQUESTED");
+        Konsultasi futureRequest = booking(UUID.randomUUID(), now.plusHours(1), "REQUESTED");
+        Konsultasi finished = booking(UUID.randomUUID(), now.minusHours(2), "CONFIRMED");
+        Konsultasi inProgress = booking(UUID.randomUUID(), now.minusMinutes(10), "CONFIRMED");
+        konsultasiRepository.saveAllAndFlush(List.of(staleRequest, futureRequest, finished, inProgress));
+
+        List<KonsultasiSummary> expired = konsultasiRepository.findExpiredRequests(now, PageRequest.of(0, 10));
+        List<KonsultasiSummary> done = konsultasiRepository.findFinishedConfirmed(now, PageRequest.of(0, 10));
+
+        assertEquals(List.of(staleRequest.getId()), expired.stream().map(KonsultasiSummary::getId).toList());
+        assertEquals(List.of(finished.getId()), done.stream().map(KonsultasiSummary::getId).toList());
+
+        int closed = konsultasiRepository.closeBookings(List.of(finished.getId(), inProgress.getId()),
+                "CONFIRMED", "DONE", now);
+
+        assertEquals(2, closed);
+        Konsultasi reloaded = konsultasiRepository.findById(finished.getId()).orElseThrow();
+        assertEquals("DONE", reloaded.getStatus());
+        assertNull(reloaded.getActiveCaregiverId());
+        assertEquals(finished.getVersion() + 1, reloaded.getVersion());
+        assertEquals(0, konsultasiRepository.closeBookings(List.of(finished.getId()), "CONFIRMED", "DONE", now));
+    }
+
+    @Test
+    void testFindFeedVersionByStatusAndCaregiverId_AggregatesOnlyMatchingRows() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(2).withNano(0);
+        Konsultasi first = booking(caregiverId, base, "REQUESTED");
+        Konsultasi second = booking(caregiverId, base.plusHours(1), "REQUESTED");
+        Konsultasi confirmed = booking(caregiverId, base.plusHours(2), "CONFIRMED");
+        Konsultasi otherCaregiver = booking(UUID.randomUUID(), base, "REQUESTED");
+        konsultasiRepository.saveAllAndFlush(List.of(first, second, confirmed, otherCaregiver));
+
+        FeedVersion version = konsultasiRepository.findFeedVersionByStatusAndCaregiverId("REQUESTED", caregiverId);
+
+        assertEquals(2L, version.getTotal());
+        assertNotNull(version.getLastUpdated());
+        assertEquals(0L, konsultasiRepository
+                .findFeedVersionByStatusAndCaregiverId("REQUESTED", UUID.randomUUID()).getTotal());
+    }
+
+    @Test
+    void testBackfillActiveCaregiverIds_SkipsOverlappingBookings() {
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().plusDays(4).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Konsultasi first = booking(caregiverId, base, "REQUESTED");
+        Konsultasi overlapping = booking(caregiverId, base.plusMinutes(30), "REQUESTED");
+        Konsultasi separate = booking(caregiverId, base.plusHours(2), "CONFIRMED");
+        Konsultasi cancelled = booking(caregiverId, base, "CANCELLED");
+        konsultasiRepository.saveAllAndFlush(List.of(first, overlapping, separate, cancelled));
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE konsultasi SET active_caregiver_id = NULL")
+                .executeUpdate();
+        entityManager.clear();
+
+        List<String> inactive = List.of("CANCELLED", "DONE");
+        List<UUID> unkeyed = konsultasiRepository.findOverlappingUnkeyedBookingIds(inactive);
+        int backfilled = konsultasiRepository.backfillActiveCaregiverIds(inactive);
+        entityManager.clear();
+
+        assertEquals(2, unkeyed.size());
+        assertTrue(unkeyed.containsAll(List.of(first.getId(), overlapping.getId())));
+        assertEquals(1, backfilled);
+        assertEquals(caregiverId, konsultasiRepository.findById(separate.getId()).orElseThrow().getActiveCaregiverId());
+        assertNull(konsultasiRepository.findById(first.getId()).orElseThrow().getActiveCaregiverId());
+    }
+
+    private List<UUID> findConflicts(UUID pacilianId, LocalDateTime start, int durationMinutes, UUID excludeId) {
+        return konsultasiRepository.findConflictingPacilianBookings(pacilianId, List.of("CANCELLED", "DONE"),
+                excludeId, start.minusMinutes(240), start.plusMinutes(durationMinutes), start,
+                PageRequest.of(0, 1));
+    }
+
+    private Konsultasi booking(UUID caregiverId, LocalDateTime scheduleDateTime, String status) {
+        return Konsultasi.builder()
+                .pacilianId(UUID.randomUUID())
+                .caregiverId(caregiverId)
+                .scheduleId(UUID.randomUUID())
+                .scheduleDateTime(scheduleDateTime)
+                .status(status)
+                .build();
+    }
+}
@@ -1,27 +1,51 @@
 package id.ac.ui.cs.advprog.bekonsultasi.service;
 
 import id.ac.ui.cs.advprog.bekonsultasi.dto.*;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiAction;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiStatus;
 import id.ac.ui.cs.advprog.bekonsultasi.enums.Speciality;
+import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiState.*;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.FeedVersion;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiCalendarEntry;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiSummary;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.ScheduleRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.OpenSlotProjection;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotGrid;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotOccupancyIndex;
+import id.ac.ui.cs.advprog.bekonsultasi.service.lock.StripedLockManager;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiOutbox;
+import id.ac.ui.cs.advprog.bekonsultasi.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import io.micrometer.core.instrument.Counter;
 
+import java.io.StringWriter;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +59,11 @@ class KonsultasiServiceImplTest {
         @Mock private ScheduleRepository scheduleRepository;
         @Mock private ScheduleService scheduleService;
         @Mock private UserDataService userDataService;
+        @Mock private SlotOccupancyIndex slotOccupancyIndex;
+        @Mock private OpenSlotProjection openSlotProjection;
+        @Mock private StripedLockManager stripedLockManager;
+        @Mock private TransactionTemplate transactionTemplate;
+        @Mock private KonsultasiOutbox konsultasiOutbox;
 
         @Mock private Counter konsultasiCreatedCounter;
         @Mock private Counter konsultasiConfirmedCounter;
@@ -47,6 +76,9 @@ class KonsultasiServiceImplTest {
         @Mock private Counter konsultasiErrorCounter;
         @Mock private Counter konsultasiScheduleConflictCounter;
         @Mock private Counter konsultasiStateTransitionErrorCounter;
+        @Mock private Counter konsultasiCalendarFeedPollCounter;
+        @Mock private Counter konsultasiCalendarFeedRenderCounter;
+        @Mock private Counter konsultasiBatchRequestCounter;
 
         @InjectMocks
         private KonsultasiServiceImpl konsultasiService;
@@ -84,6 +116,12 @@ class KonsultasiServiceImplTest {
                 createDto = createTestCreateDto();
                 rescheduleDto = createTestRescheduleDto();
                 updateDto = createTestUpdateDto();
+
+                lenient().when(stripedLockManager.withLock(any(), any()))
+                        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+                lenient().when(transactionTemplate.execute(any()))
+                        .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+                lenient().when(konsultasiRepository.findCaregiverIdById(konsultasiId)).thenReturn(Optional.of(caregiverId));
         }
 
         private Schedule createTestSchedule(UUID id, UUID caregiverId, DayOfWeek day, int startHour, int endHour) {
@@ -111,15 +149,28 @@ class KonsultasiServiceImplTest {
                         .build();
 
                 switch (status) {
-                        case "CONFIRMED" -> k.setState(new ConfirmedState());
-                        case "CANCELLED" -> k.setState(new CancelledState());
-                        case "DONE" -> k.setState(new DoneState());
-                        case "RESCHEDULED" -> k.setState(new RescheduledState());
-                        default -> k.setState(new RequestedState());
+                        case "CONFIRMED" -> k.setState(ConfirmedState.INSTANCE);
+                        case "CANCELLED" -> k.setState(CancelledState.INSTANCE);
+                        case "DONE" -> k.setState(DoneState.INSTANCE);
+                        case "RESCHEDULED" -> k.setState(RescheduledState.INSTANCE);
+                        default -> k.setState(RequestedState.INSTANCE);
                 }
                 return k;
         }
 
+        private void stubPacilianConflicts(UUID... conflictingIds) {
+                when(konsultasiRepository.findConflictingPacilianBookings(eq(pacilianId),
+                        eq(List.of("CANCELLED", "DONE")), any(), any(), any(), any(), any(Pageable.class)))
+                        .thenReturn(List.of(conflictingIds));
+        }
+
+        private List<KonsultasiSummary> summariesOf(Konsultasi... rows) {
+                SpelAwareProxyProjectionFactory factory = new SpelAwareProxyProjectionFactory();
+                return Arrays.stream(rows)
+                        .map(k -> factory.createProjection(KonsultasiSummary.class, k))
+                        .toList();
+        }
+
         private CreateKonsultasiDto createTestCreateDto() {
                 CreateKonsultasiDto dto = new CreateKonsultasiDto();
                 dto.setScheduleId(scheduleId);
@@ -146,16 +197,96 @@ class KonsultasiServiceImplTest {
         void createKonsultasi_Success() {
                 when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
                 when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
-                when(konsultasiRepository.findByPacilianIdAndStatusNotIn(pacilianId, Arrays.asList("CANCELLED", "DONE")))
-                        .thenReturn(new ArrayList<>());
-                when(konsultasiRepository.save(any(Konsultasi.class))).thenReturn(konsultasi);
+                stubPacilianConflicts();
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(konsultasi);
 
                 KonsultasiResponseDto response = konsultasiService.createKonsultasi(createDto, pacilianId);
 
                 assertNotNull(response);
                 assertEquals(konsultasiId, response.getId());
                 assertEquals("REQUESTED", response.getStatus());
-                verify(konsultasiRepository).save(any(Konsultasi.class));
+                verify(konsultasiRepository).saveAndFlush(any(Konsultasi.class));
+                verify(slotOccupancyIndex).occupy(eq(caregiverId), eq(scheduleDateTime), any());
+                verify(openSlotProjection).refreshCaregiverWindow(caregiverId, scheduleDateTime);
+                verify(konsultasiOutbox).record(konsultasi, KonsultasiEventType.CREATED);
+        }
+
+        @Test
+        void createKonsultasi_ProbesOnlyTheOverlapWindow() {
+                when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+                when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
+                stubPacilianConflicts();
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(konsultasi);
+
+                konsultasiService.createKonsultasi(createDto, pacilianId);
+
+                ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+                verify(konsultasiRepository).findConflictingPacilianBookings(eq(pacilianId),
+                        eq(List.of("CANCELLED", "DONE")), eq(new UUID(0L, 0L)),
+                        eq(scheduleDateTime.minusMinutes(SlotGrid.MAX_DURATION_MINUTES)),
+                        eq(scheduleDateTime.plusMinutes(schedule.getDurationMinutes())),
+                        eq(scheduleDateTime), pageable.capture());
+                assertEquals(1, pageable.getValue().getPageSize());
+        }
+
+        @Test
+        void createKonsultasi_SerializesOnCaregiverLock() {
+                when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+                when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
+                stubPacilianConflicts();
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(konsultasi);
+
+                konsultasiService.createKonsultasi(createDto, pacilianId);
+
+                InOrder inOrder = inOrder(stripedLockManager, transactionTemplate, konsultasiRepository);
+                inOrder.verify(stripedLockManager).withLock(eq(caregiverId), any());
+                inOrder.verify(transactionTemplate).execute(any());
+                inOrder.verify(konsultasiRepository).saveAndFlush(any(Konsultasi.class));
+        }
+
+        @Test
+        void createKonsultasi_LockTimeout_PropagatesConflict() {
+                when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+                when(stripedLockManager.withLock(eq(caregiverId), any()))
+                        .thenThrow(new ScheduleConflictException("Too many booking attempts"));
+
+                assertThrows(ScheduleConflictException.class, () ->
+                        konsultasiService.createKonsultasi(createDto, pacilianId));
+                verify(konsultasiRepository, never()).saveAndFlush(any());
+                verify(transactionTemplate, never()).execute(any());
+        }
+
+        @Test
+        void createKonsultasi_ShortSlotSchedule_UsesScheduleDuration() {
+                schedule.setDurationMinutes(30);
+                schedule.setSlotGranularityMinutes(30);
+
+                when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+                when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
+                stubPacilianConflicts();
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+                konsultasiService.createKonsultasi(createDto, pacilianId);
+
+                ArgumentCaptor<Konsultasi> saved = ArgumentCaptor.forClass(Konsultasi.class);
+                verify(konsultasiRepository).saveAndFlush(saved.capture());
+                assertEquals(30, saved.getValue().getDurationMinutes());
+                verify(slotOccupancyIndex).occupy(caregiverId, scheduleDateTime, Duration.ofMinutes(30));
+        }
+
+        @Test
+        void createKonsultasi_SlotTakenConcurrently_ThrowsConflict() {
+                when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+                when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
+                stubPacilianConflicts();
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class)))
+                        .thenThrow(new DataIntegrityViolationException("uk_konsultasi_active_slot"));
+
+                assertThrows(ScheduleConflictException.class, () ->
+                        konsultasiService.createKonsultasi(createDto, pacilianId));
+                verify(konsultasiScheduleConflictCounter).increment();
+                verify(konsultasiErrorCounter).increment();
+                verifyNoInteractions(slotOccupancyIndex, openSlotProjection);
         }
 
         @Test
@@ -182,8 +313,7 @@ class KonsultasiServiceImplTest {
 
                 when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
                 when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
-                when(konsultasiRepository.findByPacilianIdAndStatusNotIn(pacilianId, Arrays.asList("CANCELLED", "DONE")))
-                        .thenReturn(Arrays.asList(existingKonsultasi));
+                stubPacilianConflicts(existingKonsultasi.getId());
 
                 assertThrows(ScheduleException.class, () ->
                         konsultasiService.createKonsultasi(createDto, pacilianId));
@@ -201,6 +331,7 @@ class KonsultasiServiceImplTest {
 
                 assertNotNull(response);
                 verify(konsultasiRepository).save(any(Konsultasi.class));
+                verify(konsultasiOutbox).record(confirmedKonsultasi, KonsultasiEventType.CONFIRMED);
         }
 
         @Test
@@ -242,6 +373,8 @@ class KonsultasiServiceImplTest {
 
                 assertNotNull(response);
                 verify(konsultasiRepository).save(any(Konsultasi.class));
+                verify(slotOccupancyIndex).release(eq(caregiverId), eq(scheduleDateTime), any());
+                verify(openSlotProjection).refreshCaregiverWindows(caregiverId, List.of(scheduleDateTime));
         }
 
         @Test
@@ -306,17 +439,16 @@ class KonsultasiServiceImplTest {
         void updateKonsultasiRequest_Success() {
                 when(konsultasiRepository.findById(konsultasiId)).thenReturn(Optional.of(konsultasi));
                 when(scheduleService.isScheduleAvailableForDateTime(scheduleId, futureDateTime)).thenReturn(true);
-                when(konsultasiRepository.findByPacilianIdAndStatusNotIn(pacilianId, Arrays.asList("CANCELLED", "DONE")))
-                        .thenReturn(Arrays.asList(konsultasi));
+                stubPacilianConflicts();
 
                 Konsultasi updatedKonsultasi = createTestKonsultasi(konsultasiId, scheduleId, caregiverId,
                         pacilianId, futureDateTime, "REQUESTED");
-                when(konsultasiRepository.save(any(Konsultasi.class))).thenReturn(updatedKonsultasi);
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(updatedKonsultasi);
 
                 KonsultasiResponseDto response = konsultasiService.updateKonsultasiRequest(konsultasiId, updateDto, pacilianId);
 
                 assertNotNull(response);
-                verify(konsultasiRepository).save(any(Konsultasi.class));
+                verify(konsultasiRepository).saveAndFlush(any(Konsultasi.class));
         }
 
         @Test
@@ -325,12 +457,11 @@ class KonsultasiServiceImplTest {
                 when(konsultasiRepository.findById(konsultasiId)).thenReturn(Optional.of(konsultasi));
                 when(scheduleRepository.findById(newScheduleId)).thenReturn(Optional.of(newSchedule));
                 when(scheduleService.isScheduleAvailableForDateTime(newScheduleId, futureDateTime)).thenReturn(true);
-                when(konsultasiRepository.findByPacilianIdAndStatusNotIn(pacilianId, Arrays.asList("CANCELLED", "DONE")))
-                        .thenReturn(Arrays.asList(konsultasi));
+                stubPacilianConflicts();
 
                 Konsultasi updatedKonsultasi = createTestKonsultasi(konsultasiId, newScheduleId, caregiverId,
                         pacilianId, futureDateTime, "REQUESTED");
-                when(konsultasiRepository.save(any(Konsultasi.class))).thenReturn(updatedKonsultasi);
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(updatedKonsultasi);
 
                 KonsultasiResponseDto response = konsultasiService.updateKonsultasiRequest(konsultasiId, updateDto, pacilianId);
 
@@ -378,12 +509,12 @@ class KonsultasiServiceImplTest {
 
                 Konsultasi rescheduledKonsultasi = createTestKonsultasi(konsultasiId, scheduleId, caregiverId,
                         pacilianId, futureDateTime, "RESCHEDULED");
-                when(konsultasiRepository.save(any(Konsultasi.class))).thenReturn(rescheduledKonsultasi);
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(rescheduledKonsultasi);
 
                 KonsultasiResponseDto response = konsultasiService.rescheduleKonsultasi(konsultasiId, rescheduleDto, caregiverId);
 
                 assertNotNull(response);
-                verify(konsultasiRepository).save(any(Konsultasi.class));
+                verify(konsultasiRepository).saveAndFlush(any(Konsultasi.class));
         }
 
         @Test
@@ -397,7 +528,7 @@ class KonsultasiServiceImplTest {
 
                 Konsultasi rescheduledKonsultasi = createTestKonsultasi(konsultasiId, newScheduleId, caregiverId,
                         pacilianId, futureDateTime, "RESCHEDULED");
-                when(konsultasiRepository.save(any(Konsultasi.class))).thenReturn(rescheduledKonsultasi);
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(rescheduledKonsultasi);
 
                 KonsultasiResponseDto response = konsultasiService.rescheduleKonsultasi(konsultasiId, rescheduleDto, caregiverId);
 
@@ -460,12 +591,12 @@ class KonsultasiServiceImplTest {
 
                 Konsultasi confirmedKonsultasi = createTestKonsultasi(konsultasiId, scheduleId, caregiverId,
                         pacilianId, scheduleDateTime, "CONFIRMED");
-                when(konsultasiRepository.save(any(Konsultasi.class))).thenReturn(confirmedKonsultasi);
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(confirmedKonsultasi);
 
                 KonsultasiResponseDto response = konsultasiService.rejectReschedule(konsultasiId, pacilianId);
 
                 assertNotNull(response);
-                verify(konsultasiRepository).save(any(Konsultasi.class));
+                verify(konsultasiRepository).saveAndFlush(any(Konsultasi.class));
         }
 
         @Test
@@ -560,39 +691,155 @@ class KonsultasiServiceImplTest {
         }
 
         @Test
-        void getKonsultasiByPacilianId_Success() {
-                List<Konsultasi> konsultasiList = Arrays.asList(konsultasi);
-                when(konsultasiRepository.findByPacilianId(pacilianId)).thenReturn(konsultasiList);
+        void getKonsultasiPage_Pacilian_FirstPageWithoutFilters() {
+                when(konsultasiRepository.findPacilianPage(eq(pacilianId), any(), any(), any(), any(Pageable.class)))
+                        .thenReturn(summariesOf(konsultasi));
+
+                KonsultasiPageDto page = konsultasiService.getKonsultasiPage(pacilianId, "PACILIAN",
+                        KonsultasiFilterDto.builder().limit(10).build());
+
+                assertEquals(1, page.getItems().size());
+                assertEquals(konsultasiId, page.getItems().get(0).getId());
+                assertFalse(page.isHasMore());
+                assertNull(page.getNextCursor());
+
+                ArgumentCaptor<Collection<String>> statuses = ArgumentCaptor.forClass(Collection.class);
+                ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+                verify(konsultasiRepository).findPacilianPage(eq(pacilianId), statuses.capture(),
+                        any(), any(), pageable.capture());
+                assertEquals(KonsultasiStatus.values().length, statuses.getValue().size());
+                assertEquals(11, pageable.getValue().getPageSize());
+                verify(konsultasiRepository, never()).findCaregiverPage(any(), any(), any(), any(), any());
+        }
 
-                List<KonsultasiResponseDto> result = konsultasiService.getKonsultasiByPacilianId(pacilianId);
+        @Test
+        void getKonsultasiPage_Caregiver_TrimsExtraRowAndReturnsCursor() {
+                Konsultasi second = createTestKonsultasi(UUID.randomUUID(), scheduleId, caregiverId,
+                        pacilianId, scheduleDateTime.plusHours(1), "CONFIRMED");
+                Konsultasi third = createTestKonsultasi(UUID.randomUUID(), scheduleId, caregiverId,
+                        pacilianId, scheduleDateTime.plusHours(2), "CONFIRMED");
+                when(konsultasiRepository.findCaregiverPage(eq(caregiverId), any(), any(), any(), any(Pageable.class)))
+                        .thenReturn(summariesOf(konsultasi, second, third));
+
+                KonsultasiPageDto page = konsultasiService.getKonsultasiPage(caregiverId, "CAREGIVER",
+                        KonsultasiFilterDto.builder().limit(2).build());
+
+                assertEquals(2, page.getItems().size());
+                assertTrue(page.isHasMore());
+                KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+                assertEquals(second.getScheduleDateTime(), cursor.scheduleDateTime());
+                assertEquals(second.getId(), cursor.id());
+        }
 
-                assertNotNull(result);
-                assertEquals(1, result.size());
-                assertEquals(konsultasiId, result.get(0).getId());
+        @Test
+        void getKonsultasiPage_EnrichesPageWithOneBatchedLookup() {
+                UUID otherCaregiver = UUID.randomUUID();
+                Konsultasi second = createTestKonsultasi(UUID.randomUUID(), scheduleId, caregiverId,
+                        pacilianId, scheduleDateTime.plusDays(1), "CONFIRMED");
+                Konsultasi third = createTestKonsultasi(UUID.randomUUID(), newScheduleId, otherCaregiver,
+                        pacilianId, scheduleDateTime.plusDays(2), "DONE");
+                CaregiverPublicDto caregiverData = CaregiverPublicDto.builder().name("Dr. A").build();
+                CaregiverPublicDto otherData = CaregiverPublicDto.builder().name("Dr. B").build();
+                when(konsultasiRepository.findPacilianPage(eq(pacilianId), any(), any(), any(), any(Pageable.class)))
+                        .thenReturn(summariesOf(konsultasi, second, third));
+                when(userDataService.getCaregiversByIds(any()))
+                        .thenReturn(Map.of(caregiverId, caregiverData, otherCaregiver, otherData));
+
+                KonsultasiPageDto page = konsultasiService.getKonsultasiPage(pacilianId, "PACILIAN",
+                        KonsultasiFilterDto.builder().limit(10).build());
+
+                assertEquals(caregiverData, page.getItems().get(0).getCaregiverData());
+                assertEquals(caregiverData, page.getItems().get(1).getCaregiverData());
+                assertEquals(otherData, page.getItems().get(2).getCaregiverData());
+                verify(userDataService, times(1)).getCaregiversByIds(any());
+                verify(userDataService, never()).getCaregiverByIdAsync(any());
+        }
+
+        @Test
+        void getKonsultasiPage_Caregiver_ResolvesPaciliansInBatch() {
+                PacilianPublicDto pacilianData = PacilianPublicDto.builder().name("Pasien").build();
+                when(konsultasiRepository.findCaregiverPage(eq(caregiverId), any(), any(), any(), any(Pageable.class)))
+                        .thenReturn(summariesOf(konsultasi));
+                when(userDataService.getPaciliansByIds(List.of(pacilianId))).thenReturn(Map.of(pacilianId, pacilianData));
+
+                KonsultasiPageDto page = konsultasiService.getKonsultasiPage(caregiverId, "CAREGIVER",
+                        KonsultasiFilterDto.builder().limit(10).build());
+
+                assertEquals(pacilianData, page.getItems().get(0).getPacilianData());
+                assertNull(page.getItems().get(0).getCaregiverData());
+                verify(userDataService, never()).getPacilianByIdAsync(any());
         }
 
         @Test
-        void getKonsultasiByCaregiverId_Success() {
-                List<Konsultasi> konsultasiList = Arrays.asList(konsultasi);
-                when(konsultasiRepository.findByCaregiverId(caregiverId)).thenReturn(konsultasiList);
+        void getKonsultasiPage_EmptyPage_SkipsEnrichment() {
+                when(konsultasiRepository.findPacilianPage(eq(pacilianId), any(), any(), any(), any(Pageable.class)))
+                        .thenReturn(List.of());
 
-                List<KonsultasiResponseDto> result = konsultasiService.getKonsultasiByCaregiverId(caregiverId);
+                KonsultasiPageDto page = konsultasiService.getKonsultasiPage(pacilianId, "PACILIAN",
+                        KonsultasiFilterDto.builder().limit(10).build());
 
-                assertNotNull(result);
-                assertEquals(1, result.size());
-                assertEquals(konsultasiId, result.get(0).getId());
+                assertTrue(page.getItems().isEmpty());
+                verifyNoInteractions(userDataService);
+        }
+
+        @Test
+        void getKonsultasiPage_WithCursorAndFilters_UsesKeysetQuery() {
+                LocalDateTime from = scheduleDateTime.minusDays(1);
+                LocalDateTime to = scheduleDateTime.plusDays(1);
+                KeysetCursor cursor = new KeysetCursor(scheduleDateTime.minusHours(1), UUID.randomUUID());
+                when(konsultasiRepository.findCaregiverPageAfter(eq(caregiverId), eq(List.of("CONFIRMED")),
+                        eq(from), eq(to), eq(cursor.scheduleDateTime()), eq(cursor.id()), any(Pageable.class)))
+                        .thenReturn(summariesOf(konsultasi));
+
+                KonsultasiPageDto page = konsultasiService.getKonsultasiPage(caregiverId, "CAREGIVER",
+                        KonsultasiFilterDto.builder()
+                                .statuses(EnumSet.of(KonsultasiStatus.CONFIRMED))
+                                .from(from)
+                                .to(to)
+                                .after(cursor.encode())
+                                .limit(5)
+                                .build());
+
+                assertEquals(1, page.getItems().size());
+                assertFalse(page.isHasMore());
+                verify(konsultasiRepository, never()).findCaregiverPage(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        void getKonsultasiPage_InvalidCursor() {
+                assertThrows(IllegalArgumentException.class, () -> konsultasiService.getKonsultasiPage(pacilianId,
+                        "PACILIAN", KonsultasiFilterDto.builder().after("not-a-cursor").limit(5).build()));
+                verifyNoInteractions(konsultasiRepository);
+        }
+
+        @Test
+        void getKonsultasiList_ReturnsAllRowsUnpaged() {
+                Konsultasi second = createTestKonsultasi(UUID.randomUUID(), scheduleId, caregiverId,
+                        pacilianId, scheduleDateTime.plusHours(1), "DONE");
+                when(konsultasiRepository.findCaregiverPage(eq(caregiverId), eq(List.of("DONE")), any(), any(),
+                        eq(Pageable.unpaged()))).thenReturn(summariesOf(konsultasi, second));
+
+                List<KonsultasiResponseDto> result = konsultasiService.getKonsultasiList(caregiverId, "CAREGIVER",
+                        KonsultasiFilterDto.builder().statuses(EnumSet.of(KonsultasiStatus.DONE)).build());
+
+                assertEquals(2, result.size());
+                assertEquals(second.getId(), result.get(1).getId());
+                verify(konsultasiRepository, never()).findPacilianPage(any(), any(), any(), any(), any());
         }
 
         @Test
         void getRequestedKonsultasiByCaregiverId_Success() {
-                List<Konsultasi> konsultasiList = Arrays.asList(konsultasi);
-                when(konsultasiRepository.findByStatusAndCaregiverId("REQUESTED", caregiverId)).thenReturn(konsultasiList);
+                when(konsultasiRepository.findSummariesByStatusAndCaregiverId("REQUESTED", caregiverId))
+                        .thenReturn(summariesOf(konsultasi));
 
                 List<KonsultasiResponseDto> result = konsultasiService.getRequestedKonsultasiByCaregiverId(caregiverId);
 
                 assertNotNull(result);
                 assertEquals(1, result.size());
                 assertEquals(konsultasiId, result.get(0).getId());
+                assertEquals(konsultasi.getStatus(), result.get(0).getStatus());
+                assertNull(result.get(0).getNotes());
+                verify(konsultasiRepository, never()).findByStatusAndCaregiverId(any(), any());
         }
 
         @Test
@@ -602,8 +849,7 @@ class KonsultasiServiceImplTest {
 
                 when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
                 when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
-                when(konsultasiRepository.findByPacilianIdAndStatusNotIn(pacilianId, Arrays.asList("CANCELLED", "DONE")))
-                        .thenReturn(Arrays.asList(existingKonsultasi));
+                stubPacilianConflicts(existingKonsultasi.getId());
 
                 assertThrows(ScheduleException.class, () ->
                         konsultasiService.createKonsultasi(createDto, pacilianId));
@@ -616,8 +862,7 @@ class KonsultasiServiceImplTest {
 
                 when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
                 when(scheduleService.isScheduleAvailableForDateTime(scheduleId, scheduleDateTime)).thenReturn(true);
-                when(konsultasiRepository.findByPacilianIdAndStatusNotIn(pacilianId, Arrays.asList("CANCELLED", "DONE")))
-                        .thenReturn(Arrays.asList(existingKonsultasi));
+                stubPacilianConflicts(existingKonsultasi.getId());
 
                 assertThrows(ScheduleException.class, () ->
                         konsultasiService.createKonsultasi(createDto, pacilianId));
@@ -639,11 +884,13 @@ class KonsultasiServiceImplTest {
 
                 when(konsultasiRepository.findById(konsultasiId)).thenReturn(Optional.of(konsultasi));
                 when(scheduleService.isScheduleAvailableForDateTime(scheduleId, futureDateTime)).thenReturn(true);
-                when(konsultasiRepository.findByPacilianIdAndStatusNotIn(pacilianId, Arrays.asList("CANCELLED", "DONE")))
-                        .thenReturn(Arrays.asList(konsultasi, conflictingKonsultasi));
+                stubPacilianConflicts(conflictingKonsultasi.getId());
 
                 assertThrows(ScheduleException.class, () ->
                         konsultasiService.updateKonsultasiRequest(konsultasiId, updateDto, pacilianId));
+                verify(konsultasiRepository).findConflictingPacilianBookings(eq(pacilianId), any(),
+                        eq(konsultasiId), any(), any(), eq(futureDateTime), any(Pageable.class));
+                verify(konsultasiScheduleConflictCounter).increment();
         }
 
         @Test
@@ -679,6 +926,27 @@ class KonsultasiServiceImplTest {
                         konsultasiService.updateKonsultasiRequest(konsultasiId, updateDto, pacilianId));
         }
 
+        @Test
+        void updateKonsultasiRequest_NotFound_DoesNotTakeLock() {
+                when(konsultasiRepository.findCaregiverIdById(konsultasiId)).thenReturn(Optional.empty());
+
+                assertThrows(ScheduleException.class, () ->
+                        konsultasiService.updateKonsultasiRequest(konsultasiId, updateDto, pacilianId));
+                verify(stripedLockManager, never()).withLock(any(), any());
+        }
+
+        @Test
+        void updateKonsultasiRequest_LocksOnCaregiverOfBooking() {
+                when(konsultasiRepository.findById(konsultasiId)).thenReturn(Optional.of(konsultasi));
+                when(scheduleService.isScheduleAvailableForDateTime(scheduleId, futureDateTime)).thenReturn(true);
+                stubPacilianConflicts();
+                when(konsultasiRepository.saveAndFlush(any(Konsultasi.class))).thenReturn(konsultasi);
+
+                konsultasiService.updateKonsultasiRequest(konsultasiId, updateDto, pacilianId);
+
+                verify(stripedLockManager).withLock(eq(caregiverId), any());
+        }
+
         @Test
         void acceptReschedule_WrongPacilian() {
                 UUID wrongPacilian = UUID.randomUUID();
@@ -728,6 +996,7 @@ class KonsultasiServiceImplTest {
                         konsultasiService.confirmKonsultasi(konsultasiId, caregiverId));
 
                 assertEquals("Cannot confirm a completed consultation", exception.getMessage());
+                verifyNoInteractions(konsultasiOutbox);
         }
 
         @Test
@@ -779,4 +1048,236 @@ class KonsultasiServiceImplTest {
                 assertThrows(ScheduleException.class, () ->
                         konsultasiService.getKonsultasiById(konsultasiId, wrongCaregiver, "CAREGIVER"));
         }
-}
\ No newline at end of file
+
+        @Test
+        void applyBatchAction_Confirm_ReportsPerIdResultsAndSavesOnce() {
+                UUID foreignId = UUID.randomUUID();
+                UUID missingId = UUID.randomUUID();
+                Konsultasi foreign = createTestKonsultasi(foreignId, scheduleId, UUID.randomUUID(),
+                        pacilianId, scheduleDateTime, "REQUESTED");
+                when(konsultasiRepository.findAllById(List.of(konsultasiId, foreignId, missingId)))
+                        .thenReturn(List.of(konsultasi, foreign));
+
+                List<KonsultasiBatchResultDto> results = konsultasiService.applyBatchAction(
+                        List.of(konsultasiId, foreignId, missingId, konsultasiId), KonsultasiAction.CONFIRM, caregiverId);
+
+                assertEquals(3, results.size());
+                assertTrue(results.get(0).isSuccess());
+                assertEquals("CONFIRMED", results.get(0).getKonsultasi().getStatus());
+                assertFalse(results.get(1).isSuccess());
+                assertEquals("You are not the caregiver for this consultation", results.get(1).getMessage());
+                assertFalse(results.get(2).isSuccess());
+                assertEquals("Consultation not found", results.get(2).getMessage());
+                assertEquals("REQUESTED", foreign.getStatus());
+                verify(konsultasiRepository).saveAllAndFlush(List.of(konsultasi));
+                verify(konsultasiRepository, never()).save(any());
+                verify(konsultasiOutbox).recordAll(List.of(konsultasi), KonsultasiEventType.CONFIRMED);
+                verify(konsultasiConfirmedCounter).increment(1.0);
+                verifyNoInteractions(openSlotProjection, slotOccupancyIndex);
+        }
+
+        @Test
+        void applyBatchAction_Cancel_ReleasesSlotsAfterFlush() {
+                UUID confirmedId = UUID.randomUUID();
+                Konsultasi confirmed = createTestKonsultasi(confirmedId, scheduleId, caregiverId,
+                        pacilianId, futureDateTime, "CONFIRMED");
+                when(konsultasiRepository.findAllById(List.of(konsultasiId, confirmedId)))
+                        .thenReturn(List.of(konsultasi, confirmed));
+
+                List<KonsultasiBatchResultDto> results = konsultasiService.applyBatchAction(
+                        List.of(konsultasiId, confirmedId), KonsultasiAction.CANCEL, caregiverId);
+
+                assertTrue(results.get(0).isSuccess());
+                assertFalse(results.get(1).isSuccess());
+                assertEquals("Consultation can only be cancelled when in REQUESTED state", results.get(1).getMessage());
+                assertEquals("CANCELLED", konsultasi.getStatus());
+                InOrder inOrder = inOrder(konsultasiRepository, openSlotProjection);
+                inOrder.verify(konsultasiRepository).saveAllAndFlush(List.of(konsultasi));
+                inOrder.verify(openSlotProjection).refreshCaregiverWindows(caregiverId, List.of(scheduleDateTime));
+                verify(slotOccupancyIndex).release(caregiverId, scheduleDateTime, Duration.ofMinutes(60));
+                verifyNoMoreInteractions(openSlotProjection);
+        }
+
+        @Test
+        void applyBatchAction_Complete_InvalidTransitionIsReportedNotThrown() {
+                when(konsultasiRepository.findAllById(List.of(konsultasiId))).thenReturn(List.of(konsultasi));
+
+                List<KonsultasiBatchResultDto> results = konsultasiService.applyBatchAction(
+                        List.of(konsultasiId), KonsultasiAction.COMPLETE, caregiverId);
+
+                assertFalse(results.get(0).isSuccess());
+                assertEquals("Cannot complete a consultation that is still in requested state", results.get(0).getMessage());
+                verify(konsultasiStateTransitionErrorCounter).increment();
+                verify(konsultasiRepository).saveAllAndFlush(List.of());
+                verifyNoInteractions(openSlotProjection);
+        }
+
+        @Test
+        void applyBatchAction_DatabaseFailure_Propagates() {
+                when(konsultasiRepository.findAllById(any())).thenThrow(new RuntimeException("db down"));
+
+                assertThrows(RuntimeException.class, () -> konsultasiService.applyBatchAction(
+                        List.of(konsultasiId), KonsultasiAction.CONFIRM, caregiverId));
+                verify(konsultasiErrorCounter).increment();
+        }
+
+        @Test
+        void getCalendarFeedTag_UnchangedRows_ReturnsSameTag() {
+                LocalDateTime lastUpdated = LocalDateTime.of(2025, 6, 1, 8, 0);
+                when(konsultasiRepository.findFeedVersionByPacilianId(pacilianId))
+                        .thenReturn(feedVersion(lastUpdated, 3));
+
+                String first = konsultasiService.getCalendarFeedTag(pacilianId, "PACILIAN");
+                String second = konsultasiService.getCalendarFeedTag(pacilianId, "PACILIAN");
+
+                assertEquals(first, second);
+                assertTrue(first.startsWith("\"") && first.endsWith("\""));
+                verify(konsultasiCalendarFeedPollCounter, times(2)).increment();
+                verify(konsultasiRepository, never()).streamCalendarByPacilianId(any());
+        }
+
+        @Test
+        void getCalendarFeedTag_CaregiverScheduleChange_ChangesTag() {
+                LocalDateTime lastUpdated = LocalDateTime.of(2025, 6, 1, 8, 0);
+                when(konsultasiRepository.findFeedVersionByCaregiverId(caregiverId))
+                        .thenReturn(feedVersion(lastUpdated, 2));
+                when(scheduleRepository.findFeedVersionByCaregiverId(caregiverId))
+                        .thenReturn(feedVersion(lastUpdated, 1), feedVersion(lastUpdated.plusMinutes(5), 1));
+
+                String before = konsultasiService.getCalendarFeedTag(caregiverId, "CAREGIVER");
+                String after = konsultasiService.getCalendarFeedTag(caregiverId, "CAREGIVER");
+
+                assertNotEquals(before, after);
+        }
+
+        @Test
+        void getKonsultasiTag_FollowsRowVersionAndExposesLastUpdated() {
+                LocalDateTime lastUpdated = LocalDateTime.of(2025, 6, 1, 8, 0);
+                konsultasi.setLastUpdated(lastUpdated);
+                when(konsultasiRepository.findById(konsultasiId)).thenReturn(Optional.of(konsultasi));
+
+                ResourceTagDto before = konsultasiService.getKonsultasiTag(konsultasiId, pacilianId, "PACILIAN");
+                konsultasi.setVersion(konsultasi.getVersion() + 1);
+                ResourceTagDto after = konsultasiService.getKonsultasiTag(konsultasiId, pacilianId, "PACILIAN");
+
+                assertNotEquals(before.getEtag(), after.getEtag());
+                assertEquals(lastUpdated, after.getLastModified());
+                verifyNoInteractions(userDataService);
+        }
+
+        @Test
+        void getKonsultasiTag_OtherUser_IsRejected() {
+                when(konsultasiRepository.findById(konsultasiId)).thenReturn(Optional.of(konsultasi));
+
+                assertThrows(ScheduleException.class,
+                        () -> konsultasiService.getKonsultasiTag(konsultasiId, UUID.randomUUID(), "PACILIAN"));
+        }
+
+        @Test
+        void getKonsultasiPageTag_DependsOnFilterAndAggregate() {
+                LocalDateTime lastUpdated = LocalDateTime.of(2025, 6, 1, 8, 0);
+                when(konsultasiRepository.findFeedVersionByCaregiverId(caregiverId))
+                        .thenReturn(feedVersion(lastUpdated, 2), feedVersion(lastUpdated, 2), feedVersion(lastUpdated, 1));
+                KonsultasiFilterDto firstPage = KonsultasiFilterDto.builder().limit(10).build();
+                KonsultasiFilterDto confirmedOnly = KonsultasiFilterDto.builder()
+                        .statuses(EnumSet.of(KonsultasiStatus.CONFIRMED))
+                        .limit(10)
+                        .build();
+
+                String unfiltered = konsultasiService.getKonsultasiPageTag(caregiverId, "CAREGIVER", firstPage).getEtag();
+                String filtered = konsultasiService.getKonsultasiPageTag(caregiverId, "CAREGIVER", confirmedOnly).getEtag();
+                String afterDelete = konsultasiService.getKonsultasiPageTag(caregiverId, "CAREGIVER", firstPage).getEtag();
+
+                assertNotEquals(unfiltered, filtered);
+                assertNotEquals(unfiltered, afterDelete);
+                verify(konsultasiRepository, never()).findCaregiverPage(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        void getRequestedKonsultasiTag_UsesRequestedAggregateOnly() {
+                when(konsultasiRepository.findFeedVersionByStatusAndCaregiverId("REQUESTED", caregiverId))
+                        .thenReturn(feedVersion(LocalDateTime.of(2025, 6, 1, 8, 0), 4));
+
+                ResourceTagDto tag = konsultasiService.getRequestedKonsultasiTag(caregiverId);
+
+                assertTrue(tag.getEtag().startsWith("\"") && tag.getEtag().endsWith("\""));
+                assertNull(tag.getLastModified());
+                verify(konsultasiRepository, never()).findSummariesByStatusAndCaregiverId(any(), any());
+        }
+
+        @Test
+        void writeCalendarFeed_Caregiver_StreamsSchedulesAsRulesAndConsultationsAsEvents() {
+                konsultasi.setLastUpdated(LocalDateTime.of(2025, 6, 1, 8, 0));
+                when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(List.of(schedule));
+                when(konsultasiRepository.streamCalendarByCaregiverId(caregiverId))
+                        .thenReturn(Stream.of(calendarEntry(konsultasi)));
+                StringWriter writer = new StringWriter();
+
+                long written = konsultasiService.writeCalendarFeed(caregiverId, "CAREGIVER", writer);
+
+                String ics = writer.toString();
+                assertEquals(1, written);
+                assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+                assertTrue(ics.contains("RRULE:FREQ=WEEKLY;BYDAY=MO\r\n"));
+                assertTrue(ics.contains("UID:konsultasi-" + konsultasiId + "@be-konsultasi\r\n"));
+                assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+                verify(konsultasiCalendarFeedRenderCounter).increment();
+        }
+
+        @Test
+        void writeCalendarFeed_Pacilian_SkipsAvailability() {
+                konsultasi.setLastUpdated(LocalDateTime.of(2025, 6, 1, 8, 0));
+                when(konsultasiRepository.streamCalendarByPacilianId(pacilianId))
+                        .thenReturn(Stream.of(calendarEntry(konsultasi)));
+                StringWriter writer = new StringWriter();
+
+                long written = konsultasiService.writeCalendarFeed(pacilianId, "PACILIAN", writer);
+
+                assertEquals(1, written);
+                assertFalse(writer.toString().contains("RRULE"));
+                verify(scheduleRepository, never()).findByCaregiverId(any());
+        }
+
+        private KonsultasiCalendarEntry calendarEntry(Konsultasi konsultasi) {
+                return new KonsultasiCalendarEntry() {
+                        @Override
+                        public UUID getId() {
+                                return konsultasi.getId();
+                        }
+
+                        @Override
+                        public LocalDateTime getScheduleDateTime() {
+                                return konsultasi.getScheduleDateTime();
+                        }
+
+                        @Override
+                        public Integer getDurationMinutes() {
+                                return konsultasi.getDurationMinutes();
+                        }
+
+                        @Override
+                        public String getStatus() {
+                                return konsultasi.getStatus();
+                        }
+
+                        @Override
+                        public LocalDateTime getLastUpdated() {
+                                return konsultasi.getLastUpdated();
+                        }
+                };
+        }
+
+        private FeedVersion feedVersion(LocalDateTime lastUpdated, long total) {
+                return new FeedVersion() {
+                        @Override
+                        public LocalDateTime getLastUpdated() {
+                                return lastUpdated;
+                        }
+
+                        @Override
+                        public Long getTotal() {
+                                return total;
+                        }
+                };
+        }
+}
@@ -1,16 +1,28 @@
 package id.ac.ui.cs.advprog.bekonsultasi.service;
 
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailabilityHeatmapDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailableSlotDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateOneTimeScheduleDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.CreateScheduleDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleBulkResultDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.SchedulePageDto;
 import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.AuthenticationException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
 import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleException;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
 import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.FeedVersion;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
 import id.ac.ui.cs.advprog.bekonsultasi.repository.ScheduleRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.model.OpenSlot;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.OpenSlotProjection;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotOccupancyIndex;
+import id.ac.ui.cs.advprog.bekonsultasi.service.cache.AvailabilityHeatmapCache;
+import id.ac.ui.cs.advprog.bekonsultasi.service.cache.CaregiverScheduleCache;
 import id.ac.ui.cs.advprog.bekonsultasi.service.factory.ScheduleFactory;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiOutbox;
 import io.micrometer.core.instrument.Counter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,12 +32,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,6 +53,11 @@ class ScheduleServiceImplTest {
     @Mock private ScheduleRepository scheduleRepository;
     @Mock private KonsultasiRepository konsultasiRepository;
     @Mock private ScheduleFactory scheduleFactory;
+    @Mock private SlotOccupancyIndex slotOccupancyIndex;
+    @Mock private OpenSlotProjection openSlotProjection;
+    @Mock private CaregiverScheduleCache caregiverScheduleCache;
+    @Mock private AvailabilityHeatmapCache availabilityHeatmapCache;
+    @Mock private KonsultasiOutbox konsultasiOutbox;
     @Mock private Counter scheduleCreatedCounter;
     @Mock private Counter scheduleOneTimeCreatedCounter;
     @Mock private Counter scheduleUpdatedCounter;
@@ -63,6 +84,9 @@ class ScheduleServiceImplTest {
     @Mock private Counter scheduleFactoryOneTimeCounter;
     @Mock private Counter scheduleSuccessfulOperationsCounter;
     @Mock private Counter scheduleFailedOperationsCounter;
+    @Mock private Counter scheduleBulkCreatedCounter;
+    @Mock private Counter scheduleEarliestSlotSearchCounter;
+    @Mock private Counter scheduleHeatmapQueryCounter;
 
     @InjectMocks private ScheduleServiceImpl scheduleService;
 
@@ -94,11 +118,15 @@ class ScheduleServiceImplTest {
                 .endTime(LocalTime.of(10, 0))
                 .oneTime(false)
                 .build();
+
+        lenient().when(caregiverScheduleCache.get(any(UUID.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<ScheduleResponseDto>>>getArgument(1).get());
     }
 
     @Test
     void createSchedule_Success() {
-        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(Collections.emptyList());
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
         when(scheduleFactory.createSchedule(createScheduleDto, caregiverId)).thenReturn(schedule);
         when(scheduleRepository.save(schedule)).thenReturn(schedule);
 
@@ -106,6 +134,82 @@ class ScheduleServiceImplTest {
 
         assertNotNull(result);
         assertEquals(scheduleId, result.getId());
+        verify(openSlotProjection).refreshSchedule(schedule);
+        verify(caregiverScheduleCache).invalidate(caregiverId);
+        verify(availabilityHeatmapCache).invalidate(caregiverId);
+    }
+
+    @Test
+    void createSchedules_ReportsPerItemResults_AndSavesAcceptedInOneBatch() {
+        Schedule existing = Schedule.builder()
+                .id(UUID.randomUUID())
+                .caregiverId(caregiverId)
+                .day(DayOfWeek.TUESDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(12, 0))
+                .oneTime(false)
+                .build();
+        List<CreateScheduleDto> template = Arrays.asList(
+                templateItem(DayOfWeek.MONDAY, 9, 10),
+                templateItem(DayOfWeek.MONDAY, 9, 11),
+                templateItem(DayOfWeek.TUESDAY, 10, 11),
+                templateItem(DayOfWeek.WEDNESDAY, 11, 10),
+                null,
+                templateItem(DayOfWeek.MONDAY, 10, 11));
+
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
+                .thenReturn(Collections.singletonList(existing));
+        when(scheduleFactory.createSchedule(any(CreateScheduleDto.class), eq(caregiverId)))
+                .thenAnswer(invocation -> {
+                    CreateScheduleDto dto = invocation.getArgument(0);
+                    return Schedule.builder()
+                            .caregiverId(caregiverId)
+                            .day(dto.getDay())
+                            .startTime(dto.getStartTime())
+                            .endTime(dto.getEndTime())
+                            .oneTime(false)
+                            .build();
+                });
+        when(scheduleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Schedule> schedules = invocation.getArgument(0);
+            schedules.forEach(s -> s.setId(UUID.randomUUID()));
+            return schedules;
+        });
+
+        List<ScheduleBulkResultDto> results = scheduleService.createSchedules(template, caregiverId);
+
+        assertEquals(6, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertNotNull(results.get(0).getSchedule().getId());
+        assertFalse(results.get(1).isCreated());
+        assertFalse(results.get(2).isCreated());
+        assertFalse(results.get(3).isCreated());
+        assertFalse(results.get(4).isCreated());
+        assertTrue(results.get(5).isCreated());
+        assertEquals(LocalTime.of(10, 0), results.get(5).getSchedule().getStartTime());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        verify(scheduleRepository, times(1)).findOverlapCandidates(eq(caregiverId),
+                eq(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY)), any(LocalDate.class));
+        verify(scheduleRepository, never()).findByCaregiverId(any());
+        verify(scheduleRepository, times(1)).saveAll(argThat(schedules -> ((List<?>) schedules).size() == 2));
+        verify(scheduleRepository, never()).save(any(Schedule.class));
+    }
+
+    @Test
+    void createSchedules_AllRejected_SkipsSave() {
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
+                .thenReturn(Collections.singletonList(schedule));
+
+        List<ScheduleBulkResultDto> results = scheduleService.createSchedules(
+                Collections.singletonList(createScheduleDto), caregiverId);
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isCreated());
+        assertNull(results.get(0).getSchedule());
+        verify(scheduleRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -120,6 +224,15 @@ class ScheduleServiceImplTest {
                 () -> scheduleService.createSchedule(invalidDto, caregiverId));
     }
 
+    @Test
+    void createSchedule_UnsupportedSlotGranularity_ThrowsException() {
+        createScheduleDto.setSlotGranularityMinutes(25);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduleService.createSchedule(createScheduleDto, caregiverId));
+        verify(scheduleRepository, never()).save(any(Schedule.class));
+    }
+
     @Test
     void createSchedule_OverlappingSchedule_ThrowsScheduleConflictException() {
         Schedule overlapping = Schedule.builder()
@@ -128,7 +241,7 @@ class ScheduleServiceImplTest {
                 .startTime(LocalTime.of(9, 30))
                 .endTime(LocalTime.of(10, 30))
                 .build();
-        when(scheduleRepository.findByCaregiverId(caregiverId))
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
                 .thenReturn(Collections.singletonList(overlapping));
 
         assertThrows(ScheduleConflictException.class,
@@ -137,7 +250,8 @@ class ScheduleServiceImplTest {
 
     @Test
     void createSchedule_DatabaseError_ThrowsException() {
-        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(Collections.emptyList());
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
         when(scheduleFactory.createSchedule(createScheduleDto, caregiverId)).thenReturn(schedule);
         when(scheduleRepository.save(schedule)).thenThrow(new RuntimeException("Database error"));
 
@@ -163,6 +277,23 @@ class ScheduleServiceImplTest {
         assertTrue(result.isOneTime());
     }
 
+    @Test
+    void createOneTimeSchedule_OverlappingWeeklySchedule_ThrowsScheduleConflictException() {
+        Schedule weekly = Schedule.builder()
+                .caregiverId(caregiverId)
+                .day(createOneTimeScheduleDto.getSpecificDate().getDayOfWeek())
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(9, 30))
+                .oneTime(false)
+                .build();
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
+                .thenReturn(Collections.singletonList(weekly));
+
+        assertThrows(ScheduleConflictException.class,
+                () -> scheduleService.createOneTimeSchedule(createOneTimeScheduleDto, caregiverId));
+        verify(scheduleRepository, never()).save(any(Schedule.class));
+    }
+
     @Test
     void createOneTimeSchedule_PastDate_ThrowsException() {
         CreateOneTimeScheduleDto pastDateDto = CreateOneTimeScheduleDto.builder()
@@ -206,6 +337,39 @@ class ScheduleServiceImplTest {
         ScheduleResponseDto result = scheduleService.updateSchedule(scheduleId, createScheduleDto, caregiverId);
 
         assertNotNull(result);
+        verify(caregiverScheduleCache).invalidate(caregiverId);
+    }
+
+    @Test
+    void updateSchedule_IgnoresItsOwnCurrentSlot() {
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+        when(konsultasiRepository.findByScheduleId(scheduleId)).thenReturn(Collections.emptyList());
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
+                .thenReturn(Collections.singletonList(schedule));
+        when(scheduleRepository.save(any(Schedule.class))).thenReturn(schedule);
+
+        ScheduleResponseDto result = scheduleService.updateSchedule(scheduleId, createScheduleDto, caregiverId);
+
+        assertNotNull(result);
+    }
+
+    @Test
+    void updateSchedule_OverlappingOtherSchedule_ThrowsScheduleConflictException() {
+        Schedule other = Schedule.builder()
+                .id(UUID.randomUUID())
+                .caregiverId(caregiverId)
+                .day(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(9, 30))
+                .endTime(LocalTime.of(11, 0))
+                .build();
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+        when(konsultasiRepository.findByScheduleId(scheduleId)).thenReturn(Collections.emptyList());
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
+                .thenReturn(Arrays.asList(schedule, other));
+
+        assertThrows(ScheduleConflictException.class,
+                () -> scheduleService.updateSchedule(scheduleId, createScheduleDto, caregiverId));
+        verify(scheduleRepository, never()).save(any(Schedule.class));
     }
 
     @Test
@@ -248,7 +412,6 @@ class ScheduleServiceImplTest {
     @Test
     void deleteSchedule_Success() {
         when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(konsultasiRepository.findByScheduleId(scheduleId)).thenReturn(Collections.emptyList());
 
         scheduleService.deleteScheduleAsync(scheduleId, caregiverId);
 
@@ -271,13 +434,10 @@ class ScheduleServiceImplTest {
 
     @Test
     void deleteSchedule_WithFutureKonsultations_ThrowsScheduleException() {
-        Konsultasi futureKonsultasi = Konsultasi.builder()
-                .status("CONFIRMED")
-                .scheduleDateTime(LocalDateTime.now().plusDays(1))
-                .build();
         when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(konsultasiRepository.findByScheduleId(scheduleId))
-                .thenReturn(Collections.singletonList(futureKonsultasi));
+        when(konsultasiRepository.existsByScheduleIdAndStatusInAndScheduleDateTimeAfter(
+                eq(scheduleId), eq(List.of("CONFIRMED", "RESCHEDULED")), any(LocalDateTime.class)))
+                .thenReturn(true);
 
         CompletableFuture<Void> result = scheduleService.deleteScheduleAsync(scheduleId, caregiverId);
 
@@ -286,22 +446,59 @@ class ScheduleServiceImplTest {
         ExecutionException exception = assertThrows(ExecutionException.class, result::get);
         assertInstanceOf(ScheduleException.class, exception.getCause());
         assertEquals("Cannot delete schedule with future consultations", exception.getCause().getMessage());
+        verify(konsultasiRepository, never()).closeBookings(any(), any(), any(), any());
+        verify(scheduleRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void deleteScheduleAsync_WithPendingRequests_CancelsThemInOneUpdate() {
+        LocalDateTime first = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime second = first.plusWeeks(1);
+        Konsultasi firstRequest = Konsultasi.builder().id(UUID.randomUUID()).scheduleId(scheduleId)
+                .caregiverId(caregiverId).scheduleDateTime(first).durationMinutes(30).status("CANCELLED").build();
+        Konsultasi secondRequest = Konsultasi.builder().id(UUID.randomUUID()).scheduleId(scheduleId)
+                .caregiverId(caregiverId).scheduleDateTime(second).status("CANCELLED").build();
+        Konsultasi confirmedMeanwhile = Konsultasi.builder().id(UUID.randomUUID()).scheduleId(scheduleId)
+                .caregiverId(caregiverId).scheduleDateTime(second.plusWeeks(1)).status("CONFIRMED").build();
+        List<UUID> ids = List.of(firstRequest.getId(), secondRequest.getId(), confirmedMeanwhile.getId());
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+        when(konsultasiRepository.findFutureRequestIds(eq(scheduleId), any(LocalDateTime.class))).thenReturn(ids);
+        when(konsultasiRepository.closeBookings(eq(ids), eq("REQUESTED"), eq("CANCELLED"), any(LocalDateTime.class)))
+                .thenReturn(2);
+        when(konsultasiRepository.findAllById(ids))
+                .thenReturn(List.of(firstRequest, secondRequest, confirmedMeanwhile));
+
+        CompletableFuture<Void> result = scheduleService.deleteScheduleAsync(scheduleId, caregiverId);
+
+        assertFalse(result.isCompletedExceptionally());
+        verify(konsultasiRepository).closeBookings(eq(ids), eq("REQUESTED"), eq("CANCELLED"), any(LocalDateTime.class));
+        verify(konsultasiRepository, never()).findByScheduleId(any());
+        verify(konsultasiRepository, never()).saveAll(any());
+        verify(konsultasiOutbox).recordAll(List.of(firstRequest, secondRequest), KonsultasiEventType.CANCELLED);
+        verify(openSlotProjection).refreshCaregiverWindows(caregiverId, List.of(first, second));
+        verify(slotOccupancyIndex).release(caregiverId, first, Duration.ofMinutes(30));
+        verify(slotOccupancyIndex).release(caregiverId, second, Duration.ofMinutes(60));
+        verifyNoMoreInteractions(slotOccupancyIndex);
+        verify(scheduleRepository).deleteById(scheduleId);
     }
 
     @Test
     void deleteScheduleAsync_Success() {
         when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(konsultasiRepository.findByScheduleId(scheduleId)).thenReturn(Collections.emptyList());
 
         CompletableFuture<Void> result = scheduleService.deleteScheduleAsync(scheduleId, caregiverId);
 
         assertNotNull(result);
+        verify(openSlotProjection).removeSchedule(schedule);
+        verify(caregiverScheduleCache).invalidate(caregiverId);
+        verify(konsultasiRepository, never()).closeBookings(any(), any(), any(), any());
     }
 
     @Test
     void deleteScheduleAsync_WithException_ReturnsFailedFuture() {
         when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(konsultasiRepository.findByScheduleId(scheduleId)).thenThrow(new RuntimeException("Error"));
+        when(konsultasiRepository.existsByScheduleIdAndStatusInAndScheduleDateTimeAfter(
+                eq(scheduleId), anyList(), any(LocalDateTime.class))).thenThrow(new RuntimeException("Error"));
 
         CompletableFuture<Void> result = scheduleService.deleteScheduleAsync(scheduleId, caregiverId);
 
@@ -318,6 +515,17 @@ class ScheduleServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getCaregiverSchedules_ServedFromCache_SkipsRepository() {
+        ScheduleResponseDto cached = ScheduleResponseDto.builder().id(scheduleId).caregiverId(caregiverId).build();
+        when(caregiverScheduleCache.get(eq(caregiverId), any())).thenReturn(List.of(cached));
+
+        List<ScheduleResponseDto> result = scheduleService.getCaregiverSchedules(caregiverId);
+
+        assertEquals(List.of(cached), result);
+        verify(scheduleRepository, never()).findByCaregiverId(any());
+    }
+
     @Test
     void getCaregiverSchedules_DatabaseError_ThrowsException() {
         when(scheduleRepository.findByCaregiverId(caregiverId))
@@ -327,6 +535,25 @@ class ScheduleServiceImplTest {
                 () -> scheduleService.getCaregiverSchedules(caregiverId));
     }
 
+    @Test
+    void getCaregiverSchedulesTag_ChangesWithAggregateWithoutLoadingSchedules() {
+        LocalDateTime lastUpdated = LocalDateTime.of(2025, 6, 1, 8, 0);
+        FeedVersion before = mock(FeedVersion.class);
+        when(before.getTotal()).thenReturn(2L);
+        when(before.getLastUpdated()).thenReturn(lastUpdated);
+        FeedVersion after = mock(FeedVersion.class);
+        when(after.getTotal()).thenReturn(1L);
+        when(after.getLastUpdated()).thenReturn(lastUpdated);
+        when(scheduleRepository.findFeedVersionByCaregiverId(caregiverId)).thenReturn(before, after);
+
+        String first = scheduleService.getCaregiverSchedulesTag(caregiverId).getEtag();
+        String second = scheduleService.getCaregiverSchedulesTag(caregiverId).getEtag();
+
+        assertNotEquals(first, second);
+        verify(scheduleRepository, never()).findByCaregiverId(any());
+        verifyNoInteractions(caregiverScheduleCache);
+    }
+
     @Test
     void getAllSchedules_Success() {
         when(scheduleRepository.findAll()).thenReturn(Collections.singletonList(schedule));
@@ -336,6 +563,53 @@ class ScheduleServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getSchedulesPage_FirstPage_ReturnsCursorWhenMoreRowsExist() {
+        Schedule second = Schedule.builder()
+                .id(UUID.randomUUID())
+                .caregiverId(caregiverId)
+                .day(DayOfWeek.TUESDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(10, 0))
+                .build();
+        when(scheduleRepository.findAllByOrderByIdAsc(any())).thenReturn(new ArrayList<>(List.of(schedule, second)));
+
+        SchedulePageDto page = scheduleService.getSchedulesPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(scheduleId, page.getNextCursor());
+        verify(scheduleRepository).findAllByOrderByIdAsc(argThat(pageable -> pageable.getPageSize() == 2));
+        verify(scheduleRepository, never()).findAll();
+    }
+
+    @Test
+    void getSchedulesPage_AfterCursor_LastPageHasNoCursor() {
+        UUID cursor = UUID.randomUUID();
+        when(scheduleRepository.findByIdGreaterThanOrderByIdAsc(eq(cursor), any()))
+                .thenReturn(Collections.singletonList(schedule));
+
+        SchedulePageDto page = scheduleService.getSchedulesPage(cursor, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void exportAllSchedules_StreamsRowsToConsumer() {
+        ScheduleResponseDto first = ScheduleResponseDto.builder().id(UUID.randomUUID()).build();
+        ScheduleResponseDto second = ScheduleResponseDto.builder().id(UUID.randomUUID()).build();
+        when(scheduleRepository.streamAllAsDto()).thenReturn(Stream.of(first, second));
+        List<ScheduleResponseDto> received = new ArrayList<>();
+
+        long exported = scheduleService.exportAllSchedules(received::add);
+
+        assertEquals(2, exported);
+        assertEquals(List.of(first, second), received);
+        verify(scheduleRepository, never()).findAll();
+    }
+
     @Test
     void getAllSchedules_DatabaseError_ThrowsException() {
         when(scheduleRepository.findAll()).thenThrow(new RuntimeException("Database error"));
@@ -348,24 +622,43 @@ class ScheduleServiceImplTest {
         LocalDateTime testDateTime = LocalDateTime.of(2024, 1, 15, 9, 0);
 
         when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(konsultasiRepository.findByScheduleId(scheduleId)).thenReturn(Collections.emptyList());
+        when(slotOccupancyIndex.isFree(eq(caregiverId), eq(testDateTime), any())).thenReturn(true);
 
         boolean result = scheduleService.isScheduleAvailableForDateTime(scheduleId, testDateTime);
 
         assertTrue(result);
+        verify(konsultasiRepository, never()).findByScheduleId(any());
+    }
+
+    @Test
+    void isScheduleAvailableForDateTime_OffGridTime_ReturnsFalse() {
+        LocalDateTime testDateTime = LocalDateTime.of(2024, 1, 15, 9, 30);
+        schedule.setEndTime(LocalTime.of(11, 0));
+
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+
+        assertFalse(scheduleService.isScheduleAvailableForDateTime(scheduleId, testDateTime));
+        verify(slotOccupancyIndex, never()).isFree(any(), any(), any());
+    }
+
+    @Test
+    void isScheduleAvailableForDateTime_FinerGrid_ChecksScheduleDuration() {
+        LocalDateTime testDateTime = LocalDateTime.of(2024, 1, 15, 9, 40);
+        schedule.setDurationMinutes(20);
+        schedule.setSlotGranularityMinutes(20);
+
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+        when(slotOccupancyIndex.isFree(caregiverId, testDateTime, Duration.ofMinutes(20))).thenReturn(true);
+
+        assertTrue(scheduleService.isScheduleAvailableForDateTime(scheduleId, testDateTime));
     }
 
     @Test
     void isScheduleAvailableForDateTime_WithExistingKonsultasi_ReturnsFalse() {
         LocalDateTime testDateTime = LocalDateTime.of(2024, 1, 15, 9, 0);
-        Konsultasi existingKonsultasi = Konsultasi.builder()
-                .status("CONFIRMED")
-                .scheduleDateTime(testDateTime)
-                .build();
 
         when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
-        when(konsultasiRepository.findByScheduleId(scheduleId))
-                .thenReturn(Collections.singletonList(existingKonsultasi));
+        when(slotOccupancyIndex.isFree(eq(caregiverId), eq(testDateTime), any())).thenReturn(false);
 
         boolean result = scheduleService.isScheduleAvailableForDateTime(scheduleId, testDateTime);
 
@@ -396,6 +689,59 @@ class ScheduleServiceImplTest {
         }
     }
 
+    @Test
+    void getAvailableDateTimesForSchedule_FinerGranularity_ListsEverySlot() {
+        schedule.setEndTime(LocalTime.of(11, 0));
+        schedule.setDurationMinutes(30);
+        schedule.setSlotGranularityMinutes(30);
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+
+        List<LocalDateTime> result = scheduleService.getAvailableDateTimesForSchedule(scheduleId, 3);
+
+        assertEquals(12, result.size());
+        assertTrue(result.stream().allMatch(dateTime -> dateTime.getMinute() % 30 == 0
+                && !dateTime.toLocalTime().isBefore(LocalTime.of(9, 0))
+                && !dateTime.toLocalTime().isAfter(LocalTime.of(10, 30))));
+    }
+
+    @Test
+    void getAvailableDateTimesForSchedule_LoadsBookingsOnce_SkipsBookedWeeks() {
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+        List<LocalDateTime> allWeeks = scheduleService.getAvailableDateTimesForSchedule(scheduleId, 12);
+        Konsultasi booked = Konsultasi.builder()
+                .scheduleId(scheduleId)
+                .status("CONFIRMED")
+                .scheduleDateTime(allWeeks.get(2))
+                .build();
+        when(konsultasiRepository.findByScheduleIdAndStatusNotInAndScheduleDateTimeBetween(
+                eq(scheduleId), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(booked));
+
+        List<LocalDateTime> result = scheduleService.getAvailableDateTimesForSchedule(scheduleId, 12);
+
+        assertEquals(11, result.size());
+        assertFalse(result.contains(allWeeks.get(2)));
+        verify(scheduleRepository, times(2)).findById(scheduleId);
+        verify(konsultasiRepository, times(2)).findByScheduleIdAndStatusNotInAndScheduleDateTimeBetween(
+                eq(scheduleId), anyList(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(konsultasiRepository, never()).findByScheduleId(any());
+    }
+
+    @Test
+    void getAvailableDateTimesForSchedule_WithinProjectionHorizon_ReadsOpenSlots() {
+        when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+        when(openSlotProjection.covers(any(LocalDateTime.class))).thenReturn(true);
+        LocalDateTime open = LocalDateTime.now().plusWeeks(1);
+        when(openSlotProjection.findOpenStarts(eq(scheduleId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(open));
+
+        List<LocalDateTime> result = scheduleService.getAvailableDateTimesForSchedule(scheduleId, 4);
+
+        assertEquals(List.of(open), result);
+        verify(konsultasiRepository, never()).findByScheduleIdAndStatusNotInAndScheduleDateTimeBetween(
+                any(), anyList(), any(), any());
+    }
+
     @Test
     void getAvailableDateTimesForSchedule_ScheduleNotFound_ThrowsException() {
         when(scheduleRepository.findById(scheduleId)).thenReturn(Optional.empty());
@@ -438,6 +784,55 @@ class ScheduleServiceImplTest {
                 () -> scheduleService.getAvailableSchedulesByCaregiver(caregiverId));
     }
 
+    @Test
+    void findEarliestAvailableSlots_WithinProjectionHorizon_UsesRangeScan() {
+        LocalDateTime slotStart = LocalDateTime.now().plusDays(3);
+        when(openSlotProjection.covers(any(LocalDateTime.class))).thenReturn(true);
+        when(openSlotProjection.findEarliest(eq(List.of(caregiverId)), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(5)))
+                .thenReturn(List.of(OpenSlot.builder()
+                        .scheduleId(scheduleId)
+                        .caregiverId(caregiverId)
+                        .slotStart(slotStart)
+                        .build()));
+
+        List<AvailableSlotDto> slots = scheduleService.findEarliestAvailableSlots(List.of(caregiverId), 5, 4);
+
+        assertEquals(1, slots.size());
+        assertEquals(slotStart, slots.get(0).getDateTime());
+        verify(scheduleRepository, never()).findByCaregiverIdIn(any());
+    }
+
+    @Test
+    void findEarliestAvailableSlots_SkipsOccupiedOccurrences() {
+        LocalDateTime firstOccurrence = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY))
+                .atTime(9, 0);
+        if (firstOccurrence.isBefore(LocalDateTime.now())) {
+            firstOccurrence = firstOccurrence.plusWeeks(1);
+        }
+        Konsultasi booking = Konsultasi.builder()
+                .caregiverId(caregiverId)
+                .scheduleDateTime(firstOccurrence)
+                .durationMinutes(60)
+                .build();
+        when(scheduleRepository.findByCaregiverIdIn(List.of(caregiverId))).thenReturn(List.of(schedule));
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                eq(List.of(caregiverId)), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+
+        List<AvailableSlotDto> slots = scheduleService.findEarliestAvailableSlots(List.of(caregiverId), 2, 4);
+
+        assertEquals(2, slots.size());
+        assertEquals(scheduleId, slots.get(0).getScheduleId());
+        assertEquals(caregiverId, slots.get(0).getCaregiverId());
+        assertEquals(DayOfWeek.MONDAY, slots.get(0).getDateTime().getDayOfWeek());
+        assertEquals(slots.get(0).getDateTime().plusWeeks(1), slots.get(1).getDateTime());
+        assertEquals(firstOccurrence.plusWeeks(1), slots.get(0).getDateTime());
+        verify(konsultasiRepository, times(1)).findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                anyCollection(), anyList(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verifyNoInteractions(slotOccupancyIndex);
+    }
+
     @Test
     void getAvailableSchedulesForCaregivers_Success() {
         List<UUID> caregiverIds = Collections.singletonList(caregiverId);
@@ -491,7 +886,7 @@ class ScheduleServiceImplTest {
                 .startTime(LocalTime.of(9, 0))
                 .endTime(LocalTime.of(10, 0))
                 .build();
-        when(scheduleRepository.findByCaregiverId(caregiverId))
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
                 .thenReturn(Collections.singletonList(exactMatch));
 
         assertThrows(ScheduleConflictException.class,
@@ -506,7 +901,7 @@ class ScheduleServiceImplTest {
                 .startTime(LocalTime.of(11, 0))
                 .endTime(LocalTime.of(12, 0))
                 .build();
-        when(scheduleRepository.findByCaregiverId(caregiverId))
+        when(scheduleRepository.findOverlapCandidates(eq(caregiverId), anySet(), any(LocalDate.class)))
                 .thenReturn(Collections.singletonList(noOverlap));
         when(scheduleFactory.createSchedule(createScheduleDto, caregiverId)).thenReturn(schedule);
         when(scheduleRepository.save(schedule)).thenReturn(schedule);
@@ -530,4 +925,103 @@ class ScheduleServiceImplTest {
 
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailabilityHeatmap_FoldsBookingsIntoWeekdayHourBuckets() {
+        when(availabilityHeatmapCache.get(eq(caregiverId), eq(4), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<AvailabilityHeatmapDto>>getArgument(2).get());
+        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(List.of(schedule));
+        KonsultasiRepository.HourlyBookingCount bucket = mock(KonsultasiRepository.HourlyBookingCount.class);
+        when(bucket.getBookingDate()).thenReturn(LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)));
+        when(bucket.getBookingHour()).thenReturn(9);
+        when(bucket.getBooked()).thenReturn(1L);
+        when(konsultasiRepository.countBookingsByDateAndHour(eq(caregiverId), anyList(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(bucket));
+
+        AvailabilityHeatmapDto result = scheduleService.getAvailabilityHeatmap(caregiverId, 4);
+
+        int monday = DayOfWeek.MONDAY.ordinal();
+        assertEquals(7, result.getDays().size());
+        assertEquals(1, result.getBooked()[monday][9]);
+        assertTrue(result.getOpen()[monday][9] >= 3);
+        assertEquals(0, result.getOpen()[monday][10]);
+        assertEquals(0, result.getOpen()[DayOfWeek.TUESDAY.ordinal()][9]);
+        verify(scheduleHeatmapQueryCounter).increment();
+        verify(scheduleSuccessfulOperationsCounter).increment();
+    }
+
+    @Test
+    void getAvailabilityHeatmap_CountsOnlyStartsFreeForTheWholeDuration() {
+        schedule.setEndTime(LocalTime.of(11, 0));
+        schedule.setSlotGranularityMinutes(30);
+        when(availabilityHeatmapCache.get(eq(caregiverId), eq(1), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<AvailabilityHeatmapDto>>getArgument(2).get());
+        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(List.of(schedule));
+        LocalDateTime nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(9, 30);
+        List<Konsultasi> bookings = Stream.of(nextMonday.minusWeeks(1), nextMonday)
+                .map(start -> Konsultasi.builder()
+                        .caregiverId(caregiverId)
+                        .scheduleDateTime(start)
+                        .durationMinutes(60)
+                        .build())
+                .toList();
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                eq(List.of(caregiverId)), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(bookings);
+        when(konsultasiRepository.countBookingsByDateAndHour(eq(caregiverId), anyList(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of());
+
+        AvailabilityHeatmapDto result = scheduleService.getAvailabilityHeatmap(caregiverId, 1);
+
+        int monday = DayOfWeek.MONDAY.ordinal();
+        assertEquals(0, result.getOpen()[monday][9]);
+        assertEquals(0, result.getOpen()[monday][10]);
+    }
+
+    @Test
+    void getAvailabilityHeatmap_BookingsBeyondCapacity_ClampOpenAtZero() {
+        when(availabilityHeatmapCache.get(eq(caregiverId), eq(1), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<AvailabilityHeatmapDto>>getArgument(2).get());
+        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(Collections.emptyList());
+        KonsultasiRepository.HourlyBookingCount bucket = mock(KonsultasiRepository.HourlyBookingCount.class);
+        when(bucket.getBookingDate()).thenReturn(LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.FRIDAY)));
+        when(bucket.getBookingHour()).thenReturn(14);
+        when(bucket.getBooked()).thenReturn(2L);
+        when(konsultasiRepository.countBookingsByDateAndHour(eq(caregiverId), anyList(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(bucket));
+
+        AvailabilityHeatmapDto result = scheduleService.getAvailabilityHeatmap(caregiverId, 1);
+
+        assertEquals(2, result.getBooked()[DayOfWeek.FRIDAY.ordinal()][14]);
+        assertEquals(0, result.getOpen()[DayOfWeek.FRIDAY.ordinal()][14]);
+    }
+
+    @Test
+    void getAvailabilityHeatmap_CachedHeatmap_SkipsQueries() {
+        AvailabilityHeatmapDto cached = AvailabilityHeatmapDto.builder().caregiverId(caregiverId).build();
+        when(availabilityHeatmapCache.get(eq(caregiverId), eq(4), any())).thenReturn(cached);
+
+        AvailabilityHeatmapDto result = scheduleService.getAvailabilityHeatmap(caregiverId, 4);
+
+        assertSame(cached, result);
+        verifyNoInteractions(scheduleRepository, konsultasiRepository);
+    }
+
+    @Test
+    void getAvailabilityHeatmap_DatabaseError_CountsFailure() {
+        when(availabilityHeatmapCache.get(eq(caregiverId), eq(4), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<AvailabilityHeatmapDto>>getArgument(2).get());
+        when(scheduleRepository.findByCaregiverId(caregiverId)).thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, () -> scheduleService.getAvailabilityHeatmap(caregiverId, 4));
+        verify(scheduleFailedOperationsCounter).increment();
+    }
+
+    private CreateScheduleDto templateItem(DayOfWeek day, int startHour, int endHour) {
+        return CreateScheduleDto.builder()
+                .day(day)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .build();
+    }
+}
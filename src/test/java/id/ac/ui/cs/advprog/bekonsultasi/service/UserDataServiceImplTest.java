@@ -18,9 +18,15 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -40,6 +46,11 @@ class UserDataServiceImplTest {
     @Mock private ApiResponseDto<PacilianPublicDto> pacilianApiResponse;
 
     private UserDataServiceImpl userDataService;
+    private final AtomicInteger executorTasks = new AtomicInteger();
+    private final Executor executor = command -> {
+        executorTasks.incrementAndGet();
+        command.run();
+    };
     private UUID caregiverId;
     private UUID pacilianId;
     private CaregiverPublicDto caregiverData;
@@ -52,7 +63,8 @@ class UserDataServiceImplTest {
                 caregiverDataRequestCounter,
                 pacilianDataRequestCounter,
                 userDataFetchErrorCounter,
-                userDataFallbackCounter
+                userDataFallbackCounter,
+                executor
         );
 
         caregiverId = UUID.randomUUID();
@@ -336,4 +348,75 @@ class UserDataServiceImplTest {
                             httpEntity.getHeaders().get("Accept").contains("application/json");
                 }), any(ParameterizedTypeReference.class));
     }
+
+    @Test
+    void getCaregiversByIds_DeduplicatesAndServesCachedIds() throws ExecutionException, InterruptedException {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(caregiverResponse);
+        when(caregiverResponse.getBody()).thenReturn(caregiverApiResponse);
+        when(caregiverApiResponse.getData()).thenReturn(caregiverData);
+        userDataService.getCaregiverByIdAsync(caregiverId).get();
+
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        Map<UUID, CaregiverPublicDto> result = userDataService.getCaregiversByIds(
+                List.of(caregiverId, second, second, third, caregiverId));
+
+        assertEquals(3, result.size());
+        assertEquals(caregiverData, result.get(caregiverId));
+        assertEquals(2, executorTasks.get());
+        verify(restTemplate, times(3)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(endsWith("/caregiver/" + caregiverId), any(HttpMethod.class), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getPaciliansByIds_SingleMissIsFetchedInline() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(pacilianResponse);
+        when(pacilianResponse.getBody()).thenReturn(pacilianApiResponse);
+        when(pacilianApiResponse.getData()).thenReturn(pacilianData);
+
+        Map<UUID, PacilianPublicDto> result = userDataService.getPaciliansByIds(List.of(pacilianId, pacilianId));
+
+        assertEquals(Map.of(pacilianId, pacilianData), result);
+        assertEquals(0, executorTasks.get());
+        verify(pacilianDataRequestCounter).increment(1);
+    }
+
+    @Test
+    void getPaciliansByIds_FetchFailuresFallBackPerId() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenThrow(new RestClientException("Service error"));
+        UUID other = UUID.randomUUID();
+
+        Map<UUID, PacilianPublicDto> result = userDataService.getPaciliansByIds(List.of(pacilianId, other));
+
+        assertEquals(2, result.size());
+        assertEquals("[Nama tidak tersedia]", result.get(other).getName());
+        verify(userDataFallbackCounter, times(2)).increment();
+    }
+
+    @Test
+    void getCaregiversByIds_SaturatedExecutorFetchesOnCallingThread() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(caregiverResponse);
+        when(caregiverResponse.getBody()).thenReturn(caregiverApiResponse);
+        when(caregiverApiResponse.getData()).thenReturn(caregiverData);
+        UserDataServiceImpl saturated = new UserDataServiceImpl(restTemplate, caregiverDataRequestCounter,
+                pacilianDataRequestCounter, userDataFetchErrorCounter, userDataFallbackCounter,
+                command -> {
+                    throw new RejectedExecutionException("full");
+                });
+
+        Map<UUID, CaregiverPublicDto> result = saturated.getCaregiversByIds(List.of(caregiverId, UUID.randomUUID()));
+
+        assertEquals(2, result.size());
+        assertEquals(caregiverData, result.get(caregiverId));
+    }
+
+    @Test
+    void getCaregiversByIds_EmptyInput() {
+        assertTrue(userDataService.getCaregiversByIds(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(restTemplate);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveSlotBackfillTest {
+
+    @Mock
+    private KonsultasiRepository konsultasiRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ActiveSlotBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void backfill_KeysNonOverlappingRowsInItsOwnTransaction() {
+        when(konsultasiRepository.findOverlappingUnkeyedBookingIds(anyList())).thenReturn(List.of(UUID.randomUUID()));
+        when(konsultasiRepository.backfillActiveCaregiverIds(anyList())).thenReturn(3);
+
+        assertEquals(3, backfill.backfill());
+
+        verify(transactionTemplate).execute(any());
+    }
+
+    @Test
+    void backfill_CollisionIsReportedOutsideTheFailedTransaction() {
+        when(konsultasiRepository.findOverlappingUnkeyedBookingIds(anyList())).thenReturn(List.of());
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("uk_konsultasi_active_slot"));
+
+        assertEquals(0, backfill.backfill());
+    }
+}
@@ -0,0 +1,51 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActiveSlotExclusionConstraintTest {
+
+    @Test
+    void install_SkipsDatabasesOtherThanPostgres() throws Exception {
+        DataSource dataSource = dataSource("H2");
+
+        assertFalse(new ActiveSlotExclusionConstraint(dataSource).install());
+    }
+
+    @Test
+    void install_ConnectionFailureDoesNotStopStartup() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("down"));
+
+        assertFalse(new ActiveSlotExclusionConstraint(dataSource).install());
+    }
+
+    @Test
+    void script_ExcludesOverlappingRangesPerActiveCaregiver() throws Exception {
+        String script = new ClassPathResource(ActiveSlotExclusionConstraint.SCRIPT)
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(script.contains("EXCLUDE USING gist"));
+        assertTrue(script.contains("active_caregiver_id WITH ="));
+        assertTrue(script.contains("duration_minutes)) WITH &&"));
+    }
+
+    private DataSource dataSource(String productName) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+        return dataSource;
+    }
+}
@@ -0,0 +1,100 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCalendarTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private UUID scheduleId;
+    private LocalDateTime bookedTime;
+    private AvailabilityCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        scheduleId = UUID.randomUUID();
+        bookedTime = LocalDateTime.of(2030, 1, 7, 10, 0);
+        Konsultasi booked = Konsultasi.builder()
+                .scheduleId(scheduleId)
+                .scheduleDateTime(bookedTime)
+                .status("CONFIRMED")
+                .build();
+        calendar = AvailabilityCalendar.of(List.of(booked));
+    }
+
+    @Test
+    void isFree_ExactBookedSlot_ReturnsFalse() {
+        assertFalse(calendar.isFree(scheduleId, bookedTime, HOUR));
+    }
+
+    @Test
+    void isFree_OverlappingSlot_ReturnsFalse() {
+        assertFalse(calendar.isFree(scheduleId, bookedTime.minusMinutes(30), HOUR));
+        assertFalse(calendar.isFree(scheduleId, bookedTime.plusMinutes(59), HOUR));
+    }
+
+    @Test
+    void isFree_AdjacentSlots_ReturnsTrue() {
+        assertTrue(calendar.isFree(scheduleId, bookedTime.minusHours(1), HOUR));
+        assertTrue(calendar.isFree(scheduleId, bookedTime.plusHours(1), HOUR));
+    }
+
+    @Test
+    void isFree_OtherSchedule_ReturnsTrue() {
+        assertTrue(calendar.isFree(UUID.randomUUID(), bookedTime, HOUR));
+    }
+
+    @Test
+    void isFree_EmptyCalendar_ReturnsTrue() {
+        AvailabilityCalendar empty = AvailabilityCalendar.of(Collections.emptyList());
+
+        assertTrue(empty.isFree(scheduleId, bookedTime, HOUR));
+    }
+
+    @Test
+    void isFree_ShortSlotsAroundShortBooking_UsesBookingDuration() {
+        Konsultasi shortBooking = Konsultasi.builder()
+                .scheduleId(scheduleId)
+                .scheduleDateTime(bookedTime.plusHours(2))
+                .durationMinutes(20)
+                .status("REQUESTED")
+                .build();
+        AvailabilityCalendar mixed = AvailabilityCalendar.of(List.of(shortBooking));
+        Duration twentyMinutes = Duration.ofMinutes(20);
+
+        assertFalse(mixed.isFree(scheduleId, bookedTime.plusHours(2), twentyMinutes));
+        assertTrue(mixed.isFree(scheduleId, bookedTime.plusHours(2).plusMinutes(20), twentyMinutes));
+        assertTrue(mixed.isFree(scheduleId, bookedTime.plusHours(2).minusMinutes(20), twentyMinutes));
+        assertFalse(mixed.isFree(scheduleId, bookedTime.plusHours(2).minusMinutes(20), Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void isFree_LongBookingBeforeShorterOnes_StillBlocksLaterSlots() {
+        Konsultasi longBooking = Konsultasi.builder()
+                .scheduleId(scheduleId)
+                .scheduleDateTime(bookedTime)
+                .durationMinutes(120)
+                .status("CONFIRMED")
+                .build();
+        Konsultasi shortBooking = Konsultasi.builder()
+                .scheduleId(scheduleId)
+                .scheduleDateTime(bookedTime.plusMinutes(15))
+                .durationMinutes(15)
+                .status("CONFIRMED")
+                .build();
+        AvailabilityCalendar mixed = AvailabilityCalendar.of(List.of(shortBooking, longBooking));
+
+        assertFalse(mixed.isFree(scheduleId, bookedTime.plusMinutes(90), Duration.ofMinutes(15)));
+        assertTrue(mixed.isFree(scheduleId, bookedTime.plusHours(2), Duration.ofMinutes(15)));
+    }
+}
@@ -0,0 +1,116 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EarliestSlotFinderTest {
+
+    private LocalDateTime from;
+    private LocalDateTime until;
+    private Schedule mondayCaregiverA;
+    private Schedule wednesdayCaregiverB;
+    private Schedule oneTimeCaregiverB;
+
+    @BeforeEach
+    void setUp() {
+        from = LocalDateTime.of(2030, 1, 7, 12, 0);
+        until = from.plusWeeks(4);
+        mondayCaregiverA = recurring(UUID.randomUUID(), DayOfWeek.MONDAY, 9);
+        wednesdayCaregiverB = recurring(UUID.randomUUID(), DayOfWeek.WEDNESDAY, 10);
+        oneTimeCaregiverB = Schedule.builder()
+                .id(UUID.randomUUID())
+                .caregiverId(wednesdayCaregiverB.getCaregiverId())
+                .day(DayOfWeek.TUESDAY)
+                .specificDate(LocalDate.of(2030, 1, 15))
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(9, 0))
+                .oneTime(true)
+                .build();
+    }
+
+    @Test
+    void find_MergesSchedulesInChronologicalOrder() {
+        List<EarliestSlotFinder.Slot> slots = EarliestSlotFinder.find(
+                List.of(mondayCaregiverA, wednesdayCaregiverB, oneTimeCaregiverB), from, until, 6, (s, t) -> true);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2030, 1, 9, 10, 0),
+                LocalDateTime.of(2030, 1, 9, 11, 0),
+                LocalDateTime.of(2030, 1, 14, 9, 0),
+                LocalDateTime.of(2030, 1, 14, 10, 0),
+                LocalDateTime.of(2030, 1, 15, 8, 0),
+                LocalDateTime.of(2030, 1, 16, 10, 0)
+        ), slots.stream().map(EarliestSlotFinder.Slot::dateTime).toList());
+        assertEquals(oneTimeCaregiverB, slots.get(4).schedule());
+    }
+
+    @Test
+    void find_SkipsOccupiedSlots_AndStopsAtLimit() {
+        List<LocalDateTime> probed = new ArrayList<>();
+        List<EarliestSlotFinder.Slot> slots = EarliestSlotFinder.find(
+                List.of(mondayCaregiverA, wednesdayCaregiverB), from, until, 2,
+                (schedule, dateTime) -> {
+                    probed.add(dateTime);
+                    return schedule != wednesdayCaregiverB;
+                });
+
+        assertEquals(2, slots.size());
+        assertEquals(LocalDateTime.of(2030, 1, 14, 9, 0), slots.get(0).dateTime());
+        assertEquals(LocalDateTime.of(2030, 1, 14, 10, 0), slots.get(1).dateTime());
+        assertEquals(4, probed.size());
+    }
+
+    @Test
+    void find_SameDayStartAlreadyPassed_StartsNextWeek() {
+        List<EarliestSlotFinder.Slot> slots = EarliestSlotFinder.find(
+                List.of(mondayCaregiverA), from, until, 1, (s, t) -> true);
+
+        assertEquals(LocalDateTime.of(2030, 1, 14, 9, 0), slots.get(0).dateTime());
+    }
+
+    @Test
+    void find_RespectsHorizon_AndIgnoresPastOneTimeSchedules() {
+        Schedule pastOneTime = Schedule.builder()
+                .id(UUID.randomUUID())
+                .caregiverId(UUID.randomUUID())
+                .day(DayOfWeek.MONDAY)
+                .specificDate(LocalDate.of(2030, 1, 7))
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(9, 0))
+                .oneTime(true)
+                .build();
+
+        List<EarliestSlotFinder.Slot> slots = EarliestSlotFinder.find(
+                List.of(mondayCaregiverA, pastOneTime), from, from.plusWeeks(2), 10, (s, t) -> true);
+
+        assertEquals(4, slots.size());
+        assertTrue(slots.stream().allMatch(slot -> slot.schedule() == mondayCaregiverA));
+    }
+
+    @Test
+    void find_NoSchedules_ReturnsEmpty() {
+        assertTrue(EarliestSlotFinder.find(List.of(), from, until, 5, (s, t) -> true).isEmpty());
+    }
+
+    private Schedule recurring(UUID caregiverId, DayOfWeek day, int startHour) {
+        return Schedule.builder()
+                .id(UUID.randomUUID())
+                .caregiverId(caregiverId)
+                .day(day)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(startHour + 2, 0))
+                .oneTime(false)
+                .build();
+    }
+}
@@ -0,0 +1,253 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import id.ac.ui.cs.advprog.bekonsultasi.model.OpenSlot;
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.OpenSlotRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.ScheduleRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.service.lock.StripedLockManager;
+import io.micrometer.core.instrument.Counter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpenSlotProjectionTest {
+
+    @Mock private OpenSlotRepository openSlotRepository;
+    @Mock private ScheduleRepository scheduleRepository;
+    @Mock private KonsultasiRepository konsultasiRepository;
+    @Mock private StripedLockManager stripedLockManager;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private Counter openSlotRebuildCounter;
+
+    @Captor private ArgumentCaptor<List<OpenSlot>> slotsCaptor;
+
+    private OpenSlotProjection projection;
+    private UUID caregiverId;
+    private Schedule schedule;
+    private LocalDateTime firstOccurrence;
+
+    @BeforeEach
+    void setUp() {
+        projection = new OpenSlotProjection(openSlotRepository, scheduleRepository, konsultasiRepository,
+                stripedLockManager, transactionManager, openSlotRebuildCounter, 4);
+        lenient().when(stripedLockManager.withLock(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        caregiverId = UUID.randomUUID();
+        LocalDate firstDate = LocalDate.now().plusDays(3);
+        firstOccurrence = LocalDateTime.of(firstDate, LocalTime.of(10, 0));
+        schedule = Schedule.builder()
+                .id(UUID.randomUUID())
+                .caregiverId(caregiverId)
+                .day(firstDate.getDayOfWeek())
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(12, 0))
+                .oneTime(false)
+                .build();
+    }
+
+    @Test
+    void covers_OnlyInsideMaterializedHorizon() {
+        assertTrue(projection.covers(LocalDateTime.now().plusWeeks(3)));
+        assertFalse(projection.covers(LocalDateTime.now().plusWeeks(4)));
+    }
+
+    @Test
+    void refreshSchedule_ReplacesSlotsAndSkipsBookedOccurrences() {
+        Konsultasi booked = Konsultasi.builder()
+                .caregiverId(caregiverId)
+                .scheduleId(UUID.randomUUID())
+                .scheduleDateTime(firstOccurrence.plusWeeks(1).plusMinutes(30))
+                .status("CONFIRMED")
+                .build();
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                eq(List.of(caregiverId)), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(booked));
+        when(scheduleRepository.findAllById(Set.of(schedule.getId()))).thenReturn(List.of(schedule));
+
+        projection.refreshSchedule(schedule);
+
+        verify(stripedLockManager).withLock(eq(caregiverId), any());
+        verify(openSlotRepository).deleteByScheduleIdIn(Set.of(schedule.getId()));
+        verify(openSlotRepository).saveAll(slotsCaptor.capture());
+        assertEquals(List.of(
+                        firstOccurrence, firstOccurrence.plusHours(1),
+                        firstOccurrence.plusWeeks(2), firstOccurrence.plusWeeks(2).plusHours(1),
+                        firstOccurrence.plusWeeks(3), firstOccurrence.plusWeeks(3).plusHours(1)),
+                slotsCaptor.getValue().stream().map(OpenSlot::getSlotStart).toList());
+        assertTrue(slotsCaptor.getValue().stream().allMatch(slot -> slot.getScheduleId().equals(schedule.getId())));
+    }
+
+    @Test
+    void refreshCaregiverWindow_ReopensOnlySlotsAroundReleasedBooking() {
+        LocalDateTime released = firstOccurrence.plusWeeks(1);
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                eq(List.of(caregiverId)), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(List.of(schedule));
+
+        projection.refreshCaregiverWindow(caregiverId, released);
+
+        verify(openSlotRepository).deleteByCaregiverIdWithin(
+                caregiverId, released.minus(SlotGrid.MAX_DURATION), released.plus(SlotGrid.MAX_DURATION));
+        verify(openSlotRepository).saveAll(slotsCaptor.capture());
+        assertEquals(List.of(released, released.plusHours(1)),
+                slotsCaptor.getValue().stream().map(OpenSlot::getSlotStart).toList());
+    }
+
+    @Test
+    void refreshCaregiverWindow_PastBooking_OnlyDeletes() {
+        LocalDateTime past = LocalDateTime.now().minusDays(2);
+
+        projection.refreshCaregiverWindow(caregiverId, past);
+
+        verify(openSlotRepository).deleteByCaregiverIdWithin(
+                caregiverId, past.minus(SlotGrid.MAX_DURATION), past.plus(SlotGrid.MAX_DURATION));
+        verify(openSlotRepository, never()).saveAll(anyList());
+        verifyNoInteractions(scheduleRepository, konsultasiRepository);
+    }
+
+    @Test
+    void removeSchedule_DeletedSchedule_OnlyDeletesItsSlots() {
+        when(scheduleRepository.findAllById(Set.of(schedule.getId()))).thenReturn(List.of());
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                anyList(), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+
+        projection.removeSchedule(schedule);
+
+        verify(openSlotRepository).deleteByScheduleIdIn(Set.of(schedule.getId()));
+        verify(openSlotRepository).saveAll(slotsCaptor.capture());
+        assertTrue(slotsCaptor.getValue().isEmpty());
+    }
+
+    @Test
+    void refreshCaregiverWindow_InsideTransaction_MergesWindowsAndWaitsForCommit() {
+        LocalDateTime first = firstOccurrence.plusWeeks(1);
+        LocalDateTime second = first.plusHours(1);
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                eq(List.of(caregiverId)), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(List.of(schedule));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            projection.refreshCaregiverWindow(caregiverId, first);
+            projection.refreshCaregiverWindows(caregiverId, List.of(second));
+            verifyNoInteractions(openSlotRepository, stripedLockManager);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(stripedLockManager, times(1)).withLock(eq(caregiverId), any());
+        verify(openSlotRepository, times(1)).deleteByCaregiverIdWithin(
+                caregiverId, first.minus(SlotGrid.MAX_DURATION), second.plus(SlotGrid.MAX_DURATION));
+        verify(openSlotRepository, times(1)).saveAll(slotsCaptor.capture());
+        assertEquals(List.of(first, first.plusHours(1)),
+                slotsCaptor.getValue().stream().map(OpenSlot::getSlotStart).toList());
+        assertFalse(TransactionSynchronizationManager.hasResource(projection));
+    }
+
+    @Test
+    void refreshCaregiverWindow_RolledBack_LeavesProjectionUntouched() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            projection.refreshCaregiverWindow(caregiverId, firstOccurrence);
+
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(openSlotRepository, stripedLockManager);
+        assertFalse(TransactionSynchronizationManager.hasResource(projection));
+    }
+
+    @Test
+    void rebuild_ReplacesEachCaregiverUnderItsLock() {
+        when(scheduleRepository.findDistinctCaregiverIds()).thenReturn(List.of(caregiverId));
+        when(scheduleRepository.findByCaregiverId(caregiverId)).thenReturn(List.of(schedule));
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                eq(List.of(caregiverId)), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+
+        projection.rebuild();
+
+        verify(openSlotRepository).deleteOrphaned();
+        verify(stripedLockManager).withLock(eq(caregiverId), any());
+        verify(openSlotRepository).deleteByCaregiverId(caregiverId);
+        verify(openSlotRepository).saveAll(slotsCaptor.capture());
+        assertEquals(8, slotsCaptor.getValue().size());
+        verify(openSlotRepository, never()).deleteAllInBatch();
+        verify(openSlotRebuildCounter).increment();
+    }
+
+    @Test
+    void refreshSchedule_WindowShorterThanConsultation_StoresNothing() {
+        schedule.setEndTime(LocalTime.of(10, 30));
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                anyList(), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(scheduleRepository.findAllById(Set.of(schedule.getId()))).thenReturn(List.of(schedule));
+
+        projection.refreshSchedule(schedule);
+
+        verify(openSlotRepository).saveAll(slotsCaptor.capture());
+        assertTrue(slotsCaptor.getValue().isEmpty());
+    }
+
+    @Test
+    void refreshSchedule_FinerGranularity_BlocksOnlyOverlappingSlots() {
+        schedule.setDurationMinutes(30);
+        schedule.setSlotGranularityMinutes(30);
+        Konsultasi booked = Konsultasi.builder()
+                .caregiverId(caregiverId)
+                .scheduleId(schedule.getId())
+                .scheduleDateTime(firstOccurrence.plusMinutes(30))
+                .durationMinutes(30)
+                .status("REQUESTED")
+                .build();
+        when(konsultasiRepository.findByCaregiverIdInAndStatusNotInAndScheduleDateTimeBetween(
+                eq(List.of(caregiverId)), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(booked));
+        when(scheduleRepository.findAllById(Set.of(schedule.getId()))).thenReturn(List.of(schedule));
+
+        projection.refreshSchedule(schedule);
+
+        verify(openSlotRepository).saveAll(slotsCaptor.capture());
+        List<LocalDateTime> firstDay = slotsCaptor.getValue().stream()
+                .map(OpenSlot::getSlotStart)
+                .filter(start -> start.toLocalDate().equals(firstOccurrence.toLocalDate()))
+                .toList();
+        assertEquals(List.of(firstOccurrence, firstOccurrence.plusMinutes(60), firstOccurrence.plusMinutes(90)),
+                firstDay);
+        assertEquals(15, slotsCaptor.getValue().size());
+    }
+}
@@ -0,0 +1,128 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleOccurrencesTest {
+
+    private static final LocalDateTime MONDAY_NOON = LocalDateTime.of(2030, 1, 7, 12, 0);
+
+    @Test
+    void from_RecurringSchedule_StreamsWeeklyOccurrences() {
+        Schedule wednesday = recurring(DayOfWeek.WEDNESDAY, 9);
+
+        List<LocalDateTime> occurrences = ScheduleOccurrences.from(wednesday, MONDAY_NOON).limit(3).toList();
+
+        assertEquals(List.of(
+                LocalDateTime.of(2030, 1, 9, 9, 0),
+                LocalDateTime.of(2030, 1, 16, 9, 0),
+                LocalDateTime.of(2030, 1, 23, 9, 0)
+        ), occurrences);
+    }
+
+    @Test
+    void from_SameWeekdayStartPassed_BeginsNextWeek() {
+        Schedule mondayMorning = recurring(DayOfWeek.MONDAY, 9);
+        Schedule mondayNoon = recurring(DayOfWeek.MONDAY, 12);
+
+        assertEquals(LocalDateTime.of(2030, 1, 14, 9, 0),
+                ScheduleOccurrences.from(mondayMorning, MONDAY_NOON).findFirst().orElseThrow());
+        assertEquals(MONDAY_NOON,
+                ScheduleOccurrences.from(mondayNoon, MONDAY_NOON).findFirst().orElseThrow());
+    }
+
+    @Test
+    void between_IsBoundedAndSized() {
+        Schedule wednesday = recurring(DayOfWeek.WEDNESDAY, 9);
+        LocalDateTime until = LocalDateTime.of(2030, 1, 23, 9, 0);
+
+        Spliterator<LocalDateTime> spliterator = ScheduleOccurrences.spliterator(wednesday, MONDAY_NOON, until);
+
+        assertEquals(3, spliterator.getExactSizeIfKnown());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED));
+        assertEquals(3, ScheduleOccurrences.between(wednesday, MONDAY_NOON, until).count());
+        assertEquals(2, ScheduleOccurrences.between(wednesday, MONDAY_NOON, until.minusMinutes(1)).count());
+    }
+
+    @Test
+    void between_SlotGrid_YieldsEverySlotOfEachOccurrence() {
+        Schedule wednesday = Schedule.builder()
+                .day(DayOfWeek.WEDNESDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(10, 30))
+                .durationMinutes(30)
+                .slotGranularityMinutes(30)
+                .oneTime(false)
+                .build();
+        LocalDateTime from = LocalDateTime.of(2030, 1, 9, 9, 15);
+        LocalDateTime until = LocalDateTime.of(2030, 1, 16, 9, 30);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2030, 1, 9, 9, 30),
+                LocalDateTime.of(2030, 1, 9, 10, 0),
+                LocalDateTime.of(2030, 1, 16, 9, 0),
+                LocalDateTime.of(2030, 1, 16, 9, 30)
+        ), ScheduleOccurrences.between(wednesday, from, until).toList());
+        assertEquals(4, ScheduleOccurrences.spliterator(wednesday, from, until).getExactSizeIfKnown());
+    }
+
+    @Test
+    void from_IsLazy_AndStopsEarly() {
+        AtomicInteger produced = new AtomicInteger();
+
+        ScheduleOccurrences.from(recurring(DayOfWeek.FRIDAY, 8), MONDAY_NOON)
+                .peek(occurrence -> produced.incrementAndGet())
+                .filter(occurrence -> occurrence.getMonthValue() == 2)
+                .findFirst();
+
+        assertEquals(4, produced.get());
+    }
+
+    @Test
+    void oneTimeSchedule_YieldsSingleOccurrenceInsideRange() {
+        Schedule oneTime = Schedule.builder()
+                .day(DayOfWeek.THURSDAY)
+                .specificDate(LocalDate.of(2030, 1, 10))
+                .startTime(LocalTime.of(15, 0))
+                .endTime(LocalTime.of(16, 0))
+                .oneTime(true)
+                .build();
+
+        assertEquals(List.of(LocalDateTime.of(2030, 1, 10, 15, 0)),
+                ScheduleOccurrences.from(oneTime, MONDAY_NOON).toList());
+        assertTrue(ScheduleOccurrences.from(oneTime, LocalDateTime.of(2030, 1, 11, 0, 0)).toList().isEmpty());
+        assertTrue(ScheduleOccurrences.between(oneTime, MONDAY_NOON, LocalDateTime.of(2030, 1, 9, 0, 0))
+                .toList().isEmpty());
+    }
+
+    @Test
+    void oneTimeScheduleWithoutDate_YieldsNothing() {
+        Schedule oneTime = Schedule.builder()
+                .day(DayOfWeek.THURSDAY)
+                .startTime(LocalTime.of(15, 0))
+                .endTime(LocalTime.of(16, 0))
+                .oneTime(true)
+                .build();
+
+        assertEquals(0, ScheduleOccurrences.from(oneTime, MONDAY_NOON).count());
+    }
+
+    private Schedule recurring(DayOfWeek day, int startHour) {
+        return Schedule.builder()
+                .day(day)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(startHour + 1, 0))
+                .oneTime(false)
+                .build();
+    }
+}
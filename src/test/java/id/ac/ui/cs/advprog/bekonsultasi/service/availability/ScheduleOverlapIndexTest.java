@@ -0,0 +1,123 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleOverlapIndexTest {
+
+    private LocalDate today;
+    private LocalDate nextMonday;
+    private Schedule weeklyMonday;
+    private Schedule oneTime;
+    private ScheduleOverlapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.of(2030, 1, 1);
+        nextMonday = LocalDate.of(2030, 1, 7);
+        weeklyMonday = recurring(DayOfWeek.MONDAY, 9, 12);
+        oneTime = oneTime(LocalDate.of(2030, 1, 8), 13, 15);
+        index = ScheduleOverlapIndex.of(List.of(weeklyMonday, oneTime), today);
+    }
+
+    @Test
+    void findRecurringConflict_OverlappingRecurring_ReturnsSchedule() {
+        assertEquals(weeklyMonday,
+                index.findRecurringConflict(DayOfWeek.MONDAY, LocalTime.of(11, 0), LocalTime.of(13, 0)).orElse(null));
+    }
+
+    @Test
+    void findRecurringConflict_AdjacentRecurring_ReturnsEmpty() {
+        assertTrue(index.findRecurringConflict(DayOfWeek.MONDAY, LocalTime.of(12, 0), LocalTime.of(13, 0)).isEmpty());
+        assertTrue(index.findRecurringConflict(DayOfWeek.FRIDAY, LocalTime.of(9, 0), LocalTime.of(12, 0)).isEmpty());
+    }
+
+    @Test
+    void findRecurringConflict_OverlappingFutureOneTime_ReturnsSchedule() {
+        assertEquals(oneTime,
+                index.findRecurringConflict(DayOfWeek.TUESDAY, LocalTime.of(14, 0), LocalTime.of(16, 0)).orElse(null));
+    }
+
+    @Test
+    void findOneTimeConflict_OverlappingRecurringDay_ReturnsSchedule() {
+        assertEquals(weeklyMonday,
+                index.findOneTimeConflict(nextMonday, LocalTime.of(8, 0), LocalTime.of(9, 30)).orElse(null));
+    }
+
+    @Test
+    void findOneTimeConflict_OverlappingOneTimeSameDate_ReturnsSchedule() {
+        assertEquals(oneTime,
+                index.findOneTimeConflict(LocalDate.of(2030, 1, 8), LocalTime.of(12, 0), LocalTime.of(13, 30)).orElse(null));
+        assertTrue(index.findOneTimeConflict(LocalDate.of(2030, 1, 15), LocalTime.of(12, 0), LocalTime.of(13, 30)).isEmpty());
+    }
+
+    @Test
+    void findConflict_ExactMatch_ReturnsSchedule() {
+        assertTrue(index.findRecurringConflict(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0)).isPresent());
+    }
+
+    @Test
+    void findConflict_PastOneTimeScheduleIsIgnored() {
+        Schedule past = oneTime(LocalDate.of(2029, 12, 25), 9, 10);
+        ScheduleOverlapIndex withPast = ScheduleOverlapIndex.of(List.of(past), today);
+
+        assertTrue(withPast.findRecurringConflict(DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)).isEmpty());
+    }
+
+    @Test
+    void findConflict_ManyUnsortedIntervals_FindsWitness() {
+        ScheduleOverlapIndex many = ScheduleOverlapIndex.of(List.of(
+                recurring(DayOfWeek.WEDNESDAY, 16, 17),
+                recurring(DayOfWeek.WEDNESDAY, 8, 9),
+                recurring(DayOfWeek.WEDNESDAY, 12, 14),
+                recurring(DayOfWeek.WEDNESDAY, 10, 11)), today);
+
+        assertEquals(LocalTime.of(12, 0),
+                many.findRecurringConflict(DayOfWeek.WEDNESDAY, LocalTime.of(13, 0), LocalTime.of(16, 0))
+                        .map(Schedule::getStartTime).orElse(null));
+        assertTrue(many.findRecurringConflict(DayOfWeek.WEDNESDAY, LocalTime.of(14, 0), LocalTime.of(16, 0)).isEmpty());
+    }
+
+    @Test
+    void add_AfterBulkLoad_KeepsIntervalsOrdered() {
+        ScheduleOverlapIndex many = ScheduleOverlapIndex.of(List.of(
+                recurring(DayOfWeek.WEDNESDAY, 16, 17),
+                recurring(DayOfWeek.WEDNESDAY, 8, 9)), today);
+        many.add(recurring(DayOfWeek.WEDNESDAY, 7, 15));
+
+        assertEquals(LocalTime.of(7, 0),
+                many.findRecurringConflict(DayOfWeek.WEDNESDAY, LocalTime.of(13, 0), LocalTime.of(14, 0))
+                        .map(Schedule::getStartTime).orElse(null));
+        assertTrue(many.findRecurringConflict(DayOfWeek.WEDNESDAY, LocalTime.of(15, 0), LocalTime.of(16, 0)).isEmpty());
+    }
+
+    private Schedule recurring(DayOfWeek day, int startHour, int endHour) {
+        return Schedule.builder()
+                .id(UUID.randomUUID())
+                .day(day)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .oneTime(false)
+                .build();
+    }
+
+    private Schedule oneTime(LocalDate date, int startHour, int endHour) {
+        return Schedule.builder()
+                .id(UUID.randomUUID())
+                .day(date.getDayOfWeek())
+                .specificDate(date)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .oneTime(true)
+                .build();
+    }
+}
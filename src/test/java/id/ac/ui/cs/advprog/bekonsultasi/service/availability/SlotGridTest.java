@@ -0,0 +1,87 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotGridTest {
+
+    @Test
+    void of_DefaultSettings_OneSlotPerHour() {
+        SlotGrid grid = SlotGrid.of(schedule(9, 13, 60, 60));
+
+        assertEquals(4, grid.size());
+        assertEquals(9 * 60, grid.startMinuteAt(0));
+        assertEquals(LocalTime.of(12, 0), grid.startTimeAt(3));
+        assertEquals(Duration.ofHours(1), grid.duration());
+    }
+
+    @Test
+    void of_FinerGranularity_LastSlotStillFitsDuration() {
+        SlotGrid grid = SlotGrid.of(schedule(9, 13, 45, 15));
+
+        assertEquals(14, grid.size());
+        assertEquals(LocalTime.of(12, 15), grid.startTimeAt(grid.size() - 1));
+    }
+
+    @Test
+    void of_WindowShorterThanDuration_IsEmpty() {
+        SlotGrid grid = SlotGrid.of(LocalTime.of(10, 0), LocalTime.of(10, 30), 60, 60);
+
+        assertTrue(grid.isEmpty());
+        assertFalse(grid.contains(LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void of_SameShape_ReusesCompiledGrid() {
+        assertSame(SlotGrid.of(schedule(8, 16, 30, 30)), SlotGrid.of(schedule(8, 16, 30, 30)));
+    }
+
+    @Test
+    void contains_OnlyGridAlignedStarts() {
+        SlotGrid grid = SlotGrid.of(schedule(9, 11, 30, 20));
+
+        assertTrue(grid.contains(LocalTime.of(9, 0)));
+        assertTrue(grid.contains(LocalTime.of(9, 40)));
+        assertTrue(grid.contains(LocalTime.of(10, 20)));
+        assertFalse(grid.contains(LocalTime.of(10, 40)));
+        assertFalse(grid.contains(LocalTime.of(9, 30)));
+        assertFalse(grid.contains(LocalTime.of(9, 20, 30)));
+        assertFalse(grid.contains(LocalTime.of(8, 40)));
+    }
+
+    @Test
+    void firstIndexAtOrAfter_AndCountAtOrBefore_UseSecondsOfDay() {
+        SlotGrid grid = SlotGrid.of(schedule(9, 11, 30, 30));
+
+        assertEquals(0, grid.firstIndexAtOrAfter(LocalTime.of(8, 0).toSecondOfDay()));
+        assertEquals(1, grid.firstIndexAtOrAfter(LocalTime.of(9, 0, 1).toSecondOfDay()));
+        assertEquals(4, grid.firstIndexAtOrAfter(LocalTime.of(10, 31).toSecondOfDay()));
+        assertEquals(0, grid.countAtOrBefore(LocalTime.of(8, 59).toSecondOfDay()));
+        assertEquals(2, grid.countAtOrBefore(LocalTime.of(9, 30).toSecondOfDay()));
+        assertEquals(4, grid.countAtOrBefore(LocalTime.of(23, 0).toSecondOfDay()));
+    }
+
+    @Test
+    void validate_RejectsUnsupportedSettings() {
+        assertThrows(IllegalArgumentException.class, () -> SlotGrid.validate(60, 25));
+        assertThrows(IllegalArgumentException.class, () -> SlotGrid.validate(10, 15));
+        assertThrows(IllegalArgumentException.class, () -> SlotGrid.validate(300, 60));
+        assertDoesNotThrow(() -> SlotGrid.validate(45, 15));
+    }
+
+    private Schedule schedule(int startHour, int endHour, int durationMinutes, int granularityMinutes) {
+        return Schedule.builder()
+                .day(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .durationMinutes(durationMinutes)
+                .slotGranularityMinutes(granularityMinutes)
+                .build();
+    }
+}
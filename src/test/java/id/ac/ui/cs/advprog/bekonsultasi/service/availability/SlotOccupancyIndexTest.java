@@ -0,0 +1,201 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.availability;
+
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import io.micrometer.core.instrument.Counter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotOccupancyIndexTest {
+
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
+
+    @Mock private KonsultasiRepository konsultasiRepository;
+    @Mock private Counter slotIndexRebuildCounter;
+    @Mock private Counter slotIndexMismatchCounter;
+
+    private SlotOccupancyIndex index;
+    private UUID caregiverId;
+    private LocalDateTime booked;
+
+    @BeforeEach
+    void setUp() {
+        index = new SlotOccupancyIndex(konsultasiRepository, slotIndexRebuildCounter, slotIndexMismatchCounter, 30);
+        caregiverId = UUID.randomUUID();
+        booked = LocalDate.now().plusDays(3).atTime(10, 0);
+    }
+
+    @Test
+    void isFree_NoBookings_ReturnsTrue() {
+        rebuildWith();
+
+        assertTrue(index.isFree(caregiverId, booked, ONE_HOUR));
+        verify(konsultasiRepository, never()).findConflictingCaregiverBookings(any(), any(), any(), any(), any(),
+                any());
+    }
+
+    @Test
+    void isFree_BeforeRebuild_AsksRepository() {
+        when(konsultasiRepository.findConflictingCaregiverBookings(eq(caregiverId), anyCollection(),
+                eq(booked.minus(SlotGrid.MAX_DURATION)), eq(booked), eq(booked.plus(ONE_HOUR)), any()))
+                .thenReturn(List.of(UUID.randomUUID()));
+
+        assertFalse(index.isFree(caregiverId, booked, ONE_HOUR));
+    }
+
+    @Test
+    void isFree_BeyondHorizon_AsksRepository() {
+        rebuildWith();
+        LocalDateTime farAhead = LocalDate.now().plusDays(45).atTime(10, 0);
+        when(konsultasiRepository.findConflictingCaregiverBookings(eq(caregiverId), anyCollection(), any(),
+                eq(farAhead), any(), any())).thenReturn(Collections.emptyList());
+
+        assertTrue(index.isFree(caregiverId, farAhead, ONE_HOUR));
+    }
+
+    @Test
+    void occupy_BlocksOverlappingSlots() {
+        rebuildWith();
+        index.occupy(caregiverId, booked, ONE_HOUR);
+
+        assertFalse(index.isFree(caregiverId, booked, ONE_HOUR));
+        assertFalse(index.isFree(caregiverId, booked.minusMinutes(30), ONE_HOUR));
+        assertFalse(index.isFree(caregiverId, booked.plusMinutes(59), ONE_HOUR));
+        assertTrue(index.isFree(caregiverId, booked.minusHours(1), ONE_HOUR));
+        assertTrue(index.isFree(caregiverId, booked.plusHours(1), ONE_HOUR));
+        assertTrue(index.isFree(UUID.randomUUID(), booked, ONE_HOUR));
+    }
+
+    @Test
+    void occupy_AcrossMidnight_BlocksBothDays() {
+        rebuildWith();
+        LocalDateTime lateNight = booked.toLocalDate().atTime(23, 30);
+        LocalDate nextDay = booked.toLocalDate().plusDays(1);
+        index.occupy(caregiverId, lateNight, ONE_HOUR);
+
+        assertFalse(index.isFree(caregiverId, nextDay.atStartOfDay(), ONE_HOUR));
+        assertTrue(index.isFree(caregiverId, nextDay.atTime(0, 30), ONE_HOUR));
+    }
+
+    @Test
+    void release_FreesSlot() {
+        rebuildWith();
+        index.occupy(caregiverId, booked, ONE_HOUR);
+        index.release(caregiverId, booked, ONE_HOUR);
+
+        assertTrue(index.isFree(caregiverId, booked, ONE_HOUR));
+    }
+
+    @Test
+    void rebuild_LoadsActiveKonsultations() {
+        rebuildWith(activeSlot(caregiverId, booked));
+
+        assertFalse(index.isFree(caregiverId, booked, ONE_HOUR));
+        verify(slotIndexRebuildCounter).increment();
+        verify(konsultasiRepository).findActiveSlotsStartingBetween(anyCollection(),
+                eq(LocalDate.now().atStartOfDay().minus(SlotGrid.MAX_DURATION)),
+                eq(LocalDate.now().plusDays(30).atStartOfDay()));
+    }
+
+    @Test
+    void rebuild_KeepsBookingsMadeWhileLoading() {
+        rebuildWith();
+        when(konsultasiRepository.findActiveSlotsStartingBetween(anyCollection(), any(), any()))
+                .thenAnswer(invocation -> {
+                    index.occupy(caregiverId, booked, ONE_HOUR);
+                    return Collections.emptyList();
+                });
+
+        index.rebuild();
+
+        assertFalse(index.isFree(caregiverId, booked, ONE_HOUR));
+        verify(konsultasiRepository, never()).findConflictingCaregiverBookings(any(), any(), any(), any(), any(),
+                any());
+    }
+
+    @Test
+    void verifyConsistency_MatchingIndex_ReportsNoMismatch() {
+        rebuildWith(activeSlot(caregiverId, booked));
+
+        assertEquals(0, index.verifyConsistency());
+        verifyNoInteractions(slotIndexMismatchCounter);
+    }
+
+    @Test
+    void verifyConsistency_StaleIndex_RepairsOnSecondSighting() {
+        rebuildWith();
+        index.occupy(caregiverId, booked, ONE_HOUR);
+        when(konsultasiRepository.findConflictingCaregiverBookings(eq(caregiverId), anyCollection(), any(), any(),
+                any(), any())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, index.verifyConsistency());
+        assertTrue(index.isFree(caregiverId, booked, ONE_HOUR));
+        verifyNoInteractions(slotIndexMismatchCounter);
+
+        assertEquals(1, index.verifyConsistency());
+        verify(slotIndexMismatchCounter).increment(1);
+        assertTrue(index.isFree(caregiverId, booked, ONE_HOUR));
+        verify(konsultasiRepository, times(1)).findConflictingCaregiverBookings(any(), any(), any(), any(), any(),
+                any());
+    }
+
+    @Test
+    void verifyConsistency_CommitSeenBeforeItsHook_IsNotReported() {
+        rebuildWith();
+        KonsultasiRepository.ActiveSlot committed = activeSlot(caregiverId, booked);
+        when(konsultasiRepository.findActiveSlotsStartingBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of(committed));
+
+        assertEquals(0, index.verifyConsistency());
+        index.occupy(caregiverId, booked, ONE_HOUR);
+        assertEquals(0, index.verifyConsistency());
+
+        verifyNoInteractions(slotIndexMismatchCounter);
+        assertFalse(index.isFree(caregiverId, booked, ONE_HOUR));
+        verify(konsultasiRepository, never()).findConflictingCaregiverBookings(any(), any(), any(), any(), any(),
+                any());
+    }
+
+    @Test
+    void verifyConsistency_DropsPastDays() {
+        rebuildWith();
+        LocalDateTime yesterday = LocalDate.now().minusDays(1).atTime(10, 0);
+        index.occupy(caregiverId, yesterday, ONE_HOUR);
+        when(konsultasiRepository.findConflictingCaregiverBookings(eq(caregiverId), anyCollection(), any(),
+                eq(yesterday), any(), any())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, index.verifyConsistency());
+        assertTrue(index.isFree(caregiverId, yesterday, ONE_HOUR));
+        verifyNoInteractions(slotIndexMismatchCounter);
+    }
+
+    private void rebuildWith(KonsultasiRepository.ActiveSlot... slots) {
+        when(konsultasiRepository.findActiveSlotsStartingBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of(slots));
+        index.rebuild();
+    }
+
+    private KonsultasiRepository.ActiveSlot activeSlot(UUID caregiver, LocalDateTime start) {
+        KonsultasiRepository.ActiveSlot slot = mock(KonsultasiRepository.ActiveSlot.class);
+        when(slot.getCaregiverId()).thenReturn(caregiver);
+        when(slot.getScheduleDateTime()).thenReturn(start);
+        when(slot.getDurationMinutes()).thenReturn(60);
+        return slot;
+    }
+}
@@ -0,0 +1,109 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.cache;
+
+import id.ac.ui.cs.advprog.bekonsultasi.dto.AvailabilityHeatmapDto;
+import io.micrometer.core.instrument.Counter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityHeatmapCacheTest {
+
+    @Mock private Counter scheduleHeatmapCacheHitCounter;
+
+    private AvailabilityHeatmapCache cache;
+    private UUID caregiverId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AvailabilityHeatmapCache(scheduleHeatmapCacheHitCounter, 2, 60);
+        caregiverId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_SecondLookup_IsServedFromCache() {
+        AvailabilityHeatmapDto first = cache.get(caregiverId, 4, loader(caregiverId));
+        AvailabilityHeatmapDto second = cache.get(caregiverId, 4, loader(caregiverId));
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        verify(scheduleHeatmapCacheHitCounter).increment();
+    }
+
+    @Test
+    void get_DifferentHorizon_IsCachedSeparately() {
+        cache.get(caregiverId, 4, loader(caregiverId));
+        cache.get(caregiverId, 8, loader(caregiverId));
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void invalidate_DropsEveryHorizonForCaregiver() {
+        UUID other = UUID.randomUUID();
+        cache.get(caregiverId, 4, loader(caregiverId));
+        cache.get(other, 4, loader(other));
+
+        cache.invalidate(caregiverId);
+        cache.get(caregiverId, 4, loader(caregiverId));
+        cache.get(other, 4, loader(other));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidate_DuringLoad_DiscardsStaleResult() {
+        cache.get(caregiverId, 4, () -> {
+            cache.invalidate(caregiverId);
+            return AvailabilityHeatmapDto.builder().caregiverId(caregiverId).build();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_ExpiredEntry_IsReloaded() {
+        cache = new AvailabilityHeatmapCache(scheduleHeatmapCacheHitCounter, 2, 0);
+
+        cache.get(caregiverId, 4, loader(caregiverId));
+        cache.get(caregiverId, 4, loader(caregiverId));
+
+        assertEquals(2, loads.get());
+        verifyNoInteractions(scheduleHeatmapCacheHitCounter);
+    }
+
+    @Test
+    void get_OverCapacity_EvictsLeastRecentlyUsed() {
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.get(caregiverId, 4, loader(caregiverId));
+        cache.get(second, 4, loader(second));
+        cache.get(caregiverId, 4, loader(caregiverId));
+
+        cache.get(third, 4, loader(third));
+        cache.get(caregiverId, 4, loader(caregiverId));
+        cache.get(second, 4, loader(second));
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    private Supplier<AvailabilityHeatmapDto> loader(UUID id) {
+        return () -> {
+            loads.incrementAndGet();
+            return AvailabilityHeatmapDto.builder().caregiverId(id).build();
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.cache;
+
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ScheduleResponseDto;
+import io.micrometer.core.instrument.Counter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaregiverScheduleCacheTest {
+
+    @Mock private Counter scheduleCacheHitCounter;
+    @Mock private Counter scheduleCacheMissCounter;
+    @Mock private Counter scheduleCacheEvictionCounter;
+
+    private CaregiverScheduleCache cache;
+    private UUID caregiverId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaregiverScheduleCache(scheduleCacheHitCounter, scheduleCacheMissCounter,
+                scheduleCacheEvictionCounter, 2, 300);
+        caregiverId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_SecondLookup_IsServedFromCache() {
+        List<ScheduleResponseDto> first = cache.get(caregiverId, loader(caregiverId));
+        List<ScheduleResponseDto> second = cache.get(caregiverId, loader(caregiverId));
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        verify(scheduleCacheMissCounter).increment();
+        verify(scheduleCacheHitCounter).increment();
+    }
+
+    @Test
+    void invalidate_ForcesReload() {
+        cache.get(caregiverId, loader(caregiverId));
+
+        cache.invalidate(caregiverId);
+        cache.get(caregiverId, loader(caregiverId));
+
+        assertEquals(2, loads.get());
+        verify(scheduleCacheMissCounter, times(2)).increment();
+    }
+
+    @Test
+    void invalidate_DuringLoad_DiscardsStaleResult() {
+        cache.get(caregiverId, () -> {
+            cache.invalidate(caregiverId);
+            return List.of();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_OverCapacity_EvictsLeastRecentlyUsed() {
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.get(caregiverId, loader(caregiverId));
+        cache.get(second, loader(second));
+        cache.get(caregiverId, loader(caregiverId));
+
+        cache.get(third, loader(third));
+        cache.get(caregiverId, loader(caregiverId));
+
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+        verify(scheduleCacheEvictionCounter).increment();
+    }
+
+    @Test
+    void get_ExpiredEntry_IsReloaded() {
+        CaregiverScheduleCache expiring = new CaregiverScheduleCache(scheduleCacheHitCounter,
+                scheduleCacheMissCounter, scheduleCacheEvictionCounter, 10, 0);
+
+        expiring.get(caregiverId, loader(caregiverId));
+        expiring.get(caregiverId, loader(caregiverId));
+
+        assertEquals(2, loads.get());
+        verify(scheduleCacheEvictionCounter).increment();
+        verify(scheduleCacheHitCounter, never()).increment();
+    }
+
+    private Supplier<List<ScheduleResponseDto>> loader(UUID id) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(ScheduleResponseDto.builder().id(UUID.randomUUID()).caregiverId(id).build());
+        };
+    }
+}
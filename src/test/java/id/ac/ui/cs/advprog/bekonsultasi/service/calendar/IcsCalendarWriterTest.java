@@ -0,0 +1,126 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.calendar;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.Schedule;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiCalendarEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IcsCalendarWriterTest {
+
+    private StringWriter out;
+    private IcsCalendarWriter calendar;
+
+    @BeforeEach
+    void setUp() {
+        out = new StringWriter();
+        calendar = new IcsCalendarWriter(out, ZoneId.of("Asia/Jakarta"));
+    }
+
+    @Test
+    void availability_RecurringSchedule_IsSingleWeeklyRule() {
+        Schedule schedule = Schedule.builder()
+                .id(UUID.randomUUID())
+                .day(DayOfWeek.WEDNESDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(12, 0))
+                .oneTime(false)
+                .lastUpdated(LocalDateTime.of(2025, 6, 1, 10, 0))
+                .build();
+
+        calendar.availability(schedule);
+
+        String ics = out.toString();
+        assertTrue(ics.contains("DTSTART;TZID=Asia/Jakarta:20240103T090000\r\n"));
+        assertTrue(ics.contains("DTEND;TZID=Asia/Jakarta:20240103T120000\r\n"));
+        assertTrue(ics.contains("RRULE:FREQ=WEEKLY;BYDAY=WE\r\n"));
+        assertTrue(ics.contains("DTSTAMP:20250601T030000Z\r\n"));
+    }
+
+    @Test
+    void availability_OneTimeSchedule_HasNoRule() {
+        Schedule schedule = Schedule.builder()
+                .id(UUID.randomUUID())
+                .day(DayOfWeek.FRIDAY)
+                .specificDate(LocalDate.of(2025, 6, 6))
+                .startTime(LocalTime.of(13, 0))
+                .endTime(LocalTime.of(14, 0))
+                .oneTime(true)
+                .build();
+
+        calendar.availability(schedule);
+
+        String ics = out.toString();
+        assertTrue(ics.contains("DTSTART;TZID=Asia/Jakarta:20250606T130000\r\n"));
+        assertFalse(ics.contains("RRULE"));
+    }
+
+    @Test
+    void consultation_UsesBookedDurationAndMapsStatus() {
+        calendar.consultation(entry(LocalDateTime.of(2025, 6, 2, 10, 0), 30, "CANCELLED"));
+
+        String ics = out.toString();
+        assertTrue(ics.contains("DTSTART;TZID=Asia/Jakarta:20250602T100000\r\n"));
+        assertTrue(ics.contains("DTEND;TZID=Asia/Jakarta:20250602T103000\r\n"));
+        assertTrue(ics.contains("STATUS:CANCELLED\r\n"));
+    }
+
+    @Test
+    void consultation_StampsInUtc() {
+        calendar.consultation(entry(LocalDateTime.of(2025, 6, 2, 10, 0), 60, "REQUESTED"));
+
+        String ics = out.toString();
+        assertTrue(ics.contains("DTSTAMP:20250601T030000Z\r\n"));
+        assertTrue(ics.contains("STATUS:TENTATIVE\r\n"));
+    }
+
+    @Test
+    void beginAndEnd_WrapEventsInCalendar() {
+        calendar.begin("My consultations");
+        calendar.end();
+
+        String ics = out.toString();
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.contains("X-WR-CALNAME:My consultations\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+    }
+
+    private KonsultasiCalendarEntry entry(LocalDateTime start, int durationMinutes, String status) {
+        UUID id = UUID.randomUUID();
+        return new KonsultasiCalendarEntry() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getScheduleDateTime() {
+                return start;
+            }
+
+            @Override
+            public Integer getDurationMinutes() {
+                return durationMinutes;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdated() {
+                return LocalDateTime.of(2025, 6, 1, 10, 0);
+            }
+        };
+    }
+}
@@ -45,6 +45,24 @@ class CaregiverScheduleFactoryTest {
         assertEquals(endTime, schedule.getEndTime());
         assertFalse(schedule.isOneTime());
         assertNull(schedule.getSpecificDate());
+        assertEquals(60, schedule.getDurationMinutes());
+        assertEquals(60, schedule.getSlotGranularityMinutes());
+    }
+
+    @Test
+    void testCreateScheduleWithSlotSettings() {
+        CreateScheduleDto dto = CreateScheduleDto.builder()
+                .day(DayOfWeek.TUESDAY)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(12, 0))
+                .durationMinutes(30)
+                .slotGranularityMinutes(15)
+                .build();
+
+        Schedule schedule = factory.createSchedule(dto, caregiverId);
+
+        assertEquals(30, schedule.getDurationMinutes());
+        assertEquals(15, schedule.getSlotGranularityMinutes());
     }
 
     @Test
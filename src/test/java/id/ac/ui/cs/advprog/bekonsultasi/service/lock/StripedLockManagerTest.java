@@ -0,0 +1,136 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.lock;
+
+import id.ac.ui.cs.advprog.bekonsultasi.exception.ScheduleConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StripedLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new StripedLockManager(meterRegistry, 16, 200);
+    }
+
+    @Test
+    void stripeCount_RoundsUpToPowerOfTwo() {
+        assertEquals(16, lockManager.stripeCount());
+        assertEquals(64, new StripedLockManager(new SimpleMeterRegistry(), 50, 100).stripeCount());
+        assertEquals(1, new StripedLockManager(new SimpleMeterRegistry(), 0, 100).stripeCount());
+        assertEquals(4096, new StripedLockManager(new SimpleMeterRegistry(), 100_000, 100).stripeCount());
+    }
+
+    @Test
+    void stripeIndex_IsStableAndWithinBounds() {
+        UUID key = UUID.randomUUID();
+        int index = lockManager.stripeIndex(key);
+
+        assertEquals(index, lockManager.stripeIndex(UUID.fromString(key.toString())));
+        for (int i = 0; i < 1000; i++) {
+            int other = lockManager.stripeIndex(UUID.randomUUID());
+            assertTrue(other >= 0 && other < lockManager.stripeCount());
+        }
+    }
+
+    @Test
+    void withLock_ReturnsActionResultAndRecordsWait() {
+        String result = lockManager.withLock(UUID.randomUUID(), () -> "booked");
+
+        assertEquals("booked", result);
+        assertEquals(1, meterRegistry.get("konsultasi.booking.lock.wait").timer().count());
+    }
+
+    @Test
+    void withLock_ReleasesStripeWhenActionThrows() {
+        UUID key = UUID.randomUUID();
+
+        assertThrows(IllegalStateException.class, () -> lockManager.withLock(key, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("again", lockManager.withLock(key, () -> "again"));
+    }
+
+    @Test
+    void withLock_IsReentrantForSameKey() {
+        UUID key = UUID.randomUUID();
+
+        String result = lockManager.withLock(key, () -> lockManager.withLock(key, () -> "nested"));
+
+        assertEquals("nested", result);
+    }
+
+    @Test
+    void withLock_SerializesSameKey() throws Exception {
+        UUID key = UUID.randomUUID();
+        StripedLockManager manager = new StripedLockManager(meterRegistry, 16, 5000);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[32];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> manager.withLock(key, () -> {
+                    maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    Thread.onSpinWait();
+                    inside.decrementAndGet();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void withLock_TimesOutWhenStripeIsHeld() throws Exception {
+        UUID key = UUID.randomUUID();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> lockManager.withLock(key, () -> {
+            held.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        try {
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ScheduleConflictException.class, () -> lockManager.withLock(key, () -> "late"));
+            assertEquals(1.0, meterRegistry.get("konsultasi.booking.lock.timeout.total").counter().count());
+        } finally {
+            release.countDown();
+            holder.join(5000);
+        }
+    }
+
+    @Test
+    void queueLengthGauge_RegisteredPerStripe() {
+        assertEquals(lockManager.stripeCount(),
+                meterRegistry.get("konsultasi.booking.lock.queue.length").gauges().size());
+        assertEquals(0.0, meterRegistry.get("konsultasi.booking.lock.queue.length")
+                .tag("stripe", "0").gauge().value());
+    }
+}
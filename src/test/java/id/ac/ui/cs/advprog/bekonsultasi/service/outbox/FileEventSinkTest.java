@@ -0,0 +1,58 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileEventSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void publish_AppendsOneJsonLinePerEvent() throws Exception {
+        Path file = tempDir.resolve("events/konsultasi.jsonl");
+        FileEventSink sink = new FileEventSink(objectMapper, file.toString());
+        UUID konsultasiId = UUID.randomUUID();
+
+        sink.publish(event(7L, konsultasiId));
+        sink.publish(event(8L, konsultasiId));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(7L, first.get("eventId").asLong());
+        assertEquals(konsultasiId.toString(), first.get("event").get("konsultasiId").asText());
+        assertEquals(8L, objectMapper.readTree(lines.get(1)).get("eventId").asLong());
+    }
+
+    @Test
+    void publish_UnwritablePath_Throws() throws Exception {
+        Path blocker = Files.createFile(tempDir.resolve("not-a-directory"));
+        FileEventSink sink = new FileEventSink(objectMapper, blocker.resolve("events.jsonl").toString());
+
+        assertThrows(UncheckedIOException.class, () -> sink.publish(event(1L, UUID.randomUUID())));
+    }
+
+    private KonsultasiOutboxEvent event(long id, UUID konsultasiId) {
+        return KonsultasiOutboxEvent.builder()
+                .id(id)
+                .konsultasiId(konsultasiId)
+                .eventType("CREATED")
+                .status("REQUESTED")
+                .payload("{\"konsultasiId\":\"" + konsultasiId + "\",\"status\":\"REQUESTED\"}")
+                .build();
+    }
+}
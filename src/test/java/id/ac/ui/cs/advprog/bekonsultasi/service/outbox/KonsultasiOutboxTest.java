@@ -0,0 +1,99 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KonsultasiOutboxTest {
+
+    @Mock
+    private KonsultasiOutboxRepository outboxRepository;
+
+    private ObjectMapper objectMapper;
+    private KonsultasiOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        outbox = new KonsultasiOutbox(outboxRepository, objectMapper);
+    }
+
+    @Test
+    void record_StoresPendingEventWithSerializedSnapshot() throws Exception {
+        Konsultasi konsultasi = konsultasi("CONFIRMED");
+
+        konsultasi.setVersion(3);
+
+        outbox.record(konsultasi, KonsultasiEventType.CONFIRMED);
+
+        ArgumentCaptor<KonsultasiOutboxEvent> saved = ArgumentCaptor.forClass(KonsultasiOutboxEvent.class);
+        InOrder inOrder = inOrder(outboxRepository);
+        inOrder.verify(outboxRepository).flush();
+        inOrder.verify(outboxRepository).save(saved.capture());
+        KonsultasiOutboxEvent event = saved.getValue();
+        assertEquals(konsultasi.getId(), event.getKonsultasiId());
+        assertEquals(3, event.getKonsultasiVersion());
+        assertEquals("CONFIRMED", event.getEventType());
+        assertEquals("CONFIRMED", event.getStatus());
+        assertNull(event.getPublishedAt());
+        assertEquals(0, event.getAttempts());
+
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals(konsultasi.getId().toString(), payload.get("konsultasiId").asText());
+        assertEquals(konsultasi.getCaregiverId().toString(), payload.get("caregiverId").asText());
+        assertEquals(45, payload.get("durationMinutes").asInt());
+        assertEquals("CONFIRMED", payload.get("eventType").asText());
+    }
+
+    @Test
+    void recordAll_SavesOneEventPerKonsultasiInOrder() {
+        Konsultasi first = konsultasi("DONE");
+        Konsultasi second = konsultasi("DONE");
+
+        outbox.recordAll(List.of(first, second), KonsultasiEventType.AUTO_COMPLETED);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<KonsultasiOutboxEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(saved.capture());
+        assertEquals(List.of(first.getId(), second.getId()),
+                saved.getValue().stream().map(KonsultasiOutboxEvent::getKonsultasiId).toList());
+    }
+
+    @Test
+    void recordAll_EmptyCollection_WritesNothing() {
+        outbox.recordAll(List.of(), KonsultasiEventType.EXPIRED);
+
+        verify(outboxRepository, never()).saveAll(any());
+    }
+
+    private Konsultasi konsultasi(String status) {
+        return Konsultasi.builder()
+                .id(UUID.randomUUID())
+                .scheduleId(UUID.randomUUID())
+                .caregiverId(UUID.randomUUID())
+                .pacilianId(UUID.randomUUID())
+                .scheduleDateTime(LocalDateTime.now().plusDays(1).withNano(0))
+                .durationMinutes(45)
+                .status(status)
+                .build();
+    }
+}
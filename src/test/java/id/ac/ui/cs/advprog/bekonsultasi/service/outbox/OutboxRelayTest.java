@@ -0,0 +1,186 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.outbox;
+
+import id.ac.ui.cs.advprog.bekonsultasi.model.KonsultasiOutboxEvent;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private KonsultasiOutboxRepository outboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecordingSink sink;
+    private boolean inTransaction;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sink = new RecordingSink();
+        relay = new OutboxRelay(outboxRepository, List.of(sink), transactionTemplate, meterRegistry, 3, 2, 72, 60000);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction = false;
+            }
+        });
+    }
+
+    @Test
+    void relay_DeliversPendingEventsInIdOrderAndMarksThemPublished() {
+        UUID konsultasiId = UUID.randomUUID();
+        KonsultasiOutboxEvent first = event(1L, konsultasiId);
+        KonsultasiOutboxEvent second = event(2L, konsultasiId);
+        when(outboxRepository.findClaimable(eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+
+        assertEquals(2, relay.relay());
+
+        assertEquals(List.of(1L, 2L), sink.deliveredIds);
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxRepository, never()).saveAll(any());
+        assertEquals(2.0, meterRegistry.get("konsultasi.outbox.published.total").counter().count());
+    }
+
+    @Test
+    void relay_ClaimsBatchBeforePublishingOutsideTheTransaction() {
+        KonsultasiOutboxEvent pending = event(1L, UUID.randomUUID());
+        when(outboxRepository.findClaimable(eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+
+        relay.relay();
+
+        InOrder inOrder = inOrder(outboxRepository);
+        inOrder.verify(outboxRepository).claim(eq(List.of(1L)), argThat(until -> until.isAfter(LocalDateTime.now())));
+        inOrder.verify(outboxRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        assertEquals(List.of(false), sink.publishedInTransaction);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void relay_FailedEventStaysPendingWithItsClaimReleased() {
+        KonsultasiOutboxEvent failing = event(1L, UUID.randomUUID());
+        KonsultasiOutboxEvent other = event(2L, UUID.randomUUID());
+        sink.failOn = 1L;
+        when(outboxRepository.findClaimable(eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(failing, other));
+
+        assertEquals(1, relay.relay());
+
+        assertEquals(List.of(2L), sink.deliveredIds);
+        verify(outboxRepository).markPublished(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(outboxRepository).saveAll(List.of(failing));
+        assertNull(failing.getPublishedAt());
+        assertNull(failing.getClaimedUntil());
+        assertEquals(1, failing.getAttempts());
+        assertTrue(failing.getLastError().startsWith("recording: "));
+        assertEquals(1.0, meterRegistry.get("konsultasi.outbox.delivery.failure.total")
+                .tag("sink", "recording").counter().count());
+    }
+
+    @Test
+    void relay_PagesWithIdCursorAndStopsAtBatchLimit() {
+        UUID konsultasiId = UUID.randomUUID();
+        when(outboxRepository.findClaimable(eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, konsultasiId), event(2L, konsultasiId), event(3L, konsultasiId)));
+        when(outboxRepository.findClaimable(eq(3L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(4L, konsultasiId), event(5L, konsultasiId), event(6L, konsultasiId)));
+
+        assertEquals(6, relay.relay());
+
+        verify(outboxRepository, times(2)).findClaimable(any(), any(), any());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), sink.deliveredIds);
+    }
+
+    @Test
+    void relay_ReportsLagOfOldestPendingEvent() {
+        KonsultasiOutboxEvent stale = event(1L, UUID.randomUUID());
+        stale.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        when(outboxRepository.findClaimable(eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(stale));
+
+        relay.relay();
+
+        assertEquals(300.0, meterRegistry.get("konsultasi.outbox.lag.seconds").gauge().value(), 5.0);
+    }
+
+    @Test
+    void relay_NothingPending_DoesNotWrite() {
+        when(outboxRepository.findClaimable(eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, relay.relay());
+
+        verify(outboxRepository, never()).claim(any(), any());
+        verify(outboxRepository, never()).markPublished(any(), any());
+        verify(outboxRepository, never()).saveAll(any());
+        assertEquals(0.0, meterRegistry.get("konsultasi.outbox.lag.seconds").gauge().value());
+    }
+
+    @Test
+    void purgePublished_DeletesEventsOlderThanRetention() {
+        when(outboxRepository.deletePublishedBefore(any(LocalDateTime.class))).thenReturn(4);
+
+        assertEquals(4, relay.purgePublished());
+
+        verify(outboxRepository).deletePublishedBefore(argThat(cutoff ->
+                cutoff.isBefore(LocalDateTime.now().minusHours(71))));
+    }
+
+    private KonsultasiOutboxEvent event(long id, UUID konsultasiId) {
+        return KonsultasiOutboxEvent.builder()
+                .id(id)
+                .konsultasiId(konsultasiId)
+                .eventType("CONFIRMED")
+                .status("CONFIRMED")
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private final class RecordingSink implements KonsultasiEventSink {
+        private final List<Long> deliveredIds = new ArrayList<>();
+        private final List<Boolean> publishedInTransaction = new ArrayList<>();
+        private Long failOn;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void publish(KonsultasiOutboxEvent event) {
+            publishedInTransaction.add(inTransaction);
+            if (event.getId().equals(failOn)) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            deliveredIds.add(event.getId());
+        }
+    }
+}
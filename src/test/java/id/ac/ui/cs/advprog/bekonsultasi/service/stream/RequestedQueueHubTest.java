@@ -0,0 +1,227 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.KonsultasiEventDto;
+import id.ac.ui.cs.advprog.bekonsultasi.dto.KonsultasiResponseDto;
+import id.ac.ui.cs.advprog.bekonsultasi.service.KonsultasiService;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestedQueueHubTest {
+
+    @Mock
+    private KonsultasiService konsultasiService;
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestedQueueHub hub;
+    private UUID caregiverId;
+    private long outboxId;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        meterRegistry = new SimpleMeterRegistry();
+        hub = hub(100);
+        caregiverId = UUID.randomUUID();
+        lenient().when(konsultasiService.getRequestedKonsultasiByCaregiverId(any()))
+                .thenReturn(List.of(KonsultasiResponseDto.builder().id(UUID.randomUUID()).build()));
+    }
+
+    @Test
+    void subscribe_WithoutLastEventId_StartsFromSnapshot() {
+        RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(caregiverId, null);
+
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT), emitter.names());
+        verify(konsultasiService).getRequestedKonsultasiByCaregiverId(caregiverId);
+        assertEquals(1, hub.connectionCount());
+        assertEquals(1.0, meterRegistry.get("konsultasi.stream.connections").gauge().value());
+    }
+
+    @Test
+    void onKonsultasiChanged_PushesOnlyToTheOwningCaregiver() throws Exception {
+        RecordingEmitter mine = (RecordingEmitter) hub.subscribe(caregiverId, null);
+        RecordingEmitter other = (RecordingEmitter) hub.subscribe(UUID.randomUUID(), null);
+
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+        hub.onKonsultasiChanged(change(caregiverId, "UPDATED", "REQUESTED"));
+        hub.onKonsultasiChanged(change(caregiverId, "CONFIRMED", "CONFIRMED"));
+
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT, RequestedQueueHub.ADDED, RequestedQueueHub.CHANGED,
+                RequestedQueueHub.REMOVED), mine.names());
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT), other.names());
+        assertTrue(mine.frames.get(1).contains(caregiverId.toString()));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ReplaysMissedEventsWithoutSnapshot() throws Exception {
+        RecordingEmitter first = (RecordingEmitter) hub.subscribe(caregiverId, null);
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+        String lastSeen = first.lastId();
+        hub.onKonsultasiChanged(change(UUID.randomUUID(), "CREATED", "REQUESTED"));
+        hub.onKonsultasiChanged(change(caregiverId, "CANCELLED", "CANCELLED"));
+
+        RecordingEmitter resumed = (RecordingEmitter) hub.subscribe(caregiverId, lastSeen);
+
+        assertEquals(List.of(RequestedQueueHub.REMOVED), resumed.names());
+        verify(konsultasiService, times(1)).getRequestedKonsultasiByCaregiverId(caregiverId);
+    }
+
+    @Test
+    void subscribe_FallsBackToSnapshotWhenResumePointIsGone() throws Exception {
+        hub = hub(2);
+        RecordingEmitter first = (RecordingEmitter) hub.subscribe(caregiverId, null);
+        String lastSeen = first.lastId();
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+
+        RecordingEmitter evicted = (RecordingEmitter) hub.subscribe(caregiverId, lastSeen);
+        RecordingEmitter otherInstance = (RecordingEmitter) hub.subscribe(caregiverId, "elsewhere-3");
+
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT), evicted.names());
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT), otherInstance.names());
+        assertEquals(3.0, meterRegistry.get("konsultasi.stream.snapshots.total").counter().count());
+    }
+
+    @Test
+    void heartbeat_DropsConnectionsThatCanNoLongerBeWritten() {
+        RecordingEmitter alive = (RecordingEmitter) hub.subscribe(caregiverId, null);
+        RecordingEmitter gone = (RecordingEmitter) hub.subscribe(caregiverId, null);
+        gone.broken = true;
+
+        hub.heartbeat();
+
+        assertEquals(1, hub.connectionCount());
+        assertTrue(alive.frames.get(1).contains("heartbeat"));
+        assertEquals(1.0, meterRegistry.get("konsultasi.stream.delivery.failure.total").counter().count());
+    }
+
+    @Test
+    void onKonsultasiChanged_StalledClientIsDroppedWithoutBlockingTheCaller() throws Exception {
+        List<Runnable> parked = new ArrayList<>();
+        hub = hub(100, parked::add, 2);
+        RecordingEmitter stalled = (RecordingEmitter) hub.subscribe(caregiverId, null);
+
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+        assertEquals(1, parked.size());
+        assertEquals(1, hub.connectionCount());
+
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+
+        assertEquals(0, hub.connectionCount());
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT), stalled.names());
+        assertEquals(1.0, meterRegistry.get("konsultasi.stream.overflow.total").counter().count());
+        parked.forEach(Runnable::run);
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT), stalled.names());
+    }
+
+    @Test
+    void onKonsultasiChanged_BusyExecutor_KeepsEventsQueuedForTheNextAttempt() throws Exception {
+        List<Runnable> accepted = new ArrayList<>();
+        boolean[] busy = {true};
+        hub = hub(100, task -> {
+            if (busy[0]) {
+                throw new RejectedExecutionException("busy");
+            }
+            accepted.add(task);
+        }, 16);
+        RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(caregiverId, null);
+
+        hub.onKonsultasiChanged(change(caregiverId, "CREATED", "REQUESTED"));
+        busy[0] = false;
+        hub.heartbeat();
+        accepted.forEach(Runnable::run);
+
+        assertEquals(1, hub.connectionCount());
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT, RequestedQueueHub.ADDED, ""), emitter.names());
+    }
+
+    @Test
+    void onKonsultasiChanged_IgnoresUnreadablePayloads() {
+        RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(caregiverId, null);
+
+        hub.onKonsultasiChanged(new KonsultasiChangedEvent(1L, UUID.randomUUID(), "CREATED", "REQUESTED", "{"));
+
+        assertEquals(List.of(RequestedQueueHub.SNAPSHOT), emitter.names());
+    }
+
+    private RequestedQueueHub hub(int replaySize) {
+        return hub(replaySize, Runnable::run, 16);
+    }
+
+    private RequestedQueueHub hub(int replaySize, Executor executor, int queueSize) {
+        return new RequestedQueueHub(konsultasiService, objectMapper, meterRegistry, executor, 0, replaySize,
+                queueSize) {
+            @Override
+            SseEmitter newEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private KonsultasiChangedEvent change(UUID caregiver, String eventType, String status) throws Exception {
+        UUID konsultasiId = UUID.randomUUID();
+        String payload = objectMapper.writeValueAsString(KonsultasiEventDto.builder()
+                .eventType(eventType)
+                .konsultasiId(konsultasiId)
+                .caregiverId(caregiver)
+                .pacilianId(UUID.randomUUID())
+                .status(status)
+                .build());
+        return new KonsultasiChangedEvent(++outboxId, konsultasiId, eventType, status, payload);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new ArrayList<>();
+        private boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            frames.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        private List<String> names() {
+            return frames.stream()
+                    .map(frame -> frame.lines()
+                            .filter(line -> line.startsWith("event:"))
+                            .map(line -> line.substring("event:".length()))
+                            .findFirst()
+                            .orElse(""))
+                    .toList();
+        }
+
+        private String lastId() {
+            String frame = frames.get(frames.size() - 1);
+            return frame.lines()
+                    .filter(line -> line.startsWith("id:"))
+                    .map(line -> line.substring("id:".length()))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package id.ac.ui.cs.advprog.bekonsultasi.service.sweeper;
+
+import id.ac.ui.cs.advprog.bekonsultasi.enums.KonsultasiEventType;
+import id.ac.ui.cs.advprog.bekonsultasi.model.Konsultasi;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiRepository;
+import id.ac.ui.cs.advprog.bekonsultasi.repository.KonsultasiSummary;
+import id.ac.ui.cs.advprog.bekonsultasi.service.availability.SlotOccupancyIndex;
+import id.ac.ui.cs.advprog.bekonsultasi.service.outbox.KonsultasiOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KonsultasiSweeperTest {
+
+    @Mock
+    private KonsultasiRepository konsultasiRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private KonsultasiOutbox konsultasiOutbox;
+
+    @Mock
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private KonsultasiSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new KonsultasiSweeper(konsultasiRepository, transactionTemplate, konsultasiOutbox, slotOccupancyIndex,
+                meterRegistry,
+                2, 3, 0);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(konsultasiRepository.findExpiredRequests(any(), any())).thenReturn(List.of());
+        lenient().when(konsultasiRepository.findFinishedConfirmed(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void sweep_NothingOverdue_RunsNoUpdates() {
+        assertEquals(0, sweeper.sweep());
+
+        verify(konsultasiRepository, never()).closeBookings(any(), any(), any(), any());
+        assertEquals(0.0, meterRegistry.get("konsultasi.sweeper.lag.seconds")
+                .tag("transition", "confirmed_to_done").gauge().value());
+    }
+
+    @Test
+    void sweep_ExpiresRequestsAndCompletesConfirmedInSeparateTransitions() {
+        KonsultasiSummary request = summary(LocalDateTime.now().minusHours(1));
+        KonsultasiSummary confirmed = summary(LocalDateTime.now().minusHours(3));
+        List<UUID> requestIds = List.of(request.getId());
+        List<UUID> confirmedIds = List.of(confirmed.getId());
+        when(konsultasiRepository.findExpiredRequests(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(List.of(request));
+        when(konsultasiRepository.findFinishedConfirmed(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(List.of(confirmed));
+        when(konsultasiRepository.closeBookings(eq(requestIds), eq("REQUESTED"), eq("CANCELLED"), any()))
+                .thenReturn(1);
+        when(konsultasiRepository.closeBookings(eq(confirmedIds), eq("CONFIRMED"), eq("DONE"), any()))
+                .thenReturn(1);
+
+        assertEquals(2, sweeper.sweep());
+
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(1.0, meterRegistry.get("konsultasi.sweeper.rows.total")
+                .tag("transition", "requested_to_cancelled").counter().count());
+        assertEquals(1.0, meterRegistry.get("konsultasi.sweeper.rows.total")
+                .tag("transition", "confirmed_to_done").counter().count());
+    }
+
+    @Test
+    void sweep_RecordsOutboxEventsOnlyForRowsItClosed() {
+        KonsultasiSummary first = summary(LocalDateTime.now().minusHours(1));
+        KonsultasiSummary second = summary(LocalDateTime.now().minusHours(1));
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        Konsultasi expired = Konsultasi.builder().id(first.getId()).status("CANCELLED").build();
+        Konsultasi confirmedMeanwhile = Konsultasi.builder().id(second.getId()).status("CONFIRMED").build();
+        when(konsultasiRepository.findExpiredRequests(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(List.of(first, second), List.of());
+        when(konsultasiRepository.closeBookings(eq(ids), eq("REQUESTED"), eq("CANCELLED"), any()))
+                .thenAnswer(closing(expired));
+        when(konsultasiRepository.findAllById(ids)).thenReturn(List.of(expired, confirmedMeanwhile));
+
+        sweeper.sweep();
+
+        verify(konsultasiOutbox).recordAll(List.of(expired), KonsultasiEventType.EXPIRED);
+        verify(konsultasiOutbox, never()).recordAll(any(), eq(KonsultasiEventType.AUTO_COMPLETED));
+    }
+
+    @Test
+    void sweep_ReleasesTheSlotsOfClosedBookings() {
+        KonsultasiSummary finished = summary(LocalDateTime.now().minusHours(3));
+        UUID caregiverId = UUID.randomUUID();
+        LocalDateTime scheduleDateTime = LocalDateTime.now().minusHours(3);
+        Konsultasi done = Konsultasi.builder()
+                .id(finished.getId())
+                .caregiverId(caregiverId)
+                .scheduleDateTime(scheduleDateTime)
+                .durationMinutes(90)
+                .status("DONE")
+                .build();
+        when(konsultasiRepository.findFinishedConfirmed(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(List.of(finished));
+        when(konsultasiRepository.closeBookings(eq(List.of(finished.getId())), eq("CONFIRMED"), eq("DONE"), any()))
+                .thenAnswer(closing(done));
+        when(konsultasiRepository.findAllById(List.of(finished.getId()))).thenReturn(List.of(done));
+
+        sweeper.sweep();
+
+        verify(slotOccupancyIndex).release(caregiverId, scheduleDateTime, Duration.ofMinutes(90));
+        verifyNoMoreInteractions(slotOccupancyIndex);
+    }
+
+    @Test
+    void sweep_IgnoresRowsCancelledByAUserBeforeTheUpdate() {
+        KonsultasiSummary first = summary(LocalDateTime.now().minusHours(1));
+        KonsultasiSummary second = summary(LocalDateTime.now().minusHours(1));
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        Konsultasi expired = Konsultasi.builder().id(first.getId()).status("CANCELLED").build();
+        Konsultasi cancelledByUser = Konsultasi.builder()
+                .id(second.getId())
+                .caregiverId(UUID.randomUUID())
+                .scheduleDateTime(LocalDateTime.now().minusHours(1))
+                .durationMinutes(60)
+                .status("CANCELLED")
+                .lastUpdated(LocalDateTime.now().minusSeconds(5))
+                .build();
+        when(konsultasiRepository.findExpiredRequests(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(List.of(first, second), List.of());
+        when(konsultasiRepository.closeBookings(eq(ids), eq("REQUESTED"), eq("CANCELLED"), any()))
+                .thenAnswer(closing(expired));
+        when(konsultasiRepository.findAllById(ids)).thenReturn(List.of(expired, cancelledByUser));
+
+        sweeper.sweep();
+
+        verify(konsultasiOutbox).recordAll(List.of(expired), KonsultasiEventType.EXPIRED);
+        verify(slotOccupancyIndex, never())
+                .release(eq(cancelledByUser.getCaregiverId()), any(), any());
+    }
+
+    @Test
+    void sweep_KeepsBatchingUntilAShortBatch() {
+        List<KonsultasiSummary> full = summaries(2);
+        List<KonsultasiSummary> tail = summaries(1);
+        when(konsultasiRepository.findFinishedConfirmed(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(full, full, tail);
+        when(konsultasiRepository.closeBookings(anyCollection(), eq("CONFIRMED"), eq("DONE"), any()))
+                .thenReturn(2, 2, 1);
+
+        assertEquals(5, sweeper.sweep());
+
+        verify(konsultasiRepository, times(3)).closeBookings(anyCollection(), eq("CONFIRMED"), eq("DONE"), any());
+    }
+
+    @Test
+    void sweep_StopsAtBatchLimitAndReportsLag() {
+        List<KonsultasiSummary> full = summaries(2);
+        KonsultasiSummary oldest = summary(LocalDateTime.now().minusHours(2));
+        when(konsultasiRepository.findExpiredRequests(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(full);
+        when(konsultasiRepository.findExpiredRequests(any(), argThat(page -> page.getPageSize() == 1)))
+                .thenReturn(List.of(oldest));
+        when(konsultasiRepository.closeBookings(anyCollection(), eq("REQUESTED"), eq("CANCELLED"), any()))
+                .thenReturn(2);
+
+        assertEquals(6, sweeper.sweep());
+
+        verify(konsultasiRepository, times(3)).closeBookings(anyCollection(), eq("REQUESTED"), eq("CANCELLED"), any());
+        double lag = meterRegistry.get("konsultasi.sweeper.lag.seconds")
+                .tag("transition", "requested_to_cancelled").gauge().value();
+        assertEquals(7200.0, lag, 60.0);
+    }
+
+    @Test
+    void sweep_UsesTheSameCutoffForEveryBatch() {
+        List<KonsultasiSummary> full = summaries(2);
+        List<KonsultasiSummary> tail = summaries(1);
+        when(konsultasiRepository.findFinishedConfirmed(any(), argThat(page -> page.getPageSize() == 2)))
+                .thenReturn(full, tail);
+        when(konsultasiRepository.closeBookings(anyCollection(), eq("CONFIRMED"), eq("DONE"), any()))
+                .thenReturn(2, 1);
+
+        sweeper.sweep();
+
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(konsultasiRepository, times(3)).findFinishedConfirmed(cutoffs.capture(), any(Pageable.class));
+        assertEquals(1, cutoffs.getAllValues().stream().distinct().count());
+    }
+
+    private Answer<Integer> closing(Konsultasi... rows) {
+        return invocation -> {
+            LocalDateTime now = invocation.getArgument(3);
+            for (Konsultasi row : rows) {
+                row.setLastUpdated(now);
+            }
+            return rows.length;
+        };
+    }
+
+    private List<KonsultasiSummary> summaries(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> summary(LocalDateTime.now().minusDays(1)))
+                .toList();
+    }
+
+    private KonsultasiSummary summary(LocalDateTime scheduleDateTime) {
+        KonsultasiSummary summary = mock(KonsultasiSummary.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(summary.getId()).thenReturn(id);
+        lenient().when(summary.getScheduleDateTime()).thenReturn(scheduleDateTime);
+        return summary;
+    }
+}
@@ -0,0 +1,78 @@
+package id.ac.ui.cs.advprog.bekonsultasi.util;
+
+import id.ac.ui.cs.advprog.bekonsultasi.dto.ResourceTagDto;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConditionalGetTest {
+    private static final LocalDateTime LAST_UPDATED = LocalDateTime.of(2025, 6, 1, 8, 0, 0, 750_000_000);
+    private static final long LAST_UPDATED_SECOND = LAST_UPDATED.withNano(0)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    private final ResourceTagDto tag = ResourceTagDto.builder()
+            .etag("\"v1\"")
+            .lastModified(LAST_UPDATED)
+            .build();
+
+    @Test
+    void matchesETag_AcceptsListsWeakTagsAndWildcard() {
+        assertTrue(ConditionalGet.matchesETag("\"v0\", W/\"v1\"", "\"v1\""));
+        assertTrue(ConditionalGet.matchesETag("*", "\"v1\""));
+        assertFalse(ConditionalGet.matchesETag("\"v0\"", "\"v1\""));
+        assertFalse(ConditionalGet.matchesETag(null, "\"v1\""));
+    }
+
+    @Test
+    void isNotModified_IfNoneMatchTakesPrecedenceOverIfModifiedSince() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("If-None-Match")).thenReturn("\"v0\"");
+
+        assertFalse(ConditionalGet.isNotModified(request, tag));
+        verify(request, never()).getDateHeader(anyString());
+    }
+
+    @Test
+    void isNotModified_ComparesIfModifiedSinceAtSecondPrecision() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(LAST_UPDATED_SECOND, LAST_UPDATED_SECOND - 1000);
+
+        assertTrue(ConditionalGet.isNotModified(request, tag));
+        assertFalse(ConditionalGet.isNotModified(request, tag));
+    }
+
+    @Test
+    void isNotModified_CollectionTagsIgnoreIfModifiedSince() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        ResourceTagDto collection = ResourceTagDto.builder().etag("\"c1\"").build();
+
+        assertFalse(ConditionalGet.isNotModified(request, collection));
+        assertFalse(ConditionalGet.isNotModified(request, null));
+        verify(request, never()).getDateHeader(anyString());
+    }
+
+    @Test
+    void isNotModified_MalformedDateIsIgnored() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getDateHeader("If-Modified-Since")).thenThrow(new IllegalArgumentException("bad date"));
+
+        assertFalse(ConditionalGet.isNotModified(request, tag));
+    }
+
+    @Test
+    void notModified_CarriesValidators() {
+        ResponseEntity<Object> response = ConditionalGet.notModified(tag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals(LAST_UPDATED_SECOND, response.getHeaders().getLastModified());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+}
@@ -0,0 +1,48 @@
+package id.ac.ui.cs.advprog.bekonsultasi.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryTest {
+
+    @Test
+    void call_SucceedsAfterTransientConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = OptimisticRetry.call(() -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void call_GivesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> OptimisticRetry.call(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        }));
+        assertEquals(OptimisticRetry.MAX_ATTEMPTS, attempts.get());
+    }
+
+    @Test
+    void call_OtherExceptions_AreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> OptimisticRetry.call(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("invalid transition");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}